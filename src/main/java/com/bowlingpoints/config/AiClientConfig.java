@@ -0,0 +1,68 @@
+package com.bowlingpoints.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.client.RestTemplate;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * Clientes HTTP de los proveedores de IA: se crean una sola vez, reutilizan
+ * conexiones y tienen tiempos máximos de conexión y de respuesta, para que una
+ * respuesta lenta del modelo no deje hilos esperando indefinidamente.
+ */
+@Configuration
+public class AiClientConfig {
+
+    /**
+     * Pool de conexiones del proveedor de IA en línea.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider aiConnectionProvider(
+            @Value("${ai.http.max-connections:10}") int maxConnections,
+            @Value("${ai.http.read-timeout-ms:60000}") long readTimeoutMs
+    ) {
+        return ConnectionProvider.builder("ai")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(Duration.ofMillis(readTimeoutMs))
+                .maxIdleTime(Duration.ofSeconds(30))
+                .build();
+    }
+
+    /**
+     * Conector reactivo con el pool y los tiempos máximos configurados (GenericAiClient).
+     */
+    @Bean
+    public ClientHttpConnector aiHttpConnector(
+            ConnectionProvider aiConnectionProvider,
+            @Value("${ai.http.connect-timeout-ms:5000}") int connectTimeoutMs,
+            @Value("${ai.http.read-timeout-ms:60000}") long readTimeoutMs
+    ) {
+        HttpClient httpClient = HttpClient.create(aiConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .responseTimeout(Duration.ofMillis(readTimeoutMs));
+        return new ReactorClientHttpConnector(httpClient);
+    }
+
+    /**
+     * RestTemplate con tiempos máximos para LM Studio; las conexiones se reutilizan
+     * con el keep-alive de HttpURLConnection.
+     */
+    @Bean
+    public RestTemplate aiRestTemplate(
+            @Value("${ai.http.connect-timeout-ms:5000}") int connectTimeoutMs,
+            @Value("${ai.http.read-timeout-ms:60000}") int readTimeoutMs
+    ) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeoutMs);
+        requestFactory.setReadTimeout(readTimeoutMs);
+        return new RestTemplate(requestFactory);
+    }
+}
@@ -0,0 +1,75 @@
+package com.bowlingpoints.config;
+
+import com.bowlingpoints.dto.DashboardDTO;
+import com.bowlingpoints.dto.UserDashboardStatsDTO;
+import com.bowlingpoints.dto.UserStatisticsDTO;
+import com.bowlingpoints.service.ai.AiAnalysisService;
+import com.bowlingpoints.util.TtlCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Cachés en memoria de la aplicación. Se invalidan con los eventos de
+ * {@code com.bowlingpoints.event}; el TTL solo cubre cambios que no publican evento.
+ * Sus contadores se consultan en GET /cache/stats.
+ */
+@Configuration
+public class CacheConfig {
+
+    /**
+     * DashboardDTO armado para GET /dashboard (una sola clave).
+     */
+    @Bean
+    public TtlCache<String, DashboardDTO> dashboardCache(
+            @Value("${cache.dashboard.ttl-seconds:60}") long ttlSeconds
+    ) {
+        return new TtlCache<>("dashboard", Duration.ofSeconds(ttlSeconds), 1);
+    }
+
+    /**
+     * Estadísticas de dashboard por jugador (GET /api/user-stats/dashboard), por personId.
+     */
+    @Bean
+    public TtlCache<Integer, UserDashboardStatsDTO> playerDashboardStatsCache(
+            @Value("${cache.player-stats.ttl-seconds:600}") long ttlSeconds,
+            @Value("${cache.player-stats.max-entries:5000}") int maxEntries
+    ) {
+        return new TtlCache<>("player-dashboard-stats", Duration.ofSeconds(ttlSeconds), maxEntries);
+    }
+
+    /**
+     * Resumen público por jugador (GET /api/user-stats/public-summary), por personId.
+     */
+    @Bean
+    public TtlCache<Integer, UserStatisticsDTO> playerPublicStatsCache(
+            @Value("${cache.player-stats.ttl-seconds:600}") long ttlSeconds,
+            @Value("${cache.player-stats.max-entries:5000}") int maxEntries
+    ) {
+        return new TtlCache<>("player-public-stats", Duration.ofSeconds(ttlSeconds), maxEntries);
+    }
+
+    /**
+     * Respuestas de GET /api/ai/analizar-resultados-globales, por filtros y versión de resultados.
+     */
+    @Bean
+    public TtlCache<AiAnalysisService.AnalysisKey, String> aiAnalysisCache(
+            @Value("${cache.ai-analysis.ttl-seconds:21600}") long ttlSeconds,
+            @Value("${cache.ai-analysis.max-entries:200}") int maxEntries
+    ) {
+        return new TtlCache<>("ai-analysis", Duration.ofSeconds(ttlSeconds), maxEntries);
+    }
+
+    /**
+     * Si el usuario de un JWT sigue activo, por nickname; evita consultar el usuario en cada petición.
+     */
+    @Bean
+    public TtlCache<String, Boolean> activeUserCache(
+            @Value("${cache.active-users.ttl-seconds:60}") long ttlSeconds,
+            @Value("${cache.active-users.max-entries:10000}") int maxEntries
+    ) {
+        return new TtlCache<>("active-users", Duration.ofSeconds(ttlSeconds), maxEntries);
+    }
+}
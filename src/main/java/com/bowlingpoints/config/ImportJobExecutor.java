@@ -0,0 +1,57 @@
+package com.bowlingpoints.config;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool acotado para las importaciones en segundo plano. No se expone como
+ * {@link java.util.concurrent.Executor} para no reemplazar el executor por
+ * defecto de Spring (el que usan las respuestas asíncronas de MVC).
+ */
+@Slf4j
+@Component
+public class ImportJobExecutor {
+
+    private final ThreadPoolExecutor executor;
+
+    public ImportJobExecutor(
+            @Value("${import.jobs.pool-size:2}") int poolSize,
+            @Value("${import.jobs.queue-capacity:20}") int queueCapacity
+    ) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "import-job-" + counter.incrementAndGet());
+            thread.setDaemon(false);
+            return thread;
+        };
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Encola el trabajo.
+     *
+     * @throws RejectedExecutionException si la cola está llena
+     */
+    public void submit(Runnable task) {
+        executor.execute(task);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Importaciones en curso interrumpidas al apagar la aplicación");
+            executor.shutdownNow();
+        }
+    }
+}
@@ -59,6 +59,7 @@ public class SecurityConfig {
                                                 .requestMatchers(HttpMethod.GET, "/tournaments/*").permitAll()
                                                 .requestMatchers("/results/by-modality").permitAll()
                                                 .requestMatchers("/results/tournament-table").permitAll()
+                                                .requestMatchers("/results/live").permitAll()
                                                 .requestMatchers("/results/all-player-ranking").permitAll()
                                                 .requestMatchers("/results/by-ambit").permitAll()
                                                 .requestMatchers("/api/user-stats/public-summary").permitAll()
@@ -0,0 +1,37 @@
+package com.bowlingpoints.config.jwt;
+
+import com.bowlingpoints.event.UserChangedEvent;
+import com.bowlingpoints.repository.UserRepository;
+import com.bowlingpoints.util.TtlCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Indica si el usuario de un token sigue activo (status = true y sin eliminar).
+ * Es la única consulta a la base de datos de la autenticación por JWT y se guarda
+ * en caché por nickname.
+ * <p>
+ * Solo se guardan las respuestas positivas: un usuario inactivo o que todavía no
+ * existe (por ejemplo, creado después por importación) se vuelve a consultar en
+ * cada petición. Las desactivaciones y eliminaciones invalidan su entrada con
+ * {@link UserChangedEvent}.
+ */
+@Component
+@RequiredArgsConstructor
+public class ActiveUserCache {
+
+    private final UserRepository userRepository;
+    private final TtlCache<String, Boolean> activeUserCache;
+
+    public boolean isActive(String nickname) {
+        return activeUserCache.get(nickname,
+                () -> userRepository.existsByNicknameAndStatusTrueAndDeletedAtIsNull(nickname),
+                Boolean::booleanValue);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        event.nicknames().forEach(activeUserCache::invalidate);
+    }
+}
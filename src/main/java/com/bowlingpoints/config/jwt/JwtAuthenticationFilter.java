@@ -1,13 +1,13 @@
 package com.bowlingpoints.config.jwt;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import lombok.extern.slf4j.Slf4j;
 import java.io.IOException;
 
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -19,20 +19,25 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 
+/**
+ * Autentica con los claims del token ya verificado (firma y vencimiento): el principal
+ * es el nickname y las autoridades son los roles del token. La base de datos solo se
+ * consulta, con caché, para saber si el usuario sigue activo.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final ActiveUserCache activeUserCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
         final String token = getTokenFromRequest(request);
-        final String username;
+        final Claims claims;
 
         if (token==null)
         {
@@ -41,28 +46,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         try {
-            username = jwtService.getUsernameFromToken(token);
-        } catch (Exception ex) {
+            claims = jwtService.getAllClaims(token);
+        } catch (JwtException | IllegalArgumentException ex) {
             log.warn("Token inválido o corrupto: {}", ex.getMessage());
             filterChain.doFilter(request, response);
             return;
         }
 
-        if (username!=null && SecurityContextHolder.getContext().getAuthentication()==null)
-        {
-            UserDetails userDetails=userDetailsService.loadUserByUsername(username);
-
-            if (jwtService.isTokenValid(token, userDetails))
-            {
-                UsernamePasswordAuthenticationToken authToken= new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities());
+        final String username = claims.getSubject();
 
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
-            }
+        if (username!=null && SecurityContextHolder.getContext().getAuthentication()==null
+                && activeUserCache.isActive(username))
+        {
+            UsernamePasswordAuthenticationToken authToken= new UsernamePasswordAuthenticationToken(
+                    username,
+                    null,
+                    jwtService.getAuthorities(claims));
 
+            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authToken);
         }
 
         filterChain.doFilter(request, response);
@@ -6,9 +6,11 @@ import com.bowlingpoints.service.AuthService;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
 import lombok.RequiredArgsConstructor;
 
@@ -24,6 +26,18 @@ public class JwtService {
     private final JwtConfig jwtConfig;
     private static final Logger log = LoggerFactory.getLogger(JwtService.class);
 
+    // La llave y el parser se arman una sola vez; el parser es inmutable y seguro entre hilos
+    private Key signingKey;
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtConfig.getSecret()));
+        parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
+
 
     public String getToken(User user) {
 
@@ -56,7 +70,7 @@ public class JwtService {
                 .setSubject(user.getNickname())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expirationMs))
-                .signWith(getKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
 
         log.info("Aqui va el JWT->{}",jwts);
@@ -64,37 +78,17 @@ public class JwtService {
         return jwts;
     }
 
-    private Key getKey() {
-
-
-        byte[] keyBytes = Decoders.BASE64.decode(jwtConfig.getSecret());
-
-        log.info("Aqui esta la firma de la llave->{}",keyBytes);
-
-        Key key = Keys.hmacShaKeyFor(keyBytes);
-
-        log.info("Aqui esta la llave firmada->{}",key);
-
-        return key;
-    }
-
-
     public String getUsernameFromToken(String token) {
         return getClaim(token, Claims::getSubject);
     }
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = getUsernameFromToken(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
-    }
-
-    private Claims getAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    /**
+     * Claims de un token con firma válida y sin vencer.
+     *
+     * @throws JwtException si la firma no es válida, el token venció o está mal formado
+     */
+    public Claims getAllClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
     }
 
     public <T> T getClaim(String token, Function<Claims, T> claimsResolver) {
@@ -102,20 +96,16 @@ public class JwtService {
         return claimsResolver.apply(claims);
     }
 
-    private Date getExpiration(String token) {
-        try {
-            return getClaim(token, Claims::getExpiration);
-        } catch (Exception e) {
-            System.err.println("⚠️ No se pudo obtener la expiración del token: " + e.getMessage());
-            return null;
-        }
-    }
-
-    private boolean isTokenExpired(String token) {
-        Date expiration = getExpiration(token);
-        if (expiration == null) {
-            return false; // ⚠️ Asumimos que si no hay expiración, el token es válido
-        }
-        return expiration.before(new Date());
+    /**
+     * Roles del claim "roles" (los mismos que {@link #getToken(User)} guardó al iniciar sesión).
+     */
+    public List<GrantedAuthority> getAuthorities(Claims claims) {
+        Object roles = claims.get("roles");
+        if (!(roles instanceof Collection<?> names)) return List.of();
+
+        return names.stream()
+                .filter(Objects::nonNull)
+                .map(name -> (GrantedAuthority) new SimpleGrantedAuthority(name.toString()))
+                .toList();
     }
 }
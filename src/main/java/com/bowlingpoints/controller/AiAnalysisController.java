@@ -1,12 +1,17 @@
 package com.bowlingpoints.controller;
 
+import com.bowlingpoints.enums.ErrorsEnum;
+import com.bowlingpoints.exception.BusinessException;
 import com.bowlingpoints.service.ai.AiAnalysisResponse;
 import com.bowlingpoints.service.ai.AiAnalysisService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 
 @RestController
 @RequestMapping("/api/ai")
@@ -15,18 +20,25 @@ public class AiAnalysisController {
 
     private final AiAnalysisService aiAnalysisService;
 
+    /**
+     * Responde de forma asíncrona: el hilo de Tomcat se libera mientras se consulta el modelo.
+     * Si hay demasiadas consultas de IA en curso responde 503.
+     */
     @GetMapping("/analizar-resultados-globales")
-    public AiAnalysisResponse analyzeGlobal(
+    public Mono<ResponseEntity<AiAnalysisResponse>> analyzeGlobal(
             @RequestParam(required = false) Integer branchId,
             @RequestParam(required = false) Integer categoryId
     ) {
-        return new AiAnalysisResponse(
-                aiAnalysisService.analyzeGlobal(
+        return aiAnalysisService.analyzeGlobalAsync(
                         branchId,
                         categoryId,
                         null // modalityId (no se usa en esta vista)
                 )
-        );
+                .map(analysis -> ResponseEntity.ok(new AiAnalysisResponse(analysis)))
+                .onErrorResume(BusinessException.class, e ->
+                        ErrorsEnum.SERVICE_UNAVAILABLE.getCode().equals(e.getCode())
+                                ? Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                                .body(new AiAnalysisResponse(e.getMessage())))
+                                : Mono.error(e));
     }
 }
-
@@ -0,0 +1,28 @@
+package com.bowlingpoints.controller;
+
+import com.bowlingpoints.dto.ResponseGenericDTO;
+import com.bowlingpoints.util.TtlCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Aciertos, fallos e invalidaciones de las cachés en memoria.
+ */
+@RestController
+@RequestMapping("/cache")
+@RequiredArgsConstructor
+public class CacheStatsController {
+
+    private final List<TtlCache<?, ?>> caches;
+
+    @GetMapping("/stats")
+    public ResponseEntity<ResponseGenericDTO<List<TtlCache.Stats>>> getStats() {
+        List<TtlCache.Stats> stats = caches.stream().map(TtlCache::stats).toList();
+        return ResponseEntity.ok(new ResponseGenericDTO<>(true, "Estadísticas de caché", stats));
+    }
+}
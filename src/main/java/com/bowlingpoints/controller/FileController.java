@@ -1,12 +1,18 @@
 package com.bowlingpoints.controller;
 
+import com.bowlingpoints.dto.ImportJobDTO;
 import com.bowlingpoints.dto.PersonImportResponse;
+import com.bowlingpoints.enums.ImportJobStatus;
+import com.bowlingpoints.enums.ImportJobType;
+import com.bowlingpoints.service.ImportJobService;
+import com.bowlingpoints.service.ImportProgressListener;
 import com.bowlingpoints.service.PersonImportService;
 import com.bowlingpoints.service.ResultImportService;
 import com.bowlingpoints.service.TeamPersonImportService;
 import com.bowlingpoints.service.TournamentRegistrationImportService;
 import com.bowlingpoints.util.FileReaderUtils;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
@@ -24,14 +30,23 @@ public class FileController {
 
     private final TournamentRegistrationImportService tournamentRegistrationImportService;
 
+    private final ImportJobService importJobService;
+
     @PostMapping("/persons")
-    public ResponseEntity<?> importPersons(@RequestParam("file") MultipartFile file) {
+    public ResponseEntity<?> importPersons(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) Integer userId,
+            @RequestParam(defaultValue = "false") boolean async
+    ) {
         if (file.isEmpty()) {
             return ResponseEntity.badRequest().body("Por favor seleccione un archivo válido.");
         }
         if (!FileReaderUtils.isSupportedFileType(file)) {
             return ResponseEntity.badRequest().body("Formato no soportado. Use archivos .csv, .xlsx o .xls.");
         }
+        if (async) {
+            return submitJob(ImportJobType.PERSONS, file, userId, true, false, null);
+        }
         try {
             PersonImportResponse result = personImportService.importPersonFile(file);
             return ResponseEntity.ok(result);
@@ -44,7 +59,8 @@ public class FileController {
     public ResponseEntity<?> importTeamPerson(
             @RequestParam("file") MultipartFile file,
             @RequestParam(defaultValue = "true") boolean skipHeader,
-            @RequestParam Integer userId
+            @RequestParam Integer userId,
+            @RequestParam(defaultValue = "false") boolean async
     ) {
         if (file.isEmpty()) {
             return ResponseEntity.badRequest().body("Por favor seleccione un archivo válido.");
@@ -52,6 +68,9 @@ public class FileController {
         if (!FileReaderUtils.isSupportedFileType(file)) {
             return ResponseEntity.badRequest().body("Formato no soportado. Use archivos .csv, .xlsx o .xls.");
         }
+        if (async) {
+            return submitJob(ImportJobType.TEAM_PERSON, file, userId, skipHeader, false, null);
+        }
         try {
             var result = teamPersonimportService.importCsv(file, userId, skipHeader);
             return ResponseEntity.ok(result);
@@ -64,7 +83,10 @@ public class FileController {
     public ResponseEntity<?> importResults(
             @RequestParam("file") MultipartFile file,
             @RequestParam(defaultValue = "true") boolean skipHeader,
-            @RequestParam Integer userId
+            @RequestParam Integer userId,
+            @RequestParam(defaultValue = "false") boolean bulkCopy,
+            @RequestParam(defaultValue = "false") boolean async,
+            @RequestParam(required = false) Integer chunkSize
     ) {
         if (file.isEmpty()) {
             return ResponseEntity.badRequest().body("Por favor seleccione un archivo válido.");
@@ -72,8 +94,19 @@ public class FileController {
         if (!FileReaderUtils.isSupportedFileType(file)) {
             return ResponseEntity.badRequest().body("Formato no soportado. Use archivos .csv, .xlsx o .xls.");
         }
+        if (chunkSize != null && chunkSize <= 0) {
+            return ResponseEntity.badRequest().body("chunkSize debe ser mayor que cero.");
+        }
+        if (async) {
+            return submitJob(ImportJobType.RESULTS, file, userId, skipHeader, bulkCopy, chunkSize);
+        }
         try {
-            var result = resultImportService.importCsv(file, userId, skipHeader);
+            // Con chunkSize se confirma por bloques y se puede reanudar subiendo el mismo archivo
+            var result = chunkSize != null
+                    ? resultImportService.importCsvChunked(file, userId, skipHeader, bulkCopy, chunkSize, ImportProgressListener.NONE)
+                    : bulkCopy
+                    ? resultImportService.importCsvBulk(file, userId, skipHeader)
+                    : resultImportService.importCsv(file, userId, skipHeader);
             return ResponseEntity.ok(result);
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body("Error en la importación: " + e.getMessage());
@@ -84,7 +117,8 @@ public class FileController {
     public ResponseEntity<?> importTournamentRegistrations(
             @RequestParam("file") MultipartFile file,
             @RequestParam(defaultValue = "true") boolean skipHeader,
-            @RequestParam Integer userId
+            @RequestParam Integer userId,
+            @RequestParam(defaultValue = "false") boolean async
     ) {
         if (file.isEmpty()) {
             return ResponseEntity.badRequest().body("Por favor seleccione un archivo válido.");
@@ -92,6 +126,9 @@ public class FileController {
         if (!FileReaderUtils.isSupportedFileType(file)) {
             return ResponseEntity.badRequest().body("Formato no soportado. Use archivos .csv, .xlsx o .xls.");
         }
+        if (async) {
+            return submitJob(ImportJobType.TOURNAMENT_REGISTRATIONS, file, userId, skipHeader, false, null);
+        }
         try {
             var result = tournamentRegistrationImportService.importCsv(file, userId, skipHeader);
             return ResponseEntity.ok(result);
@@ -99,4 +136,34 @@ public class FileController {
             return ResponseEntity.internalServerError().body("Error en la importación: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Estado de una importación en segundo plano. Con {@code errorsFrom} se
+     * obtienen solo los errores nuevos desde la última consulta.
+     */
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<?> getImportJob(
+            @PathVariable Integer jobId,
+            @RequestParam(defaultValue = "0") int errorsFrom
+    ) {
+        return importJobService.getJob(jobId, errorsFrom)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body("Importación no encontrada."));
+    }
+
+    /**
+     * Encola la importación y responde con el id del trabajo sin esperar a que termine.
+     */
+    private ResponseEntity<?> submitJob(ImportJobType type, MultipartFile file, Integer userId,
+                                        boolean skipHeader, boolean bulkCopy, Integer chunkSize) {
+        try {
+            ImportJobDTO job = importJobService.submit(type, file, userId, skipHeader, bulkCopy, chunkSize);
+            HttpStatus status = job.getStatus() == ImportJobStatus.FAILED
+                    ? HttpStatus.SERVICE_UNAVAILABLE
+                    : HttpStatus.ACCEPTED;
+            return ResponseEntity.status(status).body(job);
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body("Error en la importación: " + e.getMessage());
+        }
+    }
+}
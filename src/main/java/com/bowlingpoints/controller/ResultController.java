@@ -1,12 +1,23 @@
 package com.bowlingpoints.controller;
 
 import com.bowlingpoints.dto.*;
+import com.bowlingpoints.enums.ErrorsEnum;
+import com.bowlingpoints.exception.BusinessException;
+import com.bowlingpoints.service.LiveScoreboardService;
 import com.bowlingpoints.service.ResultService;
 import com.bowlingpoints.service.TournamentService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
 
@@ -17,13 +28,53 @@ public class ResultController {
 
     private final ResultService resultService;
     private final TournamentService tournamentService;
+    private final LiveScoreboardService liveScoreboardService;
+    private final ObjectMapper objectMapper;
 
+    /**
+     * @deprecated devuelve toda la tabla en un solo arreglo.
+     * Usar /results/page (cursor) o /results/stream (NDJSON).
+     */
+    @Deprecated
     @GetMapping
     public ResponseEntity<ResponseGenericDTO<List<ResultDTO>>> getAll() {
         List<ResultDTO> results = resultService.getAll();
         return ResponseEntity.ok(new ResponseGenericDTO<>(true, "Resultados cargados correctamente", results));
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<ResponseGenericDTO<ResultPageDTO>> getPage(
+            @RequestParam(required = false) Integer afterId,
+            @RequestParam(required = false) Integer size
+    ) {
+        ResultPageDTO page = resultService.getPage(afterId, size);
+        return ResponseEntity.ok(new ResponseGenericDTO<>(true, "Resultados cargados correctamente", page));
+    }
+
+    /**
+     * Exporta todos los resultados como NDJSON (un objeto JSON por línea),
+     * escribiendo a medida que se leen de la base de datos. Usa el ObjectMapper
+     * de Spring, el mismo que serializa el resto de los endpoints.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAll() {
+        StreamingResponseBody body = out -> {
+            ObjectWriter writer = objectMapper.writerFor(ResultDTO.class);
+            resultService.streamAll(dto -> {
+                try {
+                    out.write(writer.writeValueAsBytes(dto));
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            out.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ResponseGenericDTO<ResultDTO>> getById(@PathVariable Integer id) {
         ResultDTO dto = resultService.getById(id);
@@ -73,6 +124,25 @@ public class ResultController {
         return ResponseEntity.ok(resultService.getTournamentResultsTable(tournamentId, modalityId, roundNumber));
     }
 
+    /**
+     * Tabla en vivo (Server-Sent Events): un evento "snapshot" con la tabla completa
+     * y luego eventos "standings" con las filas que cambian cada vez que se
+     * guardan resultados del torneo.
+     * Si se alcanzó el límite de suscriptores responde 503.
+     */
+    @GetMapping(value = "/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamLiveScoreboard(
+            @RequestParam Integer tournamentId,
+            @RequestParam Integer modalityId
+    ) {
+        try {
+            return ResponseEntity.ok(liveScoreboardService.subscribe(tournamentId, modalityId));
+        } catch (BusinessException e) {
+            if (!ErrorsEnum.SERVICE_UNAVAILABLE.getCode().equals(e.getCode())) throw e;
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
     @GetMapping("/by-modality")
     public ResponseEntity<TournamentResultsResponseDTO> getResultsByModality(
             @RequestParam Integer tournamentId,
@@ -83,9 +153,18 @@ public class ResultController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Ranking general por promedio. Sin {@code size} retorna el ranking completo;
+     * con {@code size} retorna la página {@code page} (base 0).
+     */
     @GetMapping("/all-player-ranking")
-    public ResponseEntity<ResponseGenericDTO<List<DashboardPlayerDTO>>> getAllPlayerRanking() {
-        List<DashboardPlayerDTO> ranking = resultService.getAllPlayersByAvgScore();
+    public ResponseEntity<ResponseGenericDTO<List<DashboardPlayerDTO>>> getAllPlayerRanking(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer size
+    ) {
+        List<DashboardPlayerDTO> ranking = size == null
+                ? resultService.getAllPlayersByAvgScore()
+                : resultService.getPlayerRankingPage(page, size);
         return ResponseEntity.ok(new ResponseGenericDTO<>(true, "Ranking cargado correctamente", ranking));
     }
 
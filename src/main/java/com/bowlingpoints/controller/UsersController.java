@@ -3,6 +3,7 @@ package com.bowlingpoints.controller;
 import com.bowlingpoints.config.jwt.JwtService;
 import com.bowlingpoints.dto.ResponseGenericDTO;
 import com.bowlingpoints.dto.UserFullDTO;
+import com.bowlingpoints.dto.UserPageDTO;
 import com.bowlingpoints.service.UserFullService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -23,7 +24,11 @@ public class UsersController {
     private final UserFullService userFullService;
     private final JwtService jwtService;
 
-    //  Obtener todos los usuarios
+    /**
+     * @deprecated devuelve todos los usuarios en un solo arreglo.
+     * Usar /users/page (cursor, búsqueda y filtro por rol).
+     */
+    @Deprecated
     @GetMapping
     @Operation(summary = " Obtener todos los usuarios")
     public ResponseEntity<ResponseGenericDTO<List<UserFullDTO>>> getAllUsers() {
@@ -31,6 +36,19 @@ public class UsersController {
         return ResponseEntity.ok(new ResponseGenericDTO<>(true, "Usuarios obtenidos correctamente", users));
     }
 
+    //  Listado paginado por cursor, con búsqueda por nombre o documento y filtro por rol
+    @GetMapping("/page")
+    @Operation(summary = "Obtener una página de usuarios")
+    public ResponseEntity<ResponseGenericDTO<UserPageDTO>> getUsersPage(
+            @RequestParam(required = false) Integer afterId,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String role
+    ) {
+        UserPageDTO page = userFullService.getUsersPage(afterId, size, search, role);
+        return ResponseEntity.ok(new ResponseGenericDTO<>(true, "Usuarios obtenidos correctamente", page));
+    }
+
     // Obtener todos los usuarios activos (sin importar rol)
     @GetMapping("/actives")
     @Operation(summary = "Obtener todos los usuarios activos")
@@ -0,0 +1,36 @@
+package com.bowlingpoints.dto;
+
+import com.bowlingpoints.enums.ImportJobStatus;
+import com.bowlingpoints.enums.ImportJobType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Estado de una importación en segundo plano. {@code errors} contiene los
+ * errores desde {@code errorsFrom}, para que el cliente pida solo los nuevos.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobDTO {
+    private Integer jobId;
+    private ImportJobType type;
+    private ImportJobStatus status;
+    private String fileName;
+    private int rowsProcessed;
+    private int created;
+    private int skipped;
+    private int errorCount;
+    private int errorsFrom;
+    private List<String> errors;
+    private String message;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -19,4 +19,15 @@ public class PlayerAiStats {
 
     private int maxScore;
     private int minScore;
+
+    // Constructor para JPQL (tipos de AVG, COUNT, MAX y MIN)
+    public PlayerAiStats(String playerName, String modalityName, Double averageScore,
+                         Long gamesPlayed, Integer maxScore, Integer minScore) {
+        this.playerName = playerName;
+        this.modalityName = modalityName;
+        this.averageScore = averageScore != null ? averageScore : 0;
+        this.gamesPlayed = gamesPlayed != null ? gamesPlayed.intValue() : 0;
+        this.maxScore = maxScore != null ? maxScore : 0;
+        this.minScore = minScore != null ? minScore : 0;
+    }
 }
@@ -0,0 +1,19 @@
+package com.bowlingpoints.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Datos de la persona que muestra su resumen público, con el nombre de su club activo.
+ */
+public interface PlayerProfileProjection {
+
+    String getFullName();
+
+    String getFullSurname();
+
+    LocalDate getBirthDate();
+
+    String getPhotoUrl();
+
+    String getClubName();
+}
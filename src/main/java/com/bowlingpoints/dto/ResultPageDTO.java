@@ -0,0 +1,21 @@
+package com.bowlingpoints.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Página de resultados paginada por cursor (keyset sobre resultId).
+ * Para pedir la siguiente página se envía nextCursor como afterId.
+ */
+@Builder
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultPageDTO {
+    private List<ResultDTO> items;
+    private Integer nextCursor;
+    private boolean hasMore;
+    private int size;
+}
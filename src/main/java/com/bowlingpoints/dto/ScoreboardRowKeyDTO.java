@@ -0,0 +1,23 @@
+package com.bowlingpoints.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Identifica una fila de la tabla en vivo. Las filas solo de equipo llegan con
+ * {@code personId = 0}, por eso la fila se identifica por persona y equipo.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ScoreboardRowKeyDTO {
+    private Integer personId;
+    private Integer teamId;
+
+    public static ScoreboardRowKeyDTO of(PlayerResultTableDTO row) {
+        return new ScoreboardRowKeyDTO(row.getPersonId(), row.getTeamId());
+    }
+}
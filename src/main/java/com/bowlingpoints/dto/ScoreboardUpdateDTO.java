@@ -0,0 +1,33 @@
+package com.bowlingpoints.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cambio de la tabla en vivo de un torneo y modalidad. En el evento inicial
+ * ({@code snapshot = true}) {@code changed} trae la tabla completa; en los
+ * siguientes solo las filas que cambiaron (incluida su posición) y las filas
+ * (persona y equipo) que salieron de la tabla.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ScoreboardUpdateDTO {
+    private Integer tournamentId;
+    private Integer modalityId;
+    private long version;
+    private boolean snapshot;
+
+    private List<PlayerResultTableDTO> changed;
+    private List<ScoreboardRowKeyDTO> removed;
+
+    private Map<String, Double> avgByLine;
+    private Double avgByRound;
+    private HighestLineDTO highestLine;
+}
@@ -0,0 +1,21 @@
+package com.bowlingpoints.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Página del listado de usuarios paginada por cursor (keyset sobre userId).
+ * Para pedir la siguiente página se envía nextCursor como afterId con los mismos filtros.
+ */
+@Builder
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPageDTO {
+    private List<UserFullDTO> items;
+    private Integer nextCursor;
+    private boolean hasMore;
+    private int size;
+}
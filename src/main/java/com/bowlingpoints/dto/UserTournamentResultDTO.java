@@ -17,4 +17,14 @@ public class UserTournamentResultDTO {
     private Integer laneNumber;
     private Integer lineNumber;
     private LocalDateTime playedAt;    // Fecha/Hora partida
+
+    // Constructor para JPQL
+    public UserTournamentResultDTO(Integer resultId, Integer score, Integer laneNumber, Integer lineNumber,
+                                   LocalDateTime playedAt) {
+        this.resultId = resultId;
+        this.score = score;
+        this.laneNumber = laneNumber;
+        this.lineNumber = lineNumber;
+        this.playedAt = playedAt;
+    }
 }
@@ -0,0 +1,70 @@
+package com.bowlingpoints.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Última línea confirmada de una importación de resultados por bloques.
+ * Al volver a subir el mismo archivo (mismo hash) para el mismo torneo se
+ * continúa desde ahí.
+ */
+@Entity
+@Table(name = "import_checkpoint",
+        uniqueConstraints = @UniqueConstraint(name = "uk_import_checkpoint_file_tournament",
+                columnNames = {"file_hash", "tournament_id"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "import_checkpoint_id")
+    private Integer importCheckpointId;
+
+    /**
+     * SHA-256 del contenido del archivo, en hexadecimal.
+     */
+    @Column(name = "file_hash", nullable = false)
+    private String fileHash;
+
+    /**
+     * Torneo al que pertenecen los resultados del archivo.
+     */
+    @Column(name = "tournament_id", nullable = false)
+    private Integer tournamentId;
+
+    @Column(name = "file_name")
+    private String fileName;
+
+    /**
+     * Número de línea del archivo hasta el cual todo quedó guardado.
+     */
+    @Column(name = "last_committed_line")
+    private int lastCommittedLine;
+
+    /**
+     * Totales acumulados de todos los intentos.
+     */
+    @Column(name = "created_count")
+    private int createdCount;
+
+    @Column(name = "skipped_count")
+    private int skippedCount;
+
+    @Column(name = "completed")
+    private boolean completed;
+
+    @Column(name = "created_by")
+    private Integer createdBy;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
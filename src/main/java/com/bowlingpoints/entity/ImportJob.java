@@ -0,0 +1,74 @@
+package com.bowlingpoints.entity;
+
+import com.bowlingpoints.enums.ImportJobStatus;
+import com.bowlingpoints.enums.ImportJobType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Importación de archivo ejecutada en segundo plano. Guarda el avance y el
+ * resultado para que el reporte sobreviva a un reinicio de la aplicación.
+ */
+@Entity
+@Table(name = "import_job")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "import_job_id")
+    private Integer importJobId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "job_type", nullable = false)
+    private ImportJobType jobType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private ImportJobStatus status;
+
+    @Column(name = "file_name")
+    private String fileName;
+
+    /**
+     * Filas procesadas hasta el momento.
+     */
+    @Column(name = "rows_processed")
+    private int rowsProcessed;
+
+    @Column(name = "created_count")
+    private int createdCount;
+
+    @Column(name = "skipped_count")
+    private int skippedCount;
+
+    /**
+     * Cantidad de errores guardados en import_job_error.
+     */
+    @Column(name = "error_count")
+    private int errorCount;
+
+    /**
+     * Motivo de la falla cuando el estado es FAILED.
+     */
+    @Column(name = "message")
+    private String message;
+
+    @Column(name = "created_by")
+    private Integer createdBy;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+}
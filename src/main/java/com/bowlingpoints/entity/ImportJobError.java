@@ -0,0 +1,31 @@
+package com.bowlingpoints.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Error de una importación en segundo plano; {@code errorIndex} conserva el orden.
+ */
+@Entity
+@Table(name = "import_job_error")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportJobError {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "import_job_error_id")
+    private Integer importJobErrorId;
+
+    @Column(name = "import_job_id", nullable = false)
+    private Integer importJobId;
+
+    @Column(name = "error_index", nullable = false)
+    private Integer errorIndex;
+
+    @Column(name = "message", nullable = false)
+    private String message;
+}
@@ -0,0 +1,42 @@
+package com.bowlingpoints.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Agregados de resultados por jugador para el ranking general.
+ * Se mantiene desde {@link com.bowlingpoints.service.PlayerRankingStatsService}.
+ */
+@Entity
+@Table(name = "player_ranking_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PlayerRankingStats {
+
+    @Id
+    @Column(name = "person_id")
+    private Integer personId;
+
+    @Column(name = "total_score", nullable = false)
+    private Long totalScore;
+
+    @Column(name = "games_count", nullable = false)
+    private Integer gamesCount;
+
+    @Column(name = "best_game", nullable = false)
+    private Integer bestGame;
+
+    @Column(name = "tournaments_count", nullable = false)
+    private Long tournamentsCount;
+
+    @Column(name = "average_score", nullable = false)
+    private Double averageScore;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -8,9 +8,19 @@ import java.time.LocalDateTime;
 /**
  * Representa el resultado de una persona o equipo en un torneo,
  * incluyendo modalidad, categoría, ronda y puntaje.
+ * Todas las asociaciones son LAZY: cada consulta trae solo lo que necesita
+ * (proyecciones a DTO o el grafo {@value #DETAIL_GRAPH}).
  */
 @Entity
 @Table(name = "result")
+@NamedEntityGraph(name = Result.DETAIL_GRAPH, attributeNodes = {
+        @NamedAttributeNode("person"),
+        @NamedAttributeNode("team"),
+        @NamedAttributeNode("tournament"),
+        @NamedAttributeNode("category"),
+        @NamedAttributeNode("modality"),
+        @NamedAttributeNode("branch")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -18,29 +28,41 @@ import java.time.LocalDateTime;
 @Builder
 public class Result {
 
+    /**
+     * Ids reservados por cada nextval de result_result_id_seq (su INCREMENT BY).
+     * Con un bloque por nextval Hibernate puede agrupar los INSERT en batch.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    /**
+     * Resultado con todas sus referencias, para armar el ResultDTO completo.
+     */
+    public static final String DETAIL_GRAPH = "Result.detail";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "result_id_seq")
+    @SequenceGenerator(name = "result_id_seq", sequenceName = "result_result_id_seq", allocationSize = Result.ID_ALLOCATION_SIZE)
     @Column(name = "result_id")
     private Integer resultId;
 
     /**
      * Participante del resultado.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "person_id")
     private Person person;
 
     /**
      * Equipo asociado (opcional).
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "team_id")
     private Team team;
 
     /**
      * Torneo al que pertenece el resultado.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "tournament_id")
     private Tournament tournament;
 
@@ -53,14 +75,14 @@ public class Result {
     /**
      * Categoría en la que participa.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id")
     private Category category;
 
     /**
      * Modalidad en la que compite.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "modality_id")
     private Modality modality;
 
@@ -14,7 +14,8 @@ import java.util.Date;
 public class TournamentRegistration {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "registration_id_seq")
+    @SequenceGenerator(name = "registration_id_seq", sequenceName = "tournament_registration_registration_id_seq", allocationSize = 50)
     @Column(name = "registration_id")
     private Integer registrationId;
 
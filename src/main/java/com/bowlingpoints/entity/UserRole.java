@@ -18,7 +18,8 @@ import java.time.LocalDateTime;
 public class UserRole {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_role_id_seq")
+    @SequenceGenerator(name = "user_role_id_seq", sequenceName = "user_role_user_role_id_seq", allocationSize = 50)
     @Column(name = "user_role_id")
     private Long userRoleId;
 
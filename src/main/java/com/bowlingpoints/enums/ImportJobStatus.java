@@ -0,0 +1,8 @@
+package com.bowlingpoints.enums;
+
+public enum ImportJobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,11 @@
+package com.bowlingpoints.enums;
+
+/**
+ * Tipos de archivo que se pueden importar desde /files.
+ */
+public enum ImportJobType {
+    RESULTS,
+    PERSONS,
+    TEAM_PERSON,
+    TOURNAMENT_REGISTRATIONS
+}
@@ -0,0 +1,7 @@
+package com.bowlingpoints.event;
+
+/**
+ * Se creó, modificó o eliminó un ámbito.
+ */
+public record AmbitChangedEvent(Integer ambitId) {
+}
@@ -0,0 +1,14 @@
+package com.bowlingpoints.event;
+
+import java.util.Set;
+
+/**
+ * Cambió el perfil público (nombre, fecha de nacimiento, foto o club activo)
+ * de las personas indicadas.
+ */
+public record PlayerProfileChangedEvent(Set<Integer> personIds) {
+
+    public PlayerProfileChangedEvent {
+        personIds = Set.copyOf(personIds);
+    }
+}
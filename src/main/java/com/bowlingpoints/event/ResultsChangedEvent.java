@@ -0,0 +1,14 @@
+package com.bowlingpoints.event;
+
+import java.util.Set;
+
+/**
+ * Se guardaron, modificaron o eliminaron resultados de los torneos y personas indicados.
+ */
+public record ResultsChangedEvent(Set<Integer> tournamentIds, Set<Integer> personIds) {
+
+    public ResultsChangedEvent {
+        tournamentIds = Set.copyOf(tournamentIds);
+        personIds = Set.copyOf(personIds);
+    }
+}
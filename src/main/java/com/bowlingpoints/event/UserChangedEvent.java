@@ -0,0 +1,14 @@
+package com.bowlingpoints.event;
+
+import java.util.Set;
+
+/**
+ * Se modificó o eliminó el usuario con alguno de los nicknames indicados
+ * (se incluye el nickname anterior si cambió).
+ */
+public record UserChangedEvent(Set<String> nicknames) {
+
+    public UserChangedEvent {
+        nicknames = Set.copyOf(nicknames);
+    }
+}
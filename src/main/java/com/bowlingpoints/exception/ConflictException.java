@@ -0,0 +1,14 @@
+package com.bowlingpoints.exception;
+
+import lombok.Getter;
+
+@Getter
+public class ConflictException extends RuntimeException {
+    private final String code;
+
+    public ConflictException(String code, String message) {
+        super(message);
+        this.code = code;
+    }
+
+}
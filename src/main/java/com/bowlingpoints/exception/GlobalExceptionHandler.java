@@ -38,6 +38,17 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
 
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ResponseGenericDTO<Object>> handleConflict(
+            ConflictException ex, WebRequest request) {
+        ResponseGenericDTO<Object> response = new ResponseGenericDTO<>(
+                false,
+                String.format("[%s] %s", ex.getCode(), ex.getMessage()),
+                Map.of("timestamp", LocalDateTime.now(), "path", request.getDescription(false))
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ResponseGenericDTO<Object>> handleGenericException(
             Exception ex, WebRequest request) {
@@ -22,5 +22,8 @@ public interface UserFullProjection {
     // Añadir:
     Integer getRoleId();
     String getRoleName();
+
+    // Club activo de la persona (null si no tiene)
+    Integer getClubId();
 }
 
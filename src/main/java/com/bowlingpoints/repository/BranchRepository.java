@@ -2,8 +2,11 @@ package com.bowlingpoints.repository;
 
 import com.bowlingpoints.entity.Branch;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,4 +18,8 @@ public interface BranchRepository extends JpaRepository<Branch, Integer> {
     Optional<Branch> findByBranchIdAndStatusTrue(Integer branchId);
 
     Optional<Branch> findByNameIgnoreCase(String name);
+
+    // Búsqueda en bloque sin distinguir mayúsculas (los nombres deben venir en minúscula)
+    @Query("SELECT b FROM Branch b WHERE LOWER(b.name) IN :names")
+    List<Branch> findByLowerNameIn(@Param("names") Collection<String> names);
 }
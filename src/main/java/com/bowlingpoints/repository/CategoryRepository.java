@@ -3,6 +3,7 @@ package com.bowlingpoints.repository;
 import com.bowlingpoints.entity.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,4 +26,9 @@ public interface CategoryRepository extends JpaRepository<Category, Integer> {
      * Busca categoría por nombre (ignorando eliminadas).
      */
     Optional<Category> findByNameAndDeletedAtIsNull(String name);
+
+    /**
+     * Busca en bloque categorías por nombre (ignorando eliminadas).
+     */
+    List<Category> findByNameInAndDeletedAtIsNull(Collection<String> names);
 }
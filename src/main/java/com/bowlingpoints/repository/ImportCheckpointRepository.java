@@ -0,0 +1,27 @@
+package com.bowlingpoints.repository;
+
+import com.bowlingpoints.entity.ImportCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ImportCheckpointRepository extends JpaRepository<ImportCheckpoint, Integer> {
+
+    Optional<ImportCheckpoint> findByFileHashAndTournamentId(String fileHash, Integer tournamentId);
+
+    /**
+     * Descarta el avance de las importaciones del torneo, para que sus archivos
+     * puedan volver a importarse.
+     */
+    @Modifying
+    @Query("""
+        DELETE FROM ImportCheckpoint c
+        WHERE c.tournamentId = :tournamentId
+    """)
+    int deleteByTournamentId(@Param("tournamentId") Integer tournamentId);
+}
@@ -0,0 +1,13 @@
+package com.bowlingpoints.repository;
+
+import com.bowlingpoints.entity.ImportJobError;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ImportJobErrorRepository extends JpaRepository<ImportJobError, Integer> {
+
+    List<ImportJobError> findByImportJobIdAndErrorIndexGreaterThanEqualOrderByErrorIndexAsc(Integer importJobId, Integer fromIndex);
+}
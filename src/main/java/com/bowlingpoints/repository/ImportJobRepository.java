@@ -0,0 +1,31 @@
+package com.bowlingpoints.repository;
+
+import com.bowlingpoints.entity.ImportJob;
+import com.bowlingpoints.enums.ImportJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, Integer> {
+
+    /**
+     * Marca como fallidos los trabajos que quedaron pendientes o en ejecución.
+     */
+    @Modifying
+    @Query("""
+        UPDATE ImportJob j
+        SET j.status = com.bowlingpoints.enums.ImportJobStatus.FAILED,
+            j.message = :message,
+            j.finishedAt = :finishedAt
+        WHERE j.status IN :statuses
+    """)
+    int failJobsInStatus(@Param("statuses") Collection<ImportJobStatus> statuses,
+                         @Param("message") String message,
+                         @Param("finishedAt") LocalDateTime finishedAt);
+}
@@ -3,6 +3,7 @@ package com.bowlingpoints.repository;
 import com.bowlingpoints.entity.Modality;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,6 +17,11 @@ public interface ModalityRepository extends JpaRepository<Modality, Integer> {
      */
     Optional<Modality> findByNameAndDeletedAtIsNull(String name);
 
+    /**
+     * Busca en bloque modalidades por nombre exacto (ignorando eliminadas).
+     */
+    List<Modality> findByNameInAndDeletedAtIsNull(Collection<String> names);
+
     /**
      * Lista todas las modalidades no eliminadas, ordenadas por nombre.
      */
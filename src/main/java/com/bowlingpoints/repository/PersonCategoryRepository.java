@@ -2,7 +2,10 @@ package com.bowlingpoints.repository;
 
 import com.bowlingpoints.entity.PersonCategory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface PersonCategoryRepository extends JpaRepository<PersonCategory, Integer> {
@@ -10,6 +13,18 @@ public interface PersonCategoryRepository extends JpaRepository<PersonCategory,
     // Trae todas las categorías asociadas a una persona
     List<PersonCategory> findByPerson_PersonId(Integer personId);
 
+    // Categorías activas de varias personas (listado y perfil de usuarios).
+    // Fila: personId, categoryId, nombre, descripción, estado de la categoría
+    @Query("""
+                SELECT pc.person.personId, c.categoryId, c.name, c.description, c.status
+                FROM PersonCategory pc
+                JOIN pc.category c
+                WHERE pc.person.personId IN :personIds
+                  AND pc.status = true
+                ORDER BY pc.id
+            """)
+    List<Object[]> findActiveCategoryRowsByPersonIds(@Param("personIds") Collection<Integer> personIds);
+
     // Elimina todas las relaciones categoría-persona de una persona
     void deleteAllByPerson_PersonId(Integer personId);
 }
\ No newline at end of file
@@ -1,8 +1,13 @@
 package com.bowlingpoints.repository;
 
+import com.bowlingpoints.dto.PlayerProfileProjection;
 import com.bowlingpoints.entity.Person;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface PersonRepository extends JpaRepository<Person, Integer> {
@@ -12,6 +17,34 @@ public interface PersonRepository extends JpaRepository<Person, Integer> {
     // Buscar una persona por su nombre completo y apellido completo
     Optional<Person> findByFullNameAndFullSurname(String fullName, String fullSurname);
 
+    // Resuelve en bloque [document, personId] sin hidratar la entidad Person
+    @Query("SELECT p.document, p.personId FROM Person p WHERE p.document IN :documents")
+    List<Object[]> findIdsByDocumentIn(@Param("documents") Collection<String> documents);
+
+    /**
+     * Perfil público en una sola consulta. El club es el de la afiliación activa
+     * más reciente (afiliación y club vigentes); null si no tiene ninguna.
+     */
+    @Query("""
+            SELECT p.fullName AS fullName,
+                   p.fullSurname AS fullSurname,
+                   p.birthDate AS birthDate,
+                   p.photoUrl AS photoUrl,
+                   (SELECT c.name
+                    FROM ClubPerson cp
+                    JOIN cp.club c
+                    WHERE cp.person.personId = p.personId
+                      AND cp.status = true
+                      AND cp.deletedAt IS NULL
+                      AND c.status = true
+                      AND c.deletedAt IS NULL
+                    ORDER BY cp.joinedAt DESC, cp.id DESC
+                    LIMIT 1) AS clubName
+            FROM Person p
+            WHERE p.personId = :personId
+            """)
+    Optional<PlayerProfileProjection> findPlayerProfile(@Param("personId") Integer personId);
+
     boolean existsByDocument(String document);
     boolean existsByEmail(String email);
 }
@@ -0,0 +1,75 @@
+package com.bowlingpoints.repository;
+
+import com.bowlingpoints.dto.DashboardPlayerDTO;
+import com.bowlingpoints.entity.PlayerRankingStats;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PlayerRankingStatsRepository extends JpaRepository<PlayerRankingStats, Integer> {
+
+    @Query("""
+                SELECT new com.bowlingpoints.dto.DashboardPlayerDTO(
+                    s.personId,
+                    CONCAT(p.fullName, ' ', p.fullSurname),
+                    s.averageScore,
+                    s.bestGame,
+                    s.tournamentsCount,
+                    p.photoUrl
+                )
+                FROM PlayerRankingStats s
+                JOIN Person p ON p.personId = s.personId
+                ORDER BY s.averageScore DESC, s.personId ASC
+            """)
+    List<DashboardPlayerDTO> findRanking(Pageable pageable);
+
+    /**
+     * Borra la fila de las personas dadas que ya no tienen resultados vigentes
+     * (la consulta de agregados no genera fila para ellas).
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+                DELETE FROM PlayerRankingStats s
+                WHERE s.personId IN :personIds
+                  AND NOT EXISTS (
+                      SELECT 1 FROM Result r
+                      WHERE r.person.personId = s.personId
+                        AND r.deletedAt IS NULL
+                        AND r.tournament IS NOT NULL
+                  )
+            """)
+    int deleteWithoutActiveResults(@Param("personIds") Collection<Integer> personIds);
+
+    /**
+     * Recalcula los agregados de las personas dadas a partir de sus resultados
+     * vigentes y los inserta o actualiza en una sola sentencia. Con ON CONFLICT
+     * dos transacciones que recalculan a la misma persona no chocan con la clave
+     * primaria: la segunda espera el bloqueo de la fila y la actualiza.
+     * Las personas sin resultados no generan fila.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+                INSERT INTO player_ranking_stats (person_id, total_score, games_count, best_game, tournaments_count, average_score, updated_at)
+                SELECT r.person_id, SUM(r.score), COUNT(*), MAX(r.score), COUNT(DISTINCT r.tournament_id), AVG(r.score), CURRENT_TIMESTAMP
+                FROM result r
+                WHERE r.deleted_at IS NULL
+                  AND r.tournament_id IS NOT NULL
+                  AND r.person_id IN (:personIds)
+                GROUP BY r.person_id
+                ON CONFLICT (person_id) DO UPDATE SET
+                    total_score = EXCLUDED.total_score,
+                    games_count = EXCLUDED.games_count,
+                    best_game = EXCLUDED.best_game,
+                    tournaments_count = EXCLUDED.tournaments_count,
+                    average_score = EXCLUDED.average_score,
+                    updated_at = EXCLUDED.updated_at
+            """, nativeQuery = true)
+    int upsertStatsForPersons(@Param("personIds") Collection<Integer> personIds);
+}
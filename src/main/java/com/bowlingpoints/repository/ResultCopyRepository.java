@@ -0,0 +1,293 @@
+package com.bowlingpoints.repository;
+
+import com.bowlingpoints.entity.Result;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Carga masiva de resultados mediante una tabla temporal de staging.
+ * En PostgreSQL las filas se envían con COPY (CopyManager); en otras bases
+ * (H2 en pruebas) se usa un batch JDBC. En PostgreSQL la inserción final en
+ * result es un solo INSERT ... ON CONFLICT DO NOTHING sobre la clave natural,
+ * que informa además qué filas ya existían.
+ * Debe ejecutarse dentro de una transacción para compartir la conexión de JPA.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class ResultCopyRepository {
+
+    private static final String STAGE_TABLE = "result_import_stage";
+
+    private static final String STAGE_COLUMNS = """
+            person_id, team_id, tournament_id, round_number, category_id, modality_id,
+            branch_id, lane_number, line_number, score, created_by, updated_by""";
+
+    private static final String COLUMN_LIST = STAGE_COLUMNS.replace("\n", " ");
+
+    private static final String STAGE_DEFINITION = """
+            (
+                result_id INT,
+                person_id INT,
+                team_id INT,
+                tournament_id INT,
+                round_number INT,
+                category_id INT,
+                modality_id INT,
+                branch_id INT,
+                lane_number INT,
+                line_number INT,
+                score INT,
+                created_by INT,
+                updated_by INT
+            )""";
+
+    private static final String KEY_COLUMNS = "person_id, tournament_id, modality_id, round_number, line_number";
+
+    /**
+     * PostgreSQL: la clave natural (índice único parcial uk_result_natural_key)
+     * descarta los duplicados en la misma sentencia, también los insertados por
+     * otra transacción en paralelo. Los ids vienen reservados en el staging.
+     * Devuelve las filas del staging que no se insertaron.
+     */
+    private static final String UPSERT_FROM_STAGE = """
+            WITH inserted AS (
+                INSERT INTO result (result_id, %1$s, created_at, updated_at)
+                SELECT result_id, %1$s, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+                FROM %2$s
+                ON CONFLICT (%3$s) WHERE deleted_at IS NULL DO NOTHING
+                RETURNING %3$s
+            )
+            SELECT %1$s
+            FROM %2$s s
+            WHERE NOT EXISTS (
+                SELECT 1 FROM inserted i
+                WHERE i.person_id = s.person_id
+                  AND i.tournament_id = s.tournament_id
+                  AND i.modality_id = s.modality_id
+                  AND i.round_number = s.round_number
+                  AND i.line_number = s.line_number
+            )""".formatted(COLUMN_LIST, STAGE_TABLE, KEY_COLUMNS);
+
+    /**
+     * Condición de "ya existe" para las bases sin ON CONFLICT con índice parcial (H2).
+     */
+    private static final String EXISTING_RESULT = """
+            EXISTS (
+                SELECT 1 FROM result r
+                WHERE r.person_id = s.person_id
+                  AND r.tournament_id = s.tournament_id
+                  AND r.modality_id = s.modality_id
+                  AND r.round_number = s.round_number
+                  AND r.line_number = s.line_number
+                  AND r.deleted_at IS NULL
+            )""";
+
+    private static final String SELECT_CONFLICTS = """
+            SELECT %1$s
+            FROM %2$s s
+            WHERE %3$s""".formatted(COLUMN_LIST, STAGE_TABLE, EXISTING_RESULT);
+
+    private static final String INSERT_FROM_STAGE = """
+            INSERT INTO result (%1$s, created_at, updated_at)
+            SELECT %1$s, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+            FROM %2$s s
+            WHERE NOT %3$s""".formatted(COLUMN_LIST, STAGE_TABLE, EXISTING_RESULT);
+
+    private static final int JDBC_BATCH_SIZE = 500;
+
+    private static final String RESULT_ID_SEQUENCE = "result_result_id_seq";
+
+    private final DataSource dataSource;
+
+    /**
+     * Envía las filas al staging e inserta en result las que no existan todavía.
+     * Puede llamarse varias veces en la misma transacción (por bloques): el
+     * staging se vacía después de cada inserción.
+     *
+     * @return cantidad de resultados insertados y filas descartadas por ya existir
+     */
+    public CopyResult copyIntoResults(List<StagedResult> rows) throws SQLException {
+        if (rows.isEmpty()) return new CopyResult(0, List.of());
+
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            boolean postgres = connection.isWrapperFor(PGConnection.class);
+
+            try (Statement st = connection.createStatement()) {
+                st.execute(postgres
+                        ? "CREATE TEMP TABLE IF NOT EXISTS " + STAGE_TABLE + " " + STAGE_DEFINITION + " ON COMMIT DROP"
+                        : "CREATE LOCAL TEMPORARY TABLE IF NOT EXISTS " + STAGE_TABLE + " " + STAGE_DEFINITION + " ON COMMIT DROP TRANSACTIONAL");
+            }
+
+            if (postgres) {
+                int[] ids = allocateIds(connection, rows.size());
+                copyRows(connection.unwrap(PGConnection.class), rows, ids);
+            } else {
+                batchInsertRows(connection, rows);
+            }
+
+            List<StagedResult> conflicts;
+            int inserted;
+            try (Statement st = connection.createStatement()) {
+                if (postgres) {
+                    conflicts = readStaged(st, UPSERT_FROM_STAGE);
+                    inserted = rows.size() - conflicts.size();
+                } else {
+                    conflicts = readStaged(st, SELECT_CONFLICTS);
+                    inserted = st.executeUpdate(INSERT_FROM_STAGE);
+                }
+                st.executeUpdate("DELETE FROM " + STAGE_TABLE);
+            }
+
+            log.info("Carga masiva de resultados: {} en staging, {} insertados, {} ya existían",
+                    rows.size(), inserted, conflicts.size());
+            return new CopyResult(inserted, conflicts);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    /**
+     * Reserva ids de result en bloques de {@link Result#ID_ALLOCATION_SIZE}, con la
+     * misma convención que el optimizador pooled de Hibernate (cada nextval es el
+     * último id de su bloque). Así la carga masiva no gasta un bloque por fila
+     * con el DEFAULT de la columna.
+     */
+    private int[] allocateIds(Connection connection, int count) throws SQLException {
+        int blockSize = Result.ID_ALLOCATION_SIZE;
+        int blocks = (count + blockSize - 1) / blockSize;
+        int[] ids = new int[count];
+        int next = 0;
+        try (PreparedStatement ps = connection.prepareStatement(
+                "SELECT nextval('" + RESULT_ID_SEQUENCE + "') FROM generate_series(1, ?)")) {
+            ps.setInt(1, blocks);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next() && next < count) {
+                    int hi = rs.getInt(1);
+                    for (int id = hi - blockSize + 1; id <= hi && next < count; id++) {
+                        ids[next++] = id;
+                    }
+                }
+            }
+        }
+        return ids;
+    }
+
+    private void copyRows(PGConnection connection, List<StagedResult> rows, int[] ids) throws SQLException {
+        CopyIn copyIn = connection.getCopyAPI()
+                .copyIn("COPY " + STAGE_TABLE + " (result_id, " + STAGE_COLUMNS + ") FROM STDIN WITH (FORMAT csv)");
+        try {
+            StringBuilder line = new StringBuilder(64);
+            for (int i = 0; i < rows.size(); i++) {
+                line.setLength(0);
+                line.append(ids[i]).append(',');
+                appendCsv(line, rows.get(i));
+                byte[] bytes = line.toString().getBytes(StandardCharsets.UTF_8);
+                copyIn.writeToCopy(bytes, 0, bytes.length);
+            }
+            copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private void batchInsertRows(Connection connection, List<StagedResult> rows) throws SQLException {
+        String sql = "INSERT INTO " + STAGE_TABLE + " (" + STAGE_COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            int pending = 0;
+            for (StagedResult row : rows) {
+                Integer[] values = row.values();
+                for (int i = 0; i < values.length; i++) {
+                    if (values[i] == null) {
+                        ps.setNull(i + 1, Types.INTEGER);
+                    } else {
+                        ps.setInt(i + 1, values[i]);
+                    }
+                }
+                ps.addBatch();
+                if (++pending >= JDBC_BATCH_SIZE) {
+                    ps.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                ps.executeBatch();
+            }
+        }
+    }
+
+    private List<StagedResult> readStaged(Statement st, String sql) throws SQLException {
+        List<StagedResult> staged = new ArrayList<>();
+        try (ResultSet rs = st.executeQuery(sql)) {
+            while (rs.next()) {
+                Integer[] values = new Integer[12];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = rs.getObject(i + 1, Integer.class);
+                }
+                staged.add(new StagedResult(values[0], values[1], values[2], values[3], values[4], values[5],
+                        values[6], values[7], values[8], values[9], values[10], values[11]));
+            }
+        }
+        return staged;
+    }
+
+    /**
+     * Formato CSV de COPY: un campo vacío sin comillas se interpreta como NULL.
+     */
+    private void appendCsv(StringBuilder sb, StagedResult row) {
+        Integer[] values = row.values();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) sb.append(',');
+            if (values[i] != null) sb.append(values[i].intValue());
+        }
+        sb.append('\n');
+    }
+
+    /**
+     * Resultado de un bloque: insertados y filas del staging que chocaron con
+     * un resultado vigente (misma persona, torneo, modalidad, ronda y línea).
+     */
+    public record CopyResult(int inserted, List<StagedResult> conflicts) {
+    }
+
+    /**
+     * Resultado ya validado y resuelto a ids, listo para el staging.
+     */
+    public record StagedResult(
+            Integer personId,
+            Integer teamId,
+            Integer tournamentId,
+            Integer roundNumber,
+            Integer categoryId,
+            Integer modalityId,
+            Integer branchId,
+            Integer laneNumber,
+            Integer lineNumber,
+            Integer score,
+            Integer createdBy,
+            Integer updatedBy
+    ) {
+        Integer[] values() {
+            return new Integer[]{personId, teamId, tournamentId, roundNumber, categoryId, modalityId,
+                    branchId, laneNumber, lineNumber, score, createdBy, updatedBy};
+        }
+    }
+}
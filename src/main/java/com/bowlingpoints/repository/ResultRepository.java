@@ -1,17 +1,27 @@
 package com.bowlingpoints.repository;
 
 import com.bowlingpoints.dto.DashboardPlayerDTO;
+import com.bowlingpoints.dto.PlayerAiStats;
+import com.bowlingpoints.dto.ResultDTO;
 import com.bowlingpoints.dto.TopTournamentDTO;
 import com.bowlingpoints.dto.TournamentBranchPlayerCountDTO;
 import com.bowlingpoints.dto.UserStatsProjection;
+import com.bowlingpoints.dto.UserTournamentResultDTO;
 import com.bowlingpoints.entity.Result;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ResultRepository extends JpaRepository<Result, Integer> {
 
@@ -33,23 +43,6 @@ public interface ResultRepository extends JpaRepository<Result, Integer> {
             """)
     List<DashboardPlayerDTO> findTopPlayersByAvgScore(Pageable pageable);
 
-    @Query("""
-                SELECT new com.bowlingpoints.dto.DashboardPlayerDTO(
-                    r.person.personId,
-                    CONCAT(p.fullName, ' ', p.fullSurname),
-                    AVG(r.score),
-                    MAX(r.score),
-                    COUNT(DISTINCT t.tournamentId),
-                    p.photoUrl
-                )
-                FROM Result r
-                JOIN r.person p
-                JOIN r.tournament t
-                WHERE r.deletedAt IS NULL
-                GROUP BY r.person.personId, p.fullName, p.fullSurname, p.photoUrl
-                ORDER BY AVG(r.score) DESC
-            """)
-    List<DashboardPlayerDTO> findAllPlayersByAvgScore();
 
     @Query("""
                 SELECT new com.bowlingpoints.dto.TournamentBranchPlayerCountDTO(
@@ -85,12 +78,37 @@ public interface ResultRepository extends JpaRepository<Result, Integer> {
             """)
     List<Object[]> findTournamentsByPersonId(@Param("userId") Integer userId);
 
+    /**
+     * Detalle de las líneas de un jugador en un torneo, proyectado a DTO
+     * (sin cargar persona, torneo ni demás referencias del resultado).
+     */
     @Query("""
-                SELECT r FROM Result r
+                SELECT new com.bowlingpoints.dto.UserTournamentResultDTO(
+                    r.resultId,
+                    r.score,
+                    r.laneNumber,
+                    r.lineNumber,
+                    r.createdAt
+                )
+                FROM Result r
                 WHERE r.person.personId = :userId AND r.tournament.tournamentId = :tournamentId
                 ORDER BY r.roundNumber, r.lineNumber
             """)
-    List<Result> findResultsByPersonAndTournament(@Param("userId") Integer userId, @Param("tournamentId") Integer tournamentId);
+    List<UserTournamentResultDTO> findResultsByPersonAndTournament(@Param("userId") Integer userId, @Param("tournamentId") Integer tournamentId);
+
+    /**
+     * Todos los resultados con sus referencias en una sola consulta.
+     */
+    @Override
+    @EntityGraph(Result.DETAIL_GRAPH)
+    List<Result> findAll();
+
+    /**
+     * Un resultado con sus referencias en una sola consulta (detalle del ResultDTO).
+     */
+    @EntityGraph(Result.DETAIL_GRAPH)
+    @Query("SELECT r FROM Result r WHERE r.resultId = :resultId")
+    Optional<Result> findWithDetailById(@Param("resultId") Integer resultId);
 
     @Query("""
                 SELECT
@@ -153,7 +171,9 @@ public interface ResultRepository extends JpaRepository<Result, Integer> {
                     r.roundNumber,
                     r.score,
                     t.teamId,                                              
-                    t.nameTeam                                              
+                    t.nameTeam,
+                    r.lineNumber,
+                    r.resultId
                 FROM Result r
                 LEFT JOIN r.person p
                 LEFT JOIN p.clubPersons cp ON cp.status = true AND cp.deletedAt IS NULL
@@ -169,70 +189,67 @@ public interface ResultRepository extends JpaRepository<Result, Integer> {
             @Param("modalityId") Integer modalityId
     );
 
+    // Líneas de un torneo para la clasificación en memoria (TournamentStandingsService)
     @Query("""
-                SELECT DISTINCT r.roundNumber
-                FROM Result r
-                WHERE r.tournament.tournamentId = :tournamentId AND r.modality.modalityId = :modalityId AND r.deletedAt IS NULL
-                ORDER BY r.roundNumber
-            """)
-    List<Integer> findDistinctRoundsByTournamentAndModality(
-            @Param("tournamentId") Integer tournamentId,
-            @Param("modalityId") Integer modalityId
-    );
-
-    @Query("""
-                SELECT DISTINCT r.roundNumber
-                FROM Result r
-                WHERE r.tournament.tournamentId = :tournamentId
-                  AND r.deletedAt IS NULL
-                ORDER BY r.roundNumber
-            """)
-    List<Integer> findDistinctRoundsByTournament(@Param("tournamentId") Integer tournamentId);
-
-    @Query("""
-                SELECT AVG(r.score)
+                SELECT
+                    p.personId,
+                    CONCAT(p.fullName, ' ', p.fullSurname),
+                    (SELECT MAX(c.name)
+                     FROM ClubPerson cp
+                     JOIN cp.club c
+                     WHERE cp.person = p
+                       AND cp.status = true
+                       AND cp.deletedAt IS NULL),
+                    m.name,
+                    b.branchId,
+                    r.roundNumber,
+                    r.lineNumber,
+                    r.score
                 FROM Result r
+                JOIN r.person p
+                JOIN r.modality m
+                LEFT JOIN r.branch b
                 WHERE r.tournament.tournamentId = :tournamentId
-                  AND r.modality.modalityId = :modalityId
-                  AND (:roundNumber IS NULL OR r.roundNumber = :roundNumber)
                   AND r.deletedAt IS NULL
             """)
-    Double findAvgByRound(
-            @Param("tournamentId") Integer tournamentId,
-            @Param("modalityId") Integer modalityId,
-            @Param("roundNumber") Integer roundNumber
-    );
+    List<Object[]> findStandingRowsByTournament(@Param("tournamentId") Integer tournamentId);
 
     @Query("""
-                SELECT 'L' || r.lineNumber, AVG(r.score)
+                SELECT
+                    p.personId,
+                    CONCAT(p.fullName, ' ', p.fullSurname),
+                    (SELECT MAX(c.name)
+                     FROM ClubPerson cp
+                     JOIN cp.club c
+                     WHERE cp.person = p
+                       AND cp.status = true
+                       AND cp.deletedAt IS NULL),
+                    m.name,
+                    b.branchId,
+                    r.roundNumber,
+                    r.lineNumber,
+                    r.score
                 FROM Result r
+                JOIN r.person p
+                JOIN r.modality m
+                LEFT JOIN r.branch b
                 WHERE r.tournament.tournamentId = :tournamentId
-                  AND r.modality.modalityId = :modalityId
-                  AND (:roundNumber IS NULL OR r.roundNumber = :roundNumber)
                   AND r.deletedAt IS NULL
-                GROUP BY r.lineNumber
+                  AND p.personId IN :personIds
             """)
-    List<Object[]> findAvgByLineRaw(
+    List<Object[]> findStandingRowsByTournamentAndPersons(
             @Param("tournamentId") Integer tournamentId,
-            @Param("modalityId") Integer modalityId,
-            @Param("roundNumber") Integer roundNumber
+            @Param("personIds") Collection<Integer> personIds
     );
 
     @Query("""
-                SELECT r.score, CONCAT(p.fullName, ' ', p.fullSurname), r.lineNumber
+                SELECT DISTINCT r.roundNumber
                 FROM Result r
-                JOIN r.person p
                 WHERE r.tournament.tournamentId = :tournamentId
-                  AND r.modality.modalityId = :modalityId
-                  AND (:roundNumber IS NULL OR r.roundNumber = :roundNumber)
                   AND r.deletedAt IS NULL
-                ORDER BY r.score DESC
+                ORDER BY r.roundNumber
             """)
-    List<Object[]> findHighestLine(
-            @Param("tournamentId") Integer tournamentId,
-            @Param("modalityId") Integer modalityId,
-            @Param("roundNumber") Integer roundNumber
-    );
+    List<Integer> findDistinctRoundsByTournament(@Param("tournamentId") Integer tournamentId);
 
     @Query("""
             SELECT 
@@ -263,13 +280,204 @@ public interface ResultRepository extends JpaRepository<Result, Integer> {
             @Param("branchId") Integer branchId
     );
 
+    /**
+     * Resumen de un jugador para su dashboard en una sola fila:
+     * promedio, línea más alta, total de líneas, torneos distintos y el conteo
+     * de líneas por rango de puntaje (0–129, 130–160, 161–190, 191–220, 221–250, 251+).
+     */
     @Query("""
-                SELECT r
+                SELECT
+                    AVG(r.score),
+                    MAX(r.score),
+                    COUNT(r),
+                    COUNT(DISTINCT r.tournament.tournamentId),
+                    SUM(CASE WHEN r.score < 130 THEN 1 ELSE 0 END),
+                    SUM(CASE WHEN r.score >= 130 AND r.score <= 160 THEN 1 ELSE 0 END),
+                    SUM(CASE WHEN r.score > 160 AND r.score <= 190 THEN 1 ELSE 0 END),
+                    SUM(CASE WHEN r.score > 190 AND r.score <= 220 THEN 1 ELSE 0 END),
+                    SUM(CASE WHEN r.score > 220 AND r.score <= 250 THEN 1 ELSE 0 END),
+                    SUM(CASE WHEN r.score > 250 THEN 1 ELSE 0 END)
                 FROM Result r
-                WHERE r.person.personId = :userId
+                WHERE r.person.personId = :personId
                   AND r.deletedAt IS NULL
             """)
-    List<Result> findByPersonId(@Param("userId") Integer userId);
+    List<Object[]> findScoreSummaryByPerson(@Param("personId") Integer personId);
+
+    /**
+     * Promedio de un jugador por torneo, del más reciente al más antiguo.
+     * Fila: tournamentId, nombre, imagen, fecha de inicio, promedio
+     */
+    @Query("""
+                SELECT t.tournamentId, t.name, t.imageUrl, t.startDate, AVG(r.score)
+                FROM Result r
+                JOIN r.tournament t
+                WHERE r.person.personId = :personId
+                  AND r.deletedAt IS NULL
+                GROUP BY t.tournamentId, t.name, t.imageUrl, t.startDate
+                ORDER BY t.startDate DESC, t.tournamentId
+            """)
+    List<Object[]> findAvgByTournamentForPerson(@Param("personId") Integer personId);
+
+    /**
+     * Promedio de un jugador por modalidad.
+     * Fila: nombre de la modalidad, promedio
+     */
+    @Query("""
+                SELECT m.name, AVG(r.score)
+                FROM Result r
+                JOIN r.modality m
+                WHERE r.person.personId = :personId
+                  AND r.deletedAt IS NULL
+                GROUP BY m.name
+                ORDER BY m.name
+            """)
+    List<Object[]> findAvgByModalityForPerson(@Param("personId") Integer personId);
+
+    /**
+     * Estadísticas por jugador y modalidad para el análisis de IA, de mayor a menor promedio.
+     * Filtros opcionales (null = sin filtro); el Pageable limita cuántos jugadores entran al prompt.
+     */
+    @Query("""
+                SELECT new com.bowlingpoints.dto.PlayerAiStats(
+                    CONCAT(p.fullName, ' ', p.fullSurname),
+                    m.name,
+                    AVG(r.score),
+                    COUNT(r.resultId),
+                    MAX(r.score),
+                    MIN(r.score)
+                )
+                FROM Result r
+                JOIN r.person p
+                JOIN r.modality m
+                WHERE r.deletedAt IS NULL
+                  AND r.score IS NOT NULL
+                  AND (:branchId IS NULL OR r.branch.branchId = :branchId)
+                  AND (:categoryId IS NULL OR r.category.categoryId = :categoryId)
+                  AND (:modalityId IS NULL OR m.modalityId = :modalityId)
+                GROUP BY p.personId, p.fullName, p.fullSurname, m.modalityId, m.name
+                ORDER BY AVG(r.score) DESC, p.personId, m.modalityId
+            """)
+    List<PlayerAiStats> findAiStats(@Param("branchId") Integer branchId,
+                                    @Param("categoryId") Integer categoryId,
+                                    @Param("modalityId") Integer modalityId,
+                                    Pageable pageable);
+
+    /**
+     * Resultados de un torneo con filtros opcionales de rama y ronda,
+     * proyectados directamente a ResultDTO (sin hidratar entidades).
+     */
+    @Query("""
+                SELECT new com.bowlingpoints.dto.ResultDTO(
+                    r.resultId,
+                    p.personId,
+                    p.fullName,
+                    tm.teamId,
+                    tm.nameTeam,
+                    t.tournamentId,
+                    t.name,
+                    r.roundNumber,
+                    c.categoryId,
+                    c.name,
+                    m.modalityId,
+                    m.name,
+                    b.branchId,
+                    b.name,
+                    r.laneNumber,
+                    r.lineNumber,
+                    r.score
+                )
+                FROM Result r
+                JOIN r.tournament t
+                LEFT JOIN r.person p
+                LEFT JOIN r.team tm
+                LEFT JOIN r.category c
+                LEFT JOIN r.modality m
+                LEFT JOIN r.branch b
+                WHERE t.tournamentId = :tournamentId
+                  AND (:branchId IS NULL OR b.branchId = :branchId)
+                  AND (:roundNumber IS NULL OR r.roundNumber = :roundNumber)
+                ORDER BY r.resultId
+            """)
+    List<ResultDTO> findResultDTOsByTournamentFiltered(
+            @Param("tournamentId") Integer tournamentId,
+            @Param("branchId") Integer branchId,
+            @Param("roundNumber") Integer roundNumber
+    );
+
+    /**
+     * Página de resultados ordenada por resultId a partir de un cursor (keyset).
+     * El tamaño de la página lo define el Pageable (siempre página 0).
+     */
+    @Query("""
+                SELECT new com.bowlingpoints.dto.ResultDTO(
+                    r.resultId,
+                    p.personId,
+                    p.fullName,
+                    tm.teamId,
+                    tm.nameTeam,
+                    t.tournamentId,
+                    t.name,
+                    r.roundNumber,
+                    c.categoryId,
+                    c.name,
+                    m.modalityId,
+                    m.name,
+                    b.branchId,
+                    b.name,
+                    r.laneNumber,
+                    r.lineNumber,
+                    r.score
+                )
+                FROM Result r
+                LEFT JOIN r.tournament t
+                LEFT JOIN r.person p
+                LEFT JOIN r.team tm
+                LEFT JOIN r.category c
+                LEFT JOIN r.modality m
+                LEFT JOIN r.branch b
+                WHERE (:afterId IS NULL OR r.resultId > :afterId)
+                ORDER BY r.resultId
+            """)
+    List<ResultDTO> findResultDTOsAfter(@Param("afterId") Integer afterId, Pageable pageable);
+
+    /**
+     * Recorre todos los resultados como DTO usando un cursor del driver.
+     * Debe consumirse dentro de una transacción y cerrarse al terminar.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+                SELECT new com.bowlingpoints.dto.ResultDTO(
+                    r.resultId,
+                    p.personId,
+                    p.fullName,
+                    tm.teamId,
+                    tm.nameTeam,
+                    t.tournamentId,
+                    t.name,
+                    r.roundNumber,
+                    c.categoryId,
+                    c.name,
+                    m.modalityId,
+                    m.name,
+                    b.branchId,
+                    b.name,
+                    r.laneNumber,
+                    r.lineNumber,
+                    r.score
+                )
+                FROM Result r
+                LEFT JOIN r.tournament t
+                LEFT JOIN r.person p
+                LEFT JOIN r.team tm
+                LEFT JOIN r.category c
+                LEFT JOIN r.modality m
+                LEFT JOIN r.branch b
+                ORDER BY r.resultId
+            """)
+    Stream<ResultDTO> streamAllResultDTOs();
 
     //------------------------------------------------------------------------
     // 17. DETECTAR DUPLICADOS EN IMPORTACIÓN MASIVA
@@ -284,4 +492,20 @@ public interface ResultRepository extends JpaRepository<Result, Integer> {
     boolean existsByPerson_PersonIdAndTournament_TournamentIdAndModality_ModalityIdAndRoundNumberAndLineNumber(
             Integer personId, Integer tournamentId, Integer modalityId, Integer roundNumber, Integer lineNumber
     );
+
+    /**
+     * Claves vigentes [personId, modalityId, roundNumber, lineNumber] de un torneo
+     * para un bloque de personas (las mismas que cubre el índice uk_result_natural_key). Reemplaza el existsBy... fila a fila en la importación.
+     */
+    @Query("""
+                SELECT r.person.personId, r.modality.modalityId, r.roundNumber, r.lineNumber
+                FROM Result r
+                WHERE r.tournament.tournamentId = :tournamentId
+                  AND r.person.personId IN :personIds
+                  AND r.deletedAt IS NULL
+            """)
+    List<Object[]> findResultKeysByTournamentAndPersons(
+            @Param("tournamentId") Integer tournamentId,
+            @Param("personIds") Collection<Integer> personIds
+    );
 }
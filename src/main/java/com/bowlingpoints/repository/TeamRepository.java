@@ -2,9 +2,15 @@ package com.bowlingpoints.repository;
 
 import com.bowlingpoints.entity.Team;
 import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface TeamRepository extends JpaRepository<Team, Integer> {
     // Method to find a team by its name
     Optional<Team> findByNameTeam(String nameTeam);
+
+    // Method to find several teams by name in a single query
+    List<Team> findByNameTeamIn(Collection<String> namesTeam);
 }
@@ -1,5 +1,6 @@
 package com.bowlingpoints.repository;
 
+import com.bowlingpoints.dto.TournamentRegistrationDTO;
 import com.bowlingpoints.entity.Tournament;
 import com.bowlingpoints.entity.TournamentRegistration;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -7,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -31,9 +33,42 @@ public interface TournamentRegistrationRepository extends JpaRepository<Tourname
     List<TournamentRegistration> findByTournament_TournamentId(Integer tournamentId);
 
 
-    // Obtener torneos en los que ha participado una persona específica
+    // Inscripciones de varios torneos ya proyectadas, sin cargar persona, equipo ni catálogos por fila
+    @Query("""
+                SELECT new com.bowlingpoints.dto.TournamentRegistrationDTO(
+                    r.registrationId, t.tournamentId, t.name,
+                    p.personId, CONCAT(p.fullName, ' ', p.fullSurname),
+                    c.categoryId, c.name,
+                    m.modalityId, m.name,
+                    b.branchId, b.name,
+                    tm.teamId, tm.nameTeam,
+                    r.status, r.registrationDate
+                )
+                FROM TournamentRegistration r
+                JOIN r.tournament t
+                LEFT JOIN r.person p
+                LEFT JOIN r.category c
+                LEFT JOIN r.modality m
+                LEFT JOIN r.branch b
+                LEFT JOIN r.team tm
+                WHERE t.tournamentId IN :tournamentIds
+                ORDER BY r.registrationId
+            """)
+    List<TournamentRegistrationDTO> findDTOsByTournamentIds(@Param("tournamentIds") Collection<Integer> tournamentIds);
 
-    @Query("SELECT DISTINCT tr.tournament FROM TournamentRegistration tr WHERE tr.person.personId = :personId")
+    // Obtener torneos en los que ha participado una persona específica
+    // (con ámbito y modalidades, para convertirlos a DTO sin consultas por torneo)
+    @Query("""
+                SELECT DISTINCT t
+                FROM Tournament t
+                LEFT JOIN FETCH t.ambit
+                LEFT JOIN FETCH t.modalities tm
+                LEFT JOIN FETCH tm.modality
+                WHERE EXISTS (
+                    SELECT 1 FROM TournamentRegistration tr
+                    WHERE tr.tournament = t AND tr.person.personId = :personId
+                )
+            """)
     List<Tournament> findTournamentsByPersonId(@Param("personId") Integer personId);
 
 
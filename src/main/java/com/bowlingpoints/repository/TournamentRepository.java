@@ -1,26 +1,31 @@
 package com.bowlingpoints.repository;
 
 import com.bowlingpoints.entity.Tournament;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface TournamentRepository extends JpaRepository<Tournament, Integer> {
 
     // Obtener todos los torneos no eliminados ordenados por fecha de inicio descendente
+    @EntityGraph(attributePaths = {"ambit", "modalities", "modalities.modality"})
     List<Tournament> findAllByDeletedAtIsNullOrderByStartDateDesc();
 
     // Obtener todos los torneos activos no eliminados ordenados por fecha de inicio descendente
     Optional<Tournament> findByName(String name);
 
     // Obtener torneos por ID de ámbito y que no estén eliminados
+    @EntityGraph(attributePaths = {"ambit", "modalities", "modalities.modality"})
     List<Tournament> findByAmbit_AmbitIdAndDeletedAtIsNull(Integer ambitId);
 
 
     // Torneos activos con estado PROGRAMADO o APLAZADO
+    @EntityGraph(attributePaths = {"ambit", "modalities", "modalities.modality"})
     @Query("""
                 SELECT t
                 FROM Tournament t
@@ -32,6 +37,7 @@ public interface TournamentRepository extends JpaRepository<Tournament, Integer>
     List<Tournament> findActiveScheduledOrPostponed();
 
     // Torneos activos (status = true) con estado En curso
+    @EntityGraph(attributePaths = {"ambit", "modalities", "modalities.modality"})
     @Query("""
                 SELECT t
                 FROM Tournament t
@@ -41,5 +47,35 @@ public interface TournamentRepository extends JpaRepository<Tournament, Integer>
                 ORDER BY t.startDate ASC
             """)
     List<Tournament> findActiveInProgress();
-}
 
+    // Torneo con sus modalidades en una sola consulta (tabla de resultados)
+    @Query("""
+                SELECT DISTINCT t
+                FROM Tournament t
+                LEFT JOIN FETCH t.modalities tm
+                LEFT JOIN FETCH tm.modality
+                WHERE t.tournamentId = :tournamentId
+            """)
+    Optional<Tournament> findWithModalitiesById(@Param("tournamentId") Integer tournamentId);
+
+    // Categorías de varios torneos en una sola consulta (listados de torneos).
+    // Las colecciones del torneo son List, así que se traen por separado de modalidades y ramas.
+    @Query("""
+                SELECT DISTINCT t
+                FROM Tournament t
+                LEFT JOIN FETCH t.categories tc
+                LEFT JOIN FETCH tc.category
+                WHERE t.tournamentId IN :tournamentIds
+            """)
+    List<Tournament> findWithCategoriesByTournamentIdIn(@Param("tournamentIds") Collection<Integer> tournamentIds);
+
+    // Ramas de varios torneos en una sola consulta (listados de torneos)
+    @Query("""
+                SELECT DISTINCT t
+                FROM Tournament t
+                LEFT JOIN FETCH t.branches tb
+                LEFT JOIN FETCH tb.branch
+                WHERE t.tournamentId IN :tournamentIds
+            """)
+    List<Tournament> findWithBranchesByTournamentIdIn(@Param("tournamentIds") Collection<Integer> tournamentIds);
+}
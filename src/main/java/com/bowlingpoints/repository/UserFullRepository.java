@@ -2,22 +2,25 @@ package com.bowlingpoints.repository;
 
 import com.bowlingpoints.entity.User;
 import com.bowlingpoints.projection.UserFullProjection;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface UserFullRepository extends CrudRepository<User, Integer> {
 
     /**
-     * Consulta que obtiene todos los usuarios activos (no eliminados) con su información personal
-     * y los roles asociados.
-     * Nota: las categorías se cargan desde el servicio (no se incluyen en esta query
+     * Columnas comunes de las consultas de usuario completo: información personal,
+     * club activo y una fila por cada rol activo.
+     * Nota: las categorías se cargan aparte (no se incluyen en esta query
      * para evitar duplicaciones masivas en la proyección).
      */
-    @Query(value = """
+    String USER_FULL_SELECT = """
                 SELECT
                     u.user_id AS userId,
                     u.person_id AS personId,
@@ -32,14 +35,108 @@ public interface UserFullRepository extends CrudRepository<User, Integer> {
                     p.phone AS phone,
                     p.gender AS gender,
                     r.role_id AS roleId,
-                    r.name AS roleName
+                    r.name AS roleName,
+                    (SELECT MIN(cp.club_id)
+                     FROM club_person cp
+                     WHERE cp.person_id = p.person_id
+                       AND cp.status = true) AS clubId
                 FROM users u
                 JOIN person p ON u.person_id = p.person_id
                 LEFT JOIN user_role ur ON ur.user_id = u.user_id AND ur.status = true
                 LEFT JOIN roles r ON r.role_id = ur.role_id
                 WHERE u.deleted_at IS NULL
                   AND p.deleted_at IS NULL
+            """;
+
+    /**
+     * Consulta que obtiene todos los usuarios no eliminados con su información personal
+     * y los roles asociados.
+     */
+    @Query(value = USER_FULL_SELECT + """
                 ORDER BY p.full_name ASC
             """, nativeQuery = true)
     List<UserFullProjection> findAllUserFull();
+
+    /**
+     * Usuarios activos (status = true).
+     */
+    @Query(value = USER_FULL_SELECT + """
+                  AND u.status = true
+                ORDER BY p.full_name ASC
+            """, nativeQuery = true)
+    List<UserFullProjection> findAllActiveUserFull();
+
+    /**
+     * Usuarios activos con el rol activo indicado; se traen todos sus roles, no solo ese.
+     */
+    @Query(value = USER_FULL_SELECT + """
+                  AND u.status = true
+                  AND EXISTS (
+                      SELECT 1
+                      FROM user_role ur2
+                      JOIN roles r2 ON r2.role_id = ur2.role_id
+                      WHERE ur2.user_id = u.user_id
+                        AND ur2.status = true
+                        AND UPPER(r2.name) = UPPER(:roleName)
+                  )
+                ORDER BY p.full_name ASC
+            """, nativeQuery = true)
+    List<UserFullProjection> findAllActiveUserFullByRole(@Param("roleName") String roleName);
+
+    /**
+     * Un usuario por ID (una fila por rol).
+     */
+    @Query(value = USER_FULL_SELECT + """
+                  AND u.user_id = :userId
+            """, nativeQuery = true)
+    List<UserFullProjection> findUserFullById(@Param("userId") Integer userId);
+
+    /**
+     * Usuarios con el nickname indicado (una fila por rol).
+     */
+    @Query(value = USER_FULL_SELECT + """
+                  AND u.nickname = :nickname
+                ORDER BY u.user_id ASC
+            """, nativeQuery = true)
+    List<UserFullProjection> findUserFullByNickname(@Param("nickname") String nickname);
+
+    /**
+     * Usuarios con los IDs indicados (una fila por rol), para armar una página del listado.
+     */
+    @Query(value = USER_FULL_SELECT + """
+                  AND u.user_id IN (:userIds)
+                ORDER BY u.user_id ASC
+            """, nativeQuery = true)
+    List<UserFullProjection> findUserFullByIds(@Param("userIds") Collection<Integer> userIds);
+
+    /**
+     * IDs de usuarios ordenados a partir de un cursor (keyset sobre userId).
+     * {@code search} vacío no filtra; si no, se compara {@code pattern} con nombre completo y documento.
+     * {@code role} vacío no filtra; si no, el usuario debe tener ese rol activo (en mayúsculas).
+     * El tamaño de la página lo define el Pageable (siempre página 0).
+     */
+    @Query("""
+                SELECT u.userId
+                FROM User u
+                JOIN u.person p
+                WHERE u.deletedAt IS NULL
+                  AND p.deletedAt IS NULL
+                  AND u.userId > :afterId
+                  AND (:search = ''
+                       OR LOWER(CONCAT(p.fullName, ' ', p.fullSurname)) LIKE :pattern
+                       OR LOWER(p.document) LIKE :pattern)
+                  AND (:role = ''
+                       OR EXISTS (
+                           SELECT 1 FROM UserRole ur
+                           WHERE ur.user = u
+                             AND ur.status = true
+                             AND UPPER(ur.role.name) = :role
+                       ))
+                ORDER BY u.userId ASC
+            """)
+    List<Integer> findUserIdsAfter(@Param("afterId") Integer afterId,
+                                   @Param("search") String search,
+                                   @Param("pattern") String pattern,
+                                   @Param("role") String role,
+                                   Pageable pageable);
 }
@@ -15,6 +15,9 @@ public interface UserRepository extends JpaRepository<User, Integer> {
     // Validar si un nickname ya existe
     boolean existsByNickname(String nickname);
 
+    // Usuario activo y no eliminado (autenticación por JWT)
+    boolean existsByNicknameAndStatusTrueAndDeletedAtIsNull(String nickname);
+
     // Obtener solo usuarios que no han sido eliminados lógicamente
     @Query("SELECT u FROM User u WHERE u.deletedAt IS NULL")
     List<User> findAllNotDeleted();
@@ -3,8 +3,10 @@ package com.bowlingpoints.service;
 import com.bowlingpoints.dto.AmbitDTO;
 import com.bowlingpoints.dto.ResponseGenericDTO;
 import com.bowlingpoints.entity.Ambit;
+import com.bowlingpoints.event.AmbitChangedEvent;
 import com.bowlingpoints.repository.AmbitRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -19,6 +21,7 @@ import java.util.Optional;
 public class AmbitService {
 
     private final AmbitRepository ambitRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Convierte entidad a DTO.
@@ -95,6 +98,7 @@ public class AmbitService {
      */
     public ResponseGenericDTO<AmbitDTO> create(AmbitDTO dto) {
         Ambit saved = ambitRepository.save(toEntity(dto));
+        eventPublisher.publishEvent(new AmbitChangedEvent(saved.getAmbitId()));
         return new ResponseGenericDTO<>(true, "Ámbito creado correctamente", toDTO(saved));
     }
 
@@ -106,6 +110,7 @@ public class AmbitService {
         if (optional.isPresent()) {
             Ambit entity = validateUpdateData(optional.get(), dto);
             ambitRepository.save(entity);
+            eventPublisher.publishEvent(new AmbitChangedEvent(id));
             return new ResponseGenericDTO<>(true, "Ámbito actualizado correctamente", null);
         }
         return new ResponseGenericDTO<>(false, "Ámbito no encontrado", null);
@@ -122,6 +127,7 @@ public class AmbitService {
             entity.setDeletedAt(LocalDateTime.now());
             entity.setUpdatedAt(LocalDateTime.now());
             ambitRepository.save(entity);
+            eventPublisher.publishEvent(new AmbitChangedEvent(id));
             return new ResponseGenericDTO<>(true, "Ámbito eliminado correctamente", null);
         }
         return new ResponseGenericDTO<>(false, "Ámbito no encontrado", null);
@@ -4,15 +4,18 @@ import com.bowlingpoints.dto.ClubPersonDTO;
 import com.bowlingpoints.entity.ClubPerson;
 import com.bowlingpoints.entity.Clubs;
 import com.bowlingpoints.entity.Person;
+import com.bowlingpoints.event.PlayerProfileChangedEvent;
 import com.bowlingpoints.repository.ClubPersonRepository;
 import com.bowlingpoints.repository.ClubRepository;
 import com.bowlingpoints.repository.PersonRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -21,6 +24,7 @@ public class ClubPersonService {
     private final ClubPersonRepository clubPersonRepository;
     private final ClubRepository clubRepository;
     private final PersonRepository personRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Agrega un nuevo miembro a un club.
@@ -42,6 +46,7 @@ public class ClubPersonService {
                 .build();
 
         clubPersonRepository.save(clubPerson);
+        eventPublisher.publishEvent(new PlayerProfileChangedEvent(Set.of(dto.getPersonId())));
         return true;
     }
 
@@ -74,6 +79,9 @@ public class ClubPersonService {
         cp.setUpdatedAt(LocalDateTime.now());
 
         clubPersonRepository.save(cp);
+        if (cp.getPerson() != null) {
+            eventPublisher.publishEvent(new PlayerProfileChangedEvent(Set.of(cp.getPerson().getPersonId())));
+        }
         return true;
     }
 }
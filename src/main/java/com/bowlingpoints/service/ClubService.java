@@ -5,16 +5,20 @@ import com.bowlingpoints.dto.ClubPersonDTO;
 import com.bowlingpoints.entity.ClubPerson;
 import com.bowlingpoints.entity.Clubs;
 import com.bowlingpoints.entity.Person;
+import com.bowlingpoints.event.PlayerProfileChangedEvent;
 import com.bowlingpoints.repository.ClubPersonRepository;
 import com.bowlingpoints.repository.ClubRepository;
 import com.bowlingpoints.repository.PersonRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,6 +28,7 @@ public class ClubService {
     private final ClubRepository clubRepository;
     private final ClubPersonRepository clubPersonRepository;
     private final PersonRepository personRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Crear un nuevo club junto con sus miembros opcionales.
@@ -54,6 +59,7 @@ public class ClubService {
                     clubPersonRepository.save(cp);
                 });
             }
+            profilesChanged(input.getMembers().stream().map(ClubPersonDTO::getPersonId).collect(Collectors.toSet()));
         }
     }
 
@@ -107,6 +113,13 @@ public class ClubService {
 
         clubRepository.save(club);
 
+        // Cambia el club que muestran los miembros anteriores y los nuevos
+        Set<Integer> affectedPersons = clubPersonRepository.findAllByClub_ClubIdAndDeletedAtIsNull(club.getClubId())
+                .stream()
+                .filter(cp -> cp.getPerson() != null)
+                .map(cp -> cp.getPerson().getPersonId())
+                .collect(Collectors.toSet());
+
         // Eliminar antiguos y agregar nuevos miembros
         clubPersonRepository.deleteAllByClub_ClubId(club.getClubId());
 
@@ -122,8 +135,10 @@ public class ClubService {
                             .build();
                     clubPersonRepository.save(cp);
                 });
+                affectedPersons.add(dto.getPersonId());
             }
         }
+        profilesChanged(affectedPersons);
 
         return true;
     }
@@ -142,16 +157,28 @@ public class ClubService {
         clubRepository.save(club);
 
         // Desactivar también sus miembros
+        Set<Integer> affectedPersons = new HashSet<>();
         clubPersonRepository.findAllByClub_ClubIdAndDeletedAtIsNull(club.getClubId())
                 .forEach(cp -> {
                     cp.setDeletedAt(LocalDateTime.now());
                     cp.setUpdatedAt(LocalDateTime.now());
                     clubPersonRepository.save(cp);
+                    if (cp.getPerson() != null) affectedPersons.add(cp.getPerson().getPersonId());
                 });
+        profilesChanged(affectedPersons);
 
         return true;
     }
 
+    /**
+     * El club forma parte del perfil público de sus miembros.
+     */
+    private void profilesChanged(Set<Integer> personIds) {
+        if (!personIds.isEmpty()) {
+            eventPublisher.publishEvent(new PlayerProfileChangedEvent(personIds));
+        }
+    }
+
     /**
      * Convertir entidad Clubs a DTO con sus miembros.
      */
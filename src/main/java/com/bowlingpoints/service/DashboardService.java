@@ -2,15 +2,28 @@ package com.bowlingpoints.service;
 
 import com.bowlingpoints.dto.*;
 import com.bowlingpoints.entity.Tournament;
+import com.bowlingpoints.entity.TournamentCategory;
+import com.bowlingpoints.entity.TournamentModality;
+import com.bowlingpoints.event.AmbitChangedEvent;
+import com.bowlingpoints.event.ResultsChangedEvent;
+import com.bowlingpoints.event.TournamentChangedEvent;
 import com.bowlingpoints.repository.AmbitRepository;
 import com.bowlingpoints.repository.ClubRepository;
 import com.bowlingpoints.repository.ResultRepository;
 import com.bowlingpoints.repository.TournamentRepository;
+import com.bowlingpoints.util.TtlCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -19,6 +32,10 @@ public class DashboardService {
     private final TournamentRepository tournamentRepository;
     private final ResultRepository resultRepository;
     private final AmbitRepository ambitRepository;
+    private final TtlCache<String, DashboardDTO> dashboardCache;
+    private final PlatformTransactionManager transactionManager;
+
+    private static final String CACHE_KEY = "dashboard";
 
     /**
      * Retorna todos los datos del dashboard:
@@ -26,21 +43,51 @@ public class DashboardService {
      * - Torneos en curso
      * - Top 10 jugadores
      * - Ámbitos activos con torneos
+     * El resultado se guarda en caché hasta que cambie un torneo, ámbito o resultado.
+     * Solo la carga abre una transacción de lectura: un acierto de caché no toma
+     * conexión de la base de datos.
      */
     public DashboardDTO getDashboardData() {
+        return dashboardCache.get(CACHE_KEY, () -> inReadOnlyTransaction().execute(status -> buildDashboardData()));
+    }
+
+    /**
+     * Se invalida después del commit, para que una petición concurrente no vuelva
+     * a guardar en caché los datos anteriores al cambio.
+     */
+    @TransactionalEventListener(fallbackExecution = true,
+            classes = {TournamentChangedEvent.class, AmbitChangedEvent.class, ResultsChangedEvent.class})
+    public void onDashboardDataChanged() {
+        dashboardCache.invalidateAll();
+    }
+
+    private TransactionTemplate inReadOnlyTransaction() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+
+    private DashboardDTO buildDashboardData() {
+
+        //  Torneos activos con estado Programado o Aplazado (con ámbito y modalidades)
+        List<Tournament> scheduledOrPostponedTournaments = tournamentRepository.findActiveScheduledOrPostponed();
 
-        //  Torneos activos con estado Programado o Aplazado
-        List<TournamentDTO> scheduledOrPostponed = tournamentRepository
-                .findActiveScheduledOrPostponed()
-                .stream()
-                .map(this::toDTO)
+        //  Torneos activos con estado En curso (con ámbito y modalidades)
+        List<Tournament> inProgressTournaments = tournamentRepository.findActiveInProgress();
+
+        //  Categorías de todos los torneos anteriores en una sola consulta
+        Map<Integer, List<TournamentCategory>> categoriesById = findCategories(
+                Stream.concat(scheduledOrPostponedTournaments.stream(), inProgressTournaments.stream())
+                        .map(Tournament::getTournamentId)
+                        .distinct()
+                        .toList());
+
+        List<TournamentDTO> scheduledOrPostponed = scheduledOrPostponedTournaments.stream()
+                .map(t -> toDTO(t, categoriesById.get(t.getTournamentId())))
                 .toList();
 
-        //  Torneos activos con estado En curso
-        List<TournamentDTO> inProgress = tournamentRepository
-                .findActiveInProgress()
-                .stream()
-                .map(this::toDTO)
+        List<TournamentDTO> inProgress = inProgressTournaments.stream()
+                .map(t -> toDTO(t, categoriesById.get(t.getTournamentId())))
                 .toList();
 
         //  Ámbitos que tengan al menos un torneo asociado
@@ -58,11 +105,56 @@ public class DashboardService {
                 .build();
     }
 
+    private Map<Integer, List<TournamentCategory>> findCategories(List<Integer> tournamentIds) {
+        Map<Integer, List<TournamentCategory>> categoriesById = new HashMap<>();
+        if (tournamentIds.isEmpty()) return categoriesById;
+
+        for (Tournament t : tournamentRepository.findWithCategoriesByTournamentIdIn(tournamentIds)) {
+            categoriesById.put(t.getTournamentId(), t.getCategories());
+        }
+        return categoriesById;
+    }
+
     /**
      * Convierte una entidad Tournament a su DTO completo,
      * incluyendo categorías y modalidades asociadas.
+     * Cada colección se recorre una sola vez para llenar IDs, nombres y objetos.
      */
-    private TournamentDTO toDTO(Tournament tournament) {
+    private TournamentDTO toDTO(Tournament tournament, List<TournamentCategory> categories) {
+        List<Integer> categoryIds = new ArrayList<>();
+        List<String> categoryNames = new ArrayList<>();
+        List<CategoryDTO> categoryDTOs = new ArrayList<>();
+        if (categories != null) {
+            for (TournamentCategory tc : categories) {
+                if (tc == null || tc.getCategory() == null) continue;
+                categoryIds.add(tc.getCategory().getCategoryId());
+                categoryNames.add(tc.getCategory().getName());
+                categoryDTOs.add(CategoryDTO.builder()
+                        .categoryId(tc.getCategory().getCategoryId())
+                        .name(tc.getCategory().getName())
+                        .description(tc.getCategory().getDescription())
+                        .status(tc.getCategory().getStatus())
+                        .build());
+            }
+        }
+
+        List<Integer> modalityIds = new ArrayList<>();
+        List<String> modalityNames = new ArrayList<>();
+        List<ModalityDTO> modalityDTOs = new ArrayList<>();
+        if (tournament.getModalities() != null) {
+            for (TournamentModality tm : tournament.getModalities()) {
+                if (tm == null || tm.getModality() == null) continue;
+                modalityIds.add(tm.getModality().getModalityId());
+                modalityNames.add(tm.getModality().getName());
+                modalityDTOs.add(ModalityDTO.builder()
+                        .modalityId(tm.getModality().getModalityId())
+                        .name(tm.getModality().getName())
+                        .description(tm.getModality().getDescription())
+                        .status(tm.getModality().getStatus())
+                        .build());
+            }
+        }
+
         return TournamentDTO.builder()
                 .tournamentId(tournament.getTournamentId())
                 .name(tournament.getName())
@@ -75,81 +167,12 @@ public class DashboardService {
                 .location(tournament.getLocation())
                 .stage(tournament.getStage())
                 .status(tournament.getStatus())
-
-                //  IDs de categorías
-                .categoryIds(
-                        tournament.getCategories() != null
-                                ? tournament.getCategories().stream()
-                                .filter(tc -> tc != null && tc.getCategory() != null)
-                                .map(tc -> tc.getCategory().getCategoryId())
-                                .toList()
-                                : List.of()
-                )
-
-                //  Nombres de categorías
-                .categoryNames(
-                        tournament.getCategories() != null
-                                ? tournament.getCategories().stream()
-                                .filter(tc -> tc != null && tc.getCategory() != null)
-                                .map(tc -> tc.getCategory().getName())
-                                .toList()
-                                : List.of()
-                )
-
-
-                //  Objetos completos de categorías
-                .categories(
-                        tournament.getCategories() != null
-                                ? tournament.getCategories().stream()
-                                .filter(tc -> tc != null && tc.getCategory() != null)
-                                .map(tc -> CategoryDTO.builder()
-                                        .categoryId(tc.getCategory().getCategoryId())
-                                        .name(tc.getCategory().getName())
-                                        .description(tc.getCategory().getDescription())
-                                        .status(tc.getCategory().getStatus())
-                                        .build())
-                                .toList()
-                                : List.of()
-                )
-
-
-                //  IDs de modalidades
-                .modalityIds(
-                        tournament.getModalities() != null
-                                ? tournament.getModalities().stream()
-                                .filter(tm -> tm != null && tm.getModality() != null)
-                                .map(tm -> tm.getModality().getModalityId())
-                                .toList()
-                                : List.of()
-                )
-
-                //  Nombres de modalidades
-                .modalityNames(
-                        tournament.getModalities() != null
-                                ? tournament.getModalities().stream()
-                                .filter(tm -> tm != null && tm.getModality() != null)
-                                .map(tm -> tm.getModality().getName())
-                                .toList()
-                                : List.of()
-                )
-
-
-                //  Objetos completos de modalidades
-                .modalities(
-                        tournament.getModalities() != null
-                                ? tournament.getModalities().stream()
-                                .filter(tm -> tm != null && tm.getModality() != null)
-                                .map(tm -> ModalityDTO.builder()
-                                        .modalityId(tm.getModality().getModalityId())
-                                        .name(tm.getModality().getName())
-                                        .description(tm.getModality().getDescription())
-                                        .status(tm.getModality().getStatus())
-                                        .build())
-                                .toList()
-                                : List.of()
-                )
-
-
+                .categoryIds(categoryIds)
+                .categoryNames(categoryNames)
+                .categories(categoryDTOs)
+                .modalityIds(modalityIds)
+                .modalityNames(modalityNames)
+                .modalities(modalityDTOs)
                 .build();
     }
 }
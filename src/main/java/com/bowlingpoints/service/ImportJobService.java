@@ -0,0 +1,234 @@
+package com.bowlingpoints.service;
+
+import com.bowlingpoints.config.ImportJobExecutor;
+import com.bowlingpoints.dto.ImportJobDTO;
+import com.bowlingpoints.dto.PersonImportResponse;
+import com.bowlingpoints.entity.ImportJob;
+import com.bowlingpoints.entity.ImportJobError;
+import com.bowlingpoints.enums.ImportJobStatus;
+import com.bowlingpoints.enums.ImportJobType;
+import com.bowlingpoints.repository.ImportJobErrorRepository;
+import com.bowlingpoints.repository.ImportJobRepository;
+import com.bowlingpoints.util.StoredMultipartFile;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Ejecuta las importaciones de /files en segundo plano. El estado, los
+ * contadores y los errores se guardan en import_job / import_job_error a
+ * medida que avanza el archivo, en transacciones propias, para que el cliente
+ * pueda consultarlos mientras la importación sigue abierta.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImportJobService {
+
+    private final ImportJobRepository importJobRepository;
+    private final ImportJobErrorRepository importJobErrorRepository;
+    private final ImportJobExecutor importJobExecutor;
+    private final PlatformTransactionManager transactionManager;
+
+    private final ResultImportService resultImportService;
+    private final PersonImportService personImportService;
+    private final TeamPersonImportService teamPersonImportService;
+    private final TournamentRegistrationImportService tournamentRegistrationImportService;
+
+    /**
+     * Registra el trabajo y lo encola. Retorna de inmediato; si la cola está
+     * llena el trabajo queda en estado FAILED. {@code bulkCopy} y {@code chunkSize}
+     * solo aplican a resultados.
+     */
+    public ImportJobDTO submit(ImportJobType type, MultipartFile file, Integer userId,
+                               boolean skipHeader, boolean bulkCopy, Integer chunkSize) throws IOException {
+        StoredMultipartFile stored = StoredMultipartFile.copyOf(file);
+
+        ImportJob job = importJobRepository.save(ImportJob.builder()
+                .jobType(type)
+                .status(ImportJobStatus.PENDING)
+                .fileName(file.getOriginalFilename())
+                .createdBy(userId)
+                .createdAt(LocalDateTime.now())
+                .build());
+        Integer jobId = job.getImportJobId();
+
+        try {
+            importJobExecutor.submit(() -> run(jobId, type, stored, userId, skipHeader, bulkCopy, chunkSize));
+        } catch (RejectedExecutionException e) {
+            stored.delete();
+            log.warn("Importación {} rechazada: cola llena", jobId);
+            job.setStatus(ImportJobStatus.FAILED);
+            job.setMessage("Hay demasiadas importaciones en curso, intente más tarde.");
+            job.setFinishedAt(LocalDateTime.now());
+            job = importJobRepository.save(job);
+        }
+
+        return toDTO(job, 0, List.of());
+    }
+
+    /**
+     * Estado actual del trabajo y sus errores a partir de {@code errorsFrom}.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ImportJobDTO> getJob(Integer jobId, int errorsFrom) {
+        int from = Math.max(errorsFrom, 0);
+        return importJobRepository.findById(jobId)
+                .map(job -> toDTO(job, from, importJobErrorRepository
+                        .findByImportJobIdAndErrorIndexGreaterThanEqualOrderByErrorIndexAsc(jobId, from)
+                        .stream()
+                        .map(ImportJobError::getMessage)
+                        .toList()));
+    }
+
+    /**
+     * Un trabajo pendiente o en ejecución al arrancar quedó interrumpido por un reinicio.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void failInterruptedJobs() {
+        int interrupted = importJobRepository.failJobsInStatus(
+                List.of(ImportJobStatus.PENDING, ImportJobStatus.RUNNING),
+                "Importación interrumpida por un reinicio del servidor.",
+                LocalDateTime.now());
+        if (interrupted > 0) {
+            log.warn("{} importaciones marcadas como fallidas tras el reinicio", interrupted);
+        }
+    }
+
+    void run(Integer jobId, ImportJobType type, StoredMultipartFile file, Integer userId,
+             boolean skipHeader, boolean bulkCopy, Integer chunkSize) {
+        inNewTransaction(() -> {
+            ImportJob job = importJobRepository.findById(jobId).orElseThrow();
+            job.setStatus(ImportJobStatus.RUNNING);
+            job.setStartedAt(LocalDateTime.now());
+        });
+
+        ImportProgressListener progress = (rowsProcessed, created, skipped, errors) ->
+                saveProgress(jobId, rowsProcessed, created, skipped, errors);
+
+        try {
+            switch (type) {
+                case RESULTS -> {
+                    var result = chunkSize != null
+                            ? resultImportService.importCsvChunked(file, userId, skipHeader, bulkCopy, chunkSize, progress)
+                            : bulkCopy
+                            ? resultImportService.importCsvBulk(file, userId, skipHeader, progress)
+                            : resultImportService.importCsv(file, userId, skipHeader, progress);
+                    complete(jobId, result.created(), result.skipped(), result.errors());
+                }
+                case PERSONS -> {
+                    PersonImportResponse result = personImportService.importPersonFile(file, progress);
+                    complete(jobId, result.getSuccessCount(), 0, result.getErrors());
+                }
+                case TEAM_PERSON -> {
+                    var result = teamPersonImportService.importCsv(file, userId, skipHeader, progress);
+                    complete(jobId, result.created(), result.skipped(), result.errors());
+                }
+                case TOURNAMENT_REGISTRATIONS -> {
+                    var result = tournamentRegistrationImportService.importCsv(file, userId, skipHeader, progress);
+                    complete(jobId, result.created(), result.skipped(), result.errors());
+                }
+            }
+        } catch (Exception e) {
+            log.error("Error en la importación {}: {}", jobId, e.getMessage(), e);
+            fail(jobId, "Error en la importación: " + e.getMessage());
+        } finally {
+            file.delete();
+        }
+    }
+
+    private void saveProgress(Integer jobId, int rowsProcessed, int created, int skipped, List<String> errors) {
+        inNewTransaction(() -> {
+            ImportJob job = importJobRepository.findById(jobId).orElseThrow();
+            job.setRowsProcessed(rowsProcessed);
+            job.setCreatedCount(created);
+            job.setSkippedCount(skipped);
+            appendErrors(job, errors);
+        });
+    }
+
+    private void complete(Integer jobId, int created, int skipped, List<String> errors) {
+        inNewTransaction(() -> {
+            ImportJob job = importJobRepository.findById(jobId).orElseThrow();
+            job.setCreatedCount(created);
+            job.setSkippedCount(skipped);
+            appendErrors(job, errors);
+            job.setStatus(ImportJobStatus.COMPLETED);
+            job.setFinishedAt(LocalDateTime.now());
+        });
+    }
+
+    /**
+     * La transacción de la importación se revirtió: nada de lo informado como creado quedó guardado.
+     */
+    private void fail(Integer jobId, String message) {
+        inNewTransaction(() -> {
+            ImportJob job = importJobRepository.findById(jobId).orElseThrow();
+            job.setCreatedCount(0);
+            job.setSkippedCount(0);
+            job.setStatus(ImportJobStatus.FAILED);
+            job.setMessage(message);
+            job.setFinishedAt(LocalDateTime.now());
+        });
+    }
+
+    /**
+     * Las listas de errores de los importadores solo crecen: se guardan los que
+     * aún no están en import_job_error.
+     */
+    private void appendErrors(ImportJob job, List<String> errors) {
+        int saved = job.getErrorCount();
+        if (errors == null || errors.size() <= saved) return;
+
+        List<ImportJobError> newErrors = new ArrayList<>(errors.size() - saved);
+        for (int i = saved; i < errors.size(); i++) {
+            newErrors.add(ImportJobError.builder()
+                    .importJobId(job.getImportJobId())
+                    .errorIndex(i)
+                    .message(errors.get(i))
+                    .build());
+        }
+        importJobErrorRepository.saveAll(newErrors);
+        job.setErrorCount(errors.size());
+    }
+
+    private void inNewTransaction(Runnable action) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        template.executeWithoutResult(status -> action.run());
+    }
+
+    private ImportJobDTO toDTO(ImportJob job, int errorsFrom, List<String> errors) {
+        return ImportJobDTO.builder()
+                .jobId(job.getImportJobId())
+                .type(job.getJobType())
+                .status(job.getStatus())
+                .fileName(job.getFileName())
+                .rowsProcessed(job.getRowsProcessed())
+                .created(job.getCreatedCount())
+                .skipped(job.getSkippedCount())
+                .errorCount(job.getErrorCount())
+                .errorsFrom(errorsFrom)
+                .errors(errors)
+                .message(job.getMessage())
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+}
@@ -0,0 +1,20 @@
+package com.bowlingpoints.service;
+
+import java.util.List;
+
+/**
+ * Recibe el avance de una importación mientras se procesa el archivo.
+ * {@code errors} es la lista acumulada (solo lectura para el listener).
+ */
+@FunctionalInterface
+public interface ImportProgressListener {
+
+    ImportProgressListener NONE = (rowsProcessed, created, skipped, errors) -> { };
+
+    /**
+     * Cada cuántas filas los importadores informan avance.
+     */
+    int PROGRESS_INTERVAL = 500;
+
+    void onProgress(int rowsProcessed, int created, int skipped, List<String> errors);
+}
@@ -0,0 +1,398 @@
+package com.bowlingpoints.service;
+
+import com.bowlingpoints.dto.PlayerResultTableDTO;
+import com.bowlingpoints.dto.ScoreboardRowKeyDTO;
+import com.bowlingpoints.dto.ScoreboardUpdateDTO;
+import com.bowlingpoints.dto.TournamentResultsResponseDTO;
+import com.bowlingpoints.enums.ErrorsEnum;
+import com.bowlingpoints.event.ResultsChangedEvent;
+import com.bowlingpoints.exception.BusinessException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tabla en vivo por torneo y modalidad, enviada por Server-Sent Events.
+ * Cuando cambian los resultados de un torneo la tabla se recalcula una sola vez
+ * por torneo y modalidad con suscriptores, sin importar cuántos sean, y a cada
+ * uno se le envían solo las filas que cambiaron. Los cambios que llegan mientras
+ * hay un recálculo pendiente se agrupan en ese mismo recálculo.
+ * <p>
+ * Los eventos se encolan por suscriptor bajo el bloqueo del tablero (así llegan
+ * en orden de versión) y se escriben fuera de él, en un pool de envío: un cliente
+ * lento no frena el recálculo ni a los demás tableros, y si acumula demasiados
+ * eventos pendientes se desconecta. El número de suscriptores está acotado por
+ * tablero y en total.
+ */
+@Slf4j
+@Service
+public class LiveScoreboardService {
+
+    static final String SNAPSHOT_EVENT = "snapshot";
+    static final String STANDINGS_EVENT = "standings";
+    static final String FULL_MESSAGE = "La tabla en vivo no admite más suscriptores, intente más tarde.";
+
+    /**
+     * Eventos sin enviar que se toleran a un suscriptor antes de desconectarlo.
+     */
+    static final int MAX_PENDING_EVENTS = 16;
+
+    private final ResultService resultService;
+    private final ObjectMapper objectMapper;
+    private final long emitterTimeoutMs;
+    private final ExecutorService executor;
+    private final ExecutorService sendExecutor;
+    private final int maxSubscribersPerBoard;
+    private final int maxSubscribers;
+
+    private final Map<BoardKey, Board> boards = new ConcurrentHashMap<>();
+    private final AtomicInteger totalSubscribers = new AtomicInteger();
+
+    @Autowired
+    public LiveScoreboardService(
+            ResultService resultService,
+            ObjectMapper objectMapper,
+            @Value("${scoreboard.sse.timeout-ms:1800000}") long emitterTimeoutMs,
+            @Value("${scoreboard.sse.max-subscribers-per-board:200}") int maxSubscribersPerBoard,
+            @Value("${scoreboard.sse.max-subscribers:2000}") int maxSubscribers,
+            @Value("${scoreboard.sse.send-threads:4}") int sendThreads
+    ) {
+        this(resultService, objectMapper, emitterTimeoutMs,
+                Executors.newSingleThreadExecutor(daemon("live-scoreboard")),
+                Executors.newFixedThreadPool(sendThreads, daemon("live-scoreboard-send")),
+                maxSubscribersPerBoard, maxSubscribers);
+    }
+
+    LiveScoreboardService(ResultService resultService, ObjectMapper objectMapper, long emitterTimeoutMs,
+                          ExecutorService executor, ExecutorService sendExecutor,
+                          int maxSubscribersPerBoard, int maxSubscribers) {
+        this.resultService = resultService;
+        this.objectMapper = objectMapper;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.executor = executor;
+        this.sendExecutor = sendExecutor;
+        this.maxSubscribersPerBoard = maxSubscribersPerBoard;
+        this.maxSubscribers = maxSubscribers;
+    }
+
+    private static ThreadFactory daemon(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    record BoardKey(Integer tournamentId, Integer modalityId) {
+    }
+
+    /**
+     * Suscriptores de un torneo y modalidad y la última tabla que se les envió.
+     */
+    static final class Board {
+        final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+        final AtomicBoolean refreshPending = new AtomicBoolean();
+        Map<ScoreboardRowKeyDTO, PlayerResultTableDTO> rows;
+        volatile TournamentResultsResponseDTO table;
+        long version;
+        boolean closed;
+    }
+
+    /**
+     * Un cliente con su cola de eventos; solo un hilo de envío la vacía a la vez.
+     */
+    static final class Subscriber {
+        final SseEmitter emitter;
+        final Queue<SseEmitter.SseEventBuilder> pending = new ConcurrentLinkedQueue<>();
+        final AtomicBoolean sending = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+
+    /**
+     * Registra un suscriptor y le envía la tabla actual como primer evento.
+     *
+     * @throws BusinessException con código ERR-503 si se alcanzó el límite de suscriptores
+     */
+    public SseEmitter subscribe(Integer tournamentId, Integer modalityId) {
+        if (totalSubscribers.incrementAndGet() > maxSubscribers) {
+            totalSubscribers.decrementAndGet();
+            throw new BusinessException(ErrorsEnum.SERVICE_UNAVAILABLE.getCode(), FULL_MESSAGE);
+        }
+
+        BoardKey key = new BoardKey(tournamentId, modalityId);
+        Subscriber subscriber = new Subscriber(createEmitter());
+
+        while (true) {
+            Board board = boards.computeIfAbsent(key, k -> new Board());
+
+            // La carga inicial se hace fuera del bloqueo para no frenar al recálculo
+            TournamentResultsResponseDTO initial = null;
+            if (board.table == null) {
+                try {
+                    initial = resultService.getTournamentResultsTable(tournamentId, modalityId, null);
+                } catch (RuntimeException e) {
+                    synchronized (board) {
+                        closeIfEmpty(key, board);
+                    }
+                    totalSubscribers.decrementAndGet();
+                    throw e;
+                }
+            }
+
+            synchronized (board) {
+                // El tablero pudo cerrarse entre computeIfAbsent y el bloqueo
+                if (board.closed) continue;
+
+                if (board.subscribers.size() >= maxSubscribersPerBoard) {
+                    totalSubscribers.decrementAndGet();
+                    throw new BusinessException(ErrorsEnum.SERVICE_UNAVAILABLE.getCode(), FULL_MESSAGE);
+                }
+                if (board.table == null) {
+                    publish(board, initial);
+                }
+                subscriber.pending.add(SseEmitter.event()
+                        .name(SNAPSHOT_EVENT)
+                        .id(String.valueOf(board.version))
+                        .data(toJson(snapshot(key, board))));
+                board.subscribers.add(subscriber);
+            }
+
+            SseEmitter emitter = subscriber.emitter;
+            emitter.onCompletion(() -> unsubscribe(key, board, subscriber));
+            emitter.onTimeout(() -> unsubscribe(key, board, subscriber));
+            emitter.onError(e -> unsubscribe(key, board, subscriber));
+            deliver(key, board, subscriber);
+            return emitter;
+        }
+    }
+
+    /**
+     * Después del commit, para que el recálculo vea los resultados guardados.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onResultsChanged(ResultsChangedEvent event) {
+        boards.forEach((key, board) -> {
+            if (event.tournamentIds().contains(key.tournamentId())
+                    && board.refreshPending.compareAndSet(false, true)) {
+                executor.execute(() -> refresh(key, board));
+            }
+        });
+    }
+
+    /**
+     * Recalcula la tabla una vez y encola para todos los suscriptores las filas que cambiaron.
+     */
+    void refresh(BoardKey key, Board board) {
+        board.refreshPending.set(false);
+
+        TournamentResultsResponseDTO table;
+        try {
+            table = resultService.getTournamentResultsTable(key.tournamentId(), key.modalityId(), null);
+        } catch (RuntimeException e) {
+            log.warn("No se pudo recalcular la tabla en vivo del torneo {} modalidad {}: {}",
+                    key.tournamentId(), key.modalityId(), e.getMessage());
+            return;
+        }
+
+        List<Subscriber> recipients;
+        synchronized (board) {
+            if (board.closed) return;
+
+            // Aún no terminó la primera suscripción: esta tabla pasa a ser la inicial
+            if (board.table == null) {
+                publish(board, table);
+                return;
+            }
+
+            Map<ScoreboardRowKeyDTO, PlayerResultTableDTO> previous = board.rows;
+            TournamentResultsResponseDTO previousTable = board.table;
+            publish(board, table);
+
+            List<PlayerResultTableDTO> changed = board.rows.entrySet().stream()
+                    .filter(entry -> !entry.getValue().equals(previous.get(entry.getKey())))
+                    .map(Map.Entry::getValue)
+                    .toList();
+            List<ScoreboardRowKeyDTO> removed = previous.keySet().stream()
+                    .filter(rowKey -> !board.rows.containsKey(rowKey))
+                    .toList();
+
+            if (changed.isEmpty() && removed.isEmpty()
+                    && Objects.equals(previousTable.getAvgByLine(), table.getAvgByLine())
+                    && Objects.equals(previousTable.getAvgByRound(), table.getAvgByRound())
+                    && Objects.equals(previousTable.getHighestLine(), table.getHighestLine())) {
+                return;
+            }
+
+            board.version++;
+            String data = toJson(ScoreboardUpdateDTO.builder()
+                    .tournamentId(key.tournamentId())
+                    .modalityId(key.modalityId())
+                    .version(board.version)
+                    .snapshot(false)
+                    .changed(changed)
+                    .removed(removed)
+                    .avgByLine(table.getAvgByLine())
+                    .avgByRound(table.getAvgByRound())
+                    .highestLine(table.getHighestLine())
+                    .build());
+
+            recipients = new ArrayList<>();
+            for (Subscriber subscriber : board.subscribers) {
+                if (subscriber.pending.size() >= MAX_PENDING_EVENTS) {
+                    // Cliente que no consume: se desconecta en lugar de acumularle eventos
+                    drop(key, board, subscriber, new IOException("Suscriptor sin consumir eventos"));
+                    continue;
+                }
+                subscriber.pending.add(SseEmitter.event()
+                        .name(STANDINGS_EVENT)
+                        .id(String.valueOf(board.version))
+                        .data(data));
+                recipients.add(subscriber);
+            }
+        }
+
+        for (Subscriber subscriber : recipients) {
+            deliver(key, board, subscriber);
+        }
+    }
+
+    int subscriberCount(Integer tournamentId, Integer modalityId) {
+        Board board = boards.get(new BoardKey(tournamentId, modalityId));
+        return board == null ? 0 : board.subscribers.size();
+    }
+
+    int totalSubscriberCount() {
+        return totalSubscribers.get();
+    }
+
+    SseEmitter createEmitter() {
+        return new SseEmitter(emitterTimeoutMs);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        sendExecutor.shutdownNow();
+    }
+
+    /**
+     * Escribe en el pool de envío los eventos pendientes del suscriptor.
+     */
+    private void deliver(BoardKey key, Board board, Subscriber subscriber) {
+        try {
+            sendExecutor.execute(() -> drain(key, board, subscriber));
+        } catch (RejectedExecutionException e) {
+            // Apagando la aplicación
+            subscriber.emitter.complete();
+        }
+    }
+
+    private void drain(BoardKey key, Board board, Subscriber subscriber) {
+        if (!subscriber.sending.compareAndSet(false, true)) return;
+        try {
+            SseEmitter.SseEventBuilder event;
+            while ((event = subscriber.pending.poll()) != null) {
+                subscriber.emitter.send(event);
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Cliente desconectado
+            subscriber.pending.clear();
+            unsubscribe(key, board, subscriber);
+            subscriber.emitter.completeWithError(e);
+            return;
+        } finally {
+            subscriber.sending.set(false);
+        }
+        // Un evento encolado mientras se terminaba de vaciar la cola
+        if (!subscriber.pending.isEmpty()) {
+            deliver(key, board, subscriber);
+        }
+    }
+
+    /**
+     * Quita al suscriptor bajo el bloqueo del tablero; el cierre del emisor se hace
+     * en el pool de envío porque puede esperar a un envío en curso.
+     */
+    private void drop(BoardKey key, Board board, Subscriber subscriber, IOException cause) {
+        remove(key, board, subscriber);
+        subscriber.pending.clear();
+        try {
+            sendExecutor.execute(() -> subscriber.emitter.completeWithError(cause));
+        } catch (RejectedExecutionException e) {
+            // Apagando la aplicación
+        }
+    }
+
+    private void unsubscribe(BoardKey key, Board board, Subscriber subscriber) {
+        synchronized (board) {
+            remove(key, board, subscriber);
+        }
+    }
+
+    private void remove(BoardKey key, Board board, Subscriber subscriber) {
+        if (board.subscribers.remove(subscriber)) {
+            totalSubscribers.decrementAndGet();
+        }
+        closeIfEmpty(key, board);
+    }
+
+    /**
+     * Sin suscriptores el tablero se descarta; una nueva suscripción lo vuelve a cargar.
+     */
+    private void closeIfEmpty(BoardKey key, Board board) {
+        if (board.subscribers.isEmpty() && !board.closed) {
+            board.closed = true;
+            boards.remove(key, board);
+        }
+    }
+
+    private void publish(Board board, TournamentResultsResponseDTO table) {
+        Map<ScoreboardRowKeyDTO, PlayerResultTableDTO> rows = new LinkedHashMap<>();
+        for (PlayerResultTableDTO row : table.getResults()) {
+            rows.put(ScoreboardRowKeyDTO.of(row), row);
+        }
+        board.rows = rows;
+        board.table = table;
+    }
+
+    private ScoreboardUpdateDTO snapshot(BoardKey key, Board board) {
+        return ScoreboardUpdateDTO.builder()
+                .tournamentId(key.tournamentId())
+                .modalityId(key.modalityId())
+                .version(board.version)
+                .snapshot(true)
+                .changed(new ArrayList<>(board.rows.values()))
+                .removed(List.of())
+                .avgByLine(board.table.getAvgByLine())
+                .avgByRound(board.table.getAvgByRound())
+                .highestLine(board.table.getHighestLine())
+                .build();
+    }
+
+    /**
+     * Se serializa una sola vez por cambio y se envía el mismo texto a todos los suscriptores.
+     */
+    private String toJson(ScoreboardUpdateDTO update) {
+        try {
+            return objectMapper.writeValueAsString(update);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar la tabla en vivo", e);
+        }
+    }
+}
@@ -48,16 +48,11 @@ public class PersonImportService {
 
     @Transactional
     public PersonImportResponse importPersonFile(MultipartFile file) throws Exception {
-        List<Person> personsToSave = new ArrayList<>();
-        List<User> usersToSave = new ArrayList<>();
-        List<UserRole> userRolesToSave = new ArrayList<>();
-
-        List<String> errorDetails = new ArrayList<>();
-
-        int lineCount = 0;
-        int successCount = 0;
-        int errorCount = 0;
+        return importPersonFile(file, ImportProgressListener.NONE);
+    }
 
+    @Transactional
+    public PersonImportResponse importPersonFile(MultipartFile file, ImportProgressListener listener) throws Exception {
         Role playerRole = roleRepository.findByName("JUGADOR")
                 .orElseThrow(() -> new IllegalStateException("No se encontró el rol 'jugador' en la base de datos"));
 
@@ -68,127 +63,173 @@ public class PersonImportService {
                 : "BowlingPoints2025";
         String defaultPasswordHash = hashSha256(defaultPlainPassword);
 
+        ImportRun run = new ImportRun(playerRole, defaultPasswordHash, listener);
+
         try {
-            var allRows = FileReaderUtils.readAllRows(file, ";");
-            boolean isHeader = true;
+            // Las filas se procesan a medida que se leen; en memoria solo queda el lote en curso
+            FileReaderUtils.forEachRow(file, ";", run::accept);
 
-            for (String[] data : allRows) {
-                lineCount++;
+            // Guardar los restantes al final
+            run.flush();
+            listener.onProgress(run.successCount + run.errorCount, run.successCount, 0, run.errorDetails);
 
-                // Omitir filas vacías
-                if (data.length == 0) {
-                    continue;
-                }
+        } catch (Exception e) {
+            throw new RuntimeException("Error crítico leyendo el archivo: " + e.getMessage(), e);
+        }
 
-                if (isHeader) {
-                    isHeader = false;
-                    continue;
-                }
+        // Retornamos el objeto JSON
+        return PersonImportResponse.builder()
+                .successCount(run.successCount)
+                .errorCount(run.errorCount)
+                .totalProcessed(run.successCount + run.errorCount)
+                .errors(run.errorDetails)
+                .build();
+    }
 
-                // Validación básica de longitud
-                if (data.length < 4) {
-                    errorCount++;
-                    errorDetails.add("Línea " + lineCount + ": Datos incompletos o formato incorrecto.");
-                    continue;
-                }
+    /**
+     * Procesa las filas del archivo a medida que se leen y guarda por lotes de 500.
+     */
+    private final class ImportRun {
 
-                String document = data[0].trim();
-                String names = data[1].trim();
-                String surnames = data[2].trim();
-                String email = data[3].trim();
-                String gender = data.length > 4 ? data[4].trim() : null;
-                String dateStr = data.length > 5 ? data[5].trim() : null;
-                String phone = data.length > 6 ? data[6].trim() : null;
+        private final Role playerRole;
+        private final String defaultPasswordHash;
+        private final ImportProgressListener listener;
 
-                // Validaciones de Negocio (Unicidad persona)
-                if (personRepository.existsByDocument(document)) {
-                    errorCount++;
-                    errorDetails.add("Línea " + lineCount + ": Documento " + document + " ya existe.");
-                    continue;
-                }
-                if (personRepository.existsByEmail(email)) {
+        private final List<Person> personsToSave = new ArrayList<>();
+        private final List<User> usersToSave = new ArrayList<>();
+        private final List<UserRole> userRolesToSave = new ArrayList<>();
+        private final List<String> errorDetails = new ArrayList<>();
+
+        private boolean isHeader = true;
+        private int successCount = 0;
+        private int errorCount = 0;
+
+        ImportRun(Role playerRole, String defaultPasswordHash, ImportProgressListener listener) {
+            this.playerRole = playerRole;
+            this.defaultPasswordHash = defaultPasswordHash;
+            this.listener = listener;
+        }
+
+        void accept(int lineNumber, String[] data) {
+            int processedBefore = successCount + errorCount;
+            process(lineNumber, data);
+            int processed = successCount + errorCount;
+            if (processed != processedBefore && processed % ImportProgressListener.PROGRESS_INTERVAL == 0) {
+                listener.onProgress(processed, successCount, 0, errorDetails);
+            }
+        }
+
+        private void process(int lineNumber, String[] data) {
+            // Omitir filas vacías
+            if (data.length == 0) {
+                return;
+            }
+
+            if (isHeader) {
+                isHeader = false;
+                return;
+            }
+
+            // Validación básica de longitud
+            if (data.length < 4) {
+                errorCount++;
+                errorDetails.add("Línea " + lineNumber + ": Datos incompletos o formato incorrecto.");
+                return;
+            }
+
+            String document = data[0].trim();
+            String names = data[1].trim();
+            String surnames = data[2].trim();
+            String email = data[3].trim();
+            String gender = data.length > 4 ? data[4].trim() : null;
+            String dateStr = data.length > 5 ? data[5].trim() : null;
+            String phone = data.length > 6 ? data[6].trim() : null;
+
+            // Validaciones de Negocio (Unicidad persona)
+            if (personRepository.existsByDocument(document)) {
+                errorCount++;
+                errorDetails.add("Línea " + lineNumber + ": Documento " + document + " ya existe.");
+                return;
+            }
+            if (personRepository.existsByEmail(email)) {
+                errorCount++;
+                errorDetails.add("Línea " + lineNumber + ": Email " + email + " ya existe.");
+                return;
+            }
+
+            try {
+                // 1) Crear entidad Person
+                Person person = Person.builder()
+                        .document(document)
+                        .fullName(names)
+                        .fullSurname(surnames)
+                        .email(email)
+                        .gender(normalizeGender(gender))
+                        .birthDate(dateStr != null && !dateStr.isEmpty() ? LocalDate.parse(dateStr, DATE_FORMATTER)
+                                : null)
+                        .phone(phone)
+                        .status(true)
+                        .createdBy(1)
+                        .createdAt(LocalDate.now().atStartOfDay())
+                        .build();
+
+                personsToSave.add(person);
+
+                // 2) Crear entidad User asociada
+                // Usamos el documento como nickname, cámbialo si prefieres otra lógica
+                String nickname = document;
+
+                // Verificar que no exista user con ese nickname (por seguridad extra)
+                if (userRepository.existsByNickname(nickname)) {
                     errorCount++;
-                    errorDetails.add("Línea " + lineCount + ": Email " + email + " ya existe.");
-                    continue;
+                    errorDetails
+                            .add("Línea " + lineNumber + ": Ya existe un usuario con nickname " + nickname + ".");
+                    // No añadimos esta persona al batch, eliminamos la última persona agregada
+                    personsToSave.remove(person);
+                    return;
                 }
 
-                try {
-                    // 1) Crear entidad Person
-                    Person person = Person.builder()
-                            .document(document)
-                            .fullName(names)
-                            .fullSurname(surnames)
-                            .email(email)
-                            .gender(normalizeGender(gender))
-                            .birthDate(dateStr != null && !dateStr.isEmpty() ? LocalDate.parse(dateStr, DATE_FORMATTER)
-                                    : null)
-                            .phone(phone)
-                            .status(true)
-                            .createdBy(1)
-                            .createdAt(LocalDate.now().atStartOfDay())
-                            .build();
-
-                    personsToSave.add(person);
-
-                    // 2) Crear entidad User asociada
-                    // Usamos el documento como nickname, cámbialo si prefieres otra lógica
-                    String nickname = document;
-
-                    // Verificar que no exista user con ese nickname (por seguridad extra)
-                    if (userRepository.existsByNickname(nickname)) {
-                        errorCount++;
-                        errorDetails
-                                .add("Línea " + lineCount + ": Ya existe un usuario con nickname " + nickname + ".");
-                        // No añadimos esta persona al batch, eliminamos la última persona agregada
-                        personsToSave.remove(person);
-                        continue;
-                    }
-
-                    User user = User.builder()
-                            .person(person)
-                            .password(defaultPasswordHash)
-                            .status(true) // ajusta al valor que uses en tu sistema
-                            .attemptsLogin(0)
-                            .lastLoginAt(null)
-                            .nickname(nickname)
-                            .createdBy(1)
-                            .createdAt(LocalDate.now().atStartOfDay())
-                            .build();
-
-                    usersToSave.add(user);
-
-                    // 3) Crear relación UserRole (usuario -> rol jugador)
-                    UserRole userRole = UserRole.builder()
-                            .user(user)
-                            .role(playerRole)
-                            .status(true)
-                            .createdAt(LocalDate.now().atStartOfDay())
-                            .build();
-
-                    userRolesToSave.add(userRole);
-
-                    successCount++;
-
-                    // Si quieres manejo batch por tamaño:
-                    if (personsToSave.size() >= 500) {
-                        // Importante: guardar en orden para respetar FKs
-                        personRepository.saveAll(personsToSave);
-                        userRepository.saveAll(usersToSave);
-                        userRoleRepository.saveAll(userRolesToSave);
-
-                        personsToSave.clear();
-                        usersToSave.clear();
-                        userRolesToSave.clear();
-                    }
-
-                } catch (Exception e) {
-                    errorCount++;
-                    errorDetails.add("Línea " + lineCount + ": Error de formato o creación -> " + e.getMessage());
-                    log.error("Error procesando línea {}: {}", lineCount, e.getMessage(), e);
+                User user = User.builder()
+                        .person(person)
+                        .password(defaultPasswordHash)
+                        .status(true) // ajusta al valor que uses en tu sistema
+                        .attemptsLogin(0)
+                        .lastLoginAt(null)
+                        .nickname(nickname)
+                        .createdBy(1)
+                        .createdAt(LocalDate.now().atStartOfDay())
+                        .build();
+
+                usersToSave.add(user);
+
+                // 3) Crear relación UserRole (usuario -> rol jugador)
+                UserRole userRole = UserRole.builder()
+                        .user(user)
+                        .role(playerRole)
+                        .status(true)
+                        .createdAt(LocalDate.now().atStartOfDay())
+                        .build();
+
+                userRolesToSave.add(userRole);
+
+                successCount++;
+
+                // Si quieres manejo batch por tamaño:
+                if (personsToSave.size() >= 500) {
+                    flush();
                 }
+
+            } catch (Exception e) {
+                errorCount++;
+                errorDetails.add("Línea " + lineNumber + ": Error de formato o creación -> " + e.getMessage());
+                log.error("Error procesando línea {}: {}", lineNumber, e.getMessage(), e);
             }
+        }
 
-            // Guardar los restantes al final
+        /**
+         * Importante: guardar en orden para respetar FKs.
+         */
+        void flush() {
             if (!personsToSave.isEmpty()) {
                 personRepository.saveAll(personsToSave);
             }
@@ -199,17 +240,10 @@ public class PersonImportService {
                 userRoleRepository.saveAll(userRolesToSave);
             }
 
-        } catch (Exception e) {
-            throw new RuntimeException("Error crítico leyendo el archivo: " + e.getMessage(), e);
+            personsToSave.clear();
+            usersToSave.clear();
+            userRolesToSave.clear();
         }
-
-        // Retornamos el objeto JSON
-        return PersonImportResponse.builder()
-                .successCount(successCount)
-                .errorCount(errorCount)
-                .totalProcessed(successCount + errorCount)
-                .errors(errorDetails)
-                .build();
     }
 
     /**
@@ -0,0 +1,59 @@
+package com.bowlingpoints.service;
+
+import com.bowlingpoints.dto.DashboardPlayerDTO;
+import com.bowlingpoints.repository.PlayerRankingStatsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.ListUtils;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Mantiene la tabla player_ranking_stats. Cada escritura de resultados llama a
+ * {@link #refreshPersons} con las personas afectadas, dentro de su transacción,
+ * y solo se recalculan las filas de esas personas. El promedio, el mejor juego y
+ * los torneos distintos no se pueden restar al borrar un resultado, por eso se
+ * recalculan desde los resultados de la persona en lugar de aplicar deltas.
+ * La fila se actualiza en sitio (INSERT ... ON CONFLICT) y no se borra antes de
+ * reinsertarla, para que dos escrituras concurrentes sobre la misma persona no
+ * choquen con la clave primaria.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PlayerRankingStatsService {
+
+    private final PlayerRankingStatsRepository playerRankingStatsRepository;
+
+    private static final int IN_CHUNK_SIZE = 1000;
+
+    @Transactional
+    public void refreshPersons(Collection<Integer> personIds) {
+        List<Integer> ids = personIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (ids.isEmpty()) return;
+
+        for (List<Integer> chunk : ListUtils.partition(ids, IN_CHUNK_SIZE)) {
+            playerRankingStatsRepository.upsertStatsForPersons(chunk);
+            playerRankingStatsRepository.deleteWithoutActiveResults(chunk);
+        }
+        log.debug("Ranking recalculado para {} persona(s)", ids.size());
+    }
+
+    /**
+     * Ranking ordenado por promedio; las posiciones continúan entre páginas.
+     */
+    @Transactional(readOnly = true)
+    public List<DashboardPlayerDTO> getRanking(Pageable pageable) {
+        List<DashboardPlayerDTO> players = playerRankingStatsRepository.findRanking(pageable);
+        int offset = pageable.isPaged() ? (int) pageable.getOffset() : 0;
+        for (int i = 0; i < players.size(); i++) {
+            players.get(i).setPosition(offset + i + 1);
+        }
+        return players;
+    }
+}
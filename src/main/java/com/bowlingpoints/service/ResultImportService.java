@@ -2,16 +2,26 @@ package com.bowlingpoints.service;
 
 import com.bowlingpoints.dto.files.ResultImportRow;
 import com.bowlingpoints.entity.*;
+import com.bowlingpoints.event.ResultsChangedEvent;
 import com.bowlingpoints.repository.*;
+import com.bowlingpoints.repository.ResultCopyRepository.StagedResult;
 import com.bowlingpoints.util.FileReaderUtils;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.ListUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Consumer;
 
 @Slf4j
 @Service
@@ -25,232 +35,289 @@ public class ResultImportService {
     private final BranchRepository branchRepository;
     private final TeamRepository teamRepository;
     private final ResultRepository resultRepository;
+    private final ResultCopyRepository resultCopyRepository;
+    private final PlayerRankingStatsService playerRankingStatsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ImportCheckpointRepository importCheckpointRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final EntityManager entityManager;
+
+    private static final int BATCH_SIZE = 500;
+    private static final int IN_CHUNK_SIZE = 1000;
+    private static final int COPY_CHUNK_SIZE = 10_000;
 
     @Transactional
     public ImportResult importCsv(MultipartFile file, Integer userId, boolean skipHeader) {
+        return importResults(file, userId, skipHeader, false, ImportProgressListener.NONE);
+    }
+
+    @Transactional
+    public ImportResult importCsv(MultipartFile file, Integer userId, boolean skipHeader, ImportProgressListener listener) {
+        return importResults(file, userId, skipHeader, false, listener);
+    }
+
+    /**
+     * Variante de carga masiva: las filas válidas se envían con COPY a una tabla
+     * temporal y se insertan en result con una sola sentencia que descarta los
+     * resultados ya existentes. Las validaciones y mensajes son los mismos que en
+     * {@link #importCsv}, pero los duplicados contra la BD se informan en una sola línea.
+     */
+    @Transactional
+    public ImportResult importCsvBulk(MultipartFile file, Integer userId, boolean skipHeader) {
+        return importResults(file, userId, skipHeader, true, ImportProgressListener.NONE);
+    }
+
+    @Transactional
+    public ImportResult importCsvBulk(MultipartFile file, Integer userId, boolean skipHeader, ImportProgressListener listener) {
+        return importResults(file, userId, skipHeader, true, listener);
+    }
+
+    private ImportResult importResults(MultipartFile file, Integer userId, boolean skipHeader, boolean bulkCopy,
+                                       ImportProgressListener listener) {
         List<String> errors = new ArrayList<>();
-        int created = 0;
-        int skipped = 0;
 
-        List<ResultImportRow> rows = readRows(file, skipHeader, errors);
+        ImportRun run = prepareRun(file, userId, skipHeader, bulkCopy, errors, listener);
+        if (run == null) {
+            return new ImportResult(0, 0, errors);
+        }
 
-        if (rows.isEmpty()) {
-            errors.add("No se encontraron filas válidas para procesar.");
-            return new ImportResult(created, skipped, errors);
+        // Segunda pasada: procesar cada fila contra los mapas en memoria y guardar por lotes.
+        // Los errores de formato ya se informaron en la primera pasada.
+        try {
+            forEachParsedRow(file, skipHeader, error -> { }, run::accept);
+        } catch (IOException e) {
+            errors.add("Error leyendo archivo: " + e.getMessage());
+            log.error("Error leyendo archivo: {}", e.getMessage(), e);
         }
+        run.flush();
+        listener.onProgress(run.rowsProcessed, run.created, run.skipped, errors);
 
-        // Validar que todos los resultados pertenezcan al mismo torneo
-        String firstTournamentName = rows.get(0).nombreTorneo();
-        boolean allSameTournament = rows.stream()
-                .allMatch(row -> row.nombreTorneo().equals(firstTournamentName));
+        return new ImportResult(run.created, run.skipped, errors);
+    }
 
-        if (!allSameTournament) {
-            errors.add("ERROR CRÍTICO: Todos los resultados deben pertenecer al mismo torneo. " +
-                    "Se encontraron múltiples torneos en el archivo.");
-            return new ImportResult(created, skipped, errors);
+    /**
+     * Importa en bloques de {@code chunkSize} filas, cada uno en su propia transacción.
+     * Tras cada bloque se guarda un checkpoint (hash del archivo, torneo y última
+     * línea confirmada) en la misma transacción que los resultados. Si la importación
+     * se corta, al volver a subir el mismo archivo se continúa después de esa línea
+     * sin volver a procesar las anteriores. Al eliminar resultados del torneo se
+     * descarta su checkpoint y el archivo puede importarse de nuevo. Los contadores retornados corresponden
+     * solo a este intento.
+     */
+    public ImportResult importCsvChunked(MultipartFile file, Integer userId, boolean skipHeader, boolean bulkCopy,
+                                         int chunkSize, ImportProgressListener listener) {
+        List<String> errors = new ArrayList<>();
+
+        String fileHash;
+        try {
+            fileHash = FileReaderUtils.sha256(file);
+        } catch (IOException e) {
+            errors.add("Error leyendo archivo: " + e.getMessage());
+            return new ImportResult(0, 0, errors);
         }
 
-        // Resolver el torneo una sola vez (todos son del mismo torneo)
-        var tournamentOpt = tournamentRepository.findByName(firstTournamentName);
-        if (tournamentOpt.isEmpty()) {
-            errors.add("ERROR CRÍTICO: No existe torneo con nombre '" + firstTournamentName + "'");
-            return new ImportResult(created, skipped, errors);
+        ImportRun run = prepareRun(file, userId, skipHeader, bulkCopy, errors, listener);
+        if (run == null) {
+            return new ImportResult(0, 0, errors);
         }
-        Tournament tournament = tournamentOpt.get();
 
-        // Procesar cada fila
-        List<Result> resultsToSave = new ArrayList<>();
+        // El avance se guarda por archivo y torneo
+        Integer tournamentId = run.tournament.getTournamentId();
+        ImportCheckpoint checkpoint = importCheckpointRepository.findByFileHashAndTournamentId(fileHash, tournamentId)
+                .orElseGet(() -> ImportCheckpoint.builder()
+                        .fileHash(fileHash)
+                        .tournamentId(tournamentId)
+                        .fileName(file.getOriginalFilename())
+                        .createdBy(userId)
+                        .createdAt(LocalDateTime.now())
+                        .build());
+
+        if (checkpoint.isCompleted()) {
+            errors.add("El archivo ya fue importado por completo en el torneo '" + run.tournament.getName() +
+                    "' (" + checkpoint.getCreatedCount() + " resultados creados). No se procesó de nuevo; " +
+                    "para volver a importarlo elimine antes los resultados del torneo.");
+            return new ImportResult(0, 0, errors);
+        }
 
-        for (ResultImportRow row : rows) {
-            try {
-                // Validar campos obligatorios
-                if (isEmpty(row.documento()) || isEmpty(row.categoria()) ||
-                        isEmpty(row.modalidad()) || isEmpty(row.rama())) {
-                    errors.add("Línea " + row.lineNumber() + ": campos obligatorios vacíos " +
-                            "(documento, categoría, modalidad o rama).");
-                    continue;
-                }
+        if (checkpoint.getLastCommittedLine() > 0) {
+            errors.add("Reanudando la importación después de la línea " + checkpoint.getLastCommittedLine() + ".");
+        }
 
-                // Validar rango de puntaje
-                if (row.puntaje() < 0 || row.puntaje() > 300) {
-                    errors.add("Línea " + row.lineNumber() + ": puntaje fuera de rango (0-300): " + row.puntaje());
-                    continue;
-                }
+        ChunkedImport chunks = new ChunkedImport(run, checkpoint, Math.max(chunkSize, 1));
+        try {
+            forEachParsedRow(file, skipHeader, error -> { }, chunks::accept);
+            chunks.commitPending(true);
+        } catch (IOException e) {
+            errors.add("Error leyendo archivo: " + e.getMessage());
+            log.error("Error leyendo archivo: {}", e.getMessage(), e);
+        } catch (ChunkFailedException e) {
+            errors.add("Error guardando el bloque de las líneas " + e.firstLine + " a " + e.lastLine + ": " +
+                    e.getCause().getMessage() + ". El bloque se revirtió: no se guardó ninguna de esas líneas " +
+                    "y sus errores se volverán a informar al reintentar. Vuelva a subir el mismo archivo " +
+                    "para continuar después de la línea " + chunks.checkpoint.getLastCommittedLine() + ".");
+            log.error("Error guardando bloque desde la línea {}: {}", e.firstLine, e.getCause().getMessage(), e.getCause());
+        }
+        listener.onProgress(run.rowsProcessed, run.created, run.skipped, errors);
 
-                // Resolver Person
-                var personOpt = personRepository.findByDocument(row.documento());
-                if (personOpt.isEmpty()) {
-                    errors.add("Línea " + row.lineNumber() + ": no existe jugador con documento '" + row.documento() + "'");
-                    continue;
-                }
-                Person person = personOpt.get();
+        return new ImportResult(run.created, run.skipped, errors);
+    }
 
-                // Resolver Category
-                var categoryOpt = categoryRepository.findByNameAndDeletedAtIsNull(row.categoria());
-                if (categoryOpt.isEmpty()) {
-                    errors.add("Línea " + row.lineNumber() + ": no existe categoría '" + row.categoria() + "'");
-                    continue;
-                }
-                Category category = categoryOpt.get();
+    /**
+     * Primera pasada y validaciones de todo el archivo: formato, torneo único y
+     * referencias resueltas en bloque. Retorna null si el archivo no se puede importar
+     * (el motivo queda en {@code errors}).
+     */
+    private ImportRun prepareRun(MultipartFile file, Integer userId, boolean skipHeader, boolean bulkCopy,
+                                 List<String> errors, ImportProgressListener listener) {
+        // Primera pasada: validar el archivo y reunir las referencias distintas, sin guardar las filas
+        ImportScan scan = new ImportScan();
+        try {
+            forEachParsedRow(file, skipHeader, errors::add, scan::add);
+        } catch (Exception e) {
+            errors.add("Error leyendo archivo: " + e.getMessage());
+            log.error("Error leyendo archivo: {}", e.getMessage(), e);
+        }
 
-                // Resolver Modality
-                var modalityOpt = modalityRepository.findByNameAndDeletedAtIsNull(row.modalidad());
-                if (modalityOpt.isEmpty()) {
-                    errors.add("Línea " + row.lineNumber() + ": no existe modalidad '" + row.modalidad() + "'");
-                    continue;
-                }
-                Modality modality = modalityOpt.get();
+        if (scan.rowCount == 0) {
+            errors.add("No se encontraron filas válidas para procesar.");
+            return null;
+        }
 
-                // Resolver Branch
-                var branchOpt = branchRepository.findByNameIgnoreCase(row.rama());
-                if (branchOpt.isEmpty()) {
-                    errors.add("Línea " + row.lineNumber() + ": no existe rama '" + row.rama() + "'");
-                    continue;
-                }
-                Branch branch = branchOpt.get();
-
-                // Resolver Team (obligatorio según modalidad)
-                // Si la modalidad contiene "Sencillo" o "Individual", el equipo es opcional
-                // De lo contrario, el equipo es obligatorio
-                String modalityNameLower = modality.getName().toLowerCase();
-                boolean isIndividualModality = modalityNameLower.contains("sencillo") ||
-                        modalityNameLower.contains("individual");
-
-                Team team = null;
-                if (!isEmpty(row.equipo())) {
-                    var teamOpt = teamRepository.findByNameTeam(row.equipo());
-                    if (teamOpt.isEmpty()) {
-                        errors.add("Línea " + row.lineNumber() + ": no existe equipo '" + row.equipo() + "'");
-                        continue;
-                    }
-                    team = teamOpt.get();
-                } else if (!isIndividualModality) {
-                    errors.add("Línea " + row.lineNumber() + ": el equipo es obligatorio para la modalidad '" +
-                            modality.getName() + "'");
-                    continue;
-                }
+        // Validar que todos los resultados pertenezcan al mismo torneo
+        if (scan.multipleTournaments) {
+            errors.add("ERROR CRÍTICO: Todos los resultados deben pertenecer al mismo torneo. " +
+                    "Se encontraron múltiples torneos en el archivo.");
+            return null;
+        }
 
-                // Detectar duplicados (incluyendo modalidad para permitir diferentes modalidades)
-                boolean exists = resultRepository.existsByPerson_PersonIdAndTournament_TournamentIdAndModality_ModalityIdAndRoundNumberAndLineNumber(
-                        person.getPersonId(),
-                        tournament.getTournamentId(),
-                        modality.getModalityId(),
-                        row.numeroRonda(),
-                        row.numeroLinea()
-                );
+        // Resolver el torneo una sola vez (todos son del mismo torneo)
+        var tournamentOpt = tournamentRepository.findByName(scan.tournamentName);
+        if (tournamentOpt.isEmpty()) {
+            errors.add("ERROR CRÍTICO: No existe torneo con nombre '" + scan.tournamentName + "'");
+            return null;
+        }
+        Tournament tournament = tournamentOpt.get();
 
-                if (exists) {
-                    skipped++;
-                    errors.add("Línea " + row.lineNumber() + ": resultado duplicado (jugador=" + row.documento() +
-                            ", modalidad=" + modality.getName() + ", ronda=" + row.numeroRonda() + ", línea=" + row.numeroLinea() + "). Saltado.");
-                    continue;
-                }
+        // Resolver en bloque (consultas IN) todas las referencias del archivo.
+        // En modo masivo los duplicados contra la BD los descarta el INSERT ... ON CONFLICT
+        ImportLookups lookups = preloadLookups(scan, tournament, !bulkCopy);
 
-                // Crear Result
-                Result result = Result.builder()
-                        .person(person)
-                        .team(team)
-                        .tournament(tournament)
-                        .category(category)
-                        .modality(modality)
-                        .branch(branch)
-                        .roundNumber(row.numeroRonda())
-                        .laneNumber(row.numeroCarril())
-                        .lineNumber(row.numeroLinea())
-                        .score(row.puntaje())
-                        .createdBy(userId)
-                        .updatedBy(userId)
-                        .build();
+        return new ImportRun(tournament, lookups, userId, bulkCopy, errors, listener);
+    }
 
-                resultsToSave.add(result);
-                created++;
+    /**
+     * Resuelve con pocas consultas IN (en bloques de {@value #IN_CHUNK_SIZE}) todas las
+     * personas, categorías, modalidades, ramas, equipos y claves de resultados existentes
+     * que referencia el archivo, para validar luego cada fila contra mapas en memoria.
+     * Si {@code loadExistingKeys} es false solo se detectan duplicados dentro del archivo.
+     */
+    private ImportLookups preloadLookups(ImportScan scan, Tournament tournament, boolean loadExistingKeys) {
+        Map<String, Integer> personIdsByDocument = new HashMap<>();
+        for (List<String> chunk : ListUtils.partition(new ArrayList<>(scan.documents), IN_CHUNK_SIZE)) {
+            for (Object[] row : personRepository.findIdsByDocumentIn(chunk)) {
+                personIdsByDocument.put((String) row[0], (Integer) row[1]);
+            }
+        }
 
-                // Batch processing cada 500 registros
-                if (resultsToSave.size() >= 500) {
-                    resultRepository.saveAll(resultsToSave);
-                    resultsToSave.clear();
-                }
+        Map<String, Category> categoriesByName = new HashMap<>();
+        if (!scan.categoryNames.isEmpty()) {
+            categoryRepository.findByNameInAndDeletedAtIsNull(scan.categoryNames)
+                    .forEach(c -> categoriesByName.putIfAbsent(c.getName(), c));
+        }
 
-            } catch (Exception e) {
-                errors.add("Línea " + row.lineNumber() + ": error inesperado -> " + e.getMessage());
-                log.error("Error procesando línea {}: {}", row.lineNumber(), e.getMessage(), e);
-            }
+        Map<String, Modality> modalitiesByName = new HashMap<>();
+        if (!scan.modalityNames.isEmpty()) {
+            modalityRepository.findByNameInAndDeletedAtIsNull(scan.modalityNames)
+                    .forEach(m -> modalitiesByName.putIfAbsent(m.getName(), m));
         }
 
-        // Guardar los restantes
-        if (!resultsToSave.isEmpty()) {
-            resultRepository.saveAll(resultsToSave);
+        Map<String, Branch> branchesByName = new HashMap<>();
+        if (!scan.branchNames.isEmpty()) {
+            branchRepository.findByLowerNameIn(scan.branchNames)
+                    .forEach(b -> branchesByName.putIfAbsent(b.getName().toLowerCase(), b));
         }
 
-        return new ImportResult(created, skipped, errors);
-    }
+        Map<String, Team> teamsByName = new HashMap<>();
+        if (!scan.teamNames.isEmpty()) {
+            teamRepository.findByNameTeamIn(scan.teamNames)
+                    .forEach(t -> teamsByName.putIfAbsent(t.getNameTeam(), t));
+        }
 
-    private List<ResultImportRow> readRows(MultipartFile file, boolean skipHeader, List<String> errors) {
-        List<ResultImportRow> rows = new ArrayList<>();
-        try {
-            var allRows = FileReaderUtils.readAllRows(file, ",");
-            int lineNumber = 0;
+        Set<ResultKey> existingKeys = new HashSet<>();
+        List<Integer> personIds = loadExistingKeys ? new ArrayList<>(new HashSet<>(personIdsByDocument.values())) : List.of();
+        for (List<Integer> chunk : ListUtils.partition(personIds, IN_CHUNK_SIZE)) {
+            for (Object[] row : resultRepository.findResultKeysByTournamentAndPersons(tournament.getTournamentId(), chunk)) {
+                existingKeys.add(new ResultKey((Integer) row[0], (Integer) row[1], (Integer) row[2], (Integer) row[3]));
+            }
+        }
 
-            for (String[] parts : allRows) {
-                lineNumber++;
+        return new ImportLookups(personIdsByDocument, categoriesByName, modalitiesByName,
+                branchesByName, teamsByName, existingKeys);
+    }
 
-                if (skipHeader && lineNumber == 1) continue;
-                if (parts.length == 0) continue;
+    /**
+     * Lee el archivo fila por fila (sin cargarlo completo) y entrega cada fila
+     * con formato válido; los problemas de formato se informan a {@code onError}.
+     */
+    private void forEachParsedRow(MultipartFile file, boolean skipHeader, Consumer<String> onError,
+                                  Consumer<ResultImportRow> consumer) throws IOException {
+        FileReaderUtils.forEachRow(file, ",", (lineNumber, parts) -> {
+            if (skipHeader && lineNumber == 1) return;
+            if (parts.length == 0) return;
+
+            // Línea con menos de 6 columnas básicas es rechazada
+            if (parts.length < 6) {
+                onError.accept("Línea " + lineNumber + ": se esperaban al menos 6 columnas " +
+                        "(documento, nombreTorneo, categoria, modalidad, rama, equipo). Se encontraron " + parts.length);
+                return;
+            }
 
-                // Línea con menos de 6 columnas básicas es rechazada
-                if (parts.length < 6) {
-                    errors.add("Línea " + lineNumber + ": se esperaban al menos 6 columnas " +
-                            "(documento, nombreTorneo, categoria, modalidad, rama, equipo). Se encontraron " + parts.length);
-                    continue;
+            ResultImportRow row;
+            try {
+                // Campos numéricos: si están vacíos o ausentes, se usa 0
+                Integer numeroRonda  = parseIntegerOrZero(getCell(parts, 6),  lineNumber, "numeroRonda",  onError);
+                Integer numeroCarril = parseIntegerOrZero(getCell(parts, 7),  lineNumber, "numeroCarril", onError);
+                Integer numeroLinea  = parseIntegerOrZero(getCell(parts, 8),  lineNumber, "numeroLinea",  onError);
+                Integer puntaje      = parseIntegerOrZero(getCell(parts, 9),  lineNumber, "puntaje",      onError);
+
+                if (numeroRonda == null || numeroCarril == null || numeroLinea == null || puntaje == null) {
+                    return; // valor inválido (no vacío, pero no numérico)
                 }
 
-                try {
-                    // Campos numéricos: si están vacíos o ausentes, se usa 0
-                    Integer numeroRonda  = parseIntegerOrZero(getCell(parts, 6),  lineNumber, "numeroRonda",  errors);
-                    Integer numeroCarril = parseIntegerOrZero(getCell(parts, 7),  lineNumber, "numeroCarril", errors);
-                    Integer numeroLinea  = parseIntegerOrZero(getCell(parts, 8),  lineNumber, "numeroLinea",  errors);
-                    Integer puntaje      = parseIntegerOrZero(getCell(parts, 9),  lineNumber, "puntaje",      errors);
-
-                    if (numeroRonda == null || numeroCarril == null || numeroLinea == null || puntaje == null) {
-                        continue; // valor inválido (no vacío, pero no numérico)
-                    }
-
-                    rows.add(new ResultImportRow(
-                            parts[0].trim(),  // documento
-                            parts[1].trim(),  // nombreTorneo
-                            parts[2].trim(),  // categoria
-                            parts[3].trim(),  // modalidad
-                            parts[4].trim(),  // rama
-                            parts[5].trim(),  // equipo
-                            numeroRonda,
-                            numeroCarril,
-                            numeroLinea,
-                            puntaje,
-                            lineNumber
-                    ));
-                } catch (Exception e) {
-                    errors.add("Línea " + lineNumber + ": error parseando datos -> " + e.getMessage());
-                }
+                row = new ResultImportRow(
+                        parts[0].trim(),  // documento
+                        parts[1].trim(),  // nombreTorneo
+                        parts[2].trim(),  // categoria
+                        parts[3].trim(),  // modalidad
+                        parts[4].trim(),  // rama
+                        parts[5].trim(),  // equipo
+                        numeroRonda,
+                        numeroCarril,
+                        numeroLinea,
+                        puntaje,
+                        lineNumber
+                );
+            } catch (Exception e) {
+                onError.accept("Línea " + lineNumber + ": error parseando datos -> " + e.getMessage());
+                return;
             }
-        } catch (Exception e) {
-            errors.add("Error leyendo archivo: " + e.getMessage());
-            log.error("Error leyendo archivo: {}", e.getMessage(), e);
-        }
-        return rows;
+            // Fuera del try: los errores al guardar no son errores de parseo y deben propagarse
+            consumer.accept(row);
+        });
     }
 
     /**
      * Retorna 0 si el valor está vacío o ausente.
      * Retorna null (y registra error) si el valor tiene contenido pero no es numérico.
      */
-    private Integer parseIntegerOrZero(String value, int lineNumber, String fieldName, List<String> errors) {
+    private Integer parseIntegerOrZero(String value, int lineNumber, String fieldName, Consumer<String> onError) {
         if (value == null || value.isEmpty()) {
             return 0;
         }
         try {
             return Integer.parseInt(value);
         } catch (NumberFormatException e) {
-            errors.add("Línea " + lineNumber + ": campo '" + fieldName + "' no es un número válido: '" + value + "'");
+            onError.accept("Línea " + lineNumber + ": campo '" + fieldName + "' no es un número válido: '" + value + "'");
             return null;
         }
     }
@@ -259,10 +326,362 @@ public class ResultImportService {
         return index < parts.length ? parts[index].trim() : "";
     }
 
+    private TransactionTemplate transactionTemplate() {
+        return new TransactionTemplate(transactionManager);
+    }
+
     private boolean isEmpty(String s) {
         return s == null || s.trim().isEmpty();
     }
 
     public record ImportResult(int created, int skipped, List<String> errors) {
     }
+
+    /**
+     * Procesa las filas de la segunda pasada y guarda los resultados por lotes,
+     * de modo que en memoria solo quede el lote en curso.
+     */
+    private final class ImportRun {
+
+        private final Tournament tournament;
+        private final ImportLookups lookups;
+        private final Integer userId;
+        private final boolean bulkCopy;
+        private final List<String> errors;
+        private final ImportProgressListener listener;
+        private final List<Result> resultsToSave = new ArrayList<>();
+        private final List<StagedResult> resultsToStage = new ArrayList<>();
+        // Línea del archivo de cada resultado en staging, para informar los que ya existían
+        private final Map<ResultKey, Integer> stagedLines = new HashMap<>();
+        private final Set<Integer> touchedPersons = new HashSet<>();
+        private int rowsProcessed;
+        private int created;
+        private int skipped;
+
+        ImportRun(Tournament tournament, ImportLookups lookups, Integer userId, boolean bulkCopy,
+                  List<String> errors, ImportProgressListener listener) {
+            this.tournament = tournament;
+            this.lookups = lookups;
+            this.userId = userId;
+            this.bulkCopy = bulkCopy;
+            this.errors = errors;
+            this.listener = listener;
+        }
+
+        void accept(ResultImportRow row) {
+            try {
+                process(row);
+            } catch (Exception e) {
+                errors.add("Línea " + row.lineNumber() + ": error inesperado -> " + e.getMessage());
+                log.error("Error procesando línea {}: {}", row.lineNumber(), e.getMessage(), e);
+            }
+
+            // Fuera del try: un fallo del COPY debe abortar la importación completa
+            if (resultsToStage.size() >= COPY_CHUNK_SIZE) {
+                copyStaged();
+            }
+
+            if (++rowsProcessed % ImportProgressListener.PROGRESS_INTERVAL == 0) {
+                listener.onProgress(rowsProcessed, created, skipped, errors);
+            }
+        }
+
+        /**
+         * Valida la fila y la deja lista para guardar; los rechazos quedan en {@code errors}.
+         */
+        private void process(ResultImportRow row) {
+            // Validar campos obligatorios
+            if (isEmpty(row.documento()) || isEmpty(row.categoria()) ||
+                    isEmpty(row.modalidad()) || isEmpty(row.rama())) {
+                errors.add("Línea " + row.lineNumber() + ": campos obligatorios vacíos " +
+                        "(documento, categoría, modalidad o rama).");
+                return;
+            }
+
+            // Validar rango de puntaje
+            if (row.puntaje() < 0 || row.puntaje() > 300) {
+                errors.add("Línea " + row.lineNumber() + ": puntaje fuera de rango (0-300): " + row.puntaje());
+                return;
+            }
+
+            // Resolver Person
+            Integer personId = lookups.personIdsByDocument().get(row.documento());
+            if (personId == null) {
+                errors.add("Línea " + row.lineNumber() + ": no existe jugador con documento '" + row.documento() + "'");
+                return;
+            }
+
+            // Resolver Category
+            Category category = lookups.categoriesByName().get(row.categoria());
+            if (category == null) {
+                errors.add("Línea " + row.lineNumber() + ": no existe categoría '" + row.categoria() + "'");
+                return;
+            }
+
+            // Resolver Modality
+            Modality modality = lookups.modalitiesByName().get(row.modalidad());
+            if (modality == null) {
+                errors.add("Línea " + row.lineNumber() + ": no existe modalidad '" + row.modalidad() + "'");
+                return;
+            }
+
+            // Resolver Branch
+            Branch branch = lookups.branchesByName().get(row.rama().toLowerCase());
+            if (branch == null) {
+                errors.add("Línea " + row.lineNumber() + ": no existe rama '" + row.rama() + "'");
+                return;
+            }
+
+            // Resolver Team (obligatorio según modalidad)
+            // Si la modalidad contiene "Sencillo" o "Individual", el equipo es opcional
+            // De lo contrario, el equipo es obligatorio
+            String modalityNameLower = modality.getName().toLowerCase();
+            boolean isIndividualModality = modalityNameLower.contains("sencillo") ||
+                    modalityNameLower.contains("individual");
+
+            Team team = null;
+            if (!isEmpty(row.equipo())) {
+                team = lookups.teamsByName().get(row.equipo());
+                if (team == null) {
+                    errors.add("Línea " + row.lineNumber() + ": no existe equipo '" + row.equipo() + "'");
+                    return;
+                }
+            } else if (!isIndividualModality) {
+                errors.add("Línea " + row.lineNumber() + ": el equipo es obligatorio para la modalidad '" +
+                        modality.getName() + "'");
+                return;
+            }
+
+            // Detectar duplicados (en BD y dentro del mismo archivo)
+            ResultKey key = new ResultKey(personId, modality.getModalityId(), row.numeroRonda(), row.numeroLinea());
+            if (!lookups.existingKeys().add(key)) {
+                skipped++;
+                errors.add("Línea " + row.lineNumber() + ": resultado duplicado (jugador=" + row.documento() +
+                        ", modalidad=" + modality.getName() + ", ronda=" + row.numeroRonda() + ", línea=" + row.numeroLinea() + "). Saltado.");
+                return;
+            }
+            touchedPersons.add(personId);
+
+            if (bulkCopy) {
+                stagedLines.put(key, row.lineNumber());
+                resultsToStage.add(new StagedResult(
+                        personId,
+                        team != null ? team.getTeamId() : null,
+                        tournament.getTournamentId(),
+                        row.numeroRonda(),
+                        category.getCategoryId(),
+                        modality.getModalityId(),
+                        branch.getBranchId(),
+                        row.numeroCarril(),
+                        row.numeroLinea(),
+                        row.puntaje(),
+                        userId,
+                        userId
+                ));
+                return;
+            }
+
+            // Crear Result (la persona se referencia por id, sin cargarla)
+            Result result = Result.builder()
+                    .person(personRepository.getReferenceById(personId))
+                    .team(team)
+                    .tournament(tournament)
+                    .category(category)
+                    .modality(modality)
+                    .branch(branch)
+                    .roundNumber(row.numeroRonda())
+                    .laneNumber(row.numeroCarril())
+                    .lineNumber(row.numeroLinea())
+                    .score(row.puntaje())
+                    .createdBy(userId)
+                    .updatedBy(userId)
+                    .build();
+
+            resultsToSave.add(result);
+            created++;
+
+            // Batch processing cada 500 registros
+            if (resultsToSave.size() >= BATCH_SIZE) {
+                resultRepository.saveAll(resultsToSave);
+                resultsToSave.clear();
+            }
+        }
+
+        /**
+         * Guarda los resultados pendientes del último lote y actualiza el ranking
+         * de las personas con resultados nuevos, en la misma transacción.
+         */
+        void flush() {
+            if (!resultsToSave.isEmpty()) {
+                resultRepository.saveAll(resultsToSave);
+                resultsToSave.clear();
+            }
+            copyStaged();
+            if (touchedPersons.isEmpty()) return;
+            playerRankingStatsService.refreshPersons(touchedPersons);
+            eventPublisher.publishEvent(new ResultsChangedEvent(Set.of(tournament.getTournamentId()), touchedPersons));
+            touchedPersons.clear();
+        }
+
+        private void copyStaged() {
+            if (resultsToStage.isEmpty()) return;
+            ResultCopyRepository.CopyResult copy;
+            try {
+                copy = resultCopyRepository.copyIntoResults(resultsToStage);
+            } catch (SQLException e) {
+                throw new IllegalStateException("Error en la carga masiva de resultados: " + e.getMessage(), e);
+            }
+            created += copy.inserted();
+            skipped += resultsToStage.size() - copy.inserted();
+            // Un mensaje por fila que ya existía, con su línea del archivo
+            for (StagedResult conflict : copy.conflicts()) {
+                Integer line = stagedLines.get(new ResultKey(conflict.personId(), conflict.modalityId(),
+                        conflict.roundNumber(), conflict.lineNumber()));
+                errors.add("Línea " + line + ": el resultado ya existe en el torneo (ronda=" + conflict.roundNumber() +
+                        ", línea=" + conflict.lineNumber() + "). Saltado.");
+            }
+            stagedLines.clear();
+            resultsToStage.clear();
+        }
+    }
+
+    /**
+     * Agrupa las filas de la segunda pasada en bloques y confirma cada bloque,
+     * junto con el checkpoint, en una transacción propia.
+     */
+    private final class ChunkedImport {
+
+        private final ImportRun run;
+        private final int chunkSize;
+        private final int resumeAfterLine;
+        private final List<ResultImportRow> pending = new ArrayList<>();
+        private ImportCheckpoint checkpoint;
+
+        ChunkedImport(ImportRun run, ImportCheckpoint checkpoint, int chunkSize) {
+            this.run = run;
+            this.checkpoint = checkpoint;
+            this.chunkSize = chunkSize;
+            this.resumeAfterLine = checkpoint.getLastCommittedLine();
+        }
+
+        void accept(ResultImportRow row) {
+            // Las líneas ya confirmadas en un intento anterior no se vuelven a procesar
+            if (row.lineNumber() <= resumeAfterLine) return;
+
+            pending.add(row);
+            if (pending.size() >= chunkSize) {
+                commitPending(false);
+            }
+        }
+
+        /**
+         * Guarda las filas pendientes y avanza el checkpoint; con {@code last} marca
+         * además la importación como completa.
+         */
+        void commitPending(boolean last) {
+            if (pending.isEmpty() && !last) return;
+
+            int firstLine = pending.isEmpty() ? checkpoint.getLastCommittedLine() : pending.get(0).lineNumber();
+            int lastLine = pending.isEmpty() ? checkpoint.getLastCommittedLine() : pending.get(pending.size() - 1).lineNumber();
+            int rowsBefore = run.rowsProcessed;
+            int createdBefore = run.created;
+            int skippedBefore = run.skipped;
+            int checkpointLine = checkpoint.getLastCommittedLine();
+            int checkpointCreated = checkpoint.getCreatedCount();
+            int checkpointSkipped = checkpoint.getSkippedCount();
+
+            try {
+                checkpoint = transactionTemplate().execute(status -> {
+                    pending.forEach(run::accept);
+                    run.flush();
+
+                    checkpoint.setLastCommittedLine(lastLine);
+                    checkpoint.setCreatedCount(checkpoint.getCreatedCount() + run.created - createdBefore);
+                    checkpoint.setSkippedCount(checkpoint.getSkippedCount() + run.skipped - skippedBefore);
+                    checkpoint.setCompleted(last);
+                    checkpoint.setUpdatedAt(LocalDateTime.now());
+                    ImportCheckpoint saved = importCheckpointRepository.save(checkpoint);
+
+                    // Lo confirmado no se vuelve a leer: se libera el contexto de persistencia
+                    entityManager.flush();
+                    entityManager.clear();
+                    return saved;
+                });
+            } catch (RuntimeException e) {
+                // El bloque se revirtió: sus filas y contadores no aplican. Los errores no se
+                // quitan (la lista solo crece, el avance ya pudo informarlos); el mensaje del
+                // fallo indica que las líneas del bloque no se guardaron
+                run.rowsProcessed = rowsBefore;
+                run.created = createdBefore;
+                run.skipped = skippedBefore;
+                checkpoint.setLastCommittedLine(checkpointLine);
+                checkpoint.setCreatedCount(checkpointCreated);
+                checkpoint.setSkippedCount(checkpointSkipped);
+                checkpoint.setCompleted(false);
+                throw new ChunkFailedException(firstLine, lastLine, e);
+            } finally {
+                pending.clear();
+            }
+        }
+    }
+
+    private static final class ChunkFailedException extends RuntimeException {
+
+        private final int firstLine;
+        private final int lastLine;
+
+        ChunkFailedException(int firstLine, int lastLine, RuntimeException cause) {
+            super(cause);
+            this.firstLine = firstLine;
+            this.lastLine = lastLine;
+        }
+    }
+
+    /**
+     * Datos reunidos en la primera pasada: cantidad de filas válidas, torneo y
+     * los valores distintos a resolver en bloque.
+     */
+    private final class ImportScan {
+
+        private int rowCount;
+        private String tournamentName;
+        private boolean multipleTournaments;
+        private final Set<String> documents = new HashSet<>();
+        private final Set<String> categoryNames = new HashSet<>();
+        private final Set<String> modalityNames = new HashSet<>();
+        private final Set<String> branchNames = new HashSet<>();
+        private final Set<String> teamNames = new HashSet<>();
+
+        void add(ResultImportRow row) {
+            if (rowCount++ == 0) {
+                tournamentName = row.nombreTorneo();
+            } else if (!row.nombreTorneo().equals(tournamentName)) {
+                multipleTournaments = true;
+            }
+            if (!isEmpty(row.documento())) documents.add(row.documento());
+            if (!isEmpty(row.categoria())) categoryNames.add(row.categoria());
+            if (!isEmpty(row.modalidad())) modalityNames.add(row.modalidad());
+            if (!isEmpty(row.rama())) branchNames.add(row.rama().toLowerCase());
+            if (!isEmpty(row.equipo())) teamNames.add(row.equipo());
+        }
+    }
+
+    /**
+     * Clave natural de un resultado dentro de un torneo.
+     */
+    private record ResultKey(Integer personId, Integer modalityId, Integer roundNumber, Integer lineNumber) {
+    }
+
+    /**
+     * Referencias del archivo resueltas en bloque antes de procesar las filas.
+     */
+    private record ImportLookups(
+            Map<String, Integer> personIdsByDocument,
+            Map<String, Category> categoriesByName,
+            Map<String, Modality> modalitiesByName,
+            Map<String, Branch> branchesByName,
+            Map<String, Team> teamsByName,
+            Set<ResultKey> existingKeys
+    ) {
+    }
 }
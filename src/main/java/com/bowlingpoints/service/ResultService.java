@@ -2,13 +2,24 @@ package com.bowlingpoints.service;
 
 import com.bowlingpoints.dto.*;
 import com.bowlingpoints.entity.*;
+import com.bowlingpoints.enums.ErrorsEnum;
+import com.bowlingpoints.event.ResultsChangedEvent;
+import com.bowlingpoints.exception.ConflictException;
 import com.bowlingpoints.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -22,7 +33,25 @@ public class ResultService {
     private final CategoryRepository categoryRepository;
     private final ModalityRepository modalityRepository;
     private final BranchRepository BranchRepository;
+    private final PlayerRankingStatsService playerRankingStatsService;
+    private final TournamentStandingsService tournamentStandingsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ImportCheckpointRepository importCheckpointRepository;
 
+    /** Tamaño de página por defecto para el listado paginado por cursor. */
+    static final int DEFAULT_PAGE_SIZE = 100;
+
+    /** Tamaño máximo de página permitido para el listado paginado por cursor. */
+    static final int MAX_PAGE_SIZE = 500;
+
+    /** Índice único parcial de la clave natural de result (migración V7). */
+    static final String NATURAL_KEY_INDEX = "uk_result_natural_key";
+
+    /**
+     * @deprecated carga toda la tabla de resultados en memoria.
+     * Usar {@link #getPage(Integer, Integer)} o {@link #streamAll(Consumer)}.
+     */
+    @Deprecated
     public List<ResultDTO> getAll() {
         return resultRepository.findAll()
                 .stream()
@@ -30,8 +59,40 @@ public class ResultService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Listado paginado por cursor (keyset sobre resultId).
+     * Se pide un registro extra para saber si existe una página siguiente.
+     */
+    public ResultPageDTO getPage(Integer afterId, Integer size) {
+        int pageSize = size == null || size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+
+        List<ResultDTO> rows = resultRepository.findResultDTOsAfter(afterId, PageRequest.of(0, pageSize + 1));
+
+        boolean hasMore = rows.size() > pageSize;
+        List<ResultDTO> items = hasMore ? rows.subList(0, pageSize) : rows;
+        Integer nextCursor = hasMore ? items.get(items.size() - 1).getResultId() : null;
+
+        return ResultPageDTO.builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .size(items.size())
+                .build();
+    }
+
+    /**
+     * Recorre todos los resultados fila a fila sin materializarlos en memoria.
+     * La transacción de solo lectura mantiene abierto el cursor mientras se consume.
+     */
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<ResultDTO> consumer) {
+        try (Stream<ResultDTO> stream = resultRepository.streamAllResultDTOs()) {
+            stream.forEach(consumer);
+        }
+    }
+
     public ResultDTO getById(Integer id) {
-        return resultRepository.findById(id)
+        return resultRepository.findWithDetailById(id)
                 .map(this::mapEntityToDto)
                 .orElse(null);
     }
@@ -39,35 +100,92 @@ public class ResultService {
     // Filtro avanzado por torneo, rama y ronda
 
     public List<ResultDTO> getResultsByTournamentFiltered(Integer tournamentId, Integer branchId, Integer roundNumber) {
-        return resultRepository.findAll().stream()
-                .filter(r -> r.getTournament() != null && Objects.equals(r.getTournament().getTournamentId(), tournamentId))
-                .filter(r -> branchId == null || (r.getBranch() != null && Objects.equals(r.getBranch().getBranchId(), branchId)))
-                .filter(r -> roundNumber == null || Objects.equals(r.getRoundNumber(), roundNumber))
-                .map(this::mapEntityToDto)
-                .collect(Collectors.toList());
+        // Los filtros se resuelven en la base de datos y se proyecta directo a DTO
+        return resultRepository.findResultDTOsByTournamentFiltered(tournamentId, branchId, roundNumber);
     }
 
+    @Transactional
     public ResultDTO create(ResultDTO dto) {
         Result result = mapDtoToEntity(dto, new Result());
-        Result saved = resultRepository.save(result);
+        Result saved = saveUnique(result);
+        resultsChanged(List.of(saved));
         return mapEntityToDto(saved);
     }
 
+    @Transactional
     public boolean update(Integer id, ResultDTO dto) {
         Optional<Result> existingOpt = resultRepository.findById(id);
         if (existingOpt.isEmpty()) return false;
 
+        // La persona o el torneo pueden cambiar: se informan los anteriores y los nuevos
+        Result before = Result.builder()
+                .person(existingOpt.get().getPerson())
+                .tournament(existingOpt.get().getTournament())
+                .build();
         Result updated = mapDtoToEntity(dto, existingOpt.get());
-        resultRepository.save(updated);
+        saveUnique(updated);
+        resultsChanged(List.of(before, updated));
         return true;
     }
 
+    @Transactional
     public boolean delete(Integer id) {
-        if (!resultRepository.existsById(id)) return false;
+        Optional<Result> existing = resultRepository.findById(id);
+        if (existing.isEmpty()) return false;
         resultRepository.deleteById(id);
+        // El archivo del que venía el resultado puede volver a importarse para reponerlo
+        Tournament tournament = existing.get().getTournament();
+        if (tournament != null) {
+            importCheckpointRepository.deleteByTournamentId(tournament.getTournamentId());
+        }
+        resultsChanged(List.of(existing.get()));
         return true;
     }
 
+    /**
+     * Guarda el resultado y traduce la violación de la clave natural
+     * (índice uk_result_natural_key) en un conflicto. El flush hace que el
+     * choque con otro anotador concurrente se detecte aquí y no al confirmar.
+     */
+    private Result saveUnique(Result result) {
+        try {
+            return resultRepository.saveAndFlush(result);
+        } catch (DataIntegrityViolationException e) {
+            if (!isNaturalKeyViolation(e)) throw e;
+            throw new ConflictException(ErrorsEnum.DUPLICATE_RESOURCE.getCode(),
+                    "Ya existe un resultado para la persona en el torneo, modalidad, ronda " +
+                            result.getRoundNumber() + " y línea " + result.getLineNumber());
+        }
+    }
+
+    private boolean isNaturalKeyViolation(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                return NATURAL_KEY_INDEX.equalsIgnoreCase(violation.getConstraintName());
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Recalcula el ranking de las personas afectadas y publica el cambio
+     * (las cachés se invalidan después del commit).
+     */
+    private void resultsChanged(List<Result> results) {
+        Set<Integer> personIds = new HashSet<>();
+        Set<Integer> tournamentIds = new HashSet<>();
+        for (Result r : results) {
+            if (r.getPerson() != null && r.getPerson().getPersonId() != null) {
+                personIds.add(r.getPerson().getPersonId());
+            }
+            if (r.getTournament() != null && r.getTournament().getTournamentId() != null) {
+                tournamentIds.add(r.getTournament().getTournamentId());
+            }
+        }
+        playerRankingStatsService.refreshPersons(personIds);
+        eventPublisher.publishEvent(new ResultsChangedEvent(tournamentIds, personIds));
+    }
+
     private ResultDTO mapEntityToDto(Result r) {
         return ResultDTO.builder()
                 .resultId(r.getResultId())
@@ -201,8 +319,29 @@ public class ResultService {
     }
 
     public List<PlayerResultTableDTO> getPlayerResultsForTable(Integer tournamentId, Integer modalityId, Integer roundNumber) {
+        return buildPlayerResultsTable(
+                findDistinctTableRows(tournamentId, modalityId), roundNumber);
+    }
+
+    /**
+     * Filas de la tabla de resultados del torneo y modalidad, una por resultado.
+     * El LEFT JOIN con los clubes activos de la persona puede repetir un resultado;
+     * se descartan las repeticiones por resultId (columna 8).
+     */
+    private List<Object[]> findDistinctTableRows(Integer tournamentId, Integer modalityId) {
         List<Object[]> raw = resultRepository.findRawPlayerResultsForTable(tournamentId, modalityId);
+        Set<Integer> seen = new HashSet<>();
+        List<Object[]> rows = new ArrayList<>(raw.size());
+        for (Object[] row : raw) {
+            Integer resultId = (Integer) row[8];
+            if (resultId == null || seen.add(resultId)) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
 
+    private List<PlayerResultTableDTO> buildPlayerResultsTable(List<Object[]> raw, Integer roundNumber) {
         Map<Integer, PlayerResultTableDTO> playerMap = new LinkedHashMap<>();
         Map<Integer, PlayerResultTableDTO> teamMap = new LinkedHashMap<>();
 
@@ -277,27 +416,30 @@ public class ResultService {
         return allResults;
     }
 
+    /**
+     * Ranking general completo, leído de player_ranking_stats.
+     */
     public List<DashboardPlayerDTO> getAllPlayersByAvgScore() {
-        log.info("Iniciando getAllPlayersByAvgScore...");
-        try {
-            List<DashboardPlayerDTO> players = resultRepository.findAllPlayersByAvgScore();
-            log.info("Query ejecutado exitosamente. Jugadores encontrados: {}", players.size());
+        return playerRankingStatsService.getRanking(Pageable.unpaged());
+    }
 
-            // Asignar posiciones (ya vienen ordenados por promedio DESC desde el query)
-            for (int i = 0; i < players.size(); i++) {
-                players.get(i).setPosition(i + 1);
-            }
-            log.info("Posiciones asignadas correctamente");
-            return players;
-        } catch (Exception e) {
-            log.error("Error en getAllPlayersByAvgScore: {}", e.getMessage(), e);
-            throw e;
-        }
+    /**
+     * Una página del ranking general; {@code size} se limita a {@link #MAX_PAGE_SIZE}.
+     */
+    public List<DashboardPlayerDTO> getPlayerRankingPage(int page, int size) {
+        int pageSize = size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        return playerRankingStatsService.getRanking(PageRequest.of(Math.max(page, 0), pageSize));
     }
 
+    /**
+     * Tabla de resultados del torneo en dos consultas: las filas de resultados de
+     * la modalidad (de las que salen la tabla, las rondas y los agregados) y el
+     * torneo con sus modalidades.
+     */
     public TournamentResultsResponseDTO getTournamentResultsTable(Integer tournamentId, Integer modalityId, Integer roundNumber) {
 
-        List<PlayerResultTableDTO> results = getPlayerResultsForTable(tournamentId, modalityId, roundNumber);
+        List<Object[]> rows = findDistinctTableRows(tournamentId, modalityId);
+        List<PlayerResultTableDTO> results = buildPlayerResultsTable(rows, roundNumber);
 
         // Ordenar por promedio de mayor a menor y asignar posiciones
         results.sort((a, b) -> Double.compare(b.getPromedio(), a.getPromedio()));
@@ -306,61 +448,60 @@ public class ResultService {
         }
 
         // 2 - Modalidades jugadas
-        List<ModalityDTO> modalities = tournamentRepository.findById(tournamentId)
-                .map(Tournament::getModalities)
-                .orElse(List.of())
-                .stream()
-                .filter(tm -> tm.getModality() != null)
-                .map(tm -> ModalityDTO.builder()
-                        .modalityId(tm.getModality().getModalityId())
-                        .name(tm.getModality().getName())
-                        .description(tm.getModality().getDescription())
-                        .status(tm.getModality().getStatus())
-                        .build())
-                .collect(Collectors.toList());
+        Optional<Tournament> tournamentOpt = tournamentRepository.findWithModalitiesById(tournamentId);
+        List<ModalityDTO> modalities = tournamentOpt.map(ResultService::toModalityDTOs).orElse(List.of());
 
         // 3 - Rondas jugadas en este torneo y modalidad
-        List<Integer> rounds = resultRepository.findDistinctRoundsByTournamentAndModality(tournamentId, modalityId);
+        List<Integer> rounds = rows.stream()
+                .map(row -> (Integer) row[3])
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted()
+                .collect(Collectors.toList());
 
-        // 4 - Promedios por línea
-        List<Object[]> avgByLineRaw = resultRepository.findAvgByLineRaw(tournamentId, modalityId, roundNumber);
-        Map<String, Double> avgByLine = avgByLineRaw.stream()
-                .collect(Collectors.toMap(
-                        row -> (String) row[0],
-                        row -> ((Number) row[1]).doubleValue()
-                ));
+        // 4, 5 y 6 - Promedios por línea, promedio de la ronda y mayor línea en una sola pasada
+        Map<Integer, int[]> lineTotals = new TreeMap<>();
+        long roundTotal = 0;
+        int roundCount = 0;
+        Object[] highestLineRaw = null;
 
-// 5 - Promedio por ronda
-        Double avgByRound = resultRepository.findAvgByRound(tournamentId, modalityId, roundNumber);
+        for (Object[] row : rows) {
+            if (roundNumber != null && !roundNumber.equals(row[3])) continue;
+            Integer score = (Integer) row[4];
+            if (score == null) continue;
 
-// 6 - Mayor línea (ahora devuelve lista)
-        List<Object[]> highestLineList = resultRepository.findHighestLine(tournamentId, modalityId, roundNumber);
-        Object[] highestLineRaw = highestLineList.isEmpty() ? null : highestLineList.get(0);
+            roundTotal += score;
+            roundCount++;
+
+            Integer lineNumber = (Integer) row[7];
+            if (lineNumber != null) {
+                int[] acc = lineTotals.computeIfAbsent(lineNumber, k -> new int[2]);
+                acc[0] += score;
+                acc[1]++;
+            }
+
+            // La mayor línea solo considera resultados individuales con jugador
+            if (row[1] != null && (highestLineRaw == null || score > (Integer) highestLineRaw[4])) {
+                highestLineRaw = row;
+            }
+        }
+
+        Map<String, Double> avgByLine = new LinkedHashMap<>();
+        lineTotals.forEach((line, acc) -> avgByLine.put("L" + line, acc[0] / (double) acc[1]));
+
+        Double avgByRound = roundCount == 0 ? null : roundTotal / (double) roundCount;
 
         HighestLineDTO highestLine = null;
         if (highestLineRaw != null) {
             highestLine = HighestLineDTO.builder()
-                    .score((Integer) highestLineRaw[0])
+                    .score((Integer) highestLineRaw[4])
                     .playerName((String) highestLineRaw[1])
-                    .lineNumber((Integer) highestLineRaw[2])
+                    .lineNumber((Integer) highestLineRaw[7])
                     .build();
         }
 
-        TournamentResultsResponseDTO.TournamentSummary tournamentSummary = null;
-
-        Optional<Tournament> tournamentOpt = tournamentRepository.findById(tournamentId);
-        if (tournamentOpt.isPresent()) {
-            Tournament t = tournamentOpt.get();
-            tournamentSummary = TournamentResultsResponseDTO.TournamentSummary.builder()
-                    .tournamentId(t.getTournamentId())
-                    .tournamentName(t.getName())
-                    .startDate(t.getStartDate())
-                    .endDate(t.getEndDate())
-                    .location(t.getLocation())
-                    .imageUrl(t.getImageUrl())
-                    .status(t.getStatus())
-                    .build();
-        }
+        TournamentResultsResponseDTO.TournamentSummary tournamentSummary =
+                tournamentOpt.map(ResultService::toTournamentSummary).orElse(null);
 
         // 7 - Respuesta
         return TournamentResultsResponseDTO.builder()
@@ -374,31 +515,20 @@ public class ResultService {
                 .build();
     }
 
+    /**
+     * Totales por jugador y modalidad. Los torneos en curso se responden desde
+     * {@link TournamentStandingsService} sin consultar la base de datos.
+     */
     public TournamentResultsResponseDTO getResultsByModality(Integer tournamentId, Integer roundNumber, Integer branchId) {
-        TournamentResultsResponseDTO.TournamentSummary tournamentSummary = tournamentRepository.findById(tournamentId)
-                .map(t -> TournamentResultsResponseDTO.TournamentSummary.builder()
-                        .tournamentId(t.getTournamentId())
-                        .tournamentName(t.getName())
-                        .startDate(t.getStartDate())
-                        .endDate(t.getEndDate())
-                        .location(t.getLocation())
-                        .imageUrl(t.getImageUrl())
-                        .status(t.getStatus())
-                        .build())
-                .orElse(null);
+        return tournamentStandingsService.getResultsByModality(tournamentId, roundNumber, branchId)
+                .orElseGet(() -> loadResultsByModality(tournamentId, roundNumber, branchId));
+    }
 
-        List<ModalityDTO> modalities = tournamentRepository.findById(tournamentId)
-                .map(Tournament::getModalities)
-                .orElse(List.of())
-                .stream()
-                .filter(tm -> tm.getModality() != null)
-                .map(tm -> ModalityDTO.builder()
-                        .modalityId(tm.getModality().getModalityId())
-                        .name(tm.getModality().getName())
-                        .description(tm.getModality().getDescription())
-                        .status(tm.getModality().getStatus())
-                        .build())
-                .collect(Collectors.toList());
+    private TournamentResultsResponseDTO loadResultsByModality(Integer tournamentId, Integer roundNumber, Integer branchId) {
+        Optional<Tournament> tournamentOpt = tournamentRepository.findWithModalitiesById(tournamentId);
+        TournamentResultsResponseDTO.TournamentSummary tournamentSummary =
+                tournamentOpt.map(ResultService::toTournamentSummary).orElse(null);
+        List<ModalityDTO> modalities = tournamentOpt.map(ResultService::toModalityDTOs).orElse(List.of());
 
         List<Integer> rounds = resultRepository.findDistinctRoundsByTournament(tournamentId);
 
@@ -466,5 +596,28 @@ public class ResultService {
                 .build();
     }
 
+    static TournamentResultsResponseDTO.TournamentSummary toTournamentSummary(Tournament t) {
+        return TournamentResultsResponseDTO.TournamentSummary.builder()
+                .tournamentId(t.getTournamentId())
+                .tournamentName(t.getName())
+                .startDate(t.getStartDate())
+                .endDate(t.getEndDate())
+                .location(t.getLocation())
+                .imageUrl(t.getImageUrl())
+                .status(t.getStatus())
+                .build();
+    }
 
+    static List<ModalityDTO> toModalityDTOs(Tournament t) {
+        return t.getModalities()
+                .stream()
+                .filter(tm -> tm.getModality() != null)
+                .map(tm -> ModalityDTO.builder()
+                        .modalityId(tm.getModality().getModalityId())
+                        .name(tm.getModality().getName())
+                        .description(tm.getModality().getDescription())
+                        .status(tm.getModality().getStatus())
+                        .build())
+                .collect(Collectors.toList());
+    }
 }
@@ -1,18 +1,20 @@
 package com.bowlingpoints.service;
 
+import com.bowlingpoints.dto.PlayerProfileProjection;
 import com.bowlingpoints.dto.UserDashboardStatsDTO;
 import com.bowlingpoints.dto.UserStatisticsDTO;
-import com.bowlingpoints.entity.Result;
+import com.bowlingpoints.event.PlayerProfileChangedEvent;
+import com.bowlingpoints.event.ResultsChangedEvent;
 import com.bowlingpoints.repository.PersonRepository;
 import com.bowlingpoints.repository.ResultRepository;
-import jakarta.transaction.Transactional;
+import com.bowlingpoints.util.TtlCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.time.LocalDate;
 import java.time.Period;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -20,12 +22,65 @@ public class StatsService {
 
     private final ResultRepository resultRepository;
     private final PersonRepository personRepository;
-
-    @Transactional
+    private final TtlCache<Integer, UserDashboardStatsDTO> playerDashboardStatsCache;
+    private final TtlCache<Integer, UserStatisticsDTO> playerPublicStatsCache;
+
+    /**
+     * Etiquetas de los rangos de puntaje, en el mismo orden en que
+     * {@link ResultRepository#findScoreSummaryByPerson} devuelve sus conteos.
+     */
+    private static final String[] SCORE_RANGE_LABELS = {"0–129", "130–160", "161–190", "191–220", "221–250", "251–300"};
+
+    /** Posición del primer conteo por rango en la fila del resumen. */
+    private static final int FIRST_RANGE_COLUMN = 4;
+
+    /**
+     * Estadísticas del dashboard de un jugador, guardadas en caché por personId
+     * hasta que cambien sus resultados.
+     */
     public UserDashboardStatsDTO getUserDashboardStats(Integer userId) {
-        List<Result> results = resultRepository.findByPersonId(userId);
+        return playerDashboardStatsCache.get(userId, () -> loadUserDashboardStats(userId));
+    }
+
+    /**
+     * Resumen público de un jugador, guardado en caché por personId
+     * hasta que cambien sus resultados o su perfil.
+     */
+    public UserStatisticsDTO getUserPublicStats(Integer userId) {
+        return playerPublicStatsCache.get(userId, () -> loadUserPublicStats(userId));
+    }
+
+    /**
+     * Se invalida después del commit solo la caché de las personas cuyos resultados cambiaron.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onResultsChanged(ResultsChangedEvent event) {
+        for (Integer personId : event.personIds()) {
+            playerDashboardStatsCache.invalidate(personId);
+            playerPublicStatsCache.invalidate(personId);
+        }
+    }
+
+    /**
+     * El resumen público muestra nombre, edad, foto y club: se invalida después del
+     * commit cuando cambian el perfil o las afiliaciones de esas personas.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlayerProfileChanged(PlayerProfileChangedEvent event) {
+        for (Integer personId : event.personIds()) {
+            playerPublicStatsCache.invalidate(personId);
+        }
+    }
 
-        if (results.isEmpty()) {
+    /**
+     * Estadísticas del dashboard de un jugador, calculadas en la base de datos
+     * (resumen con histograma, promedio por torneo y por modalidad) sin cargar sus resultados.
+     */
+    private UserDashboardStatsDTO loadUserDashboardStats(Integer userId) {
+        List<Object[]> summaryRows = resultRepository.findScoreSummaryByPerson(userId);
+        Object[] summary = summaryRows.isEmpty() ? null : summaryRows.get(0);
+
+        if (summary == null || toLong(summary[2]) == 0) {
             return UserDashboardStatsDTO.builder()
                     .avgScoreGeneral(0.0)
                     .bestLine(0)
@@ -37,143 +92,80 @@ public class StatsService {
                     .build();
         }
 
-        double avgScoreGeneral = results.stream()
-                .mapToInt(Result::getScore)
-                .average()
-                .orElse(0.0);
-
-        int bestLine = results.stream()
-                .mapToInt(Result::getScore)
-                .max()
-                .orElse(0);
-
-        int totalLines = results.size();
-
-        long totalTournaments = results.stream()
-                .map(r -> r.getTournament().getTournamentId())
-                .distinct()
-                .count();
-
-        Map<Integer, List<Result>> groupedByTournament = results.stream()
-                .collect(Collectors.groupingBy(r -> r.getTournament().getTournamentId()));
-
-        List<UserDashboardStatsDTO.TournamentAvgDTO> avgPerTournament = groupedByTournament.entrySet().stream()
-                .map(entry -> {
-                    Integer tournamentId = entry.getKey();
-                    List<Result> resList = entry.getValue();
-
-                    double avg = resList.stream()
-                            .mapToInt(Result::getScore)
-                            .average()
-                            .orElse(0.0);
-
-                    var first = resList.get(0).getTournament();
-
-                    return UserDashboardStatsDTO.TournamentAvgDTO.builder()
-                            .tournamentId(tournamentId)
-                            .tournamentName(first.getName())
-                            .imageUrl(first.getImageUrl())
-                            .average(avg)
-                            .startDate(first.getStartDate())
-                            .build();
-                })
-                .sorted(Comparator.comparing(UserDashboardStatsDTO.TournamentAvgDTO::getStartDate).reversed())
+        List<UserDashboardStatsDTO.TournamentAvgDTO> avgPerTournament = resultRepository
+                .findAvgByTournamentForPerson(userId)
+                .stream()
+                .map(row -> UserDashboardStatsDTO.TournamentAvgDTO.builder()
+                        .tournamentId((Integer) row[0])
+                        .tournamentName((String) row[1])
+                        .imageUrl((String) row[2])
+                        .startDate((LocalDate) row[3])
+                        .average(toDouble(row[4]))
+                        .build())
                 .toList();
 
         UserDashboardStatsDTO.TournamentAvgDTO bestTournamentAvg = avgPerTournament.stream()
                 .max(Comparator.comparing(UserDashboardStatsDTO.TournamentAvgDTO::getAverage))
                 .orElse(null);
 
-        Map<String, List<Result>> groupedByModality = results.stream()
-                .filter(r -> r.getModality() != null)
-                .collect(Collectors.groupingBy(r -> r.getModality().getName()));
-
-        List<UserDashboardStatsDTO.ModalityAvgDTO> avgPerModality = groupedByModality.entrySet().stream()
-                .map(entry -> {
-                    String modalityName = entry.getKey();
-                    List<Result> resList = entry.getValue();
-
-                    double avg = resList.stream()
-                            .mapToInt(Result::getScore)
-                            .average()
-                            .orElse(0.0);
-
-                    return UserDashboardStatsDTO.ModalityAvgDTO.builder()
-                            .modalityName(modalityName)
-                            .average(avg)
-                            .build();
-                })
+        List<UserDashboardStatsDTO.ModalityAvgDTO> avgPerModality = resultRepository
+                .findAvgByModalityForPerson(userId)
+                .stream()
+                .map(row -> UserDashboardStatsDTO.ModalityAvgDTO.builder()
+                        .modalityName((String) row[0])
+                        .average(toDouble(row[1]))
+                        .build())
                 .toList();
 
-        List<UserDashboardStatsDTO.ScoreRangeDTO> scoreDistribution = buildScoreRanges(results);
-
         return UserDashboardStatsDTO.builder()
-                .avgScoreGeneral(avgScoreGeneral)
-                .bestLine(bestLine)
-                .totalLines(totalLines)
-                .totalTournaments((int) totalTournaments)
+                .avgScoreGeneral(toDouble(summary[0]))
+                .bestLine(summary[1] != null ? ((Number) summary[1]).intValue() : 0)
+                .totalLines((int) toLong(summary[2]))
+                .totalTournaments((int) toLong(summary[3]))
                 .avgPerTournament(avgPerTournament)
                 .bestTournamentAvg(bestTournamentAvg)
                 .avgPerModality(avgPerModality)
-                .scoreDistribution(scoreDistribution)
+                .scoreDistribution(buildScoreRanges(summary))
                 .build();
     }
 
-    private List<UserDashboardStatsDTO.ScoreRangeDTO> buildScoreRanges(List<Result> results) {
-        int[] ranges = {130, 160, 190, 220, 250, 300}; // Define los cortes de las categorías
-        String[] labels = {"0–129", "130–160", "161–190", "191–220", "221–250", "251–300"};
-
-        Map<String, Long> distribution = new LinkedHashMap<>();
-        for (String label : labels) {
-            distribution.put(label, 0L);
+    private List<UserDashboardStatsDTO.ScoreRangeDTO> buildScoreRanges(Object[] summary) {
+        List<UserDashboardStatsDTO.ScoreRangeDTO> ranges = new ArrayList<>();
+        for (int i = 0; i < SCORE_RANGE_LABELS.length; i++) {
+            ranges.add(UserDashboardStatsDTO.ScoreRangeDTO.builder()
+                    .label(SCORE_RANGE_LABELS[i])
+                    .count(toLong(summary[FIRST_RANGE_COLUMN + i]))
+                    .build());
         }
+        return ranges;
+    }
 
-        for (Result result : results) {
-            int score = result.getScore();
-            String label = "";
-
-            if (score < 130) label = "0–129";
-            else if (score <= 160) label = "130–160";
-            else if (score <= 190) label = "161–190";
-            else if (score <= 220) label = "191–220";
-            else if (score <= 250) label = "221–250";
-            else label = "251–300";
-
-            distribution.put(label, distribution.get(label) + 1);
-        }
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
 
-        return distribution.entrySet().stream()
-                .map(e -> UserDashboardStatsDTO.ScoreRangeDTO.builder()
-                        .label(e.getKey())
-                        .count(e.getValue())
-                        .build())
-                .toList();
+    private static double toDouble(Object value) {
+        return value != null ? ((Number) value).doubleValue() : 0.0;
     }
 
-    public UserStatisticsDTO getUserPublicStats(Integer userId) {
-        var person = personRepository.findById(userId)
+    private UserStatisticsDTO loadUserPublicStats(Integer userId) {
+        PlayerProfileProjection profile = personRepository.findPlayerProfile(userId)
                 .orElseThrow(() -> new RuntimeException("Jugador no encontrado"));
 
         var stats = getUserDashboardStats(userId);
 
-        String fullName = person.getFullName() + " " + person.getFullSurname();
+        String fullName = profile.getFullName() + " " + profile.getFullSurname();
 
-        String clubName = (person.getClubPersons() != null && !person.getClubPersons().isEmpty())
-                ? person.getClubPersons().get(0).getClub().getName()
+        String age = profile.getBirthDate() != null
+                ? String.valueOf(Period.between(profile.getBirthDate(), LocalDate.now()).getYears())
                 : null;
 
-        String age = person.getBirthDate() != null
-                ? String.valueOf(Period.between(person.getBirthDate(), LocalDate.now()).getYears())
-                : null;
-
-        String photoUrl = person.getPhotoUrl();
-
         return UserStatisticsDTO.builder()
                 .personId(userId)
                 .fullName(fullName)
-                .club(clubName)
+                .club(profile.getClubName())
                 .age(age)
-                .photoUrl(photoUrl)
+                .photoUrl(profile.getPhotoUrl())
                 .avgScore(stats.getAvgScoreGeneral())
                 .bestGame(stats.getBestLine())
                 .totalTournaments(stats.getTotalTournaments())
@@ -13,8 +13,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
@@ -26,31 +28,91 @@ public class TeamPersonImportService {
 
     @Transactional
     public ImportResult importCsv(MultipartFile file, Integer userId, boolean skipHeader) {
+        return importCsv(file, userId, skipHeader, ImportProgressListener.NONE);
+    }
+
+    @Transactional
+    public ImportResult importCsv(MultipartFile file, Integer userId, boolean skipHeader, ImportProgressListener listener) {
         List<String> errors = new ArrayList<>();
-        int created = 0;
-        int skipped = 0;
+        ImportRun run = new ImportRun(userId, errors, listener);
+
+        forEachRow(file, skipHeader, errors, run::accept);
+        listener.onProgress(run.rowsProcessed, run.created, run.skipped, errors);
+
+        return new ImportResult(run.created, run.skipped, errors);
+    }
+
+    /**
+     * Lee el archivo fila por fila (sin cargarlo completo) y entrega cada fila con formato válido.
+     */
+    private void forEachRow(MultipartFile file, boolean skipHeader, List<String> errors, Consumer<TeamPersonRow> consumer) {
+        try {
+            FileReaderUtils.forEachRow(file, ",", (lineNumber, parts) -> {
+                if (skipHeader && lineNumber == 1) return;
+                if (parts.length == 0) return;
+
+                if (parts.length < 2) {
+                    errors.add("Línea " + lineNumber + ": se esperaban 2 columnas (documentNumber, teamName).");
+                    return;
+                }
+
+                consumer.accept(new TeamPersonRow(parts[0], parts[1], lineNumber));
+            });
+        } catch (IOException e) {
+            errors.add("Error leyendo archivo: " + e.getMessage());
+        }
+    }
+
+    private String safeTrim(String s) {
+        return s == null ? "" : s.trim();
+    }
+
+    public record ImportResult(int created, int skipped, List<String> errors) {}
+
+    /**
+     * Procesa las filas a medida que se leen, acumulando los contadores.
+     */
+    private final class ImportRun {
+
+        private final Integer userId;
+        private final List<String> errors;
+        private final ImportProgressListener listener;
+        private int rowsProcessed;
+        private int created;
+        private int skipped;
+
+        ImportRun(Integer userId, List<String> errors, ImportProgressListener listener) {
+            this.userId = userId;
+            this.errors = errors;
+            this.listener = listener;
+        }
 
-        List<TeamPersonRow> rows = readRows(file, skipHeader, errors);
+        void accept(TeamPersonRow row) {
+            process(row);
+            if (++rowsProcessed % ImportProgressListener.PROGRESS_INTERVAL == 0) {
+                listener.onProgress(rowsProcessed, created, skipped, errors);
+            }
+        }
 
-        for (TeamPersonRow row : rows) {
+        private void process(TeamPersonRow row) {
             String doc = safeTrim(row.documentNumber());
             String teamName = safeTrim(row.teamName());
 
             if (doc.isEmpty() || teamName.isEmpty()) {
                 errors.add("Línea " + row.lineNumber() + ": documentNumber o teamName vacío.");
-                continue;
+                return;
             }
 
             var personOpt = personRepository.findByDocument(doc);
             if (personOpt.isEmpty()) {
                 errors.add("Línea " + row.lineNumber() + ": no existe Person con documento=" + doc);
-                continue;
+                return;
             }
 
             var teamOpt = teamRepository.findByNameTeam(teamName);
             if (teamOpt.isEmpty()) {
                 errors.add("Línea " + row.lineNumber() + ": no existe Team con nombre=" + teamName);
-                continue;
+                return;
             }
 
             Person person = personOpt.get();
@@ -59,7 +121,7 @@ public class TeamPersonImportService {
             boolean exists = teamPersonRepository.existsByPerson_PersonIdAndTeam_TeamId(person.getPersonId(), team.getTeamId());
             if (exists) {
                 skipped++;
-                continue;
+                return;
             }
 
             TeamPerson entity = TeamPerson.builder()
@@ -72,39 +134,6 @@ public class TeamPersonImportService {
             teamPersonRepository.save(entity);
             created++;
         }
-
-        return new ImportResult(created, skipped, errors);
     }
-
-    private List<TeamPersonRow> readRows(MultipartFile file, boolean skipHeader, List<String> errors) {
-        List<TeamPersonRow> rows = new ArrayList<>();
-        try {
-            var allRows = FileReaderUtils.readAllRows(file, ",");
-            int lineNumber = 0;
-
-            for (String[] parts : allRows) {
-                lineNumber++;
-
-                if (skipHeader && lineNumber == 1) continue;
-                if (parts.length == 0) continue;
-
-                if (parts.length < 2) {
-                    errors.add("Línea " + lineNumber + ": se esperaban 2 columnas (documentNumber, teamName).");
-                    continue;
-                }
-
-                rows.add(new TeamPersonRow(parts[0], parts[1], lineNumber));
-            }
-        } catch (Exception e) {
-            errors.add("Error leyendo archivo: " + e.getMessage());
-        }
-        return rows;
-    }
-
-    private String safeTrim(String s) {
-        return s == null ? "" : s.trim();
-    }
-
-    public record ImportResult(int created, int skipped, List<String> errors) {}
 }
 
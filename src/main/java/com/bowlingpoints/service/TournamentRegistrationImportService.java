@@ -9,9 +9,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
@@ -28,34 +30,123 @@ public class TournamentRegistrationImportService {
 
     @Transactional
     public ImportResult importCsv(MultipartFile file, Integer userId, boolean skipHeader) {
+        return importCsv(file, userId, skipHeader, ImportProgressListener.NONE);
+    }
+
+    @Transactional
+    public ImportResult importCsv(MultipartFile file, Integer userId, boolean skipHeader, ImportProgressListener listener) {
         List<String> errors = new ArrayList<>();
-        int created = 0;
-        int skipped = 0;
+        ImportRun run = new ImportRun(userId, errors, listener);
+
+        forEachRow(file, skipHeader, errors, run::accept);
+        listener.onProgress(run.rowsProcessed, run.created, run.skipped, errors);
+
+        return new ImportResult(run.created, run.skipped, errors);
+    }
+
+    /**
+     * Lee el archivo fila por fila (sin cargarlo completo) y entrega cada fila con formato válido.
+     */
+    private void forEachRow(MultipartFile file, boolean skipHeader, List<String> errors,
+                            Consumer<TournamentRegistrationRow> consumer) {
+        try {
+            FileReaderUtils.forEachRow(file, ",", (lineNumber, parts) -> {
+                if (skipHeader && lineNumber == 1) return;
+                if (parts.length == 0) return;
+
+                if (parts.length < 2) {
+                    errors.add("Línea " + lineNumber + ": se esperaban al menos 2 columnas (documentNumber, tournamentName).");
+                    return;
+                }
+
+                consumer.accept(new TournamentRegistrationRow(
+                        parts[0],
+                        parts[1],
+                        parts.length > 2 ? parts[2] : "",
+                        parts.length > 3 ? parts[3] : "",
+                        parts.length > 4 ? parts[4] : "",
+                        parts.length > 5 ? parts[5] : "",
+                        lineNumber
+                ));
+            });
+        } catch (IOException e) {
+            errors.add("Error leyendo archivo: " + e.getMessage());
+        }
+    }
+
+    private String safeTrim(String s) {
+        return s == null ? "" : s.trim();
+    }
+
+    private Category findCategoryByName(String name) {
+        if (name.isEmpty()) return null;
+        return categoryRepository.findByNameAndDeletedAtIsNull(name).orElse(null);
+    }
+
+    private Modality findModalityByName(String name) {
+        if (name.isEmpty()) return null;
+        return modalityRepository.findByNameAndDeletedAtIsNull(name).orElse(null);
+    }
+
+    private Branch findBranchByName(String name) {
+        if (name.isEmpty()) return null;
+        return branchRepository.findByNameIgnoreCase(name).orElse(null);
+    }
+
+    private Team findTeamByName(String name) {
+        if (name.isEmpty()) return null;
+        return teamRepository.findByNameTeam(name).orElse(null);
+    }
+
+    public record ImportResult(int created, int skipped, List<String> errors) {}
+
+    /**
+     * Procesa las filas a medida que se leen, acumulando los contadores.
+     */
+    private final class ImportRun {
+
+        private final Integer userId;
+        private final List<String> errors;
+        private final ImportProgressListener listener;
+        private int rowsProcessed;
+        private int created;
+        private int skipped;
+
+        ImportRun(Integer userId, List<String> errors, ImportProgressListener listener) {
+            this.userId = userId;
+            this.errors = errors;
+            this.listener = listener;
+        }
 
-        List<TournamentRegistrationRow> rows = readRows(file, skipHeader, errors);
+        void accept(TournamentRegistrationRow row) {
+            process(row);
+            if (++rowsProcessed % ImportProgressListener.PROGRESS_INTERVAL == 0) {
+                listener.onProgress(rowsProcessed, created, skipped, errors);
+            }
+        }
 
-        for (TournamentRegistrationRow row : rows) {
+        private void process(TournamentRegistrationRow row) {
             String doc = safeTrim(row.documentNumber());
             String tournamentName = safeTrim(row.tournamentName());
 
             // Validar campos requeridos
             if (doc.isEmpty() || tournamentName.isEmpty()) {
                 errors.add("Línea " + row.lineNumber() + ": documentNumber o tournamentName vacío.");
-                continue;
+                return;
             }
 
             // Buscar Person por documento
             var personOpt = personRepository.findByDocument(doc);
             if (personOpt.isEmpty()) {
                 errors.add("Línea " + row.lineNumber() + ": no existe Person con documento=" + doc);
-                continue;
+                return;
             }
 
             // Buscar Tournament por nombre
             var tournamentOpt = tournamentRepository.findByName(tournamentName);
             if (tournamentOpt.isEmpty()) {
                 errors.add("Línea " + row.lineNumber() + ": no existe Tournament con nombre=" + tournamentName);
-                continue;
+                return;
             }
 
             Person person = personOpt.get();
@@ -74,7 +165,7 @@ public class TournamentRegistrationImportService {
                 if (!personBelongsToTeam) {
                     errors.add("Línea " + row.lineNumber() + ": la persona con documento=" + doc +
                             " no pertenece al equipo '" + safeTrim(row.teamName()) + "'");
-                    continue;
+                    return;
                 }
             }
 
@@ -85,7 +176,7 @@ public class TournamentRegistrationImportService {
 
             if (exists) {
                 skipped++;
-                continue;
+                return;
             }
 
             // Crear nuevo registro
@@ -105,66 +196,5 @@ public class TournamentRegistrationImportService {
             registrationRepository.save(registration);
             created++;
         }
-
-        return new ImportResult(created, skipped, errors);
-    }
-
-    private List<TournamentRegistrationRow> readRows(MultipartFile file, boolean skipHeader, List<String> errors) {
-        List<TournamentRegistrationRow> rows = new ArrayList<>();
-        try {
-            var allRows = FileReaderUtils.readAllRows(file, ",");
-            int lineNumber = 0;
-
-            for (String[] parts : allRows) {
-                lineNumber++;
-
-                if (skipHeader && lineNumber == 1) continue;
-                if (parts.length == 0) continue;
-
-                if (parts.length < 2) {
-                    errors.add("Línea " + lineNumber + ": se esperaban al menos 2 columnas (documentNumber, tournamentName).");
-                    continue;
-                }
-
-                rows.add(new TournamentRegistrationRow(
-                        parts[0],
-                        parts[1],
-                        parts.length > 2 ? parts[2] : "",
-                        parts.length > 3 ? parts[3] : "",
-                        parts.length > 4 ? parts[4] : "",
-                        parts.length > 5 ? parts[5] : "",
-                        lineNumber
-                ));
-            }
-        } catch (Exception e) {
-            errors.add("Error leyendo archivo: " + e.getMessage());
-        }
-        return rows;
     }
-
-    private String safeTrim(String s) {
-        return s == null ? "" : s.trim();
-    }
-
-    private Category findCategoryByName(String name) {
-        if (name.isEmpty()) return null;
-        return categoryRepository.findByNameAndDeletedAtIsNull(name).orElse(null);
-    }
-
-    private Modality findModalityByName(String name) {
-        if (name.isEmpty()) return null;
-        return modalityRepository.findByNameAndDeletedAtIsNull(name).orElse(null);
-    }
-
-    private Branch findBranchByName(String name) {
-        if (name.isEmpty()) return null;
-        return branchRepository.findByNameIgnoreCase(name).orElse(null);
-    }
-
-    private Team findTeamByName(String name) {
-        if (name.isEmpty()) return null;
-        return teamRepository.findByNameTeam(name).orElse(null);
-    }
-
-    public record ImportResult(int created, int skipped, List<String> errors) {}
 }
@@ -2,6 +2,7 @@ package com.bowlingpoints.service;
 
 import com.bowlingpoints.dto.*;
 import com.bowlingpoints.entity.*;
+import com.bowlingpoints.event.TournamentChangedEvent;
 import com.bowlingpoints.exception.BadRequestException;
 import com.bowlingpoints.exception.BusinessException;
 import com.bowlingpoints.exception.NotFoundException;
@@ -9,12 +10,15 @@ import com.bowlingpoints.repository.*;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -32,7 +36,10 @@ public class TournamentService {
     private final TournamentBranchRepository tournamentBranchRepository;
     private final ResultRepository resultRepository;
     private final TournamentRegistrationRepository tournamentRegistrationRepository;
+    private final ImportCheckpointRepository importCheckpointRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
+    @Transactional(readOnly = true)
     public List<TournamentDTO> getAll() {
         try {
             List<Tournament> tournaments = tournamentRepository
@@ -43,10 +50,7 @@ public class TournamentService {
                 return Collections.emptyList();
             }
 
-            return tournaments.stream()
-                    .map(this::toDTO)
-                    .filter(Objects::nonNull)
-                    .toList();
+            return toDTOs(tournaments);
 
         } catch (DataAccessException e) {
             log.error("Error de base de datos al obtener torneos: {}", e.getMessage(), e);
@@ -58,6 +62,7 @@ public class TournamentService {
         }
     }
 
+    @Transactional(readOnly = true)
     public TournamentDTO getById(Integer id) {
         Tournament tournament = tournamentRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException(
@@ -139,6 +144,7 @@ public class TournamentService {
             }
 
             log.info("Torneo creado exitosamente con ID: {}", saved.getTournamentId());
+            eventPublisher.publishEvent(new TournamentChangedEvent(saved.getTournamentId()));
             return toDTO(saved);
 
         } catch (NotFoundException | BadRequestException e) {
@@ -226,10 +232,12 @@ public class TournamentService {
             }
         }
 
+        eventPublisher.publishEvent(new TournamentChangedEvent(updated.getTournamentId()));
         return true;
     }
 
     // Eliminar torneo (soft delete)
+    @Transactional
     public boolean delete(Integer id) {
         Optional<Tournament> entity = tournamentRepository.findById(id);
         if (entity.isEmpty()) return false;
@@ -238,21 +246,58 @@ public class TournamentService {
         tournament.setStatus(false);
         tournament.setDeletedAt(LocalDateTime.now());
         tournamentRepository.save(tournament);
+        importCheckpointRepository.deleteByTournamentId(id);
+        eventPublisher.publishEvent(new TournamentChangedEvent(id));
         return true;
     }
 
     // Obtener torneos por ID de ámbito
+    @Transactional(readOnly = true)
     public List<TournamentDTO> getTournamentsByAmbit(Integer ambitId, String ambitName) {
-        return tournamentRepository.findByAmbit_AmbitIdAndDeletedAtIsNull(ambitId)
+        return toDTOs(tournamentRepository.findByAmbit_AmbitIdAndDeletedAtIsNull(ambitId));
+    }
+
+    public TournamentDTO toDTO(Tournament entity) {
+        return toDTO(entity, entity.getCategories(), entity.getBranches(),
+                tournamentRegistrationRepository.findDTOsByTournamentIds(List.of(entity.getTournamentId())));
+    }
+
+    /**
+     * Convierte una lista de torneos con un número fijo de consultas, sin importar cuántos sean:
+     * los torneos ya llegan con ámbito y modalidades, y las categorías, ramas e inscripciones
+     * se traen para todos a la vez.
+     */
+    public List<TournamentDTO> toDTOs(List<Tournament> tournaments) {
+        if (tournaments.isEmpty()) return List.of();
+
+        List<Integer> ids = tournaments.stream().map(Tournament::getTournamentId).toList();
+
+        Map<Integer, List<TournamentCategory>> categoriesById = new HashMap<>();
+        for (Tournament t : tournamentRepository.findWithCategoriesByTournamentIdIn(ids)) {
+            categoriesById.put(t.getTournamentId(), t.getCategories());
+        }
+        Map<Integer, List<TournamentBranch>> branchesById = new HashMap<>();
+        for (Tournament t : tournamentRepository.findWithBranchesByTournamentIdIn(ids)) {
+            branchesById.put(t.getTournamentId(), t.getBranches());
+        }
+        Map<Integer, List<TournamentRegistrationDTO>> registrationsById = tournamentRegistrationRepository
+                .findDTOsByTournamentIds(ids)
                 .stream()
-                .map(this::toDTO)
+                .collect(Collectors.groupingBy(TournamentRegistrationDTO::getTournamentId));
+
+        return tournaments.stream()
+                .map(t -> toDTO(t,
+                        categoriesById.get(t.getTournamentId()),
+                        branchesById.get(t.getTournamentId()),
+                        registrationsById.getOrDefault(t.getTournamentId(), List.of())))
                 .toList();
     }
 
-    public  TournamentDTO toDTO(Tournament entity) {
+    private TournamentDTO toDTO(Tournament entity, List<TournamentCategory> categories,
+                                List<TournamentBranch> branches, List<TournamentRegistrationDTO> registrationDTOS) {
         //  Mapeo de categorías
-        List<CategoryDTO> categoryDTOS = entity.getCategories() != null
-                ? entity.getCategories().stream()
+        List<CategoryDTO> categoryDTOS = categories != null
+                ? categories.stream()
                 .filter(tc -> tc.getCategory() != null)
                 .map(tc -> CategoryDTO.builder()
                         .categoryId(tc.getCategory().getCategoryId())
@@ -277,8 +322,8 @@ public class TournamentService {
                 : Collections.emptyList();
 
         //  Mapeo de ramas (nueva parte)
-        List<BranchDTO> branchDTOS = entity.getBranches() != null
-                ? entity.getBranches().stream()
+        List<BranchDTO> branchDTOS = branches != null
+                ? branches.stream()
                 .filter(tb -> tb.getBranch() != null)
                 .map(tb -> BranchDTO.builder()
                         .branchId(tb.getBranch().getBranchId())
@@ -289,45 +334,6 @@ public class TournamentService {
                 .toList()
                 : Collections.emptyList();
 
-        // Mapeo de jugadores / equipos registrados
-        List<TournamentRegistrationDTO> registrationDTOS = tournamentRegistrationRepository
-                .findByTournament_TournamentId(entity.getTournamentId())
-                .stream()
-                .map(reg -> {
-                    // Variables seguras para persona y equipo
-                    Integer personId = null;
-                    String personFullName = null;
-                    Integer teamId = null;
-                    String teamName = null;
-
-                    if (reg.getPerson() != null) {
-                        personId = reg.getPerson().getPersonId();
-                        personFullName = reg.getPerson().getFullName() + " " + reg.getPerson().getFullSurname();
-                    }
-
-                    if (reg.getTeam() != null) {
-                        teamId = reg.getTeam().getTeamId();
-                        teamName = reg.getTeam().getNameTeam();
-                    }
-
-                    return TournamentRegistrationDTO.builder()
-                            .registrationId(reg.getRegistrationId())
-                            .tournamentId(reg.getTournament().getTournamentId())
-                            .personId(personId)
-                            .personFullName(personFullName)
-                            .teamId(teamId)
-                            .teamName(teamName)
-                            .categoryId(reg.getCategory() != null ? reg.getCategory().getCategoryId() : null)
-                            .categoryName(reg.getCategory() != null ? reg.getCategory().getName() : null)
-                            .modalityId(reg.getModality() != null ? reg.getModality().getModalityId() : null)
-                            .modalityName(reg.getModality() != null ? reg.getModality().getName() : null)
-                            .branchId(reg.getBranch() != null ? reg.getBranch().getBranchId() : null)
-                            .branchName(reg.getBranch() != null ? reg.getBranch().getName() : null)
-                            .status(reg.getStatus())
-                            .build();
-                })
-                .toList();
-
         //  Construcción del DTO final
         return TournamentDTO.builder()
                 .tournamentId(entity.getTournamentId())
@@ -0,0 +1,349 @@
+package com.bowlingpoints.service;
+
+import com.bowlingpoints.dto.ModalityDTO;
+import com.bowlingpoints.dto.PlayerByModalityDTO;
+import com.bowlingpoints.dto.TournamentResultsResponseDTO;
+import com.bowlingpoints.entity.Tournament;
+import com.bowlingpoints.event.ResultsChangedEvent;
+import com.bowlingpoints.event.TournamentChangedEvent;
+import com.bowlingpoints.repository.ResultRepository;
+import com.bowlingpoints.repository.TournamentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Clasificación en memoria de los torneos en curso para /results/by-modality.
+ * Por cada combinación de ronda y rama (incluida "todas") se mantienen los
+ * totales y líneas de cada persona en un árbol ordenado por promedio, de modo
+ * que las lecturas no consultan la base de datos ni reordenan la lista.
+ * <p>
+ * Se carga al arrancar y, si falta, en la primera lectura. Cuando cambian
+ * resultados solo se vuelven a leer las líneas de las personas afectadas y se
+ * reubican en el árbol; un cambio en el torneo descarta su clasificación.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TournamentStandingsService {
+
+    static final String NO_CLUB = "Sin club";
+    private static final int PERSON_CHUNK_SIZE = 1000;
+
+    private final ResultRepository resultRepository;
+    private final TournamentRepository tournamentRepository;
+
+    private final Map<Integer, Standings> standings = new ConcurrentHashMap<>();
+    // Se incrementa con cada cambio del torneo; una carga que empezó antes no se guarda
+    private final Map<Integer, Long> versions = new ConcurrentHashMap<>();
+    private volatile Set<Integer> inProgress = Set.of();
+
+    /**
+     * Totales por jugador y modalidad de un torneo en curso, o vacío si el torneo
+     * no está en curso y debe leerse de la base de datos.
+     */
+    public Optional<TournamentResultsResponseDTO> getResultsByModality(Integer tournamentId, Integer roundNumber, Integer branchId) {
+        if (!inProgress.contains(tournamentId)) return Optional.empty();
+
+        Standings current = standings.get(tournamentId);
+        if (current == null) {
+            current = load(tournamentId);
+            if (current == null) return Optional.empty();
+        }
+        return Optional.of(current.resultsByModality(roundNumber, branchId));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInProgressTournaments() {
+        try {
+            refreshInProgress();
+            inProgress.forEach(this::load);
+            log.info("Clasificación en memoria cargada para {} torneos en curso", standings.size());
+        } catch (RuntimeException e) {
+            // Sin clasificación en memoria las lecturas siguen funcionando contra la base de datos
+            log.warn("No se pudo cargar la clasificación de los torneos en curso: {}", e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTournamentChanged(TournamentChangedEvent event) {
+        if (event.tournamentId() != null) {
+            versions.merge(event.tournamentId(), 1L, Long::sum);
+            standings.remove(event.tournamentId());
+        }
+        refreshInProgress();
+    }
+
+    /**
+     * Después del commit, para leer las líneas ya guardadas.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onResultsChanged(ResultsChangedEvent event) {
+        for (Integer tournamentId : event.tournamentIds()) {
+            versions.merge(tournamentId, 1L, Long::sum);
+            Standings current = standings.get(tournamentId);
+            if (current == null) continue;
+
+            if (event.personIds().isEmpty()) {
+                standings.remove(tournamentId, current);
+                continue;
+            }
+            try {
+                refreshPersons(tournamentId, current, event.personIds());
+            } catch (RuntimeException e) {
+                log.warn("Clasificación del torneo {} descartada: {}", tournamentId, e.getMessage());
+                standings.remove(tournamentId, current);
+            }
+        }
+    }
+
+    private void refreshInProgress() {
+        inProgress = tournamentRepository.findActiveInProgress().stream()
+                .map(Tournament::getTournamentId)
+                .collect(Collectors.toUnmodifiableSet());
+        standings.keySet().retainAll(inProgress);
+    }
+
+    private Standings load(Integer tournamentId) {
+        Long version = versions.get(tournamentId);
+
+        Optional<Tournament> tournament = tournamentRepository.findWithModalitiesById(tournamentId);
+        if (tournament.isEmpty()) return null;
+
+        Standings loaded = new Standings(
+                ResultService.toTournamentSummary(tournament.get()),
+                ResultService.toModalityDTOs(tournament.get()));
+        loaded.replacePersons(List.of(), resultRepository.findStandingRowsByTournament(tournamentId));
+
+        versions.compute(tournamentId, (id, current) -> {
+            if (Objects.equals(current, version)) standings.put(tournamentId, loaded);
+            return current;
+        });
+        return loaded;
+    }
+
+    /**
+     * La consulta y la actualización se hacen bajo el mismo bloqueo: dos cambios
+     * seguidos del mismo torneo se aplican en el orden en que se leyeron.
+     */
+    private void refreshPersons(Integer tournamentId, Standings current, Set<Integer> personIds) {
+        List<Integer> ids = new ArrayList<>(personIds);
+        synchronized (current.refreshLock) {
+            List<Object[]> rows = new ArrayList<>();
+            for (int from = 0; from < ids.size(); from += PERSON_CHUNK_SIZE) {
+                rows.addAll(resultRepository.findStandingRowsByTournamentAndPersons(
+                        tournamentId, ids.subList(from, Math.min(from + PERSON_CHUNK_SIZE, ids.size()))));
+            }
+            current.replacePersons(ids, rows);
+        }
+    }
+
+    record BucketKey(Integer roundNumber, Integer branchId) {
+    }
+
+    /**
+     * Una línea del torneo. {@code counted} es falso cuando no tiene número de
+     * línea: suma al total pero no al conteo de líneas, igual que COUNT(r.lineNumber).
+     */
+    record Line(String modalityName, Integer branchId, Integer roundNumber, boolean counted, int score) {
+
+        /**
+         * Clasificaciones a las que aporta la línea: la general, la de su ronda,
+         * la de su rama y la de ambas.
+         */
+        List<BucketKey> bucketKeys() {
+            List<BucketKey> keys = new ArrayList<>(4);
+            keys.add(new BucketKey(null, null));
+            if (roundNumber != null) keys.add(new BucketKey(roundNumber, null));
+            if (branchId != null) keys.add(new BucketKey(null, branchId));
+            if (roundNumber != null && branchId != null) keys.add(new BucketKey(roundNumber, branchId));
+            return keys;
+        }
+    }
+
+    static final class PlayerStanding {
+        final int personId;
+        String playerName;
+        int total;
+        int lines;
+        int rows;
+        final Map<String, Integer> modalityTotals = new HashMap<>();
+
+        PlayerStanding(int personId) {
+            this.personId = personId;
+        }
+
+        long averageNumerator() {
+            return lines == 0 ? 0 : total;
+        }
+
+        long averageDenominator() {
+            return Math.max(lines, 1);
+        }
+    }
+
+    /**
+     * Promedio de mayor a menor, comparado sin redondeo; luego nombre y persona.
+     */
+    static final Comparator<PlayerStanding> RANKING_ORDER = (a, b) -> {
+        int byAverage = Long.compare(b.averageNumerator() * a.averageDenominator(),
+                a.averageNumerator() * b.averageDenominator());
+        if (byAverage != 0) return byAverage;
+        int byName = Comparator.nullsLast(Comparator.<String>naturalOrder()).compare(a.playerName, b.playerName);
+        return byName != 0 ? byName : Integer.compare(a.personId, b.personId);
+    };
+
+    static final class Bucket {
+        final Map<Integer, PlayerStanding> byPerson = new HashMap<>();
+        final TreeSet<PlayerStanding> ranking = new TreeSet<>(RANKING_ORDER);
+    }
+
+    record PersonInfo(String playerName, String clubName) {
+    }
+
+    /**
+     * Clasificación de un torneo. Las lecturas comparten el bloqueo; cada
+     * actualización reubica a las personas afectadas en O(log n) por clasificación.
+     */
+    static final class Standings {
+        final TournamentResultsResponseDTO.TournamentSummary summary;
+        final List<ModalityDTO> modalities;
+        final Object refreshLock = new Object();
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<Integer, List<Line>> linesByPerson = new HashMap<>();
+        private final Map<Integer, PersonInfo> persons = new HashMap<>();
+        private final Map<BucketKey, Bucket> buckets = new HashMap<>();
+
+        Standings(TournamentResultsResponseDTO.TournamentSummary summary, List<ModalityDTO> modalities) {
+            this.summary = summary;
+            this.modalities = modalities;
+        }
+
+        /**
+         * Reemplaza las líneas de las personas indicadas y de las que aparecen en
+         * {@code rows}; las indicadas sin filas salen de la clasificación.
+         * Fila: personId, nombre, club, modalidad, rama, ronda, número de línea, puntaje.
+         */
+        void replacePersons(Collection<Integer> personIds, List<Object[]> rows) {
+            Map<Integer, List<Line>> newLines = new LinkedHashMap<>();
+            Map<Integer, PersonInfo> newInfo = new HashMap<>();
+            personIds.forEach(id -> newLines.put(id, List.of()));
+
+            for (Object[] row : rows) {
+                Integer personId = (Integer) row[0];
+                Integer score = (Integer) row[7];
+                if (personId == null || score == null) continue;
+
+                newInfo.putIfAbsent(personId, new PersonInfo(
+                        (String) row[1], row[2] != null ? (String) row[2] : NO_CLUB));
+                List<Line> lines = newLines.get(personId);
+                if (lines == null || lines.isEmpty()) {
+                    lines = new ArrayList<>();
+                    newLines.put(personId, lines);
+                }
+                lines.add(new Line((String) row[3], (Integer) row[4], (Integer) row[5], row[6] != null, score));
+            }
+
+            lock.writeLock().lock();
+            try {
+                newLines.forEach((personId, lines) -> replacePerson(personId, lines, newInfo.get(personId)));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void replacePerson(Integer personId, List<Line> lines, PersonInfo info) {
+            Set<BucketKey> touched = new HashSet<>();
+            linesByPerson.getOrDefault(personId, List.of()).forEach(line -> touched.addAll(line.bucketKeys()));
+            lines.forEach(line -> touched.addAll(line.bucketKeys()));
+
+            if (lines.isEmpty()) {
+                linesByPerson.remove(personId);
+                persons.remove(personId);
+            } else {
+                linesByPerson.put(personId, lines);
+                persons.put(personId, info);
+            }
+
+            for (BucketKey key : touched) {
+                Bucket bucket = buckets.computeIfAbsent(key, k -> new Bucket());
+                PlayerStanding standing = bucket.byPerson.get(personId);
+                if (standing != null) {
+                    // Se saca del árbol antes de cambiar los campos que lo ordenan
+                    bucket.ranking.remove(standing);
+                } else {
+                    standing = new PlayerStanding(personId);
+                }
+
+                standing.total = 0;
+                standing.lines = 0;
+                standing.rows = 0;
+                standing.modalityTotals.clear();
+                for (Line line : lines) {
+                    if (!line.bucketKeys().contains(key)) continue;
+                    standing.total += line.score();
+                    standing.lines += line.counted() ? 1 : 0;
+                    standing.rows++;
+                    standing.modalityTotals.merge(line.modalityName(), line.score(), Integer::sum);
+                }
+
+                if (standing.rows == 0) {
+                    bucket.byPerson.remove(personId);
+                    if (bucket.byPerson.isEmpty()) buckets.remove(key);
+                } else {
+                    standing.playerName = info.playerName();
+                    bucket.byPerson.put(personId, standing);
+                    bucket.ranking.add(standing);
+                }
+            }
+        }
+
+        TournamentResultsResponseDTO resultsByModality(Integer roundNumber, Integer branchId) {
+            lock.readLock().lock();
+            try {
+                Bucket bucket = buckets.get(new BucketKey(roundNumber, branchId));
+                List<PlayerByModalityDTO> results = new ArrayList<>();
+                if (bucket != null) {
+                    int position = 1;
+                    for (PlayerStanding standing : bucket.ranking) {
+                        results.add(PlayerByModalityDTO.builder()
+                                .position(position++)
+                                .personId(standing.personId)
+                                .playerName(standing.playerName)
+                                .clubName(persons.get(standing.personId).clubName())
+                                .modalityScores(new HashMap<>(standing.modalityTotals))
+                                .total(standing.total)
+                                .linesPlayed(standing.lines)
+                                .promedio(standing.lines > 0 ? (double) standing.total / standing.lines : 0.0)
+                                .build());
+                    }
+                }
+
+                List<Integer> rounds = buckets.keySet().stream()
+                        .filter(key -> key.roundNumber() != null && key.branchId() == null)
+                        .map(BucketKey::roundNumber)
+                        .sorted()
+                        .collect(Collectors.toList());
+
+                return TournamentResultsResponseDTO.builder()
+                        .tournament(summary)
+                        .modalities(modalities)
+                        .rounds(rounds)
+                        .resultsByModality(results)
+                        .build();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+}
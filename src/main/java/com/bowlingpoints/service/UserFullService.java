@@ -1,19 +1,23 @@
 package com.bowlingpoints.service;
 
-import com.bowlingpoints.dto.CategoryDTO;
 import com.bowlingpoints.dto.RoleDTO;
+import com.bowlingpoints.dto.CategoryDTO;
 import com.bowlingpoints.dto.UserFullDTO;
+import com.bowlingpoints.dto.UserPageDTO;
 import com.bowlingpoints.entity.*;
+import com.bowlingpoints.event.PlayerProfileChangedEvent;
+import com.bowlingpoints.event.UserChangedEvent;
 import com.bowlingpoints.projection.UserFullProjection;
 import com.bowlingpoints.repository.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -25,17 +29,95 @@ public class UserFullService {
     private final RoleRepository roleRepository;
     private final UserRoleRepository userRoleRepository;
     private final PersonCategoryRepository personCategoryRepository;
-    private final ClubPersonRepository clubPersonRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private static final String PLAYER_ROLE = "JUGADOR";
+
+    /** Tamaño de página por defecto para el listado paginado por cursor. */
+    static final int DEFAULT_PAGE_SIZE = 50;
+
+    /** Tamaño máximo de página permitido para el listado paginado por cursor. */
+    static final int MAX_PAGE_SIZE = 200;
+
+    /** Personas por consulta al cargar categorías (límite de parámetros del IN). */
+    private static final int PERSON_CHUNK_SIZE = 1000;
 
     /**
      * Obtiene todos los usuarios con información detallada (persona, roles, categorías, club).
      */
     public List<UserFullDTO> getAllUsersWithDetails() {
+        return toUserFullDTOs(userFullRepository.findAllUserFull());
+    }
+
+
+    /**
+     * Listado de usuarios paginado por cursor (keyset sobre userId), con búsqueda
+     * opcional por nombre o documento y filtro opcional por rol.
+     * Se pide un ID extra para saber si existe una página siguiente.
+     */
+    public UserPageDTO getUsersPage(Integer afterId, Integer size, String search, String role) {
+        int pageSize = size == null || size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        String term = search == null ? "" : search.trim().toLowerCase(Locale.ROOT);
+        String roleName = role == null ? "" : role.trim().toUpperCase(Locale.ROOT);
+
+        List<Integer> ids = userFullRepository.findUserIdsAfter(
+                afterId == null ? 0 : afterId, term, "%" + term + "%", roleName, PageRequest.of(0, pageSize + 1));
+
+        boolean hasMore = ids.size() > pageSize;
+        List<Integer> pageIds = hasMore ? ids.subList(0, pageSize) : ids;
+        List<UserFullDTO> items = pageIds.isEmpty()
+                ? List.of()
+                : toUserFullDTOs(userFullRepository.findUserFullByIds(pageIds));
+
+        return UserPageDTO.builder()
+                .items(items)
+                .nextCursor(hasMore ? pageIds.get(pageIds.size() - 1) : null)
+                .hasMore(hasMore)
+                .size(items.size())
+                .build();
+    }
+
+    /**
+     * Obtiene todos los usuarios activos (sin importar el rol).
+     */
+    public List<UserFullDTO> getAllActiveUsers() {
+        return toUserFullDTOs(userFullRepository.findAllActiveUserFull());
+    }
+
+    /**
+     * Obtiene todos los usuarios activos con el rol "JUGADOR".
+     */
+    public List<UserFullDTO> getAllActivePlayers() {
+        return toUserFullDTOs(userFullRepository.findAllActiveUserFullByRole(PLAYER_ROLE));
+    }
+
+    /**
+     * Obtiene un usuario por ID, con roles, categorías y club.
+     */
+    public UserFullDTO getUserById(Integer id) {
+        return toUserFullDTOs(userFullRepository.findUserFullById(id)).stream()
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Obtiene un usuario por su nombre de usuario (nickname), con detalles completos.
+     */
+    public UserFullDTO getByUsername(String username) {
+        return toUserFullDTOs(userFullRepository.findUserFullByNickname(username)).stream()
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Agrupa las filas de la proyección (una por rol) en un DTO por usuario
+     * y le agrega sus categorías activas.
+     */
+    private List<UserFullDTO> toUserFullDTOs(List<UserFullProjection> projections) {
         Map<Integer, UserFullDTO> userMap = new LinkedHashMap<>();
-        List<UserFullProjection> projections = userFullRepository.findAllUserFull();
 
-        // Construcción base con datos personales + roles
+        // Construcción base con datos personales, club y roles
         for (UserFullProjection proj : projections) {
             Integer userId = proj.getUserId();
 
@@ -53,6 +135,7 @@ public class UserFullService {
                 u.setGender(proj.getGender());
                 u.setPhotoUrl(proj.getPhotoUrl());
                 u.setStatus(proj.getStatus());
+                u.setClubId(proj.getClubId());
                 u.setRoles(new ArrayList<>());
                 u.setCategories(new ArrayList<>());
                 return u;
@@ -67,68 +150,25 @@ public class UserFullService {
             }
         }
 
-        // Cargar categorías y club
+        // Cargar categorías de todas las personas por bloques
+        Map<Integer, List<UserFullDTO>> usersByPerson = new HashMap<>();
         for (UserFullDTO dto : userMap.values()) {
-            // Categorías
-            List<CategoryDTO> categoryDTOs = personCategoryRepository
-                    .findByPerson_PersonId(dto.getPersonId())
-                    .stream()
-                    .filter(PersonCategory::getStatus)
-                    .map(pc -> {
-                        Category c = pc.getCategory();
-                        return new CategoryDTO(c.getCategoryId(), c.getName(), c.getDescription(), c.getStatus());
-                    })
-                    .collect(Collectors.toList());
-            dto.setCategories(categoryDTOs);
-
-            // Club (si aplica)
-            clubPersonRepository.findFirstByPerson_PersonIdAndStatusTrue(dto.getPersonId())
-                    .ifPresent(clubPerson -> dto.setClubId(clubPerson.getClub().getClubId()));
+            usersByPerson.computeIfAbsent(dto.getPersonId(), id -> new ArrayList<>()).add(dto);
+        }
+        List<Integer> personIds = new ArrayList<>(usersByPerson.keySet());
+        for (int from = 0; from < personIds.size(); from += PERSON_CHUNK_SIZE) {
+            List<Object[]> rows = personCategoryRepository.findActiveCategoryRowsByPersonIds(
+                    personIds.subList(from, Math.min(from + PERSON_CHUNK_SIZE, personIds.size())));
+            for (Object[] row : rows) {
+                CategoryDTO category = new CategoryDTO(
+                        (Integer) row[1], (String) row[2], (String) row[3], (Boolean) row[4]);
+                usersByPerson.get((Integer) row[0]).forEach(dto -> dto.getCategories().add(category));
+            }
         }
 
         return new ArrayList<>(userMap.values());
     }
 
-
-    /**
-     * Obtiene todos los usuarios activos (sin importar el rol).
-     */
-    public List<UserFullDTO> getAllActiveUsers() {
-        return getAllUsersWithDetails().stream()
-                .filter(user -> Boolean.TRUE.equals(user.getStatus())) // Solo usuarios con estado activo
-                .collect(Collectors.toList());
-    }
-
-    /**
-     * Obtiene todos los usuarios activos con el rol "JUGADOR".
-     */
-    public List<UserFullDTO> getAllActivePlayers() {
-        return getAllUsersWithDetails().stream()
-                .filter(user -> user.getRoles() != null &&
-                        user.getRoles().stream().anyMatch(role -> "JUGADOR".equalsIgnoreCase(role.getName())))
-                .collect(Collectors.toList());
-    }
-
-    /**
-     * Obtiene un usuario por ID, con roles, categorías y club.
-     */
-    public UserFullDTO getUserById(Integer id) {
-        return getAllUsersWithDetails().stream()
-                .filter(user -> user.getUserId().equals(id))
-                .findFirst()
-                .orElse(null);
-    }
-
-    /**
-     * Obtiene un usuario por su nombre de usuario (nickname), con detalles completos.
-     */
-    public UserFullDTO getByUsername(String username) {
-        return getAllUsersWithDetails().stream()
-                .filter(u -> u.getNickname().equals(username))
-                .findFirst()
-                .orElse(null);
-    }
-
     /**
      * Crea un nuevo usuario junto con su persona, roles y categorías.
      */
@@ -238,6 +278,7 @@ public class UserFullService {
             throw new IllegalArgumentException("El nickname/documento ya está en uso");
         }
 
+        String previousNickname = user.getNickname();
         user.setNickname(newNickname);
 
         user.setStatus(input.getStatus() != null ? input.getStatus() : user.isStatus());
@@ -248,6 +289,11 @@ public class UserFullService {
 
         user.setUpdatedAt(LocalDateTime.now());
         userRepository.save(user);
+        // Se invalida el nickname anterior y el nuevo (pueden ser el mismo)
+        Set<String> nicknames = new HashSet<>(Set.of(newNickname));
+        if (previousNickname != null) nicknames.add(previousNickname);
+        eventPublisher.publishEvent(new UserChangedEvent(nicknames));
+        eventPublisher.publishEvent(new PlayerProfileChangedEvent(Set.of(person.getPersonId())));
 
         // Actualizar roles
         userRoleRepository.deleteByUser_UserId(user.getUserId());
@@ -293,12 +339,14 @@ public class UserFullService {
         user.setUpdatedAt(LocalDateTime.now());
         user.setDeletedAt(LocalDateTime.now());
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(Set.of(user.getNickname())));
 
         Person person = user.getPerson();
         person.setStatus(false);
         person.setUpdatedAt(LocalDateTime.now());
         person.setDeletedAt(LocalDateTime.now());
         personRepository.save(person);
+        eventPublisher.publishEvent(new PlayerProfileChangedEvent(Set.of(person.getPersonId())));
 
         // Desactivar roles
         userRoleRepository.findAllByUser_UserIdAndStatusTrue(user.getUserId())
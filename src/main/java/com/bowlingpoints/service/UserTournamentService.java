@@ -5,6 +5,7 @@ import com.bowlingpoints.entity.*;
 import com.bowlingpoints.repository.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -37,15 +38,7 @@ public class UserTournamentService {
 
     // Detalle de los resultados de un usuario en un torneo
     public List<UserTournamentResultDTO> getResultsForUserAndTournament(Integer userId, Integer tournamentId) {
-        return resultRepository.findResultsByPersonAndTournament(userId, tournamentId).stream()
-                .map(r -> UserTournamentResultDTO.builder()
-                        .resultId(r.getResultId())
-                        .score(r.getScore())
-                        .laneNumber(r.getLaneNumber())
-                        .lineNumber(r.getLineNumber())
-                        .playedAt(r.getCreatedAt())
-                        .build())
-                .collect(Collectors.toList());
+        return resultRepository.findResultsByPersonAndTournament(userId, tournamentId);
     }
 
     // Estadísticas generales para "Mis Resultados"
@@ -65,6 +58,7 @@ public class UserTournamentService {
                 .build();
     }
 
+    @Transactional(readOnly = true)
     public Map<String, List<TournamentDTO>> getTournamentsByPlayerGrouped(Integer personId) {
         List<Tournament> tournaments = tournamentRegistrationRepository.findTournamentsByPersonId(personId);
 
@@ -72,10 +66,8 @@ public class UserTournamentService {
         grouped.put("finished", new ArrayList<>());
         grouped.put("active", new ArrayList<>());
 
-        for (Tournament t : tournaments) {
-            TournamentDTO dto = tournamentService.toDTO(t); //
-
-            if ("Finalizado".equalsIgnoreCase(t.getStage())) {
+        for (TournamentDTO dto : tournamentService.toDTOs(tournaments)) {
+            if ("Finalizado".equalsIgnoreCase(dto.getStage())) {
                 grouped.get("finished").add(dto);
             } else {
                 grouped.get("active").add(dto);
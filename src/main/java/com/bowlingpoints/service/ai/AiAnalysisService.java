@@ -1,84 +1,138 @@
 package com.bowlingpoints.service.ai;
 
 import com.bowlingpoints.dto.PlayerAiStats;
-import com.bowlingpoints.dto.ResultDTO;
-import com.bowlingpoints.service.ResultService;
+import com.bowlingpoints.event.ResultsChangedEvent;
+import com.bowlingpoints.repository.ResultRepository;
+import com.bowlingpoints.util.TtlCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 @RequiredArgsConstructor
 public class AiAnalysisService {
 
-    private final ResultService resultService;
+    private static final String NO_DATA_MESSAGE =
+            "No hay suficientes datos para realizar un análisis con esos filtros.";
+
+    private final ResultRepository resultRepository;
     private final PromptBuilder promptBuilder;
     private final AiClientFactory aiClientFactory;
+    private final TtlCache<AnalysisKey, String> aiAnalysisCache;
+
+    /**
+     * Máximo de filas jugador + modalidad que se envían en el prompt (los mejores promedios).
+     */
+    @Value("${ai.analysis.max-players:100}")
+    private int maxPlayers = 100;
+
+    /**
+     * Versión de los datos de resultados; sube con cada cambio de resultados.
+     */
+    private final AtomicLong resultsVersion = new AtomicLong();
+
+    /**
+     * Análisis asíncronos en curso, para que las peticiones iguales compartan la llamada.
+     */
+    private final ConcurrentHashMap<AnalysisKey, Mono<String>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Clave del análisis en caché: filtros aplicados y versión de los resultados usada.
+     */
+    public record AnalysisKey(Integer branchId, Integer categoryId, Integer modalityId, long resultsVersion) {
+    }
 
     /**
      * Análisis GLOBAL: todos los torneos.
      * Filtros opcionales: branchId, categoryId, modalityId
+     * <p>
+     * El análisis se guarda en caché por filtros y versión de resultados, así que la IA
+     * solo se consulta de nuevo cuando cambian los resultados. Las peticiones iguales
+     * que llegan mientras se calcula esperan esa misma llamada.
      */
     public String analyzeGlobal(Integer branchId, Integer categoryId, Integer modalityId) {
+        AnalysisKey key = new AnalysisKey(branchId, categoryId, modalityId, resultsVersion.get());
+        return aiAnalysisCache.get(key, () -> computeGlobal(branchId, categoryId, modalityId));
+    }
 
-        // 1) Traer todos los resultados
-        List<ResultDTO> results = Optional.ofNullable(resultService.getAll())
-                .orElseGet(Collections::emptyList);
-
-        // 2) Filtrar (si vienen filtros)
-        List<ResultDTO> filtered = results.stream()
-                .filter(r -> r.getScore() != null)
-                .filter(r -> branchId == null || Objects.equals(r.getBranchId(), branchId))
-                .filter(r -> categoryId == null || Objects.equals(r.getCategoryId(), categoryId))
-                .filter(r -> modalityId == null || Objects.equals(r.getModalityId(), modalityId))
-                .toList();
-
-        if (filtered.isEmpty()) {
-            return "No hay suficientes datos para realizar un análisis con esos filtros.";
+    /**
+     * Versión asíncrona de {@link #analyzeGlobal}: solo la consulta de estadísticas
+     * (JPA, bloqueante) corre en el scheduler elástico; la llamada al modelo usa
+     * {@link AiClient#askAsync}, así que el hilo de la petición no espera la respuesta
+     * (con el cliente en línea tampoco ningún otro hilo; {@link LmStudioClient} es
+     * bloqueante y espera en el scheduler elástico). Usa la misma caché de análisis,
+     * y las peticiones iguales que llegan mientras se calcula comparten la llamada.
+     */
+    public Mono<String> analyzeGlobalAsync(Integer branchId, Integer categoryId, Integer modalityId) {
+        AnalysisKey key = new AnalysisKey(branchId, categoryId, modalityId, resultsVersion.get());
+        String cached = aiAnalysisCache.getIfPresent(key);
+        if (cached != null) {
+            return Mono.just(cached);
         }
+        return inFlight.computeIfAbsent(key, this::loadAsync);
+    }
 
-        // 3) Agrupar por jugador + modalidad
-        Map<String, List<ResultDTO>> grouped = filtered.stream()
-                .collect(Collectors.groupingBy(
-                        r -> safe(r.getPersonName()) + "|" + safe(r.getModalityName())
-                ));
-
-        // 4) Convertir a stats IA
-        List<PlayerAiStats> stats = grouped.values().stream()
-                .map(list -> {
-                    int[] scores = list.stream()
-                            .map(ResultDTO::getScore)
-                            .filter(Objects::nonNull)
-                            .mapToInt(Integer::intValue)
-                            .toArray();
-
-                    double avg = Arrays.stream(scores).average().orElse(0);
-                    int max = Arrays.stream(scores).max().orElse(0);
-                    int min = Arrays.stream(scores).min().orElse(0);
-
-                    return new PlayerAiStats(
-                            safe(list.get(0).getPersonName()),
-                            safe(list.get(0).getModalityName()),
-                            avg,
-                            scores.length,
-                            max,
-                            min
-                    );
+    /**
+     * Carga compartida de un análisis: {@code cache()} reparte el mismo resultado a
+     * todos los suscriptores y la entrada sale de {@link #inFlight} al terminar, con
+     * éxito o con error (los errores no se guardan y el siguiente intento consulta
+     * de nuevo).
+     */
+    private Mono<String> loadAsync(AnalysisKey key) {
+        return Mono.fromCallable(() -> findStats(key.branchId(), key.categoryId(), key.modalityId()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(stats -> stats.isEmpty()
+                        ? Mono.just(NO_DATA_MESSAGE)
+                        : aiClientFactory.getClient().askAsync(
+                        promptBuilder.buildGlobal(stats, key.branchId(), key.categoryId(), key.modalityId())))
+                .doOnNext(analysis -> {
+                    // Si los resultados cambiaron mientras tanto, el análisis ya no se guarda
+                    if (resultsVersion.get() == key.resultsVersion()) {
+                        aiAnalysisCache.put(key, analysis);
+                    }
                 })
-                // ✅ aquí el cambio importante
-                .sorted(Comparator.comparingDouble(PlayerAiStats::getAverageScore).reversed())
-                .toList();
+                // Antes de avisar a los suscriptores, para que un reintento tras el error no lo reciba
+                .doOnTerminate(() -> inFlight.remove(key))
+                .cache();
+    }
+
+    /**
+     * Cualquier cambio de resultados deja obsoletos todos los análisis: se sube la
+     * versión y se descartan las entradas anteriores.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onResultsChanged(ResultsChangedEvent event) {
+        resultsVersion.incrementAndGet();
+        aiAnalysisCache.invalidateAll();
+        inFlight.clear();
+    }
+
+    private String computeGlobal(Integer branchId, Integer categoryId, Integer modalityId) {
+
+        // 1) Estadísticas por jugador + modalidad, calculadas en la base de datos
+        List<PlayerAiStats> stats = findStats(branchId, categoryId, modalityId);
+
+        if (stats.isEmpty()) {
+            return NO_DATA_MESSAGE;
+        }
 
-        // 5) Prompt
+        // 2) Prompt
         String prompt = promptBuilder.buildGlobal(stats, branchId, categoryId, modalityId);
 
-        // 6) Llamar IA
+        // 3) Llamar IA
         return aiClientFactory.getClient().ask(prompt);
     }
 
-    private String safe(String s) {
-        return (s == null || s.isBlank()) ? "Desconocido" : s.trim();
+    private List<PlayerAiStats> findStats(Integer branchId, Integer categoryId, Integer modalityId) {
+        return resultRepository.findAiStats(
+                branchId, categoryId, modalityId, PageRequest.of(0, Math.max(maxPlayers, 1)));
     }
 }
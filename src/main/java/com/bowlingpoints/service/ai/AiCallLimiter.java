@@ -0,0 +1,84 @@
+package com.bowlingpoints.service.ai;
+
+import com.bowlingpoints.enums.ErrorsEnum;
+import com.bowlingpoints.exception.BusinessException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Limita las llamadas simultáneas al modelo y reintenta los fallos transitorios
+ * (red, tiempo agotado, 5xx y 429) con espera exponencial.
+ * <p>
+ * Si no hay cupo la llamada falla de inmediato en lugar de esperar turno, así
+ * las peticiones no se acumulan detrás de un modelo lento.
+ */
+@Component
+public class AiCallLimiter {
+
+    static final String BUSY_MESSAGE = "Hay demasiadas consultas de IA en curso, intente más tarde.";
+
+    private final Semaphore permits;
+    private final int maxRetries;
+    private final Duration backoff;
+
+    public AiCallLimiter(
+            @Value("${ai.max-concurrent-calls:4}") int maxConcurrentCalls,
+            @Value("${ai.retry.max-retries:2}") int maxRetries,
+            @Value("${ai.retry.backoff-ms:500}") long backoffMs
+    ) {
+        this.permits = new Semaphore(maxConcurrentCalls);
+        this.maxRetries = maxRetries;
+        this.backoff = Duration.ofMillis(backoffMs);
+    }
+
+    /**
+     * Ejecuta {@code call} ocupando un cupo durante toda la llamada, reintentos incluidos.
+     *
+     * @throws BusinessException (en el Mono) con código ERR-503 si no hay cupo
+     */
+    public <T> Mono<T> limit(Mono<T> call) {
+        return Mono.defer(() -> {
+            if (!permits.tryAcquire()) {
+                return Mono.error(new BusinessException(ErrorsEnum.SERVICE_UNAVAILABLE.getCode(), BUSY_MESSAGE));
+            }
+            // Se libera antes de entregar el resultado, para que quien lo recibe ya tenga cupo
+            AtomicBoolean released = new AtomicBoolean();
+            Runnable release = () -> {
+                if (released.compareAndSet(false, true)) permits.release();
+            };
+            return call
+                    .retryWhen(Retry.backoff(maxRetries, backoff)
+                            .filter(AiCallLimiter::isTransient)
+                            .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+                    .doOnTerminate(release)
+                    .doOnCancel(release);
+        });
+    }
+
+    int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    static boolean isTransient(Throwable e) {
+        if (e instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError() || response.getStatusCode().value() == 429;
+        }
+        return e instanceof WebClientRequestException
+                || e instanceof ResourceAccessException
+                || e instanceof TimeoutException
+                || e instanceof HttpServerErrorException
+                || e instanceof HttpClientErrorException.TooManyRequests;
+    }
+}
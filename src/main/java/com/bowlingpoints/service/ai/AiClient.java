@@ -1,7 +1,14 @@
 package com.bowlingpoints.service.ai;
 
+import reactor.core.publisher.Mono;
+
 public interface AiClient {
 
     String ask(String prompt);
 
+    /**
+     * Igual que {@link #ask(String)} pero sin bloquear el hilo que llama.
+     */
+    Mono<String> askAsync(String prompt);
+
 }
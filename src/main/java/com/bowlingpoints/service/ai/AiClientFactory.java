@@ -9,22 +9,26 @@ public class AiClientFactory {
 
     private final AiClient genericAiClient;
     private final AiClient lmStudioClient;
+    private final AiClient stubAiClient;
 
     @Value("${ai.mode}")
     private String mode;
 
     public AiClientFactory(
             @Qualifier("genericAiClient") AiClient genericAiClient,
-            @Qualifier("lmStudioClient") AiClient lmStudioClient
+            @Qualifier("lmStudioClient") AiClient lmStudioClient,
+            @Qualifier("stubAiClient") AiClient stubAiClient
     ) {
         this.genericAiClient = genericAiClient;
         this.lmStudioClient = lmStudioClient;
+        this.stubAiClient = stubAiClient;
     }
 
     public AiClient getClient() {
         return switch (mode) {
             case "online" -> genericAiClient;
             case "local" -> lmStudioClient;
+            case "stub" -> stubAiClient;
             default -> throw new IllegalStateException("Modo IA no soportado: " + mode);
         };
     }
@@ -4,8 +4,10 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ClientHttpConnector;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 import java.util.Map;
@@ -15,6 +17,8 @@ import java.util.Map;
 public class GenericAiClient implements AiClient {
 
     private final WebClient.Builder webClientBuilder;
+    private final ClientHttpConnector aiHttpConnector;
+    private final AiCallLimiter aiCallLimiter;
 
     @Value("${ai.base-url}")
     private String baseUrl;
@@ -31,17 +35,20 @@ public class GenericAiClient implements AiClient {
     @Value("${ai.response-path}")
     private String responsePath;
 
+    /**
+     * WebClient único sobre el pool de conexiones de IA; se arma en el primer uso
+     * porque depende de la configuración inyectada en los campos.
+     */
+    private volatile WebClient client;
+
     @Override
-    @SuppressWarnings("unchecked")
     public String ask(String prompt) {
+        return askAsync(prompt).block();
+    }
 
-        WebClient client = webClientBuilder
-                .baseUrl(baseUrl)
-                .defaultHeader(apiKeyHeader, apiKey)
-                //  HEADER OBLIGATORIO PARA CLAUDE
-                .defaultHeader("anthropic-version", "2023-06-01")
-                .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                .build();
+    @Override
+    @SuppressWarnings("unchecked")
+    public Mono<String> askAsync(String prompt) {
 
         //  FORMATO CORRECTO PARA ANTHROPIC (Claude)
         Map<String, Object> body = Map.of(
@@ -61,15 +68,37 @@ public class GenericAiClient implements AiClient {
                 )
         );
 
-        Map<String, Object> response = client.post()
+        Mono<String> call = client().post()
                 .bodyValue(body)
                 .retrieve()
                 .bodyToMono(Map.class)
-                .block();
+                .map(response -> readResponse((Map<String, Object>) response))
+                .defaultIfEmpty("No se recibió respuesta del proveedor de IA.");
 
-        if (response == null) {
-            return "No se recibió respuesta del proveedor de IA.";
+        return aiCallLimiter.limit(call);
+    }
+
+    private WebClient client() {
+        WebClient current = client;
+        if (current == null) {
+            synchronized (this) {
+                if (client == null) {
+                    client = webClientBuilder.clone()
+                            .clientConnector(aiHttpConnector)
+                            .baseUrl(baseUrl)
+                            .defaultHeader(apiKeyHeader, apiKey)
+                            //  HEADER OBLIGATORIO PARA CLAUDE
+                            .defaultHeader("anthropic-version", "2023-06-01")
+                            .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .build();
+                }
+                current = client;
+            }
         }
+        return current;
+    }
+
+    private String readResponse(Map<String, Object> response) {
 
         // lectura genérica del path (content.0.text)
         Object value = response;
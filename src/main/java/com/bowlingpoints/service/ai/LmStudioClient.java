@@ -1,22 +1,44 @@
 package com.bowlingpoints.service.ai;
 
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.List;
 import java.util.Map;
 
 @Component
+@RequiredArgsConstructor
 public class LmStudioClient implements AiClient {
 
     private static final String LM_STUDIO_URL =
             "http://localhost:1234/v1/chat/completions";
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    /**
+     * RestTemplate con tiempos máximos (AiClientConfig#aiRestTemplate).
+     */
+    private final RestTemplate restTemplate;
+    private final AiCallLimiter aiCallLimiter;
 
     @Override
-    @SuppressWarnings("unchecked")
     public String ask(String prompt) {
+        return aiCallLimiter.limit(Mono.fromCallable(() -> request(prompt))).block();
+    }
+
+    /**
+     * RestTemplate es bloqueante: la llamada se hace en el scheduler elástico
+     * para no ocupar el hilo que se suscribe.
+     */
+    @Override
+    public Mono<String> askAsync(String prompt) {
+        return aiCallLimiter.limit(Mono.fromCallable(() -> request(prompt))
+                .subscribeOn(Schedulers.boundedElastic()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private String request(String prompt) {
 
         Map<String, Object> body = Map.of(
                 "model", "mistral-7b-instruct-v0.2",
@@ -0,0 +1,25 @@
+package com.bowlingpoints.service.ai;
+
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Cliente de IA sin red para desarrollo y pruebas (ai.mode=stub).
+ * Responde un texto fijo que incluye el tamaño del prompt, sin llamar a ningún proveedor.
+ */
+@Component
+public class StubAiClient implements AiClient {
+
+    static final String RESPONSE_PREFIX = "Análisis de prueba (IA desactivada).";
+
+    @Override
+    public String ask(String prompt) {
+        int length = prompt == null ? 0 : prompt.length();
+        return RESPONSE_PREFIX + " Prompt de " + length + " caracteres.";
+    }
+
+    @Override
+    public Mono<String> askAsync(String prompt) {
+        return Mono.fromSupplier(() -> ask(prompt));
+    }
+}
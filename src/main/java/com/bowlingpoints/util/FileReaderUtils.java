@@ -1,18 +1,57 @@
 package com.bowlingpoints.util;
 
+import com.opencsv.CSVReader;
+import com.opencsv.CSVReaderBuilder;
+import com.opencsv.RFC4180ParserBuilder;
+import com.opencsv.exceptions.CsvValidationException;
+import org.apache.poi.UnsupportedFileFormatException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
 import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
 import org.springframework.web.multipart.MultipartFile;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
 
+import javax.xml.parsers.ParserConfigurationException;
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
 import java.util.List;
 
 public class FileReaderUtils {
 
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("d/M/yyyy");
+
+    /**
+     * Recibe cada fila leída junto con su número de línea (base 1).
+     */
+    @FunctionalInterface
+    public interface RowHandler {
+        void handle(int lineNumber, String[] cells);
+    }
+
     public static boolean isExcel(MultipartFile file) {
         String filename = file.getOriginalFilename();
         if (filename == null) return false;
@@ -27,41 +66,107 @@ public class FileReaderUtils {
         return lower.endsWith(".csv") || lower.endsWith(".xlsx") || lower.endsWith(".xls");
     }
 
+    /**
+     * SHA-256 del contenido del archivo en hexadecimal, calculado por streaming.
+     */
+    public static String sha256(MultipartFile file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+        try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
     /**
      * Lee todas las filas de un archivo CSV o Excel.
      * Las filas vacías se retornan como String[0] para preservar la numeración.
+     * Carga el archivo completo en memoria; para importaciones usar {@link #forEachRow}.
      */
     public static List<String[]> readAllRows(MultipartFile file, String csvSeparator) throws IOException {
-        if (isExcel(file)) {
-            return readExcelRows(file);
+        List<String[]> rows = new ArrayList<>();
+        forEachRow(file, csvSeparator, (lineNumber, cells) -> rows.add(cells));
+        return rows;
+    }
+
+    /**
+     * Recorre las filas de un archivo CSV o Excel sin mantenerlas en memoria.
+     * Las filas vacías se entregan como String[0] para preservar la numeración.
+     * Los .xlsx se leen con el modelo de eventos (SAX) de POI; los .xls, que no
+     * lo soportan de la misma forma, se siguen leyendo con WorkbookFactory.
+     */
+    public static void forEachRow(MultipartFile file, String csvSeparator, RowHandler handler) throws IOException {
+        String filename = file.getOriginalFilename() == null ? "" : file.getOriginalFilename().toLowerCase();
+        if (filename.endsWith(".xlsx")) {
+            forEachXlsxRow(file, handler);
+        } else if (filename.endsWith(".xls")) {
+            forEachXlsRow(file, handler);
+        } else {
+            forEachCsvRow(file, csvSeparator, handler);
         }
-        return readCsvRows(file, csvSeparator);
     }
 
-    private static List<String[]> readCsvRows(MultipartFile file, String separator) throws IOException {
-        List<String[]> rows = new ArrayList<>();
-        try (BufferedReader br = new BufferedReader(
-                new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                if (line.trim().isEmpty()) {
-                    rows.add(new String[0]);
+    private static void forEachCsvRow(MultipartFile file, String separator, RowHandler handler) throws IOException {
+        try (CSVReader reader = new CSVReaderBuilder(new BufferedReader(
+                new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8)))
+                .withCSVParser(new RFC4180ParserBuilder().withSeparator(separator.charAt(0)).build())
+                .build()) {
+            String[] cells;
+            int lineNumber = 0;
+            while ((cells = reader.readNext()) != null) {
+                lineNumber++;
+                if (cells.length == 0 || (cells.length == 1 && cells[0].trim().isEmpty())) {
+                    handler.handle(lineNumber, new String[0]);
                 } else {
-                    rows.add(line.split(separator, -1));
+                    handler.handle(lineNumber, cells);
                 }
             }
+        } catch (CsvValidationException e) {
+            throw new IOException("CSV inválido: " + e.getMessage(), e);
         }
-        return rows;
     }
 
-    private static List<String[]> readExcelRows(MultipartFile file) throws IOException {
-        List<String[]> rows = new ArrayList<>();
+    private static void forEachXlsxRow(MultipartFile file, RowHandler handler) throws IOException {
+        // OPCPackage necesita acceso aleatorio al zip: se copia a un temporal en lugar de cargarlo en memoria
+        Path tempFile = Files.createTempFile("import-", ".xlsx");
+        try {
+            try (InputStream in = file.getInputStream()) {
+                Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            try (OPCPackage pkg = OPCPackage.open(tempFile.toFile(), PackageAccess.READ)) {
+                XSSFReader reader = new XSSFReader(pkg);
+                ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+
+                Iterator<InputStream> sheets = reader.getSheetsData();
+                if (!sheets.hasNext()) return;
+
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new XSSFSheetXMLHandler(
+                        reader.getStylesTable(), strings, new RowCollector(handler), new ImportDataFormatter(), false));
+                try (InputStream sheet = sheets.next()) {
+                    parser.parse(new InputSource(sheet));
+                }
+            }
+        } catch (OpenXML4JException | UnsupportedFileFormatException | SAXException | ParserConfigurationException e) {
+            throw new IOException("Excel inválido: " + e.getMessage(), e);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private static void forEachXlsRow(MultipartFile file, RowHandler handler) throws IOException {
         try (Workbook workbook = WorkbookFactory.create(file.getInputStream())) {
             Sheet sheet = workbook.getSheetAt(0);
+            int lineNumber = 0;
             for (Row row : sheet) {
+                lineNumber++;
                 int lastCell = row.getLastCellNum();
                 if (lastCell <= 0) {
-                    rows.add(new String[0]);
+                    handler.handle(lineNumber, new String[0]);
                     continue;
                 }
                 String[] cells = new String[lastCell];
@@ -69,10 +174,9 @@ public class FileReaderUtils {
                     Cell cell = row.getCell(i, Row.MissingCellPolicy.RETURN_BLANK_AS_NULL);
                     cells[i] = cell == null ? "" : getCellStringValue(cell);
                 }
-                rows.add(cells);
+                handler.handle(lineNumber, cells);
             }
         }
-        return rows;
     }
 
     private static String getCellStringValue(Cell cell) {
@@ -80,11 +184,9 @@ public class FileReaderUtils {
             case STRING -> cell.getStringCellValue().trim();
             case NUMERIC -> {
                 if (DateUtil.isCellDateFormatted(cell)) {
-                    yield cell.getLocalDateTimeCellValue().toLocalDate()
-                            .format(DateTimeFormatter.ofPattern("d/M/yyyy"));
+                    yield cell.getLocalDateTimeCellValue().toLocalDate().format(DATE_FORMATTER);
                 }
-                double val = cell.getNumericCellValue();
-                yield val == Math.floor(val) ? String.valueOf((long) val) : String.valueOf(val);
+                yield formatNumber(cell.getNumericCellValue());
             }
             case BOOLEAN -> String.valueOf(cell.getBooleanCellValue());
             case FORMULA -> {
@@ -97,4 +199,65 @@ public class FileReaderUtils {
             default -> "";
         };
     }
+
+    private static String formatNumber(double val) {
+        return val == Math.floor(val) ? String.valueOf((long) val) : String.valueOf(val);
+    }
+
+    /**
+     * Arma cada fila a partir de los eventos SAX de la hoja. Las filas que no
+     * existen en el XML (huecos) se entregan como vacías para que el número de
+     * línea coincida con el de la hoja.
+     */
+    private static final class RowCollector implements SheetContentsHandler {
+
+        private final RowHandler handler;
+        private final List<String> cells = new ArrayList<>();
+        private int lastRow = -1;
+        private int currentCol = -1;
+
+        RowCollector(RowHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            for (int gap = lastRow + 1; gap < rowNum; gap++) {
+                handler.handle(gap + 1, new String[0]);
+            }
+            cells.clear();
+            currentCol = -1;
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            lastRow = rowNum;
+            handler.handle(rowNum + 1, cells.isEmpty() ? new String[0] : cells.toArray(new String[0]));
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int col = cellReference == null ? currentCol + 1 : new CellReference(cellReference).getCol();
+            while (cells.size() < col) {
+                cells.add("");
+            }
+            cells.add(formattedValue == null ? "" : formattedValue.trim());
+            currentCol = col;
+        }
+    }
+
+    /**
+     * Mismo formato que la lectura con WorkbookFactory: enteros sin decimales
+     * y fechas como d/M/yyyy.
+     */
+    private static final class ImportDataFormatter extends DataFormatter {
+
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString, boolean use1904Windowing) {
+            if (DateUtil.isADateFormat(formatIndex, formatString) && DateUtil.isValidExcelDate(value)) {
+                return DateUtil.getLocalDateTime(value, use1904Windowing).toLocalDate().format(DATE_FORMATTER);
+            }
+            return formatNumber(value);
+        }
+    }
 }
@@ -0,0 +1,183 @@
+package com.bowlingpoints.util;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Caché en memoria con vencimiento por tiempo y contadores de aciertos/fallos.
+ * <p>
+ * Si varias peticiones piden la misma clave mientras se está cargando, esperan
+ * la misma carga en lugar de repetirla. Invalidar una clave descarta también su
+ * carga en curso: no se guarda (para no dejar en caché datos anteriores al
+ * cambio) y las peticiones que llegan después ya no la esperan, sino que cargan
+ * de nuevo. Las cargas de otras claves no se ven afectadas.
+ * <p>
+ * Al llenarse se descartan primero las entradas vencidas y luego entradas
+ * cualesquiera (sin orden de uso), hasta volver a {@code maxEntries}.
+ */
+public class TtlCache<K, V> {
+
+    private final String name;
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final LongSupplier clock;
+
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<K, CompletableFuture<V>> loading = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public TtlCache(String name, Duration ttl, int maxEntries) {
+        this(name, ttl, maxEntries, System::currentTimeMillis);
+    }
+
+    public TtlCache(String name, Duration ttl, int maxEntries, LongSupplier clock) {
+        this.name = name;
+        this.ttlMillis = ttl.toMillis();
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    /**
+     * Retorna el valor en caché o lo carga con {@code loader}. Los errores del
+     * loader se propagan y no se guardan.
+     */
+    public V get(K key, Supplier<V> loader) {
+        return get(key, loader, value -> true);
+    }
+
+    /**
+     * Como {@link #get(Object, Supplier)}, pero solo guarda los valores que cumplen
+     * {@code cacheIf}; los demás se retornan (también a quienes esperaban la misma
+     * carga) y se vuelven a cargar en la siguiente petición.
+     */
+    public V get(K key, Supplier<V> loader, Predicate<V> cacheIf) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && entry.expiresAt() > clock.getAsLong()) {
+            hits.increment();
+            return entry.value();
+        }
+        misses.increment();
+
+        CompletableFuture<V> load = new CompletableFuture<>();
+        CompletableFuture<V> inFlight = loading.putIfAbsent(key, load);
+        if (inFlight != null) {
+            return await(inFlight);
+        }
+
+        try {
+            V value = loader.get();
+            if (!cacheIf.test(value)) {
+                load.complete(value);
+                return value;
+            }
+            // La carga solo se guarda si sigue registrada, es decir, si la clave no se
+            // invalidó mientras tanto. invalidate() la quita dentro del compute de la
+            // misma clave, así que la comprobación y el guardado no se intercalan con él
+            entries.compute(key, (k, current) -> loading.get(k) == load
+                    ? new Entry<>(value, clock.getAsLong() + ttlMillis)
+                    : current);
+            evictIfFull();
+            load.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, load);
+        }
+    }
+
+    /**
+     * Retorna el valor en caché sin cargarlo, o null si no está o venció.
+     */
+    public V getIfPresent(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && entry.expiresAt() > clock.getAsLong()) {
+            hits.increment();
+            return entry.value();
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Guarda un valor cargado fuera de {@link #get}, por ejemplo de forma asíncrona.
+     * Quien llama debe evitar guardar valores anteriores a una invalidación.
+     */
+    public void put(K key, V value) {
+        entries.put(key, new Entry<>(value, clock.getAsLong() + ttlMillis));
+        evictIfFull();
+    }
+
+    public void invalidate(K key) {
+        entries.compute(key, (k, current) -> {
+            loading.remove(k);
+            return null;
+        });
+        invalidations.increment();
+    }
+
+    public void invalidateAll() {
+        // Primero las cargas en curso, para que ninguna vuelva a guardar tras el clear
+        loading.clear();
+        entries.clear();
+        invalidations.increment();
+    }
+
+    public Stats stats() {
+        return new Stats(name, hits.sum(), misses.sum(), invalidations.sum(), evictions.sum(), entries.size());
+    }
+
+    private void evictIfFull() {
+        if (entries.size() <= maxEntries) return;
+
+        long now = clock.getAsLong();
+        entries.values().removeIf(e -> {
+            if (e.expiresAt() > now) return false;
+            evictions.increment();
+            return true;
+        });
+
+        Iterator<K> keys = entries.keySet().iterator();
+        while (entries.size() > maxEntries && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+            evictions.increment();
+        }
+    }
+
+    private V await(CompletableFuture<V> inFlight) {
+        try {
+            return inFlight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+
+    /**
+     * Contadores acumulados desde el arranque. {@code evictions} cuenta las entradas
+     * descartadas por tamaño o vencimiento al llenarse la caché, no las invalidaciones.
+     */
+    public record Stats(String name, long hits, long misses, long invalidations, long evictions, int size) {
+
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+}
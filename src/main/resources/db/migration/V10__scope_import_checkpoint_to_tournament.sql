@@ -0,0 +1,15 @@
+-- El checkpoint de una importación por bloques queda asociado al torneo del archivo:
+-- el mismo archivo puede volver a importarse en otro torneo o después de eliminar
+-- los resultados del torneo.
+
+-- Los checkpoints anteriores no registran el torneo y no se pueden asociar;
+-- se descartan (al volver a subir el archivo, las filas ya guardadas se saltan como duplicadas)
+DELETE FROM import_checkpoint;
+
+ALTER TABLE import_checkpoint DROP CONSTRAINT import_checkpoint_file_hash_key;
+
+ALTER TABLE import_checkpoint
+    ADD COLUMN tournament_id INT NOT NULL REFERENCES tournament(tournament_id) ON DELETE CASCADE;
+
+CREATE UNIQUE INDEX uk_import_checkpoint_file_tournament
+    ON import_checkpoint(file_hash, tournament_id);
@@ -0,0 +1,29 @@
+-- Tabla: import_job
+-- Estado y reporte de las importaciones de archivos que se ejecutan en segundo plano
+CREATE TABLE import_job (
+    import_job_id SERIAL PRIMARY KEY,
+    job_type VARCHAR(40) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    file_name VARCHAR(255),
+    rows_processed INT NOT NULL DEFAULT 0,
+    created_count INT NOT NULL DEFAULT 0,
+    skipped_count INT NOT NULL DEFAULT 0,
+    error_count INT NOT NULL DEFAULT 0,
+    message TEXT,
+    created_by INT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    started_at TIMESTAMP,
+    finished_at TIMESTAMP
+);
+
+-- Tabla: import_job_error
+-- Errores por línea de cada importación, en el orden en que se produjeron
+CREATE TABLE import_job_error (
+    import_job_error_id SERIAL PRIMARY KEY,
+    import_job_id INT NOT NULL,
+    error_index INT NOT NULL,
+    message TEXT NOT NULL,
+    CONSTRAINT fk_import_job_error_job FOREIGN KEY (import_job_id) REFERENCES import_job(import_job_id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_import_job_error_job ON import_job_error(import_job_id, error_index);
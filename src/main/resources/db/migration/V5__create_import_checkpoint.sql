@@ -0,0 +1,14 @@
+-- Tabla: import_checkpoint
+-- Avance de las importaciones de resultados por bloques, identificado por el hash del archivo
+CREATE TABLE import_checkpoint (
+    import_checkpoint_id SERIAL PRIMARY KEY,
+    file_hash VARCHAR(64) NOT NULL UNIQUE,
+    file_name VARCHAR(255),
+    last_committed_line INT NOT NULL DEFAULT 0,
+    created_count INT NOT NULL DEFAULT 0,
+    skipped_count INT NOT NULL DEFAULT 0,
+    completed BOOLEAN NOT NULL DEFAULT FALSE,
+    created_by INT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,24 @@
+-- Tabla: player_ranking_stats
+-- Agregados por jugador para el ranking general; se recalculan solo para las
+-- personas cuyos resultados cambian, en la misma transacción que el cambio
+CREATE TABLE player_ranking_stats (
+    person_id INT PRIMARY KEY,
+    total_score BIGINT NOT NULL,
+    games_count INT NOT NULL,
+    best_game INT NOT NULL,
+    tournaments_count BIGINT NOT NULL,
+    average_score DOUBLE PRECISION NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_player_ranking_stats_person FOREIGN KEY (person_id) REFERENCES person(person_id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_player_ranking_stats_average ON player_ranking_stats(average_score DESC, person_id);
+
+-- Carga inicial con el histórico existente
+INSERT INTO player_ranking_stats (person_id, total_score, games_count, best_game, tournaments_count, average_score, updated_at)
+SELECT r.person_id, SUM(r.score), COUNT(*), MAX(r.score), COUNT(DISTINCT r.tournament_id), AVG(r.score), CURRENT_TIMESTAMP
+FROM result r
+WHERE r.deleted_at IS NULL
+  AND r.person_id IS NOT NULL
+  AND r.tournament_id IS NOT NULL
+GROUP BY r.person_id;
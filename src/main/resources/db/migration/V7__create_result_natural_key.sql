@@ -0,0 +1,42 @@
+-- Clave natural de result: una sola línea vigente por persona, torneo, modalidad,
+-- ronda y número de línea. Los resultados eliminados (deleted_at) no cuentan.
+
+-- Los duplicados existentes se marcan como eliminados; se conserva el más antiguo,
+-- igual que hace la importación al saltar los resultados que ya existen
+UPDATE result
+SET deleted_at = CURRENT_TIMESTAMP,
+    updated_at = CURRENT_TIMESTAMP
+WHERE result_id IN (
+    SELECT result_id
+    FROM (
+        SELECT result_id,
+               ROW_NUMBER() OVER (
+                   PARTITION BY person_id, tournament_id, modality_id, round_number, line_number
+                   ORDER BY result_id
+               ) AS rn
+        FROM result
+        WHERE deleted_at IS NULL
+          AND person_id IS NOT NULL
+          AND tournament_id IS NOT NULL
+          AND modality_id IS NOT NULL
+          AND round_number IS NOT NULL
+          AND line_number IS NOT NULL
+    ) ranked
+    WHERE ranked.rn > 1
+);
+
+-- Los agregados del ranking se recalculan sin los duplicados descartados
+DELETE FROM player_ranking_stats;
+
+INSERT INTO player_ranking_stats (person_id, total_score, games_count, best_game, tournaments_count, average_score, updated_at)
+SELECT r.person_id, SUM(r.score), COUNT(*), MAX(r.score), COUNT(DISTINCT r.tournament_id), AVG(r.score), CURRENT_TIMESTAMP
+FROM result r
+WHERE r.deleted_at IS NULL
+  AND r.person_id IS NOT NULL
+  AND r.tournament_id IS NOT NULL
+GROUP BY r.person_id;
+
+-- Destino de ON CONFLICT en la carga masiva y garantía frente a inserciones concurrentes
+CREATE UNIQUE INDEX uk_result_natural_key
+    ON result(person_id, tournament_id, modality_id, round_number, line_number)
+    WHERE deleted_at IS NULL;
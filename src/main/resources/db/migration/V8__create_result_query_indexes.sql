@@ -0,0 +1,22 @@
+-- Índices de result según las consultas reales (ResultRepository). Todas filtran
+-- deleted_at IS NULL, así que los índices son parciales y no crecen con los
+-- resultados eliminados.
+
+-- Consultas por torneo: tabla de resultados por modalidad (findRawPlayerResultsForTable),
+-- totales por modalidad y rama, clasificación en memoria, jugadores por rama y rondas.
+-- La ronda cubre el filtro opcional y el orden de la tabla
+CREATE INDEX idx_result_active_tournament_modality
+    ON result(tournament_id, modality_id, round_number)
+    WHERE deleted_at IS NULL;
+
+-- Consultas por jugador: dashboard, promedios por torneo y modalidad y el recálculo
+-- de player_ranking_stats. Las columnas incluidas permiten agregarlos solo con el índice
+CREATE INDEX idx_result_active_person
+    ON result(person_id, tournament_id)
+    INCLUDE (modality_id, score)
+    WHERE deleted_at IS NULL;
+
+-- Club activo de cada persona, consultado por jugador en la clasificación y en la tabla
+CREATE INDEX idx_club_person_active_person
+    ON club_person(person_id)
+    WHERE status = true AND deleted_at IS NULL;
@@ -0,0 +1,21 @@
+-- Secuencias de las tablas con inserciones masivas para el optimizador pooled de
+-- Hibernate (allocationSize = 50): cada nextval reserva un bloque de 50 ids, que
+-- Hibernate asigna en memoria, y los INSERT de saveAll se envían en batch.
+-- El nextval devuelve el último id de su bloque; cada secuencia se alinea con el id
+-- máximo actual para que el primer bloque empiece justo después.
+
+ALTER SEQUENCE result_result_id_seq INCREMENT BY 50;
+SELECT setval('result_result_id_seq', GREATEST(COALESCE((SELECT MAX(result_id) FROM result), 0), 1));
+
+ALTER SEQUENCE person_person_id_seq INCREMENT BY 50;
+SELECT setval('person_person_id_seq', GREATEST(COALESCE((SELECT MAX(person_id) FROM person), 0), 1));
+
+ALTER SEQUENCE users_user_id_seq INCREMENT BY 50;
+SELECT setval('users_user_id_seq', GREATEST(COALESCE((SELECT MAX(user_id) FROM users), 0), 1));
+
+ALTER SEQUENCE user_role_user_role_id_seq INCREMENT BY 50;
+SELECT setval('user_role_user_role_id_seq', GREATEST(COALESCE((SELECT MAX(user_role_id) FROM user_role), 0), 1));
+
+ALTER SEQUENCE tournament_registration_registration_id_seq INCREMENT BY 50;
+SELECT setval('tournament_registration_registration_id_seq',
+              GREATEST(COALESCE((SELECT MAX(registration_id) FROM tournament_registration), 0), 1));
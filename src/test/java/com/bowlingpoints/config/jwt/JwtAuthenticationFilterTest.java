@@ -0,0 +1,124 @@
+package com.bowlingpoints.config.jwt;
+
+import com.bowlingpoints.event.UserChangedEvent;
+import com.bowlingpoints.repository.UserRepository;
+import com.bowlingpoints.util.TtlCache;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private FilterChain filterChain;
+
+    private final JwtService jwtService = JwtServiceTest.newJwtService(60_000);
+    private ActiveUserCache activeUserCache;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        activeUserCache = new ActiveUserCache(userRepository, new TtlCache<>("active-users", Duration.ofMinutes(1), 100));
+        filter = new JwtAuthenticationFilter(jwtService, activeUserCache);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private Authentication filterWith(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        if (token != null) request.addHeader("Authorization", "Bearer " + token);
+
+        filter.doFilterInternal(request, new MockHttpServletResponse(), filterChain);
+
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Test
+    void validToken_AuthenticatesFromClaimsWithCachedStatusCheck() throws Exception {
+        when(userRepository.existsByNicknameAndStatusTrueAndDeletedAtIsNull("ana")).thenReturn(true);
+        String token = jwtService.getToken(JwtServiceTest.user("ana", "ADMIN"));
+
+        Authentication first = filterWith(token);
+        Authentication second = filterWith(token);
+
+        assertEquals("ana", first.getPrincipal());
+        assertEquals(List.of("ADMIN"), first.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+        assertNotNull(second);
+        // Una sola consulta pequeña para las dos peticiones; no se carga el usuario completo
+        verify(userRepository, times(1)).existsByNicknameAndStatusTrueAndDeletedAtIsNull("ana");
+        verifyNoMoreInteractions(userRepository);
+        verify(filterChain, times(2)).doFilter(any(), any());
+    }
+
+    @Test
+    void disabledUser_IsNotAuthenticated() throws Exception {
+        when(userRepository.existsByNicknameAndStatusTrueAndDeletedAtIsNull("ana")).thenReturn(false);
+
+        assertNull(filterWith(jwtService.getToken(JwtServiceTest.user("ana", "ADMIN"))));
+        verify(filterChain).doFilter(any(), any());
+    }
+
+    @Test
+    void inactiveLookup_IsNotCached_UserCreatedLaterAuthenticates() throws Exception {
+        // Un usuario creado (o importado) sin UserChangedEvent no queda bloqueado por una
+        // respuesta negativa anterior
+        when(userRepository.existsByNicknameAndStatusTrueAndDeletedAtIsNull("ana")).thenReturn(false, true);
+        String token = jwtService.getToken(JwtServiceTest.user("ana", "ADMIN"));
+
+        assertNull(filterWith(token));
+        assertNotNull(filterWith(token));
+        assertNotNull(filterWith(token));
+
+        verify(userRepository, times(2)).existsByNicknameAndStatusTrueAndDeletedAtIsNull("ana");
+    }
+
+    @Test
+    void userChanged_RechecksStatusOnNextRequest() throws Exception {
+        when(userRepository.existsByNicknameAndStatusTrueAndDeletedAtIsNull("ana")).thenReturn(true, false);
+        String token = jwtService.getToken(JwtServiceTest.user("ana", "ADMIN"));
+
+        assertNotNull(filterWith(token));
+        activeUserCache.onUserChanged(new UserChangedEvent(Set.of("ana")));
+
+        assertNull(filterWith(token));
+    }
+
+    @Test
+    void invalidToken_ContinuesWithoutAuthentication() throws Exception {
+        assertNull(filterWith("no-es-un-jwt"));
+
+        verifyNoInteractions(userRepository);
+        verify(filterChain).doFilter(any(), any());
+    }
+
+    @Test
+    void missingToken_ContinuesWithoutAuthentication() throws Exception {
+        assertNull(filterWith(null));
+
+        verifyNoInteractions(userRepository);
+    }
+}
@@ -0,0 +1,89 @@
+package com.bowlingpoints.config.jwt;
+
+import com.bowlingpoints.entity.Person;
+import com.bowlingpoints.entity.Role;
+import com.bowlingpoints.entity.User;
+import com.bowlingpoints.entity.UserRole;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+
+    static final String SECRET = Base64.getEncoder()
+            .encodeToString("clave-de-pruebas-de-32-bytes-min!".getBytes());
+
+    private JwtService jwtService;
+
+    static JwtService newJwtService(long expirationMs) {
+        JwtConfig config = new JwtConfig();
+        config.setSecret(SECRET);
+        config.setExpiration(expirationMs);
+        JwtService service = new JwtService(config);
+        service.init();
+        return service;
+    }
+
+    static User user(String nickname, String... roles) {
+        User user = User.builder()
+                .userId(1)
+                .nickname(nickname)
+                .status(true)
+                .person(Person.builder().email(nickname + "@test.com").build())
+                .userRoles(new ArrayList<>())
+                .build();
+        for (String role : roles) {
+            user.getUserRoles().add(UserRole.builder().user(user).role(Role.builder().name(role).build()).status(true).build());
+        }
+        return user;
+    }
+
+    @BeforeEach
+    void setUp() {
+        jwtService = newJwtService(60_000);
+    }
+
+    @Test
+    void getAllClaims_ReadsSubjectAndRolesFromSignedToken() {
+        String token = jwtService.getToken(user("ana", "ADMIN", "JUGADOR"));
+
+        Claims claims = jwtService.getAllClaims(token);
+
+        assertEquals("ana", claims.getSubject());
+        assertEquals("ana", jwtService.getUsernameFromToken(token));
+        assertEquals(List.of("ADMIN", "JUGADOR"),
+                jwtService.getAuthorities(claims).stream().map(GrantedAuthority::getAuthority).toList());
+    }
+
+    @Test
+    void getAllClaims_RejectsTamperedToken() {
+        String token = jwtService.getToken(user("ana", "ADMIN"));
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> jwtService.getAllClaims(tampered));
+    }
+
+    @Test
+    void getAllClaims_RejectsExpiredToken() {
+        String token = newJwtService(-1_000).getToken(user("ana"));
+
+        assertThrows(ExpiredJwtException.class, () -> jwtService.getAllClaims(token));
+    }
+
+    @Test
+    void getAuthorities_WithoutRolesClaim_ReturnsEmpty() {
+        Claims claims = jwtService.getAllClaims(jwtService.getToken(user("ana")));
+        claims.remove("roles");
+
+        assertTrue(jwtService.getAuthorities(claims).isEmpty());
+    }
+}
@@ -0,0 +1,65 @@
+package com.bowlingpoints.controller;
+
+import com.bowlingpoints.config.jwt.JwtService;
+import com.bowlingpoints.exception.BusinessException;
+import com.bowlingpoints.service.ai.AiAnalysisService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Mono;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = AiAnalysisController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@ContextConfiguration(classes = {AiAnalysisController.class})
+class AiAnalysisControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AiAnalysisService aiAnalysisService;
+
+    @MockBean
+    private JwtService jwtService;
+
+    @Test
+    void analyzeGlobal_RespondsAsynchronously() throws Exception {
+        when(aiAnalysisService.analyzeGlobalAsync(1, 2, null)).thenReturn(Mono.just("Análisis"));
+
+        MvcResult result = mockMvc.perform(get("/api/ai/analizar-resultados-globales")
+                        .param("branchId", "1")
+                        .param("categoryId", "2"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.analysis", is("Análisis")));
+    }
+
+    @Test
+    void analyzeGlobal_WhenAiIsBusy_Returns503() throws Exception {
+        when(aiAnalysisService.analyzeGlobalAsync(isNull(), isNull(), isNull()))
+                .thenReturn(Mono.error(new BusinessException("ERR-503", "Hay demasiadas consultas de IA en curso")));
+
+        MvcResult result = mockMvc.perform(get("/api/ai/analizar-resultados-globales"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.analysis", is("Hay demasiadas consultas de IA en curso")));
+    }
+}
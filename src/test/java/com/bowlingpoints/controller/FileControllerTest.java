@@ -1,7 +1,12 @@
 package com.bowlingpoints.controller;
 
+import com.bowlingpoints.dto.ImportJobDTO;
 import com.bowlingpoints.dto.PersonImportResponse;
+import com.bowlingpoints.enums.ImportJobStatus;
+import com.bowlingpoints.enums.ImportJobType;
+import com.bowlingpoints.service.ImportJobService;
 import com.bowlingpoints.service.PersonImportService;
+import com.bowlingpoints.config.jwt.ActiveUserCache;
 import com.bowlingpoints.config.jwt.JwtService;
 import com.bowlingpoints.service.TeamPersonImportService;
 import com.bowlingpoints.service.ResultImportService;
@@ -17,10 +22,17 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -44,9 +56,15 @@ class FileControllerTest {
     @MockBean
     private TournamentRegistrationImportService tournamentRegistrationImportService;
 
+    @MockBean
+    private ImportJobService importJobService;
+
     @MockBean
     private JwtService jwtService;
 
+    @MockBean
+    private ActiveUserCache activeUserCache;
+
     @Test
     void importPersons_Success() throws Exception {
         String csv = "document;names;surnames;email;gender;birthDate;phone\n" +
@@ -137,4 +155,101 @@ class FileControllerTest {
                         .contentType(MediaType.MULTIPART_FORM_DATA))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    void importResults_BulkCopy_UsesBulkImport() throws Exception {
+        String csv = "documento,nombreTorneo,categoria,modalidad,rama,equipo\n";
+        MockMultipartFile file = new MockMultipartFile("file", "results.csv", "text/csv",
+                csv.getBytes(StandardCharsets.UTF_8));
+
+        var importResult = new ResultImportService.ImportResult(3, 1, Collections.emptyList());
+        when(resultImportService.importCsvBulk(any(), eq(42), eq(true))).thenReturn(importResult);
+
+        mockMvc.perform(multipart("/files/results")
+                        .file(file)
+                        .param("userId", "42")
+                        .param("bulkCopy", "true")
+                        .contentType(MediaType.MULTIPART_FORM_DATA))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(3))
+                .andExpect(jsonPath("$.skipped").value(1));
+
+        verify(resultImportService, never()).importCsv(any(), any(), anyBoolean());
+    }
+
+    @Test
+    void importResults_Async_ReturnsJobWithoutImporting() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "results.csv", "text/csv",
+                "documento\n".getBytes(StandardCharsets.UTF_8));
+
+        ImportJobDTO job = ImportJobDTO.builder()
+                .jobId(7)
+                .type(ImportJobType.RESULTS)
+                .status(ImportJobStatus.PENDING)
+                .errors(List.of())
+                .build();
+        when(importJobService.submit(eq(ImportJobType.RESULTS), any(), eq(42), eq(true), eq(false), isNull())).thenReturn(job);
+
+        mockMvc.perform(multipart("/files/results")
+                        .file(file)
+                        .param("userId", "42")
+                        .param("async", "true")
+                        .contentType(MediaType.MULTIPART_FORM_DATA))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.jobId").value(7))
+                .andExpect(jsonPath("$.status").value("PENDING"));
+
+        verify(resultImportService, never()).importCsv(any(), any(), anyBoolean());
+    }
+
+    @Test
+    void importPersons_AsyncWithFullQueue_ServiceUnavailable() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "persons.csv", "text/csv",
+                "doc;nombre\n".getBytes(StandardCharsets.UTF_8));
+
+        ImportJobDTO job = ImportJobDTO.builder()
+                .jobId(8)
+                .type(ImportJobType.PERSONS)
+                .status(ImportJobStatus.FAILED)
+                .message("Hay demasiadas importaciones en curso, intente más tarde.")
+                .errors(List.of())
+                .build();
+        when(importJobService.submit(eq(ImportJobType.PERSONS), any(), any(), eq(true), eq(false), isNull())).thenReturn(job);
+
+        mockMvc.perform(multipart("/files/persons")
+                        .file(file)
+                        .param("async", "true")
+                        .contentType(MediaType.MULTIPART_FORM_DATA))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.status").value("FAILED"));
+    }
+
+    @Test
+    void getImportJob_ReturnsProgressAndNewErrors() throws Exception {
+        ImportJobDTO job = ImportJobDTO.builder()
+                .jobId(7)
+                .type(ImportJobType.RESULTS)
+                .status(ImportJobStatus.RUNNING)
+                .rowsProcessed(1500)
+                .created(1490)
+                .errorCount(12)
+                .errorsFrom(10)
+                .errors(List.of("Línea 900: error", "Línea 1200: error"))
+                .build();
+        when(importJobService.getJob(7, 10)).thenReturn(Optional.of(job));
+
+        mockMvc.perform(get("/files/jobs/7").param("errorsFrom", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rowsProcessed").value(1500))
+                .andExpect(jsonPath("$.created").value(1490))
+                .andExpect(jsonPath("$.errors.length()").value(2));
+    }
+
+    @Test
+    void getImportJob_Unknown_NotFound() throws Exception {
+        when(importJobService.getJob(99, 0)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/files/jobs/99"))
+                .andExpect(status().isNotFound());
+    }
 }
@@ -1,6 +1,11 @@
 package com.bowlingpoints.controller;
 
 import com.bowlingpoints.dto.*;
+import com.bowlingpoints.enums.ErrorsEnum;
+import com.bowlingpoints.exception.BusinessException;
+import com.bowlingpoints.exception.ConflictException;
+import com.bowlingpoints.exception.GlobalExceptionHandler;
+import com.bowlingpoints.service.LiveScoreboardService;
 import com.bowlingpoints.service.ResultService;
 import com.bowlingpoints.service.TournamentService;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,15 +13,23 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -32,18 +45,22 @@ class ResultControllerTest {
     @Mock
     private TournamentService tournamentService;
 
+    @Mock
+    private LiveScoreboardService liveScoreboardService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
     @InjectMocks
     private ResultController resultController;
 
     private MockMvc mockMvc;
-    private ObjectMapper objectMapper;
 
     private ResultDTO sampleResult;
 
     @BeforeEach
     void setUp() {
         mockMvc = MockMvcBuilders.standaloneSetup(resultController).build();
-        objectMapper = new ObjectMapper();
 
         sampleResult = ResultDTO.builder()
                 .resultId(1)
@@ -67,6 +84,52 @@ class ResultControllerTest {
                 .andExpect(jsonPath("$.data[0].personName").value("John Doe"));
     }
 
+    @Test
+    void getPage_ShouldReturnCursorPage() throws Exception {
+        ResultPageDTO page = ResultPageDTO.builder()
+                .items(List.of(sampleResult))
+                .nextCursor(1)
+                .hasMore(true)
+                .size(1)
+                .build();
+        when(resultService.getPage(0, 1)).thenReturn(page);
+
+        mockMvc.perform(get("/results/page")
+                        .param("afterId", "0")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items[0].personName").value("John Doe"))
+                .andExpect(jsonPath("$.data.nextCursor").value(1))
+                .andExpect(jsonPath("$.data.hasMore").value(true));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void streamAll_ShouldWriteOneJsonObjectPerLine() throws Exception {
+        doAnswer(inv -> {
+            Consumer<ResultDTO> consumer = inv.getArgument(0);
+            consumer.accept(sampleResult);
+            consumer.accept(ResultDTO.builder().resultId(2).score(180).build());
+            return null;
+        }).when(resultService).streamAll(any());
+
+        MvcResult mvcResult = mockMvc.perform(get("/results/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(1, objectMapper.readTree(lines[0]).get("resultId").asInt());
+        assertEquals(180, objectMapper.readTree(lines[1]).get("score").asInt());
+        // Serializa con el ObjectMapper de Spring inyectado
+        verify(objectMapper).writerFor(ResultDTO.class);
+    }
+
     @Test
     void getById_ShouldReturnOk_WhenFound() throws Exception {
         when(resultService.getById(1)).thenReturn(sampleResult);
@@ -85,6 +148,22 @@ class ResultControllerTest {
                 .andExpect(jsonPath("$.success").value(false));
     }
 
+    @Test
+    void create_ShouldReturnConflict_WhenResultAlreadyExists() throws Exception {
+        MockMvc mockMvcWithAdvice = MockMvcBuilders.standaloneSetup(resultController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+        when(resultService.create(any(ResultDTO.class)))
+                .thenThrow(new ConflictException("ERR-409", "Ya existe un resultado"));
+
+        mockMvcWithAdvice.perform(post("/results")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(sampleResult)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.message").value("[ERR-409] Ya existe un resultado"));
+    }
+
     @Test
     void create_ShouldReturnOk_WhenCreated() throws Exception {
         when(resultService.create(any(ResultDTO.class))).thenReturn(sampleResult);
@@ -164,6 +243,31 @@ class ResultControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void streamLiveScoreboard_ShouldStartAsyncEventStream() throws Exception {
+        when(liveScoreboardService.subscribe(1, 2)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/results/live")
+                        .param("tournamentId", "1")
+                        .param("modalityId", "2")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+
+        verify(liveScoreboardService).subscribe(1, 2);
+    }
+
+    @Test
+    void streamLiveScoreboard_WhenFull_ShouldReturn503() throws Exception {
+        when(liveScoreboardService.subscribe(1, 2)).thenThrow(
+                new BusinessException(ErrorsEnum.SERVICE_UNAVAILABLE.getCode(), "Sin cupo"));
+
+        mockMvc.perform(get("/results/live")
+                        .param("tournamentId", "1")
+                        .param("modalityId", "2")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isServiceUnavailable());
+    }
+
     @Test
     void getResultsByModality_ShouldReturnOk() throws Exception {
         TournamentResultsResponseDTO dto = TournamentResultsResponseDTO.builder().build();
@@ -184,6 +288,20 @@ class ResultControllerTest {
                 .andExpect(jsonPath("$.data[0].fullName").value("John"));
     }
 
+    @Test
+    void getAllPlayerRanking_WithSize_ReturnsRequestedPage() throws Exception {
+        DashboardPlayerDTO player = DashboardPlayerDTO.builder().position(21).fullName("Ana").averageScore(190.0).build();
+        when(resultService.getPlayerRankingPage(1, 20)).thenReturn(List.of(player));
+
+        mockMvc.perform(get("/results/all-player-ranking")
+                        .param("page", "1")
+                        .param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].position").value(21));
+
+        verify(resultService, never()).getAllPlayersByAvgScore();
+    }
+
     @Test
     void getTournamentsByAmbit_ShouldReturnOk() throws Exception {
         TournamentDTO t = TournamentDTO.builder().tournamentId(1).name("Test").build();
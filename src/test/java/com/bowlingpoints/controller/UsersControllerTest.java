@@ -2,6 +2,7 @@ package com.bowlingpoints.controller;
 
 import com.bowlingpoints.config.jwt.JwtService;
 import com.bowlingpoints.dto.UserFullDTO;
+import com.bowlingpoints.dto.UserPageDTO;
 import com.bowlingpoints.service.UserFullService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -56,6 +57,26 @@ class UsersControllerTest {
                 .andExpect(jsonPath("$.data[0].fullName", is("John Doe")));
     }
 
+    @Test
+    void shouldReturnUsersPage() throws Exception {
+        when(userFullService.getUsersPage(10, 20, "doe", "jugador")).thenReturn(UserPageDTO.builder()
+                .items(List.of(mockUser))
+                .nextCursor(1)
+                .hasMore(true)
+                .size(1)
+                .build());
+
+        mockMvc.perform(get("/users/page")
+                        .param("afterId", "10")
+                        .param("size", "20")
+                        .param("search", "doe")
+                        .param("role", "jugador"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items[0].fullName", is("John Doe")))
+                .andExpect(jsonPath("$.data.nextCursor", is(1)))
+                .andExpect(jsonPath("$.data.hasMore", is(true)));
+    }
+
     @Test
     void shouldReturnActiveUsers() throws Exception {
         when(userFullService.getAllActiveUsers()).thenReturn(List.of(mockUser));
@@ -0,0 +1,156 @@
+package com.bowlingpoints.repository;
+
+import com.bowlingpoints.entity.*;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica con las estadísticas de Hibernate que los saveAll de las importaciones
+ * se envían en batch: con ids de secuencia (pooled) cada lote de 50 filas usa una
+ * sola sentencia preparada, en lugar de una por fila como con IDENTITY.
+ * Usa el batch_size y order_inserts de application.properties.
+ */
+@DataJpaTest
+@Import(JpaTestFixtures.class)
+@ActiveProfiles("h2")
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class BatchInsertTest {
+
+    private static final int ROWS = 200;
+
+    // 200 filas en lotes de 50: 4 INSERT en batch y 4 nextval, con margen
+    private static final long MAX_STATEMENTS_PER_ENTITY = 10;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private JpaTestFixtures fixtures;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserRoleRepository userRoleRepository;
+
+    @Autowired
+    private ResultRepository resultRepository;
+
+    @Autowired
+    private TournamentRegistrationRepository tournamentRegistrationRepository;
+
+    private Statistics stats;
+    private Tournament tournament;
+    private Modality modality;
+    private Role playerRole;
+
+    @BeforeEach
+    void setUp() {
+        stats = fixtures.statistics();
+        tournament = fixtures.tournament("Torneo", null, "En curso", LocalDate.of(2025, 1, 1));
+        modality = fixtures.modality("Sencillos");
+        playerRole = em.persist(Role.builder().name("JUGADOR").build());
+        em.flush();
+    }
+
+    private List<Person> newPersons() {
+        List<Person> persons = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            persons.add(fixtures.newPerson("Jugador", String.valueOf(i)));
+        }
+        return persons;
+    }
+
+    private long statementsToFlush(Runnable save) {
+        stats.clear();
+        save.run();
+        em.flush();
+        return stats.getPrepareStatementCount();
+    }
+
+    @Test
+    void personImportEntities_AreInsertedInBatches() {
+        List<Person> persons = newPersons();
+        List<User> users = new ArrayList<>();
+        List<UserRole> userRoles = new ArrayList<>();
+        for (Person person : persons) {
+            User user = User.builder().nickname(person.getDocument()).password("x").status(true).person(person).build();
+            users.add(user);
+            userRoles.add(UserRole.builder().user(user).role(playerRole).status(true).build());
+        }
+
+        // Mismo orden que PersonImportService: personas, usuarios y roles
+        long statements = statementsToFlush(() -> {
+            personRepository.saveAll(persons);
+            userRepository.saveAll(users);
+            userRoleRepository.saveAll(userRoles);
+        });
+
+        assertTrue(statements <= 3 * MAX_STATEMENTS_PER_ENTITY, "Sentencias preparadas: " + statements);
+        assertEquals(ROWS, personRepository.count());
+        assertTrue(users.stream().allMatch(u -> u.getUserId() > 0));
+    }
+
+    @Test
+    void results_AreInsertedInBatches() {
+        List<Person> persons = personRepository.saveAll(newPersons());
+        em.flush();
+
+        List<Result> results = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            results.add(Result.builder()
+                    .person(persons.get(i)).tournament(tournament).modality(modality)
+                    .roundNumber(1).lineNumber(1).laneNumber(1).score(150 + i % 100)
+                    .build());
+        }
+
+        long statements = statementsToFlush(() -> resultRepository.saveAll(results));
+
+        assertTrue(statements <= MAX_STATEMENTS_PER_ENTITY, "Sentencias preparadas: " + statements);
+        assertTrue(results.stream().allMatch(r -> r.getResultId() != null));
+    }
+
+    @Test
+    void saveAll_AssignsIdsBeforeFlush() {
+        stats.clear();
+        List<Person> persons = personRepository.saveAll(newPersons());
+
+        // Con IDENTITY cada save habría ejecutado su INSERT para obtener el id
+        assertEquals(0, stats.getEntityInsertCount());
+        assertTrue(persons.stream().allMatch(p -> p.getPersonId() != null));
+        assertEquals(ROWS, persons.stream().map(Person::getPersonId).distinct().count());
+    }
+
+    @Test
+    void registrations_AreInsertedInBatches() {
+        List<Person> persons = personRepository.saveAll(newPersons());
+        em.flush();
+
+        List<TournamentRegistration> registrations = new ArrayList<>();
+        for (Person person : persons) {
+            registrations.add(TournamentRegistration.builder()
+                    .tournament(tournament).person(person).modality(modality).status(true)
+                    .build());
+        }
+
+        long statements = statementsToFlush(() -> tournamentRegistrationRepository.saveAll(registrations));
+
+        assertTrue(statements <= MAX_STATEMENTS_PER_ENTITY, "Sentencias preparadas: " + statements);
+    }
+}
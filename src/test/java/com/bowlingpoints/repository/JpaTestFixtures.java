@@ -0,0 +1,75 @@
+package com.bowlingpoints.repository;
+
+import com.bowlingpoints.entity.*;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestComponent;
+
+import java.time.LocalDate;
+
+/**
+ * Datos de prueba comunes de los tests @DataJpaTest: catálogos, personas y
+ * torneos persistidos con {@link TestEntityManager}, y las estadísticas de
+ * Hibernate para contar sentencias. Se agrega con {@code @Import(JpaTestFixtures.class)}.
+ */
+@TestComponent
+@RequiredArgsConstructor
+class JpaTestFixtures {
+
+    private final TestEntityManager em;
+    private final EntityManagerFactory entityManagerFactory;
+
+    Ambit ambit() {
+        return em.persist(Ambit.builder().name("Nacional").status(true).build());
+    }
+
+    Category category(String name) {
+        return em.persist(Category.builder().name(name).status(true).build());
+    }
+
+    Modality modality(String name) {
+        return em.persist(Modality.builder().name(name).status(true).build());
+    }
+
+    Branch branch(String name) {
+        return em.persist(Branch.builder().name(name).status(true).build());
+    }
+
+    /**
+     * Torneo activo de un día, desde {@code startDate}. El ámbito puede ser null.
+     */
+    Tournament tournament(String name, Ambit ambit, String stage, LocalDate startDate) {
+        return em.persist(Tournament.builder()
+                .name(name).ambit(ambit).stage(stage).status(true)
+                .startDate(startDate).endDate(startDate.plusDays(1))
+                .build());
+    }
+
+    Person person(String name) {
+        return person(name, "Test");
+    }
+
+    Person person(String name, String surname) {
+        return em.persist(newPerson(name, surname));
+    }
+
+    /**
+     * Persona sin guardar, con documento y correo únicos por nombre y apellido.
+     */
+    Person newPerson(String name, String surname) {
+        return Person.builder()
+                .document("DOC-" + name + "-" + surname).fullName(name).fullSurname(surname)
+                .email(name + "." + surname + "@test.com").status(true)
+                .build();
+    }
+
+    /**
+     * Estadísticas de Hibernate; requieren hibernate.generate_statistics=true.
+     */
+    Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
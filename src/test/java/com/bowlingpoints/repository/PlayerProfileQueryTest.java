@@ -0,0 +1,101 @@
+package com.bowlingpoints.repository;
+
+import com.bowlingpoints.dto.PlayerProfileProjection;
+import com.bowlingpoints.entity.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica en H2 el perfil público de {@link PersonRepository#findPlayerProfile}:
+ * una sola consulta y solo el club de una afiliación activa.
+ */
+@DataJpaTest
+@Import(JpaTestFixtures.class)
+@ActiveProfiles("h2")
+class PlayerProfileQueryTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private JpaTestFixtures fixtures;
+
+    private Person ana;
+
+    @BeforeEach
+    void setUp() {
+        ana = fixtures.person("Ana", "Gómez");
+        ana.setBirthDate(LocalDate.of(2000, 5, 1));
+        ana.setPhotoUrl("ana.jpg");
+    }
+
+    private Clubs club(String name) {
+        return em.persist(Clubs.builder().name(name).status(true).build());
+    }
+
+    private ClubPerson membership(Clubs club, LocalDateTime joinedAt) {
+        return em.persist(ClubPerson.builder()
+                .club(club).person(ana).roleInClub("Jugador").status(true).joinedAt(joinedAt)
+                .build());
+    }
+
+    private PlayerProfileProjection profile() {
+        em.flush();
+        em.clear();
+        return personRepository.findPlayerProfile(ana.getPersonId()).orElseThrow();
+    }
+
+    @Test
+    void findPlayerProfile_ReturnsPersonDataAndLatestActiveClub() {
+        membership(club("Strike Club"), LocalDateTime.of(2023, 1, 1, 0, 0));
+        membership(club("Pin Club"), LocalDateTime.of(2024, 1, 1, 0, 0));
+
+        PlayerProfileProjection profile = profile();
+
+        assertEquals("Ana", profile.getFullName());
+        assertEquals("Gómez", profile.getFullSurname());
+        assertEquals(LocalDate.of(2000, 5, 1), profile.getBirthDate());
+        assertEquals("ana.jpg", profile.getPhotoUrl());
+        assertEquals("Pin Club", profile.getClubName());
+    }
+
+    @Test
+    void findPlayerProfile_IgnoresRemovedMembershipsAndDeletedClubs() {
+        membership(club("Strike Club"), LocalDateTime.of(2023, 1, 1, 0, 0));
+        membership(club("Pin Club"), LocalDateTime.of(2024, 1, 1, 0, 0)).setDeletedAt(LocalDateTime.now());
+        club("Spare Club");
+        Clubs deleted = club("Club cerrado");
+        deleted.setDeletedAt(LocalDateTime.now());
+        membership(deleted, LocalDateTime.of(2025, 1, 1, 0, 0));
+
+        assertEquals("Strike Club", profile().getClubName());
+    }
+
+    @Test
+    void findPlayerProfile_WithoutActiveClub_ReturnsNullClub() {
+        membership(club("Strike Club"), LocalDateTime.of(2023, 1, 1, 0, 0)).setStatus(false);
+
+        PlayerProfileProjection profile = profile();
+
+        assertEquals("Ana", profile.getFullName());
+        assertNull(profile.getClubName());
+    }
+
+    @Test
+    void findPlayerProfile_UnknownPerson_IsEmpty() {
+        assertTrue(personRepository.findPlayerProfile(-1).isEmpty());
+    }
+}
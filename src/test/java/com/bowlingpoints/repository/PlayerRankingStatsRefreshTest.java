@@ -0,0 +1,159 @@
+package com.bowlingpoints.repository;
+
+import com.bowlingpoints.service.PlayerRankingStatsService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica contra PostgreSQL el recálculo de player_ranking_stats con
+ * INSERT ... ON CONFLICT: recalcular la misma persona varias veces, también
+ * desde dos transacciones a la vez, actualiza su fila sin chocar con la clave
+ * primaria. Usa el mismo PostgreSQL desechable que {@link ResultQueryPlanTest}
+ * (EXPLAIN_DB_URL) con un esquema propio.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfEnvironmentVariable(named = "EXPLAIN_DB_URL", matches = ".+")
+@Import(PlayerRankingStatsService.class)
+@TestPropertySource(properties = {
+        "spring.datasource.url=${EXPLAIN_DB_URL}",
+        "spring.datasource.username=${EXPLAIN_DB_USER:postgres}",
+        "spring.datasource.password=${EXPLAIN_DB_PASS:postgres}",
+        "spring.datasource.hikari.connection-init-sql=SET search_path TO " + PlayerRankingStatsRefreshTest.SCHEMA,
+        "spring.flyway.enabled=true",
+        "spring.flyway.schemas=" + PlayerRankingStatsRefreshTest.SCHEMA,
+        "spring.flyway.clean-disabled=false",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.properties.hibernate.default_schema=" + PlayerRankingStatsRefreshTest.SCHEMA,
+        "jwt.secret=x", "password.default=x", "ai.mode=local"
+})
+class PlayerRankingStatsRefreshTest {
+
+    static final String SCHEMA = "ranking_test";
+
+    private static final int PERSON = 200_001;
+    private static final int TOURNAMENT = 200_001;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private PlayerRankingStatsService playerRankingStatsService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @TestConfiguration
+    static class CleanMigrateConfig {
+        @Bean
+        FlywayMigrationStrategy cleanMigrate() {
+            return (Flyway flyway) -> {
+                flyway.clean();
+                flyway.migrate();
+            };
+        }
+    }
+
+    @BeforeEach
+    void seed() {
+        jdbc.update("DELETE FROM player_ranking_stats WHERE person_id = ?", PERSON);
+        jdbc.update("DELETE FROM result WHERE person_id = ?", PERSON);
+        jdbc.update("DELETE FROM person WHERE person_id = ?", PERSON);
+        jdbc.update("DELETE FROM tournament WHERE tournament_id = ?", TOURNAMENT);
+
+        jdbc.update("""
+                INSERT INTO person (person_id, document, full_name, full_surname, email, gender, status)
+                VALUES (?, 'RANK-1', 'Jugador', 'Ranking', 'ranking@test.com', 'Masculino', true)""", PERSON);
+        jdbc.update("""
+                INSERT INTO tournament (tournament_id, name, stage, status, start_date)
+                VALUES (?, 'Torneo ranking', 'En curso', true, DATE '2025-01-01')""", TOURNAMENT);
+        addResult(1, 180);
+        addResult(2, 220);
+    }
+
+    private void addResult(int line, int score) {
+        jdbc.update("""
+                INSERT INTO result (person_id, tournament_id, round_number, line_number, lane_number, score)
+                VALUES (?, ?, 1, ?, 1, ?)""", PERSON, TOURNAMENT, line, score);
+    }
+
+    private Map<String, Object> statsRow() {
+        return jdbc.queryForMap("SELECT games_count, best_game, total_score FROM player_ranking_stats WHERE person_id = ?", PERSON);
+    }
+
+    @Test
+    void refreshPersons_SamePersonTwice_UpdatesRowInPlace() {
+        playerRankingStatsService.refreshPersons(List.of(PERSON));
+        addResult(3, 250);
+        playerRankingStatsService.refreshPersons(List.of(PERSON));
+
+        Map<String, Object> row = statsRow();
+        assertEquals(3, ((Number) row.get("games_count")).intValue());
+        assertEquals(250, ((Number) row.get("best_game")).intValue());
+        assertEquals(650L, ((Number) row.get("total_score")).longValue());
+    }
+
+    @Test
+    void refreshPersons_ConcurrentTransactions_DoNotCollideOnPrimaryKey() throws Exception {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        CountDownLatch firstWrote = new CountDownLatch(1);
+
+        // La primera transacción inserta la fila y la mantiene sin confirmar mientras
+        // la segunda recalcula la misma persona (queda esperando el bloqueo)
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> tx.executeWithoutResult(status -> {
+            playerRankingStatsService.refreshPersons(List.of(PERSON));
+            firstWrote.countDown();
+            sleep(500);
+        }));
+        assertTrue(firstWrote.await(10, TimeUnit.SECONDS));
+        CompletableFuture<Void> second = CompletableFuture.runAsync(() -> tx.executeWithoutResult(status ->
+                playerRankingStatsService.refreshPersons(List.of(PERSON))));
+
+        first.get(10, TimeUnit.SECONDS);
+        second.get(10, TimeUnit.SECONDS);
+        assertEquals(2, ((Number) statsRow().get("games_count")).intValue());
+    }
+
+    @Test
+    void refreshPersons_WithoutActiveResults_RemovesRow() {
+        playerRankingStatsService.refreshPersons(List.of(PERSON));
+        jdbc.update("UPDATE result SET deleted_at = CURRENT_TIMESTAMP WHERE person_id = ?", PERSON);
+
+        playerRankingStatsService.refreshPersons(List.of(PERSON));
+
+        assertEquals(0, jdbc.queryForObject(
+                "SELECT COUNT(*) FROM player_ranking_stats WHERE person_id = ?", Integer.class, PERSON));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
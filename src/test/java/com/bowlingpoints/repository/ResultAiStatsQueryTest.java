@@ -0,0 +1,109 @@
+package com.bowlingpoints.repository;
+
+import com.bowlingpoints.dto.PlayerAiStats;
+import com.bowlingpoints.entity.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica en H2 la agregación de {@link ResultRepository#findAiStats}.
+ */
+@DataJpaTest
+@Import(JpaTestFixtures.class)
+@ActiveProfiles("h2")
+class ResultAiStatsQueryTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private ResultRepository resultRepository;
+
+    @Autowired
+    private JpaTestFixtures fixtures;
+
+    private Tournament tournament;
+    private Category senior;
+    private Category juvenil;
+    private Modality sencillos;
+    private Modality dobles;
+    private Branch masculina;
+    private Person ana;
+    private Person luis;
+    private int lineNumber;
+
+    @BeforeEach
+    void setUp() {
+        tournament = fixtures.tournament("Torneo", fixtures.ambit(), "En curso", LocalDate.of(2025, 1, 1));
+        senior = fixtures.category("Senior");
+        juvenil = fixtures.category("Juvenil");
+        sencillos = fixtures.modality("Sencillos");
+        dobles = fixtures.modality("Dobles");
+        masculina = fixtures.branch("Masculina");
+        ana = fixtures.person("Ana", "Gómez");
+        luis = fixtures.person("Luis", "Pérez");
+
+        line(ana, sencillos, senior, 200);
+        line(ana, sencillos, senior, 180);
+        line(ana, dobles, senior, 150);
+        line(luis, sencillos, juvenil, 220);
+        line(luis, sencillos, juvenil, 210);
+        Result deleted = line(luis, sencillos, juvenil, 100);
+        deleted.setDeletedAt(LocalDateTime.now());
+        em.flush();
+        em.clear();
+    }
+
+    /**
+     * Cada línea con su propio número, para respetar la clave natural de result.
+     */
+    private Result line(Person person, Modality modality, Category category, int score) {
+        return em.persist(Result.builder()
+                .person(person).tournament(tournament).modality(modality)
+                .category(category).branch(masculina)
+                .roundNumber(1).lineNumber(++lineNumber).score(score)
+                .build());
+    }
+
+    @Test
+    void findAiStats_GroupsByPlayerAndModalityOrderedByAverage() {
+        List<PlayerAiStats> stats = resultRepository.findAiStats(null, null, null, PageRequest.of(0, 10));
+
+        assertEquals(3, stats.size());
+        PlayerAiStats best = stats.get(0);
+        assertEquals("Luis Pérez", best.getPlayerName());
+        assertEquals("Sencillos", best.getModalityName());
+        assertEquals(215.0, best.getAverageScore(), 0.001);
+        assertEquals(2, best.getGamesPlayed());
+        assertEquals(220, best.getMaxScore());
+        assertEquals(210, best.getMinScore());
+
+        assertEquals("Ana Gómez", stats.get(1).getPlayerName());
+        assertEquals(190.0, stats.get(1).getAverageScore(), 0.001);
+        assertEquals("Dobles", stats.get(2).getModalityName());
+    }
+
+    @Test
+    void findAiStats_AppliesFiltersAndLimit() {
+        assertEquals(List.of("Ana Gómez"), resultRepository
+                .findAiStats(null, senior.getCategoryId(), sencillos.getModalityId(), PageRequest.of(0, 10))
+                .stream().map(PlayerAiStats::getPlayerName).toList());
+        assertEquals(3, resultRepository
+                .findAiStats(masculina.getBranchId(), null, null, PageRequest.of(0, 10)).size());
+        assertEquals(1, resultRepository.findAiStats(null, null, null, PageRequest.of(0, 1)).size());
+        assertTrue(resultRepository.findAiStats(null, juvenil.getCategoryId(), dobles.getModalityId(),
+                PageRequest.of(0, 10)).isEmpty());
+    }
+}
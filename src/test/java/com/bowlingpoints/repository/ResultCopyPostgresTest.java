@@ -0,0 +1,209 @@
+package com.bowlingpoints.repository;
+
+import com.bowlingpoints.entity.Result;
+import com.bowlingpoints.repository.ResultCopyRepository.CopyResult;
+import com.bowlingpoints.repository.ResultCopyRepository.StagedResult;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prueba contra PostgreSQL el camino de la carga masiva que no cubre H2
+ * ({@link ResultCopyRepositoryTest}): reserva de ids por bloques, envío con COPY
+ * e INSERT ... ON CONFLICT que informa las filas que ya existían. Usa el mismo
+ * PostgreSQL desechable que {@link ResultQueryPlanTest} (EXPLAIN_DB_URL) con un
+ * esquema propio.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfEnvironmentVariable(named = "EXPLAIN_DB_URL", matches = ".+")
+@Import(ResultCopyRepository.class)
+@TestPropertySource(properties = {
+        "spring.datasource.url=${EXPLAIN_DB_URL}",
+        "spring.datasource.username=${EXPLAIN_DB_USER:postgres}",
+        "spring.datasource.password=${EXPLAIN_DB_PASS:postgres}",
+        "spring.datasource.hikari.connection-init-sql=SET search_path TO " + ResultCopyPostgresTest.SCHEMA,
+        "spring.flyway.enabled=true",
+        "spring.flyway.schemas=" + ResultCopyPostgresTest.SCHEMA,
+        "spring.flyway.clean-disabled=false",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.properties.hibernate.default_schema=" + ResultCopyPostgresTest.SCHEMA,
+        "jwt.secret=x", "password.default=x", "ai.mode=local"
+})
+class ResultCopyPostgresTest {
+
+    static final String SCHEMA = "copy_test";
+
+    private static final int PERSON = 300_001;
+    private static final int TOURNAMENT = 300_001;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private ResultCopyRepository resultCopyRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate tx;
+    private int modalityId;
+
+    @TestConfiguration
+    static class CleanMigrateConfig {
+        @Bean
+        FlywayMigrationStrategy cleanMigrate() {
+            return (Flyway flyway) -> {
+                flyway.clean();
+                flyway.migrate();
+            };
+        }
+    }
+
+    @BeforeEach
+    void seed() {
+        tx = new TransactionTemplate(transactionManager);
+
+        jdbc.update("DELETE FROM result WHERE person_id = ?", PERSON);
+        jdbc.update("DELETE FROM person WHERE person_id = ?", PERSON);
+        jdbc.update("DELETE FROM tournament WHERE tournament_id = ?", TOURNAMENT);
+
+        jdbc.update("""
+                INSERT INTO person (person_id, document, full_name, full_surname, email, gender, status)
+                VALUES (?, 'COPY-1', 'Jugador', 'Copia', 'copia@test.com', 'Masculino', true)""", PERSON);
+        jdbc.update("""
+                INSERT INTO tournament (tournament_id, name, stage, status, start_date)
+                VALUES (?, 'Torneo carga masiva', 'En curso', true, DATE '2025-01-01')""", TOURNAMENT);
+        modalityId = jdbc.queryForObject("SELECT MIN(modality_id) FROM modality", Integer.class);
+    }
+
+    private StagedResult staged(int line, int score) {
+        return new StagedResult(PERSON, null, TOURNAMENT, 1, null, modalityId, null, 5, line, score, 9, 9);
+    }
+
+    private CopyResult copy(List<StagedResult> rows) {
+        return tx.execute(status -> {
+            try {
+                return resultCopyRepository.copyIntoResults(rows);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    @Test
+    void copyIntoResults_CopiesRowsWithNullsIntoResult() {
+        CopyResult result = copy(List.of(staged(1, 200), staged(2, 180)));
+
+        assertEquals(2, result.inserted());
+        assertTrue(result.conflicts().isEmpty());
+        Map<String, Object> row = jdbc.queryForMap("""
+                SELECT score, lane_number, team_id, category_id, created_by, created_at
+                FROM result WHERE person_id = ? AND line_number = 1""", PERSON);
+        assertEquals(200, ((Number) row.get("score")).intValue());
+        assertEquals(5, ((Number) row.get("lane_number")).intValue());
+        assertNull(row.get("team_id"));
+        assertNull(row.get("category_id"));
+        assertEquals(9, ((Number) row.get("created_by")).intValue());
+        assertNotNull(row.get("created_at"));
+    }
+
+    @Test
+    void copyIntoResults_AllocatesIdsInSequenceBlocks() {
+        // 120 filas: tres bloques de la secuencia, con un solo nextval por bloque
+        int blockSize = Result.ID_ALLOCATION_SIZE;
+        List<StagedResult> rows = new ArrayList<>();
+        for (int line = 1; line <= 120; line++) {
+            rows.add(staged(line, 150));
+        }
+
+        assertEquals(120, copy(rows).inserted());
+
+        long lastBlockEnd = jdbc.queryForObject("SELECT last_value FROM result_result_id_seq", Long.class);
+        Map<String, Object> ids = jdbc.queryForMap("""
+                SELECT MIN(result_id) AS min_id, MAX(result_id) AS max_id, COUNT(DISTINCT result_id) AS ids
+                FROM result WHERE person_id = ?""", PERSON);
+        assertEquals(lastBlockEnd - 3L * blockSize + 1, ((Number) ids.get("min_id")).longValue());
+        assertEquals(lastBlockEnd - 3L * blockSize + 120, ((Number) ids.get("max_id")).longValue());
+        assertEquals(120, ((Number) ids.get("ids")).intValue());
+
+        // El siguiente bloque (el de Hibernate o de otra carga) empieza después de los reservados
+        long nextBlockEnd = jdbc.queryForObject("SELECT nextval('result_result_id_seq')", Long.class);
+        assertTrue(nextBlockEnd - blockSize + 1 > lastBlockEnd);
+    }
+
+    @Test
+    void copyIntoResults_ReportsRowsThatAlreadyExisted() {
+        copy(List.of(staged(1, 200)));
+
+        CopyResult result = copy(List.of(staged(1, 250), staged(2, 190)));
+
+        assertEquals(1, result.inserted());
+        assertEquals(List.of(staged(1, 250)), result.conflicts());
+        assertEquals(200, jdbc.queryForObject(
+                "SELECT score FROM result WHERE person_id = ? AND line_number = 1", Integer.class, PERSON));
+    }
+
+    @Test
+    void copyIntoResults_DeletedResultsDoNotConflict() {
+        copy(List.of(staged(1, 200)));
+        jdbc.update("UPDATE result SET deleted_at = CURRENT_TIMESTAMP WHERE person_id = ?", PERSON);
+
+        CopyResult result = copy(List.of(staged(1, 250)));
+
+        assertEquals(1, result.inserted());
+        assertTrue(result.conflicts().isEmpty());
+    }
+
+    @Test
+    void copyIntoResults_ConcurrentInsertOfSameKey_IsReportedAsConflict() throws Exception {
+        CountDownLatch firstCopied = new CountDownLatch(1);
+
+        // La primera transacción inserta la línea 1 y la mantiene sin confirmar mientras
+        // la segunda copia la misma línea (ON CONFLICT espera y luego la descarta)
+        CompletableFuture<CopyResult> first = CompletableFuture.supplyAsync(() -> tx.execute(status -> {
+            try {
+                CopyResult copied = resultCopyRepository.copyIntoResults(List.of(staged(1, 200)));
+                firstCopied.countDown();
+                Thread.sleep(500);
+                return copied;
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }));
+        assertTrue(firstCopied.await(10, TimeUnit.SECONDS));
+        CompletableFuture<CopyResult> second = CompletableFuture.supplyAsync(() ->
+                copy(List.of(staged(1, 250), staged(2, 190))));
+
+        assertEquals(1, first.get(10, TimeUnit.SECONDS).inserted());
+        CopyResult result = second.get(10, TimeUnit.SECONDS);
+        assertEquals(1, result.inserted());
+        assertEquals(List.of(staged(1, 250)), result.conflicts());
+        assertEquals(2, jdbc.queryForObject(
+                "SELECT COUNT(*) FROM result WHERE person_id = ?", Integer.class, PERSON));
+    }
+}
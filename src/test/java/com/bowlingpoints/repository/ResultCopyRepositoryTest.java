@@ -0,0 +1,159 @@
+package com.bowlingpoints.repository;
+
+import com.bowlingpoints.repository.ResultCopyRepository.StagedResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prueba el camino JDBC (sin COPY) de la carga masiva contra H2 en memoria.
+ */
+class ResultCopyRepositoryTest {
+
+    private EmbeddedDatabase dataSource;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate tx;
+    private ResultCopyRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("""
+                CREATE TABLE result (
+                    result_id SERIAL PRIMARY KEY,
+                    person_id INT,
+                    team_id INT,
+                    tournament_id INT,
+                    round_number INT,
+                    category_id INT,
+                    modality_id INT,
+                    branch_id INT,
+                    lane_number INT,
+                    line_number INT,
+                    score INT NOT NULL,
+                    created_by INT,
+                    updated_by INT,
+                    deleted_at TIMESTAMP,
+                    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+                )""");
+        tx = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        repository = new ResultCopyRepository(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.shutdown();
+    }
+
+    private StagedResult staged(int personId, int lineNumber, int score) {
+        return new StagedResult(personId, null, 1, 1, 2, 3, 4, 5, lineNumber, score, 9, 9);
+    }
+
+    @Test
+    void copyIntoResults_InsertsAllRowsAndKeepsNulls() {
+        Integer inserted = tx.execute(status -> copy(List.of(staged(10, 1, 200), staged(11, 1, 180))));
+
+        assertEquals(2, inserted);
+        assertEquals(2, jdbc.queryForObject("SELECT COUNT(*) FROM result", Integer.class));
+        assertEquals(0, jdbc.queryForObject("SELECT COUNT(*) FROM result WHERE team_id IS NOT NULL", Integer.class));
+        assertEquals(380, jdbc.queryForObject("SELECT SUM(score) FROM result", Integer.class));
+    }
+
+    @Test
+    void copyIntoResults_SkipsResultsAlreadyInTable() {
+        tx.execute(status -> copy(List.of(staged(10, 1, 200))));
+
+        Integer inserted = tx.execute(status -> copy(List.of(staged(10, 1, 250), staged(10, 2, 190))));
+
+        assertEquals(1, inserted);
+        assertEquals(2, jdbc.queryForObject("SELECT COUNT(*) FROM result", Integer.class));
+        assertEquals(200, jdbc.queryForObject(
+                "SELECT score FROM result WHERE person_id = 10 AND line_number = 1", Integer.class));
+    }
+
+    @Test
+    void copyIntoResults_ReportsRowsThatAlreadyExisted() {
+        tx.execute(status -> copy(List.of(staged(10, 1, 200))));
+
+        ResultCopyRepository.CopyResult result = tx.execute(status -> copyResult(
+                List.of(staged(10, 1, 250), staged(10, 2, 190))));
+
+        assertEquals(1, result.inserted());
+        assertEquals(List.of(staged(10, 1, 250)), result.conflicts());
+    }
+
+    @Test
+    void copyIntoResults_DeletedResultsDoNotBlockInsert() {
+        tx.execute(status -> copy(List.of(staged(10, 1, 200))));
+        jdbc.update("UPDATE result SET deleted_at = CURRENT_TIMESTAMP");
+
+        ResultCopyRepository.CopyResult result = tx.execute(status -> copyResult(List.of(staged(10, 1, 250))));
+
+        assertEquals(1, result.inserted());
+        assertTrue(result.conflicts().isEmpty());
+        assertEquals(250, jdbc.queryForObject(
+                "SELECT score FROM result WHERE deleted_at IS NULL", Integer.class));
+    }
+
+    @Test
+    void copyIntoResults_HandlesMoreRowsThanOneBatch() {
+        List<StagedResult> rows = new ArrayList<>();
+        for (int i = 1; i <= 1201; i++) {
+            rows.add(staged(i, 1, 150));
+        }
+
+        Integer inserted = tx.execute(status -> copy(rows));
+
+        assertEquals(1201, inserted);
+        assertEquals(1201, jdbc.queryForObject("SELECT COUNT(*) FROM result", Integer.class));
+    }
+
+    @Test
+    void copyIntoResults_CanBeCalledPerChunkInSameTransaction() {
+        List<Integer> inserted = tx.execute(status -> List.of(
+                copy(List.of(staged(10, 1, 200), staged(11, 1, 180))),
+                copy(List.of(staged(10, 1, 200), staged(12, 1, 170)))));
+
+        assertEquals(List.of(2, 1), inserted);
+        assertEquals(3, jdbc.queryForObject("SELECT COUNT(*) FROM result", Integer.class));
+    }
+
+    @Test
+    void copyIntoResults_RollbackDiscardsInsertedRows() {
+        tx.execute(status -> {
+            copy(List.of(staged(10, 1, 200)));
+            status.setRollbackOnly();
+            return null;
+        });
+
+        assertEquals(0, jdbc.queryForObject("SELECT COUNT(*) FROM result", Integer.class));
+    }
+
+    private Integer copy(List<StagedResult> rows) {
+        return copyResult(rows).inserted();
+    }
+
+    private ResultCopyRepository.CopyResult copyResult(List<StagedResult> rows) {
+        try {
+            return repository.copyIntoResults(rows);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
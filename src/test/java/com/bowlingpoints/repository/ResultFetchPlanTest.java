@@ -0,0 +1,141 @@
+package com.bowlingpoints.repository;
+
+import com.bowlingpoints.dto.ResultDTO;
+import com.bowlingpoints.dto.UserTournamentResultDTO;
+import com.bowlingpoints.entity.*;
+import com.bowlingpoints.service.PlayerRankingStatsService;
+import com.bowlingpoints.service.ResultService;
+import com.bowlingpoints.service.TournamentStandingsService;
+import org.hibernate.Hibernate;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica con las estadísticas de Hibernate el plan de carga de cada caso de uso
+ * que lee resultados: las asociaciones de Result son LAZY y cada consulta trae
+ * sus referencias con un grafo o proyecta directo a DTO.
+ * La persona sigue cargando su usuario (relación inversa @OneToOne), una
+ * sentencia extra por persona distinta.
+ */
+@DataJpaTest
+@Import({ResultService.class, PlayerRankingStatsService.class, TournamentStandingsService.class, JpaTestFixtures.class})
+@ActiveProfiles("h2")
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ResultFetchPlanTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private JpaTestFixtures fixtures;
+
+    @Autowired
+    private ResultRepository resultRepository;
+
+    @Autowired
+    private ResultService resultService;
+
+    private Statistics stats;
+    private Person ana;
+    private Tournament first;
+    private Integer anyResultId;
+
+    @BeforeEach
+    void setUp() {
+        stats = fixtures.statistics();
+
+        Ambit ambit = fixtures.ambit();
+        Category category = fixtures.category("Senior");
+        Modality modality = fixtures.modality("Sencillos");
+        Branch branch = fixtures.branch("Masculina");
+        Team team = em.persist(Team.builder().nameTeam("Eagles").status(true).build());
+
+        List<Person> persons = List.of(fixtures.person("Ana"), fixtures.person("Luis"), fixtures.person("Eva"));
+        ana = persons.get(0);
+        for (Person person : persons) {
+            em.persist(User.builder().nickname(person.getFullName()).password("x").status(true).person(person).build());
+        }
+
+        for (int t = 1; t <= 3; t++) {
+            Tournament tournament = fixtures.tournament("Torneo " + t, ambit, "Finalizado", LocalDate.of(2025, t, 1));
+            if (t == 1) first = tournament;
+            for (Person person : persons) {
+                for (int line = 1; line <= 4; line++) {
+                    Result result = em.persist(Result.builder()
+                            .person(person).team(team).tournament(tournament).category(category)
+                            .modality(modality).branch(branch)
+                            .roundNumber(1).lineNumber(line).laneNumber(line).score(150 + line * 10)
+                            .build());
+                    anyResultId = result.getResultId();
+                }
+            }
+        }
+        em.flush();
+    }
+
+    private <T> T measure(Supplier<T> call) {
+        em.clear();
+        stats.clear();
+        return call.get();
+    }
+
+    @Test
+    void getById_LoadsReferencesWithTheResult() {
+        ResultDTO dto = measure(() -> resultService.getById(anyResultId));
+
+        assertNotNull(dto.getPersonName());
+        assertNotNull(dto.getTeamName());
+        assertNotNull(dto.getTournamentName());
+        assertNotNull(dto.getCategoryName());
+        assertNotNull(dto.getModalityName());
+        assertNotNull(dto.getBranchName());
+        // El resultado con sus referencias y el usuario de la persona
+        assertEquals(2, stats.getPrepareStatementCount());
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void getAll_DoesNotQueryReferencesPerRow() {
+        List<ResultDTO> all = measure(() -> resultService.getAll());
+
+        assertEquals(36, all.size());
+        assertTrue(all.stream().allMatch(r -> r.getTournamentName() != null && r.getModalityName() != null));
+        // Una consulta para los resultados y una por cada una de las 3 personas (su usuario)
+        assertEquals(4, stats.getPrepareStatementCount());
+    }
+
+    @Test
+    void userTournamentDetail_ProjectsWithoutLoadingEntities() {
+        List<UserTournamentResultDTO> rows = measure(() ->
+                resultRepository.findResultsByPersonAndTournament(ana.getPersonId(), first.getTournamentId()));
+
+        assertEquals(4, rows.size());
+        assertEquals(List.of(1, 2, 3, 4), rows.stream().map(UserTournamentResultDTO::getLineNumber).toList());
+        assertEquals(160, rows.get(0).getScore());
+        assertEquals(1, stats.getPrepareStatementCount());
+        assertEquals(0, stats.getEntityLoadCount());
+    }
+
+    @Test
+    void lazyReferences_AreNotLoadedWithTheResult() {
+        Result result = measure(() -> resultRepository.findById(anyResultId).orElseThrow());
+
+        assertFalse(Hibernate.isInitialized(result.getPerson()));
+        assertFalse(Hibernate.isInitialized(result.getTournament()));
+        assertFalse(Hibernate.isInitialized(result.getModality()));
+        assertEquals(1, stats.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,219 @@
+package com.bowlingpoints.repository;
+
+import org.flywaydb.core.Flyway;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica con EXPLAIN que las consultas principales sobre result usan índices
+ * (y no un recorrido secuencial) con un volumen realista de datos.
+ * Necesita un PostgreSQL local desechable: solo se ejecuta si está definida
+ * EXPLAIN_DB_URL (por ejemplo jdbc:postgresql://localhost:5432/bowlingpoints_explain,
+ * con EXPLAIN_DB_USER y EXPLAIN_DB_PASS). Migra y siembra su propio esquema,
+ * que se limpia al arrancar.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfEnvironmentVariable(named = "EXPLAIN_DB_URL", matches = ".+")
+@TestPropertySource(properties = {
+        "spring.datasource.url=${EXPLAIN_DB_URL}",
+        "spring.datasource.username=${EXPLAIN_DB_USER:postgres}",
+        "spring.datasource.password=${EXPLAIN_DB_PASS:postgres}",
+        "spring.datasource.hikari.connection-init-sql=SET search_path TO " + ResultQueryPlanTest.SCHEMA,
+        "spring.flyway.enabled=true",
+        "spring.flyway.schemas=" + ResultQueryPlanTest.SCHEMA,
+        "spring.flyway.clean-disabled=false",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.properties.hibernate.default_schema=" + ResultQueryPlanTest.SCHEMA,
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.bowlingpoints.repository.ResultQueryPlanTest$CapturedSql",
+        "jwt.secret=x", "password.default=x", "ai.mode=local"
+})
+class ResultQueryPlanTest {
+
+    static final String SCHEMA = "explain_test";
+
+    // Ids del volumen sembrado (fuera del rango de los datos de V2)
+    private static final int TOURNAMENT = 100_050;
+    private static final int MODALITY = 100_002;
+    private static final int BRANCH = 100_001;
+    private static final int PERSON = 101_234;
+
+    private static boolean seeded;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private ResultRepository resultRepository;
+
+    /**
+     * Parte siempre de un esquema vacío para que la siembra no choque con una
+     * ejecución anterior.
+     */
+    @TestConfiguration
+    static class CleanMigrateConfig {
+        @Bean
+        FlywayMigrationStrategy cleanMigrate() {
+            return (Flyway flyway) -> {
+                flyway.clean();
+                flyway.migrate();
+            };
+        }
+    }
+
+    /**
+     * Guarda el SQL que genera Hibernate para poder pedir su plan.
+     */
+    public static class CapturedSql implements StatementInspector {
+        static final List<String> STATEMENTS = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    @BeforeEach
+    void seed() {
+        if (seeded) return;
+
+        // 5.000 jugadores, 200 torneos, 3 modalidades, 2 rondas y 3 líneas: 360.000 resultados
+        jdbc.execute("""
+                INSERT INTO person (person_id, document, full_name, full_surname, email, gender, status)
+                SELECT 100000 + g, 'PLAN-' || g, 'Jugador', g::text, 'plan' || g || '@test.com', 'Masculino', true
+                FROM generate_series(1, 5000) g""");
+        jdbc.execute("""
+                INSERT INTO clubs (club_id, name)
+                SELECT 100000 + g, 'Club ' || g
+                FROM generate_series(1, 50) g""");
+        jdbc.execute("""
+                INSERT INTO club_person (club_id, person_id, status)
+                SELECT 100000 + g % 50 + 1, 100000 + g, true
+                FROM generate_series(1, 5000) g""");
+        jdbc.execute("""
+                INSERT INTO tournament (tournament_id, name, stage, status, start_date)
+                SELECT 100000 + g, 'Torneo plan ' || g, 'Finalizado', true, DATE '2020-01-01' + g
+                FROM generate_series(1, 200) g""");
+        jdbc.execute("""
+                INSERT INTO modality (modality_id, name, status)
+                SELECT 100000 + g, 'Modalidad plan ' || g, true
+                FROM generate_series(1, 3) g""");
+        jdbc.execute("""
+                INSERT INTO branch (branch_id, name, status)
+                SELECT 100000 + g, 'Rama plan ' || g, true
+                FROM generate_series(1, 2) g""");
+        jdbc.execute("INSERT INTO category (category_id, name, status) VALUES (100001, 'Categoría plan', true)");
+        jdbc.execute("""
+                INSERT INTO result (person_id, tournament_id, modality_id, category_id, branch_id,
+                                    round_number, line_number, lane_number, score, deleted_at)
+                SELECT 100000 + ((t - 1) * 100 + k) % 5000 + 1, 100000 + t, 100000 + m, 100001, 100000 + k % 2 + 1,
+                       rnd, line, 1, 100 + (t * 7 + k * 13 + m * 17 + rnd * 19 + line * 23) % 200,
+                       CASE WHEN (t + k + line) % 50 = 0 THEN CURRENT_TIMESTAMP END
+                FROM generate_series(1, 200) t, generate_series(1, 100) k, generate_series(1, 3) m,
+                     generate_series(1, 2) rnd, generate_series(1, 3) line""");
+        jdbc.execute("ANALYZE");
+        seeded = true;
+    }
+
+    /**
+     * Ejecuta la consulta, toma el último SQL generado sobre result y devuelve
+     * su plan genérico (el que usa el driver con sentencias preparadas).
+     * Todos los parámetros de estas consultas son enteros.
+     */
+    private String planOf(Runnable query) {
+        CapturedSql.STATEMENTS.clear();
+        query.run();
+        String sql = CapturedSql.STATEMENTS.stream()
+                .filter(s -> s.contains("result"))
+                .reduce((first, second) -> second)
+                .orElseThrow();
+
+        StringBuilder numbered = new StringBuilder();
+        int params = 0;
+        for (char ch : sql.toCharArray()) {
+            if (ch == '?') {
+                numbered.append('$').append(++params);
+            } else {
+                numbered.append(ch);
+            }
+        }
+        String types = params == 0 ? "" : "(" + String.join(", ", Collections.nCopies(params, "int")) + ")";
+        String values = params == 0 ? "" : "(" + String.join(", ", Collections.nCopies(params, "1")) + ")";
+
+        return jdbc.execute((ConnectionCallback<String>) connection -> {
+            try (Statement st = connection.createStatement()) {
+                st.execute("SET plan_cache_mode = force_generic_plan");
+                st.execute("PREPARE plan_check" + types + " AS " + numbered);
+                try (ResultSet rs = st.executeQuery("EXPLAIN EXECUTE plan_check" + values)) {
+                    StringBuilder plan = new StringBuilder();
+                    while (rs.next()) {
+                        plan.append(rs.getString(1)).append('\n');
+                    }
+                    return plan.toString();
+                } finally {
+                    st.execute("DEALLOCATE plan_check");
+                    st.execute("RESET plan_cache_mode");
+                }
+            }
+        });
+    }
+
+    private void assertNoSeqScanOnResult(Runnable query) {
+        String plan = planOf(query);
+        assertFalse(plan.contains("Seq Scan on result "), () -> "Recorrido secuencial sobre result:\n" + plan);
+    }
+
+    @Test
+    void resultsTable_UsesTournamentModalityIndex() {
+        String plan = planOf(() -> resultRepository.findRawPlayerResultsForTable(TOURNAMENT, MODALITY));
+
+        assertFalse(plan.contains("Seq Scan on result "), plan);
+        assertTrue(plan.contains("idx_result_active_tournament_modality"), plan);
+    }
+
+    @Test
+    void playerTotalsByModalityAndBranch_DoesNotScanResult() {
+        assertNoSeqScanOnResult(() -> resultRepository.findPlayerTotalsByModalityAndBranch(TOURNAMENT, null, null));
+        assertNoSeqScanOnResult(() -> resultRepository.findPlayerTotalsByModalityAndBranch(TOURNAMENT, 1, BRANCH));
+    }
+
+    @Test
+    void tournamentQueries_DoNotScanResult() {
+        assertNoSeqScanOnResult(() -> resultRepository.findStandingRowsByTournament(TOURNAMENT));
+        assertNoSeqScanOnResult(() -> resultRepository.findStandingRowsByTournamentAndPersons(TOURNAMENT, List.of(PERSON)));
+        assertNoSeqScanOnResult(() -> resultRepository.findPlayerModalitySummariesByTournament(TOURNAMENT));
+        assertNoSeqScanOnResult(() -> resultRepository.countPlayersByBranch(TOURNAMENT));
+        assertNoSeqScanOnResult(() -> resultRepository.findDistinctRoundsByTournament(TOURNAMENT));
+        assertNoSeqScanOnResult(() -> resultRepository.findResultKeysByTournamentAndPersons(TOURNAMENT, List.of(PERSON)));
+    }
+
+    @Test
+    void playerQueries_DoNotScanResult() {
+        assertNoSeqScanOnResult(() -> resultRepository.findScoreSummaryByPerson(PERSON));
+        assertNoSeqScanOnResult(() -> resultRepository.findAvgByTournamentForPerson(PERSON));
+        assertNoSeqScanOnResult(() -> resultRepository.findAvgByModalityForPerson(PERSON));
+    }
+}
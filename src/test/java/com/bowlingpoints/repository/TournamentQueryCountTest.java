@@ -0,0 +1,144 @@
+package com.bowlingpoints.repository;
+
+import com.bowlingpoints.config.CacheConfig;
+import com.bowlingpoints.entity.*;
+import com.bowlingpoints.service.DashboardService;
+import com.bowlingpoints.service.TournamentService;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica con las estadísticas de Hibernate que los listados de torneos hacen
+ * el mismo número de consultas sin importar cuántos torneos devuelvan.
+ */
+@DataJpaTest
+@Import({TournamentService.class, DashboardService.class, CacheConfig.class, JpaTestFixtures.class})
+@ActiveProfiles("h2")
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class TournamentQueryCountTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private JpaTestFixtures fixtures;
+
+    @Autowired
+    private TournamentService tournamentService;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    private Statistics stats;
+    private Ambit ambit;
+    private List<Category> categories;
+    private Modality modality;
+    private Branch branch;
+    private int created;
+
+    @BeforeEach
+    void setUp() {
+        stats = fixtures.statistics();
+
+        ambit = fixtures.ambit();
+        categories = List.of(fixtures.category("Senior"), fixtures.category("Juvenil"));
+        modality = fixtures.modality("Sencillos");
+        branch = fixtures.branch("Masculina");
+    }
+
+    private void createTournaments(int count) {
+        for (int i = 0; i < count; i++) {
+            int n = ++created;
+            Tournament tournament = fixtures.tournament(
+                    "Torneo " + n, ambit, "Programado", LocalDate.of(2025, 1, 1).plusDays(n));
+            for (Category category : categories) {
+                em.persist(TournamentCategory.builder().tournament(tournament).category(category).build());
+            }
+            em.persist(TournamentModality.builder().tournament(tournament).modality(modality).build());
+            em.persist(TournamentBranch.builder().tournament(tournament).branch(branch).build());
+
+            Person person = fixtures.person("Jugador", String.valueOf(n));
+            em.persist(TournamentRegistration.builder()
+                    .tournament(tournament)
+                    .person(person)
+                    .category(categories.get(0))
+                    .modality(modality)
+                    .branch(branch)
+                    .status(true)
+                    .build());
+        }
+    }
+
+    private long countStatements(Supplier<?> call) {
+        em.flush();
+        em.clear();
+        stats.clear();
+        call.get();
+        return stats.getPrepareStatementCount();
+    }
+
+    @Test
+    void getAll_QueryCountDoesNotGrowWithTournaments() {
+        createTournaments(2);
+        long withTwo = countStatements(() -> tournamentService.getAll());
+
+        createTournaments(8);
+        long withTen = countStatements(() -> tournamentService.getAll());
+
+        assertEquals(withTwo, withTen);
+        assertEquals(10, tournamentService.getAll().size());
+    }
+
+    @Test
+    void getAll_MapsCollectionsAndRegistrations() {
+        createTournaments(2);
+        em.flush();
+        em.clear();
+
+        var dto = tournamentService.getAll().get(0);
+
+        assertEquals("Nacional", dto.getAmbitName());
+        assertEquals(2, dto.getCategories().size());
+        assertEquals(1, dto.getModalities().size());
+        assertEquals(1, dto.getBranches().size());
+        assertEquals(1, dto.getTournamentRegistrations().size());
+        assertEquals("Jugador 2", dto.getTournamentRegistrations().get(0).getPersonFullName());
+    }
+
+    @Test
+    void getTournamentsByAmbit_QueryCountDoesNotGrowWithTournaments() {
+        createTournaments(2);
+        long withTwo = countStatements(() -> tournamentService.getTournamentsByAmbit(ambit.getAmbitId(), null));
+
+        createTournaments(8);
+        long withTen = countStatements(() -> tournamentService.getTournamentsByAmbit(ambit.getAmbitId(), null));
+
+        assertEquals(withTwo, withTen);
+    }
+
+    @Test
+    void getDashboardData_QueryCountDoesNotGrowWithTournaments() {
+        createTournaments(2);
+        long withTwo = countStatements(() -> dashboardService.getDashboardData());
+
+        createTournaments(8);
+        dashboardService.onDashboardDataChanged();
+        long withTen = countStatements(() -> dashboardService.getDashboardData());
+
+        assertEquals(withTwo, withTen);
+        assertEquals(10, dashboardService.getDashboardData().getScheduledOrPostponedTournaments().size());
+    }
+}
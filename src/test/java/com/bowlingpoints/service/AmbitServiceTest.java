@@ -3,6 +3,7 @@ package com.bowlingpoints.service;
 import com.bowlingpoints.dto.AmbitDTO;
 import com.bowlingpoints.dto.ResponseGenericDTO;
 import com.bowlingpoints.entity.Ambit;
+import com.bowlingpoints.event.AmbitChangedEvent;
 import com.bowlingpoints.repository.AmbitRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,6 +11,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -27,6 +29,9 @@ class AmbitServiceTest {
     @Mock
     private AmbitRepository ambitRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private AmbitService ambitService;
 
@@ -275,6 +280,7 @@ class AmbitServiceTest {
             ambit.getDeletedAt() != null &&
             ambit.getUpdatedAt() != null
         ));
+        verify(eventPublisher).publishEvent(new AmbitChangedEvent(1));
     }
 
     @Test
@@ -5,6 +5,7 @@ import com.bowlingpoints.dto.ResponseGenericDTO;
 import com.bowlingpoints.entity.ClubPerson;
 import com.bowlingpoints.entity.Clubs;
 import com.bowlingpoints.entity.Person;
+import com.bowlingpoints.event.PlayerProfileChangedEvent;
 import com.bowlingpoints.repository.ClubPersonRepository;
 import com.bowlingpoints.repository.ClubRepository;
 import com.bowlingpoints.repository.PersonRepository;
@@ -14,11 +15,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -36,6 +39,9 @@ class ClubPersonServiceTest {
     @Mock
     private PersonRepository personRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ClubPersonService clubPersonService;
 
@@ -88,6 +94,7 @@ class ClubPersonServiceTest {
         // Assert
         assertTrue(result);
         verify(clubPersonRepository).save(any(ClubPerson.class));
+        verify(eventPublisher).publishEvent(new PlayerProfileChangedEvent(Set.of(1)));
     }
 
     @Test
@@ -155,6 +162,7 @@ class ClubPersonServiceTest {
         // Assert
         assertTrue(result);
         verify(clubPersonRepository).save(any(ClubPerson.class));
+        verify(eventPublisher).publishEvent(new PlayerProfileChangedEvent(Set.of(1)));
     }
 
     @Test
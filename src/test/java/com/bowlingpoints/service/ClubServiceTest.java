@@ -5,12 +5,14 @@ import com.bowlingpoints.dto.ClubPersonDTO;
 import com.bowlingpoints.entity.ClubPerson;
 import com.bowlingpoints.entity.Clubs;
 import com.bowlingpoints.entity.Person;
+import com.bowlingpoints.event.PlayerProfileChangedEvent;
 import com.bowlingpoints.repository.ClubPersonRepository;
 import com.bowlingpoints.repository.ClubRepository;
 import com.bowlingpoints.repository.PersonRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
@@ -32,6 +34,9 @@ class ClubServiceTest {
     @Mock
     private PersonRepository personRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ClubService clubService;
 
@@ -100,6 +105,7 @@ class ClubServiceTest {
 
         verify(clubRepository, times(1)).save(any(Clubs.class));
         verify(clubPersonRepository, times(1)).save(any(ClubPerson.class));
+        verify(eventPublisher).publishEvent(new PlayerProfileChangedEvent(Set.of(1)));
     }
 
     @Test
@@ -191,7 +197,10 @@ class ClubServiceTest {
     // ----------------------------------------------------------------------
     @Test
     void updateClub_ShouldUpdateAndReplaceMembers_WhenExists() {
+        Person previous = Person.builder().personId(2).build();
         when(clubRepository.findById(1)).thenReturn(Optional.of(club));
+        when(clubPersonRepository.findAllByClub_ClubIdAndDeletedAtIsNull(1))
+                .thenReturn(List.of(ClubPerson.builder().id(2).club(club).person(previous).status(true).build()));
         when(personRepository.findById(1)).thenReturn(Optional.of(person));
 
         boolean result = clubService.updateClub(1, clubDTO);
@@ -200,6 +209,8 @@ class ClubServiceTest {
         verify(clubRepository, times(1)).save(any(Clubs.class));
         verify(clubPersonRepository, times(1)).deleteAllByClub_ClubId(1);
         verify(clubPersonRepository, times(1)).save(any(ClubPerson.class));
+        // Miembros anteriores y nuevos
+        verify(eventPublisher).publishEvent(new PlayerProfileChangedEvent(Set.of(1, 2)));
     }
 
     @Test
@@ -217,7 +228,7 @@ class ClubServiceTest {
     // ----------------------------------------------------------------------
     @Test
     void deleteClub_ShouldSoftDeleteClubAndMembers_WhenExists() {
-        ClubPerson cp1 = ClubPerson.builder().id(1).club(club).status(true).build();
+        ClubPerson cp1 = ClubPerson.builder().id(1).club(club).person(person).status(true).build();
         when(clubRepository.findById(1)).thenReturn(Optional.of(club));
         when(clubPersonRepository.findAllByClub_ClubIdAndDeletedAtIsNull(1)).thenReturn(List.of(cp1));
 
@@ -226,6 +237,7 @@ class ClubServiceTest {
         assertTrue(result);
         verify(clubRepository, times(1)).save(any(Clubs.class));
         verify(clubPersonRepository, times(1)).save(any(ClubPerson.class));
+        verify(eventPublisher).publishEvent(new PlayerProfileChangedEvent(Set.of(1)));
     }
 
     @Test
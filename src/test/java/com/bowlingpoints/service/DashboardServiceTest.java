@@ -6,8 +6,12 @@ import com.bowlingpoints.repository.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import com.bowlingpoints.util.TtlCache;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -29,6 +33,12 @@ class DashboardServiceTest {
     @Mock
     private AmbitRepository ambitRepository;
 
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private TtlCache<String, DashboardDTO> dashboardCache = new TtlCache<>("dashboard", Duration.ofMinutes(1), 1);
+
     @InjectMocks
     private DashboardService dashboardService;
 
@@ -86,6 +96,10 @@ class DashboardServiceTest {
                 .modalities(List.of(tournamentModality))
                 .build();
 
+        // Categorías traídas en una sola consulta para todos los torneos del dashboard
+        lenient().when(tournamentRepository.findWithCategoriesByTournamentIdIn(anyCollection()))
+                .thenReturn(List.of(tournament));
+
         playerDTO = DashboardPlayerDTO.builder()
                 .fullName("John Doe")
                 .averageScore(225.5)
@@ -136,6 +150,7 @@ class DashboardServiceTest {
 
         verify(tournamentRepository).findActiveScheduledOrPostponed();
         verify(tournamentRepository).findActiveInProgress();
+        verify(tournamentRepository, times(1)).findWithCategoriesByTournamentIdIn(List.of(1));
         verify(resultRepository).findTopPlayersByAvgScore(PageRequest.of(0, 5));
         verify(ambitRepository).findDistinctWithTournaments();
     }
@@ -156,6 +171,41 @@ class DashboardServiceTest {
         assertTrue(dashboard.getAmbits().isEmpty());
     }
 
+    @Test
+    void getDashboardData_SecondCall_IsServedFromCache() {
+        when(tournamentRepository.findActiveScheduledOrPostponed()).thenReturn(List.of(tournament));
+        when(tournamentRepository.findActiveInProgress()).thenReturn(List.of());
+        when(resultRepository.findTopPlayersByAvgScore(PageRequest.of(0, 5))).thenReturn(List.of(playerDTO));
+        when(ambitRepository.findDistinctWithTournaments()).thenReturn(List.of());
+
+        DashboardDTO first = dashboardService.getDashboardData();
+        DashboardDTO second = dashboardService.getDashboardData();
+
+        assertSame(first, second);
+        // Solo la carga abre transacción (de lectura); el acierto de caché no
+        verify(transactionManager, times(1)).getTransaction(argThat(TransactionDefinition::isReadOnly));
+        verify(transactionManager, times(1)).commit(any());
+        verify(tournamentRepository, times(1)).findActiveScheduledOrPostponed();
+        verify(resultRepository, times(1)).findTopPlayersByAvgScore(PageRequest.of(0, 5));
+        assertEquals(1, dashboardCache.stats().hits());
+        assertEquals(1, dashboardCache.stats().misses());
+    }
+
+    @Test
+    void onDashboardDataChanged_InvalidatesCachedDashboard() {
+        when(tournamentRepository.findActiveScheduledOrPostponed()).thenReturn(List.of());
+        when(tournamentRepository.findActiveInProgress()).thenReturn(List.of());
+        when(resultRepository.findTopPlayersByAvgScore(PageRequest.of(0, 5))).thenReturn(List.of());
+        when(ambitRepository.findDistinctWithTournaments()).thenReturn(List.of());
+
+        dashboardService.getDashboardData();
+        dashboardService.onDashboardDataChanged();
+        dashboardService.getDashboardData();
+
+        verify(tournamentRepository, times(2)).findActiveScheduledOrPostponed();
+        assertEquals(1, dashboardCache.stats().invalidations());
+    }
+
     // ----------------------------------------------------------------------
     // toDTO (implícitamente probado dentro del dashboard principal)
     // ----------------------------------------------------------------------
@@ -190,10 +240,10 @@ class DashboardServiceTest {
                 .status(true)
                 .build();
 
-        var method = DashboardService.class.getDeclaredMethod("toDTO", Tournament.class);
+        var method = DashboardService.class.getDeclaredMethod("toDTO", Tournament.class, List.class);
         method.setAccessible(true);
 
-        TournamentDTO dto = (TournamentDTO) method.invoke(dashboardService, tournamentWithNulls);
+        TournamentDTO dto = (TournamentDTO) method.invoke(dashboardService, tournamentWithNulls, null);
 
         // ✅ Ajuste: el servicio ahora devuelve listas vacías, no null
         assertNotNull(dto);
@@ -0,0 +1,222 @@
+package com.bowlingpoints.service;
+
+import com.bowlingpoints.config.ImportJobExecutor;
+import com.bowlingpoints.dto.ImportJobDTO;
+import com.bowlingpoints.entity.ImportJob;
+import com.bowlingpoints.entity.ImportJobError;
+import com.bowlingpoints.enums.ImportJobStatus;
+import com.bowlingpoints.enums.ImportJobType;
+import com.bowlingpoints.repository.ImportJobErrorRepository;
+import com.bowlingpoints.repository.ImportJobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImportJobServiceTest {
+
+    @Mock
+    private ImportJobRepository importJobRepository;
+
+    @Mock
+    private ImportJobErrorRepository importJobErrorRepository;
+
+    @Mock
+    private ImportJobExecutor importJobExecutor;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ResultImportService resultImportService;
+
+    @Mock
+    private PersonImportService personImportService;
+
+    @Mock
+    private TeamPersonImportService teamPersonImportService;
+
+    @Mock
+    private TournamentRegistrationImportService tournamentRegistrationImportService;
+
+    @InjectMocks
+    private ImportJobService service;
+
+    private ImportJob storedJob;
+    private final List<ImportJobError> savedErrors = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(importJobRepository.save(any(ImportJob.class))).thenAnswer(inv -> {
+            ImportJob job = inv.getArgument(0);
+            if (job.getImportJobId() == null) job.setImportJobId(5);
+            storedJob = job;
+            return job;
+        });
+        lenient().when(importJobRepository.findById(5)).thenAnswer(inv -> Optional.ofNullable(storedJob));
+        lenient().when(importJobErrorRepository.saveAll(anyList())).thenAnswer(inv -> {
+            savedErrors.addAll(inv.getArgument(0));
+            return inv.getArgument(0);
+        });
+    }
+
+    private MockMultipartFile csv() {
+        return new MockMultipartFile("file", "results.csv", "text/csv",
+                "documento\n".getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Encola el trabajo y ejecuta en el hilo del test lo que se envió al executor.
+     */
+    private ImportJobDTO submitAndRun(ImportJobType type, boolean bulkCopy) throws Exception {
+        ImportJobDTO dto = service.submit(type, csv(), 1, true, bulkCopy, null);
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(importJobExecutor).submit(task.capture());
+        task.getValue().run();
+        return dto;
+    }
+
+    @Test
+    void submit_PersistsPendingJobAndReturnsImmediately() throws Exception {
+        ImportJobDTO dto = service.submit(ImportJobType.RESULTS, csv(), 1, true, false, null);
+
+        assertEquals(5, dto.getJobId());
+        assertEquals(ImportJobStatus.PENDING, dto.getStatus());
+        assertEquals("results.csv", dto.getFileName());
+        verify(importJobExecutor).submit(any(Runnable.class));
+        verifyNoInteractions(resultImportService);
+    }
+
+    @Test
+    void run_ReportsProgressIncrementallyAndCompletes() throws Exception {
+        when(resultImportService.importCsv(any(), eq(1), eq(true), any())).thenAnswer(inv -> {
+            ImportProgressListener listener = inv.getArgument(3);
+            List<String> errors = new ArrayList<>(List.of("Línea 3: error"));
+            listener.onProgress(500, 499, 0, errors);
+
+            // El avance intermedio ya quedó guardado
+            assertEquals(ImportJobStatus.RUNNING, storedJob.getStatus());
+            assertEquals(500, storedJob.getRowsProcessed());
+            assertEquals(1, storedJob.getErrorCount());
+
+            errors.add("Línea 700: error");
+            listener.onProgress(1000, 997, 1, errors);
+            return new ResultImportService.ImportResult(997, 1, errors);
+        });
+
+        submitAndRun(ImportJobType.RESULTS, false);
+
+        assertEquals(ImportJobStatus.COMPLETED, storedJob.getStatus());
+        assertEquals(1000, storedJob.getRowsProcessed());
+        assertEquals(997, storedJob.getCreatedCount());
+        assertEquals(1, storedJob.getSkippedCount());
+        assertEquals(2, storedJob.getErrorCount());
+        assertNotNull(storedJob.getFinishedAt());
+        // Cada error se guarda una sola vez, en orden
+        assertEquals(List.of(0, 1), savedErrors.stream().map(ImportJobError::getErrorIndex).toList());
+        assertEquals("Línea 700: error", savedErrors.get(1).getMessage());
+    }
+
+    @Test
+    void run_UsesBulkImportWhenRequested() throws Exception {
+        when(resultImportService.importCsvBulk(any(), eq(1), eq(true), any()))
+                .thenReturn(new ResultImportService.ImportResult(3, 0, List.of()));
+
+        submitAndRun(ImportJobType.RESULTS, true);
+
+        assertEquals(ImportJobStatus.COMPLETED, storedJob.getStatus());
+        assertEquals(3, storedJob.getCreatedCount());
+        verify(resultImportService, never()).importCsv(any(), any(), anyBoolean(), any());
+    }
+
+    @Test
+    void run_UsesChunkedImportWhenChunkSizeIsGiven() throws Exception {
+        when(resultImportService.importCsvChunked(any(), eq(1), eq(true), eq(false), eq(1000), any()))
+                .thenReturn(new ResultImportService.ImportResult(2, 0, List.of()));
+
+        service.submit(ImportJobType.RESULTS, csv(), 1, true, false, 1000);
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(importJobExecutor).submit(task.capture());
+        task.getValue().run();
+
+        assertEquals(ImportJobStatus.COMPLETED, storedJob.getStatus());
+        assertEquals(2, storedJob.getCreatedCount());
+    }
+
+    @Test
+    void run_WhenImportFails_MarksJobFailedAndResetsCounts() throws Exception {
+        when(teamPersonImportService.importCsv(any(), eq(1), eq(true), any())).thenAnswer(inv -> {
+            ImportProgressListener listener = inv.getArgument(3);
+            listener.onProgress(500, 500, 0, List.of());
+            throw new IllegalStateException("conexión perdida");
+        });
+
+        submitAndRun(ImportJobType.TEAM_PERSON, false);
+
+        assertEquals(ImportJobStatus.FAILED, storedJob.getStatus());
+        assertEquals(0, storedJob.getCreatedCount());
+        assertEquals(500, storedJob.getRowsProcessed());
+        assertTrue(storedJob.getMessage().contains("conexión perdida"));
+    }
+
+    @Test
+    void submit_WhenQueueIsFull_MarksJobFailed() throws Exception {
+        doThrow(new RejectedExecutionException()).when(importJobExecutor).submit(any());
+
+        ImportJobDTO dto = service.submit(ImportJobType.PERSONS, csv(), 1, true, false, null);
+
+        assertEquals(ImportJobStatus.FAILED, dto.getStatus());
+        assertNotNull(dto.getMessage());
+    }
+
+    @Test
+    void getJob_ReturnsErrorsFromOffset() {
+        storedJob = ImportJob.builder()
+                .importJobId(5)
+                .jobType(ImportJobType.RESULTS)
+                .status(ImportJobStatus.RUNNING)
+                .errorCount(3)
+                .build();
+        when(importJobErrorRepository.findByImportJobIdAndErrorIndexGreaterThanEqualOrderByErrorIndexAsc(5, 2))
+                .thenReturn(List.of(ImportJobError.builder().importJobId(5).errorIndex(2).message("Línea 9: error").build()));
+
+        ImportJobDTO dto = service.getJob(5, 2).orElseThrow();
+
+        assertEquals(3, dto.getErrorCount());
+        assertEquals(2, dto.getErrorsFrom());
+        assertEquals(List.of("Línea 9: error"), dto.getErrors());
+    }
+
+    @Test
+    void getJob_Unknown_ReturnsEmpty() {
+        when(importJobRepository.findById(99)).thenReturn(Optional.empty());
+
+        assertTrue(service.getJob(99, 0).isEmpty());
+    }
+
+    @Test
+    void failInterruptedJobs_FailsPendingAndRunningJobs() {
+        when(importJobRepository.failJobsInStatus(anyCollection(), anyString(), any())).thenReturn(2);
+
+        service.failInterruptedJobs();
+
+        verify(importJobRepository).failJobsInStatus(
+                eq(List.of(ImportJobStatus.PENDING, ImportJobStatus.RUNNING)), anyString(), any());
+    }
+}
@@ -0,0 +1,282 @@
+package com.bowlingpoints.service;
+
+import com.bowlingpoints.dto.HighestLineDTO;
+import com.bowlingpoints.dto.PlayerResultTableDTO;
+import com.bowlingpoints.dto.ScoreboardRowKeyDTO;
+import com.bowlingpoints.dto.ScoreboardUpdateDTO;
+import com.bowlingpoints.dto.TournamentResultsResponseDTO;
+import com.bowlingpoints.enums.ErrorsEnum;
+import com.bowlingpoints.event.ResultsChangedEvent;
+import com.bowlingpoints.exception.BusinessException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LiveScoreboardServiceTest {
+
+    @Mock
+    private ResultService resultService;
+
+    @Mock
+    private ExecutorService executor;
+
+    @Mock
+    private ExecutorService sendExecutor;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private LiveScoreboardService service;
+
+    // Con false los envíos quedan sin ejecutar, como un cliente que no consume
+    private boolean sendsRun = true;
+
+    /**
+     * Guarda los eventos enviados en lugar de escribirlos en una respuesta HTTP.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+        final List<String> events = new ArrayList<>();
+        final List<String> data = new ArrayList<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            StringBuilder raw = new StringBuilder();
+            builder.build().forEach(part -> raw.append(part.getData()));
+            String text = raw.toString();
+            events.add(text.substring("event:".length(), text.indexOf('\n')));
+            data.add(text.substring(text.indexOf("data:") + "data:".length()).trim());
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        lenient().doAnswer(invocation -> {
+            if (sendsRun) invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(sendExecutor).execute(any());
+        service = newService(3, 4);
+    }
+
+    private LiveScoreboardService newService(int maxPerBoard, int maxTotal) {
+        return new LiveScoreboardService(resultService, objectMapper, 1000, executor, sendExecutor, maxPerBoard, maxTotal) {
+            @Override
+            SseEmitter createEmitter() {
+                return new RecordingEmitter();
+            }
+        };
+    }
+
+    private PlayerResultTableDTO teamRow(int position, int teamId, String name, List<Integer> scores) {
+        PlayerResultTableDTO row = row(position, 0, name, scores);
+        row.setTeamId(teamId);
+        return row;
+    }
+
+    private PlayerResultTableDTO row(int position, int personId, String name, List<Integer> scores) {
+        int total = scores.stream().mapToInt(Integer::intValue).sum();
+        return PlayerResultTableDTO.builder()
+                .position(position)
+                .personId(personId)
+                .playerName(name)
+                .scores(scores)
+                .total(total)
+                .promedio(total / (double) scores.size())
+                .build();
+    }
+
+    private TournamentResultsResponseDTO table(Double avgByRound, PlayerResultTableDTO... rows) {
+        return TournamentResultsResponseDTO.builder()
+                .results(new ArrayList<>(List.of(rows)))
+                .avgByLine(Map.of())
+                .avgByRound(avgByRound)
+                .highestLine(HighestLineDTO.builder().score(200).playerName("Ana").lineNumber(1).build())
+                .build();
+    }
+
+    private ScoreboardUpdateDTO read(String json) throws IOException {
+        return objectMapper.readValue(json, ScoreboardUpdateDTO.class);
+    }
+
+    /**
+     * Ejecuta en el hilo del test los recálculos encolados.
+     */
+    private void runQueuedRefreshes() {
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor, atLeastOnce()).execute(task.capture());
+        task.getAllValues().forEach(Runnable::run);
+        clearInvocations(executor);
+    }
+
+    @Test
+    void subscribe_SendsFullTableAsSnapshot() throws IOException {
+        when(resultService.getTournamentResultsTable(1, 2, null))
+                .thenReturn(table(190.0, row(1, 10, "Ana", List.of(200, 180))));
+
+        RecordingEmitter emitter = (RecordingEmitter) service.subscribe(1, 2);
+
+        assertEquals(List.of(LiveScoreboardService.SNAPSHOT_EVENT), emitter.events);
+        ScoreboardUpdateDTO snapshot = read(emitter.data.get(0));
+        assertTrue(snapshot.isSnapshot());
+        assertEquals(1, snapshot.getChanged().size());
+        assertEquals(190.0, snapshot.getAvgByRound());
+        assertEquals(1, service.subscriberCount(1, 2));
+    }
+
+    @Test
+    void onResultsChanged_RecomputesOncePerBoardAndSendsOnlyChangedRows() throws IOException {
+        when(resultService.getTournamentResultsTable(1, 2, null)).thenReturn(
+                table(190.0, row(1, 10, "Ana", List.of(200, 180)), row(2, 11, "Luis", List.of(150))),
+                table(195.0, row(1, 10, "Ana", List.of(200, 180)), row(2, 11, "Luis", List.of(150, 250))));
+
+        RecordingEmitter first = (RecordingEmitter) service.subscribe(1, 2);
+        RecordingEmitter second = (RecordingEmitter) service.subscribe(1, 2);
+
+        service.onResultsChanged(new ResultsChangedEvent(Set.of(1), Set.of(11)));
+        runQueuedRefreshes();
+
+        // Una carga al suscribir y un solo recálculo para los dos suscriptores
+        verify(resultService, times(2)).getTournamentResultsTable(1, 2, null);
+        for (RecordingEmitter emitter : List.of(first, second)) {
+            assertEquals(List.of(LiveScoreboardService.SNAPSHOT_EVENT, LiveScoreboardService.STANDINGS_EVENT),
+                    emitter.events);
+            ScoreboardUpdateDTO delta = read(emitter.data.get(1));
+            assertFalse(delta.isSnapshot());
+            assertEquals(1, delta.getVersion());
+            assertEquals(List.of(11), delta.getChanged().stream().map(PlayerResultTableDTO::getPersonId).toList());
+            assertEquals(195.0, delta.getAvgByRound());
+        }
+    }
+
+    @Test
+    void onResultsChanged_CoalescesChangesWhileRefreshIsPending() {
+        when(resultService.getTournamentResultsTable(1, 2, null))
+                .thenReturn(table(190.0, row(1, 10, "Ana", List.of(200))));
+        service.subscribe(1, 2);
+
+        service.onResultsChanged(new ResultsChangedEvent(Set.of(1), Set.of(10)));
+        service.onResultsChanged(new ResultsChangedEvent(Set.of(1), Set.of(10)));
+
+        verify(executor, times(1)).execute(any());
+    }
+
+    @Test
+    void onResultsChanged_IgnoresOtherTournaments() {
+        when(resultService.getTournamentResultsTable(1, 2, null))
+                .thenReturn(table(190.0, row(1, 10, "Ana", List.of(200))));
+        service.subscribe(1, 2);
+
+        service.onResultsChanged(new ResultsChangedEvent(Set.of(9), Set.of(10)));
+
+        verifyNoInteractions(executor);
+    }
+
+    @Test
+    void refresh_ReportsRemovedPlayersAndSkipsUnchangedTables() throws IOException {
+        when(resultService.getTournamentResultsTable(1, 2, null)).thenReturn(
+                table(190.0, row(1, 10, "Ana", List.of(200)), row(2, 11, "Luis", List.of(180))),
+                table(190.0, row(1, 10, "Ana", List.of(200)), row(2, 11, "Luis", List.of(180))),
+                table(200.0, row(1, 10, "Ana", List.of(200))));
+        RecordingEmitter emitter = (RecordingEmitter) service.subscribe(1, 2);
+
+        service.onResultsChanged(new ResultsChangedEvent(Set.of(1), Set.of()));
+        runQueuedRefreshes();
+        assertEquals(1, emitter.events.size());
+
+        service.onResultsChanged(new ResultsChangedEvent(Set.of(1), Set.of(11)));
+        runQueuedRefreshes();
+
+        ScoreboardUpdateDTO delta = read(emitter.data.get(1));
+        assertTrue(delta.getChanged().isEmpty());
+        assertEquals(List.of(new ScoreboardRowKeyDTO(11, null)), delta.getRemoved());
+    }
+
+    @Test
+    void refresh_KeysTeamRowsByTeam() throws IOException {
+        when(resultService.getTournamentResultsTable(1, 2, null)).thenReturn(
+                table(190.0, teamRow(1, 5, "Eagles", List.of(200)), teamRow(2, 6, "Hawks", List.of(180))),
+                table(190.0, teamRow(1, 5, "Eagles", List.of(200)), teamRow(2, 6, "Hawks", List.of(180, 220))));
+        RecordingEmitter emitter = (RecordingEmitter) service.subscribe(1, 2);
+
+        assertEquals(2, read(emitter.data.get(0)).getChanged().size());
+
+        service.onResultsChanged(new ResultsChangedEvent(Set.of(1), Set.of()));
+        runQueuedRefreshes();
+
+        ScoreboardUpdateDTO delta = read(emitter.data.get(1));
+        assertEquals(List.of(6), delta.getChanged().stream().map(PlayerResultTableDTO::getTeamId).toList());
+        assertTrue(delta.getRemoved().isEmpty());
+    }
+
+    @Test
+    void subscribe_WhenBoardIsFull_Throws503AndKeepsExistingSubscribers() {
+        when(resultService.getTournamentResultsTable(1, 2, null))
+                .thenReturn(table(190.0, row(1, 10, "Ana", List.of(200))));
+        for (int i = 0; i < 3; i++) service.subscribe(1, 2);
+
+        BusinessException e = assertThrows(BusinessException.class, () -> service.subscribe(1, 2));
+
+        assertEquals(ErrorsEnum.SERVICE_UNAVAILABLE.getCode(), e.getCode());
+        assertEquals(3, service.subscriberCount(1, 2));
+        assertEquals(3, service.totalSubscriberCount());
+    }
+
+    @Test
+    void subscribe_WhenTotalIsFull_Throws503() {
+        when(resultService.getTournamentResultsTable(anyInt(), anyInt(), isNull()))
+                .thenReturn(table(190.0, row(1, 10, "Ana", List.of(200))));
+        for (int i = 0; i < 2; i++) service.subscribe(1, 2);
+        for (int i = 0; i < 2; i++) service.subscribe(1, 3);
+
+        assertThrows(BusinessException.class, () -> service.subscribe(1, 4));
+
+        assertEquals(0, service.subscriberCount(1, 4));
+        assertEquals(4, service.totalSubscriberCount());
+    }
+
+    @Test
+    void refresh_DropsSubscriberThatStopsConsuming() {
+        AtomicInteger version = new AtomicInteger();
+        when(resultService.getTournamentResultsTable(1, 2, null)).thenAnswer(invocation ->
+                table((double) version.incrementAndGet(), row(1, 10, "Ana", List.of(200))));
+        sendsRun = false;
+        service.subscribe(1, 2);
+
+        // El recálculo no espera al cliente: encola hasta el máximo y luego lo desconecta
+        for (int i = 0; i < LiveScoreboardService.MAX_PENDING_EVENTS; i++) {
+            service.onResultsChanged(new ResultsChangedEvent(Set.of(1), Set.of()));
+            runQueuedRefreshes();
+        }
+
+        assertEquals(0, service.subscriberCount(1, 2));
+        assertEquals(0, service.totalSubscriberCount());
+    }
+
+    @Test
+    void subscribe_WhenInitialLoadFails_DoesNotKeepEmptyBoard() {
+        when(resultService.getTournamentResultsTable(1, 2, null)).thenThrow(new IllegalStateException("DB error"));
+
+        assertThrows(IllegalStateException.class, () -> service.subscribe(1, 2));
+
+        assertEquals(0, service.subscriberCount(1, 2));
+        service.onResultsChanged(new ResultsChangedEvent(Set.of(1), Set.of()));
+        verifyNoInteractions(executor);
+    }
+}
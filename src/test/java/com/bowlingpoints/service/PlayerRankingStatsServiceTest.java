@@ -0,0 +1,81 @@
+package com.bowlingpoints.service;
+
+import com.bowlingpoints.dto.DashboardPlayerDTO;
+import com.bowlingpoints.repository.PlayerRankingStatsRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PlayerRankingStatsServiceTest {
+
+    @Mock
+    private PlayerRankingStatsRepository playerRankingStatsRepository;
+
+    @InjectMocks
+    private PlayerRankingStatsService service;
+
+    @Test
+    void refreshPersons_UpsertsAndCleansOnlyGivenPersons() {
+        service.refreshPersons(Arrays.asList(3, null, 5, 3));
+
+        InOrder inOrder = inOrder(playerRankingStatsRepository);
+        inOrder.verify(playerRankingStatsRepository).upsertStatsForPersons(List.of(3, 5));
+        inOrder.verify(playerRankingStatsRepository).deleteWithoutActiveResults(List.of(3, 5));
+    }
+
+    @Test
+    void refreshPersons_SamePersonTwice_UpsertsWithoutDeletingFirst() {
+        service.refreshPersons(List.of(7));
+        service.refreshPersons(List.of(7));
+
+        // La fila nunca se borra antes de recalcularla: solo se actualiza en sitio
+        InOrder inOrder = inOrder(playerRankingStatsRepository);
+        inOrder.verify(playerRankingStatsRepository).upsertStatsForPersons(List.of(7));
+        inOrder.verify(playerRankingStatsRepository).deleteWithoutActiveResults(List.of(7));
+        inOrder.verify(playerRankingStatsRepository).upsertStatsForPersons(List.of(7));
+        inOrder.verify(playerRankingStatsRepository).deleteWithoutActiveResults(List.of(7));
+        inOrder.verifyNoMoreInteractions();
+    }
+
+    @Test
+    void refreshPersons_SplitsLargeSetsInChunks() {
+        service.refreshPersons(IntStream.rangeClosed(1, 2500).boxed().toList());
+
+        verify(playerRankingStatsRepository, times(3)).upsertStatsForPersons(anyCollection());
+        verify(playerRankingStatsRepository, times(3)).deleteWithoutActiveResults(anyCollection());
+    }
+
+    @Test
+    void refreshPersons_WithNoPersons_DoesNothing() {
+        service.refreshPersons(List.of());
+
+        verifyNoInteractions(playerRankingStatsRepository);
+    }
+
+    @Test
+    void getRanking_AssignsPositionsContinuingFromPageOffset() {
+        List<DashboardPlayerDTO> page = new ArrayList<>(List.of(
+                new DashboardPlayerDTO(8, "Ana Ruiz", 201.5, 279, 4L, null),
+                new DashboardPlayerDTO(2, "Luis Gil", 199.0, 300, 6L, null)));
+        when(playerRankingStatsRepository.findRanking(PageRequest.of(2, 10))).thenReturn(page);
+
+        List<DashboardPlayerDTO> ranking = service.getRanking(PageRequest.of(2, 10));
+
+        assertEquals(21, ranking.get(0).getPosition());
+        assertEquals(22, ranking.get(1).getPosition());
+    }
+}
@@ -1,19 +1,26 @@
 package com.bowlingpoints.service;
 
+import com.bowlingpoints.config.ImportJobExecutor;
 import com.bowlingpoints.entity.*;
+import com.bowlingpoints.enums.ImportJobStatus;
+import com.bowlingpoints.enums.ImportJobType;
+import com.bowlingpoints.event.ResultsChangedEvent;
 import com.bowlingpoints.repository.*;
+import com.bowlingpoints.util.StoredMultipartFile;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
 
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -43,6 +50,24 @@ class ResultImportServiceTest {
     @Mock
     private ResultRepository resultRepository;
 
+    @Mock
+    private ResultCopyRepository resultCopyRepository;
+
+    @Mock
+    private PlayerRankingStatsService playerRankingStatsService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ImportCheckpointRepository importCheckpointRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EntityManager entityManager;
+
     @InjectMocks
     private ResultImportService service;
 
@@ -51,7 +76,9 @@ class ResultImportServiceTest {
     private Category testCategory;
     private Modality testModality;
     private Branch testBranch;
+    private Branch femaleBranch;
     private Team testTeam;
+    private Team secondTeam;
 
     @BeforeEach
     void setUp() {
@@ -63,6 +90,7 @@ class ResultImportServiceTest {
 
         testCategory = new Category();
         testCategory.setCategoryId(1);
+        testCategory.setName("Juvenil");
 
         testModality = new Modality();
         testModality.setModalityId(1);
@@ -70,9 +98,36 @@ class ResultImportServiceTest {
 
         testBranch = new Branch();
         testBranch.setBranchId(1);
+        testBranch.setName("Masculino");
+
+        femaleBranch = new Branch();
+        femaleBranch.setBranchId(2);
+        femaleBranch.setName("Femenino");
 
         testTeam = new Team();
         testTeam.setTeamId(1);
+        testTeam.setNameTeam("Eagles");
+
+        secondTeam = new Team();
+        secondTeam.setTeamId(2);
+        secondTeam.setNameTeam("Hawks");
+    }
+
+    /**
+     * Simula la resolución en bloque de documentos: cada documento pedido existe
+     * y recibe un personId distinto (el primero, 1).
+     */
+    private void stubDocumentsFound() {
+        Map<String, Integer> ids = new HashMap<>();
+        when(personRepository.findIdsByDocumentIn(anyCollection())).thenAnswer(inv -> {
+            Collection<String> docs = inv.getArgument(0);
+            List<Object[]> rows = new ArrayList<>();
+            docs.stream().sorted().forEach(doc ->
+                    rows.add(new Object[]{doc, ids.computeIfAbsent(doc, d -> ids.size() + 1)}));
+            return rows;
+        });
+        lenient().when(personRepository.getReferenceById(anyInt()))
+                .thenAnswer(inv -> new Person(inv.<Integer>getArgument(0)));
     }
 
     private MockMultipartFile createCsvFile(String content) {
@@ -89,13 +144,13 @@ class ResultImportServiceTest {
         MockMultipartFile file = createCsvFile(csv);
 
         when(tournamentRepository.findByName("Torneo Nacional 2024")).thenReturn(Optional.of(testTournament));
-        when(personRepository.findByDocument(anyString())).thenReturn(Optional.of(testPerson));
-        when(categoryRepository.findByNameAndDeletedAtIsNull("Juvenil")).thenReturn(Optional.of(testCategory));
-        when(modalityRepository.findByNameAndDeletedAtIsNull("Dobles")).thenReturn(Optional.of(testModality));
-        when(branchRepository.findByNameIgnoreCase(anyString())).thenReturn(Optional.of(testBranch));
-        when(teamRepository.findByNameTeam(anyString())).thenReturn(Optional.of(testTeam));
-        when(resultRepository.existsByPerson_PersonIdAndTournament_TournamentIdAndModality_ModalityIdAndRoundNumberAndLineNumber(
-                anyInt(), anyInt(), anyInt(), anyInt(), anyInt())).thenReturn(false);
+        stubDocumentsFound();
+        when(categoryRepository.findByNameInAndDeletedAtIsNull(anyCollection())).thenReturn(List.of(testCategory));
+        when(modalityRepository.findByNameInAndDeletedAtIsNull(anyCollection())).thenReturn(List.of(testModality));
+        when(branchRepository.findByLowerNameIn(anyCollection())).thenReturn(List.of(testBranch, femaleBranch));
+        when(teamRepository.findByNameTeamIn(anyCollection())).thenReturn(List.of(testTeam, secondTeam));
+        Set<Integer> refreshed = new HashSet<>();
+        doAnswer(inv -> refreshed.addAll(inv.getArgument(0))).when(playerRankingStatsService).refreshPersons(anyCollection());
 
         // Act
         var result = service.importCsv(file, 1, true);
@@ -106,6 +161,10 @@ class ResultImportServiceTest {
         assertTrue(result.errors().isEmpty());
 
         verify(resultRepository, times(1)).saveAll(anyList());
+        // El ranking se recalcula una sola vez para las personas importadas
+        verify(playerRankingStatsService, times(1)).refreshPersons(anyCollection());
+        assertEquals(Set.of(1, 2), refreshed);
+        verify(eventPublisher).publishEvent(new ResultsChangedEvent(Set.of(1), Set.of(1, 2)));
     }
 
     @Test
@@ -199,13 +258,11 @@ class ResultImportServiceTest {
         MockMultipartFile file = createCsvFile(csv);
 
         when(tournamentRepository.findByName("Torneo Nacional 2024")).thenReturn(Optional.of(testTournament));
-        when(personRepository.findByDocument("123456")).thenReturn(Optional.of(testPerson));
-        when(categoryRepository.findByNameAndDeletedAtIsNull("Juvenil")).thenReturn(Optional.of(testCategory));
-        when(modalityRepository.findByNameAndDeletedAtIsNull("Dobles")).thenReturn(Optional.of(testModality));
-        when(branchRepository.findByNameIgnoreCase("Masculino")).thenReturn(Optional.of(testBranch));
-        when(teamRepository.findByNameTeam("Eagles")).thenReturn(Optional.of(testTeam));
-        when(resultRepository.existsByPerson_PersonIdAndTournament_TournamentIdAndModality_ModalityIdAndRoundNumberAndLineNumber(
-                anyInt(), anyInt(), anyInt(), anyInt(), anyInt())).thenReturn(false);
+        stubDocumentsFound();
+        when(categoryRepository.findByNameInAndDeletedAtIsNull(anyCollection())).thenReturn(List.of(testCategory));
+        when(modalityRepository.findByNameInAndDeletedAtIsNull(anyCollection())).thenReturn(List.of(testModality));
+        when(branchRepository.findByLowerNameIn(anyCollection())).thenReturn(List.of(testBranch));
+        when(teamRepository.findByNameTeamIn(anyCollection())).thenReturn(List.of(testTeam));
 
         // Act
         var result = service.importCsv(file, 1, true);
@@ -226,13 +283,11 @@ class ResultImportServiceTest {
         MockMultipartFile file = createCsvFile(csv);
 
         when(tournamentRepository.findByName("Torneo Nacional 2024")).thenReturn(Optional.of(testTournament));
-        when(personRepository.findByDocument("123456")).thenReturn(Optional.of(testPerson));
-        when(categoryRepository.findByNameAndDeletedAtIsNull("Juvenil")).thenReturn(Optional.of(testCategory));
-        when(modalityRepository.findByNameAndDeletedAtIsNull("Dobles")).thenReturn(Optional.of(testModality));
-        when(branchRepository.findByNameIgnoreCase("Masculino")).thenReturn(Optional.of(testBranch));
-        when(teamRepository.findByNameTeam("Eagles")).thenReturn(Optional.of(testTeam));
-        when(resultRepository.existsByPerson_PersonIdAndTournament_TournamentIdAndModality_ModalityIdAndRoundNumberAndLineNumber(
-                anyInt(), anyInt(), anyInt(), anyInt(), anyInt())).thenReturn(false);
+        stubDocumentsFound();
+        when(categoryRepository.findByNameInAndDeletedAtIsNull(anyCollection())).thenReturn(List.of(testCategory));
+        when(modalityRepository.findByNameInAndDeletedAtIsNull(anyCollection())).thenReturn(List.of(testModality));
+        when(branchRepository.findByLowerNameIn(anyCollection())).thenReturn(List.of(testBranch));
+        when(teamRepository.findByNameTeamIn(anyCollection())).thenReturn(List.of(testTeam));
 
         // Act
         var result = service.importCsv(file, 1, true);
@@ -253,13 +308,11 @@ class ResultImportServiceTest {
         MockMultipartFile file = createCsvFile(csv);
 
         when(tournamentRepository.findByName("Torneo Nacional 2024")).thenReturn(Optional.of(testTournament));
-        when(personRepository.findByDocument("123456")).thenReturn(Optional.of(testPerson));
-        when(categoryRepository.findByNameAndDeletedAtIsNull("Juvenil")).thenReturn(Optional.of(testCategory));
-        when(modalityRepository.findByNameAndDeletedAtIsNull("Dobles")).thenReturn(Optional.of(testModality));
-        when(branchRepository.findByNameIgnoreCase("Masculino")).thenReturn(Optional.of(testBranch));
-        when(teamRepository.findByNameTeam("Eagles")).thenReturn(Optional.of(testTeam));
-        when(resultRepository.existsByPerson_PersonIdAndTournament_TournamentIdAndModality_ModalityIdAndRoundNumberAndLineNumber(
-                anyInt(), anyInt(), anyInt(), anyInt(), anyInt())).thenReturn(false);
+        stubDocumentsFound();
+        when(categoryRepository.findByNameInAndDeletedAtIsNull(anyCollection())).thenReturn(List.of(testCategory));
+        when(modalityRepository.findByNameInAndDeletedAtIsNull(anyCollection())).thenReturn(List.of(testModality));
+        when(branchRepository.findByLowerNameIn(anyCollection())).thenReturn(List.of(testBranch));
+        when(teamRepository.findByNameTeamIn(anyCollection())).thenReturn(List.of(testTeam));
 
         // Act
         var result = service.importCsv(file, 1, true);
@@ -278,7 +331,6 @@ class ResultImportServiceTest {
         MockMultipartFile file = createCsvFile(csv);
 
         when(tournamentRepository.findByName("Torneo Nacional 2024")).thenReturn(Optional.of(testTournament));
-        when(personRepository.findByDocument("999999")).thenReturn(Optional.empty());
 
         // Act
         var result = service.importCsv(file, 1, true);
@@ -300,8 +352,7 @@ class ResultImportServiceTest {
         MockMultipartFile file = createCsvFile(csv);
 
         when(tournamentRepository.findByName("Torneo Nacional 2024")).thenReturn(Optional.of(testTournament));
-        when(personRepository.findByDocument("123456")).thenReturn(Optional.of(testPerson));
-        when(categoryRepository.findByNameAndDeletedAtIsNull("Inexistente")).thenReturn(Optional.empty());
+        stubDocumentsFound();
 
         // Act
         var result = service.importCsv(file, 1, true);
@@ -323,9 +374,8 @@ class ResultImportServiceTest {
         MockMultipartFile file = createCsvFile(csv);
 
         when(tournamentRepository.findByName("Torneo Nacional 2024")).thenReturn(Optional.of(testTournament));
-        when(personRepository.findByDocument("123456")).thenReturn(Optional.of(testPerson));
-        when(categoryRepository.findByNameAndDeletedAtIsNull("Juvenil")).thenReturn(Optional.of(testCategory));
-        when(modalityRepository.findByNameAndDeletedAtIsNull("Inexistente")).thenReturn(Optional.empty());
+        stubDocumentsFound();
+        when(categoryRepository.findByNameInAndDeletedAtIsNull(anyCollection())).thenReturn(List.of(testCategory));
 
         // Act
         var result = service.importCsv(file, 1, true);
@@ -347,10 +397,9 @@ class ResultImportServiceTest {
         MockMultipartFile file = createCsvFile(csv);
 
         when(tournamentRepository.findByName("Torneo Nacional 2024")).thenReturn(Optional.of(testTournament));
-        when(personRepository.findByDocument("123456")).thenReturn(Optional.of(testPerson));
-        when(categoryRepository.findByNameAndDeletedAtIsNull("Juvenil")).thenReturn(Optional.of(testCategory));
-        when(modalityRepository.findByNameAndDeletedAtIsNull("Dobles")).thenReturn(Optional.of(testModality));
-        when(branchRepository.findByNameIgnoreCase("Inexistente")).thenReturn(Optional.empty());
+        stubDocumentsFound();
+        when(categoryRepository.findByNameInAndDeletedAtIsNull(anyCollection())).thenReturn(List.of(testCategory));
+        when(modalityRepository.findByNameInAndDeletedAtIsNull(anyCollection())).thenReturn(List.of(testModality));
 
         // Act
         var result = service.importCsv(file, 1, true);
@@ -372,11 +421,10 @@ class ResultImportServiceTest {
         MockMultipartFile file = createCsvFile(csv);
 
         when(tournamentRepository.findByName("Torneo Nacional 2024")).thenReturn(Optional.of(testTournament));
-        when(personRepository.findByDocument("123456")).thenReturn(Optional.of(testPerson));
-        when(categoryRepository.findByNameAndDeletedAtIsNull("Juvenil")).thenReturn(Optional.of(testCategory));
-        when(modalityRepository.findByNameAndDeletedAtIsNull("Dobles")).thenReturn(Optional.of(testModality));
-        when(branchRepository.findByNameIgnoreCase("Masculino")).thenReturn(Optional.of(testBranch));
-        when(teamRepository.findByNameTeam("Inexistente")).thenReturn(Optional.empty());
+        stubDocumentsFound();
+        when(categoryRepository.findByNameInAndDeletedAtIsNull(anyCollection())).thenReturn(List.of(testCategory));
+        when(modalityRepository.findByNameInAndDeletedAtIsNull(anyCollection())).thenReturn(List.of(testModality));
+        when(branchRepository.findByLowerNameIn(anyCollection())).thenReturn(List.of(testBranch));
 
         // Act
         var result = service.importCsv(file, 1, true);
@@ -402,12 +450,10 @@ class ResultImportServiceTest {
         individualModality.setName("Sencillo Masculino"); // Modalidad que NO requiere equipo
 
         when(tournamentRepository.findByName("Torneo Nacional 2024")).thenReturn(Optional.of(testTournament));
-        when(personRepository.findByDocument("123456")).thenReturn(Optional.of(testPerson));
-        when(categoryRepository.findByNameAndDeletedAtIsNull("Juvenil")).thenReturn(Optional.of(testCategory));
-        when(modalityRepository.findByNameAndDeletedAtIsNull("Sencillo Masculino")).thenReturn(Optional.of(individualModality));
-        when(branchRepository.findByNameIgnoreCase("Masculino")).thenReturn(Optional.of(testBranch));
-        when(resultRepository.existsByPerson_PersonIdAndTournament_TournamentIdAndModality_ModalityIdAndRoundNumberAndLineNumber(
-                anyInt(), anyInt(), anyInt(), anyInt(), anyInt())).thenReturn(false);
+        stubDocumentsFound();
+        when(categoryRepository.findByNameInAndDeletedAtIsNull(anyCollection())).thenReturn(List.of(testCategory));
+        when(modalityRepository.findByNameInAndDeletedAtIsNull(anyCollection())).thenReturn(List.of(individualModality));
+        when(branchRepository.findByLowerNameIn(anyCollection())).thenReturn(List.of(testBranch));
 
         // Act
         var result = service.importCsv(file, 1, true);
@@ -417,7 +463,7 @@ class ResultImportServiceTest {
         assertEquals(0, result.skipped());
         assertTrue(result.errors().isEmpty());
 
-        verify(teamRepository, never()).findByNameTeam(anyString());
+        verify(teamRepository, never()).findByNameTeamIn(anyCollection());
         verify(resultRepository).saveAll(anyList());
     }
 
@@ -429,13 +475,14 @@ class ResultImportServiceTest {
         MockMultipartFile file = createCsvFile(csv);
 
         when(tournamentRepository.findByName("Torneo Nacional 2024")).thenReturn(Optional.of(testTournament));
-        when(personRepository.findByDocument("123456")).thenReturn(Optional.of(testPerson));
-        when(categoryRepository.findByNameAndDeletedAtIsNull("Juvenil")).thenReturn(Optional.of(testCategory));
-        when(modalityRepository.findByNameAndDeletedAtIsNull("Dobles")).thenReturn(Optional.of(testModality));
-        when(branchRepository.findByNameIgnoreCase("Masculino")).thenReturn(Optional.of(testBranch));
-        when(teamRepository.findByNameTeam("Eagles")).thenReturn(Optional.of(testTeam));
-        when(resultRepository.existsByPerson_PersonIdAndTournament_TournamentIdAndModality_ModalityIdAndRoundNumberAndLineNumber(
-                anyInt(), anyInt(), anyInt(), anyInt(), anyInt())).thenReturn(true);
+        stubDocumentsFound();
+        when(categoryRepository.findByNameInAndDeletedAtIsNull(anyCollection())).thenReturn(List.of(testCategory));
+        when(modalityRepository.findByNameInAndDeletedAtIsNull(anyCollection())).thenReturn(List.of(testModality));
+        when(branchRepository.findByLowerNameIn(anyCollection())).thenReturn(List.of(testBranch));
+        when(teamRepository.findByNameTeamIn(anyCollection())).thenReturn(List.of(testTeam));
+        // Ya existe en BD: persona 1, modalidad 1, ronda 1, línea 1
+        when(resultRepository.findResultKeysByTournamentAndPersons(eq(1), anyCollection()))
+                .thenReturn(List.<Object[]>of(new Object[]{1, 1, 1, 1}));
 
         // Act
         var result = service.importCsv(file, 1, true);
@@ -459,13 +506,11 @@ class ResultImportServiceTest {
         MockMultipartFile file = createCsvFile(csvBuilder.toString());
 
         when(tournamentRepository.findByName("Torneo Nacional 2024")).thenReturn(Optional.of(testTournament));
-        when(personRepository.findByDocument(anyString())).thenReturn(Optional.of(testPerson));
-        when(categoryRepository.findByNameAndDeletedAtIsNull("Juvenil")).thenReturn(Optional.of(testCategory));
-        when(modalityRepository.findByNameAndDeletedAtIsNull("Dobles")).thenReturn(Optional.of(testModality));
-        when(branchRepository.findByNameIgnoreCase("Masculino")).thenReturn(Optional.of(testBranch));
-        when(teamRepository.findByNameTeam("Eagles")).thenReturn(Optional.of(testTeam));
-        when(resultRepository.existsByPerson_PersonIdAndTournament_TournamentIdAndModality_ModalityIdAndRoundNumberAndLineNumber(
-                anyInt(), anyInt(), anyInt(), anyInt(), anyInt())).thenReturn(false);
+        stubDocumentsFound();
+        when(categoryRepository.findByNameInAndDeletedAtIsNull(anyCollection())).thenReturn(List.of(testCategory));
+        when(modalityRepository.findByNameInAndDeletedAtIsNull(anyCollection())).thenReturn(List.of(testModality));
+        when(branchRepository.findByLowerNameIn(anyCollection())).thenReturn(List.of(testBranch));
+        when(teamRepository.findByNameTeamIn(anyCollection())).thenReturn(List.of(testTeam));
 
         // Act
         var result = service.importCsv(file, 1, true);
@@ -543,13 +588,11 @@ class ResultImportServiceTest {
         MockMultipartFile file = createCsvFile(csv);
 
         when(tournamentRepository.findByName("Torneo Nacional 2024")).thenReturn(Optional.of(testTournament));
-        when(personRepository.findByDocument("123456")).thenReturn(Optional.of(testPerson));
-        when(categoryRepository.findByNameAndDeletedAtIsNull("Juvenil")).thenReturn(Optional.of(testCategory));
-        when(modalityRepository.findByNameAndDeletedAtIsNull("Dobles")).thenReturn(Optional.of(testModality));
-        when(branchRepository.findByNameIgnoreCase("Masculino")).thenReturn(Optional.of(testBranch));
-        when(teamRepository.findByNameTeam("Eagles")).thenReturn(Optional.of(testTeam));
-        when(resultRepository.existsByPerson_PersonIdAndTournament_TournamentIdAndModality_ModalityIdAndRoundNumberAndLineNumber(
-                anyInt(), anyInt(), anyInt(), anyInt(), anyInt())).thenReturn(false);
+        stubDocumentsFound();
+        when(categoryRepository.findByNameInAndDeletedAtIsNull(anyCollection())).thenReturn(List.of(testCategory));
+        when(modalityRepository.findByNameInAndDeletedAtIsNull(anyCollection())).thenReturn(List.of(testModality));
+        when(branchRepository.findByLowerNameIn(anyCollection())).thenReturn(List.of(testBranch));
+        when(teamRepository.findByNameTeamIn(anyCollection())).thenReturn(List.of(testTeam));
 
         // Act
         var result = service.importCsv(file, 1, true); // skipHeader = true
@@ -557,7 +600,7 @@ class ResultImportServiceTest {
         // Assert
         assertEquals(1, result.created()); // Only 1 row processed (header ignored)
 
-        verify(personRepository, never()).findByDocument("documento");
+        verify(personRepository).findIdsByDocumentIn(argThat(docs -> !docs.contains("documento")));
     }
 
     @Test
@@ -579,4 +622,285 @@ class ResultImportServiceTest {
 
         verify(resultRepository, never()).saveAll(anyList());
     }
+
+    @Test
+    void importCsv_WithDuplicateRowsInSameFile_SkipsSecondOccurrence() throws Exception {
+        String csv = "documento,nombreTorneo,categoria,modalidad,rama,equipo,numeroRonda,numeroCarril,numeroLinea,puntaje\n" +
+                "123456,Torneo Nacional 2024,Juvenil,Dobles,Masculino,Eagles,1,5,1,245\n" +
+                "123456,Torneo Nacional 2024,Juvenil,Dobles,Masculino,Eagles,1,5,1,210\n";
+        MockMultipartFile file = createCsvFile(csv);
+
+        when(tournamentRepository.findByName("Torneo Nacional 2024")).thenReturn(Optional.of(testTournament));
+        stubDocumentsFound();
+        when(categoryRepository.findByNameInAndDeletedAtIsNull(anyCollection())).thenReturn(List.of(testCategory));
+        when(modalityRepository.findByNameInAndDeletedAtIsNull(anyCollection())).thenReturn(List.of(testModality));
+        when(branchRepository.findByLowerNameIn(anyCollection())).thenReturn(List.of(testBranch));
+        when(teamRepository.findByNameTeamIn(anyCollection())).thenReturn(List.of(testTeam));
+
+        var result = service.importCsv(file, 1, true);
+
+        assertEquals(1, result.created());
+        assertEquals(1, result.skipped());
+        assertTrue(result.errors().get(0).contains("Línea 3"));
+    }
+
+    @Test
+    void importCsv_ResolvesLookupsInBulk_NotPerRow() throws Exception {
+        // 1500 filas → documentos en 2 bloques IN de 1000, el resto en una consulta cada uno
+        StringBuilder csvBuilder = new StringBuilder("documento,nombreTorneo,categoria,modalidad,rama,equipo,numeroRonda,numeroCarril,numeroLinea,puntaje\n");
+        for (int i = 1; i <= 1500; i++) {
+            csvBuilder.append(String.format("DOC%d,Torneo Nacional 2024,Juvenil,Dobles,MASCULINO,Eagles,1,5,1,200\n", i));
+        }
+        MockMultipartFile file = createCsvFile(csvBuilder.toString());
+
+        when(tournamentRepository.findByName("Torneo Nacional 2024")).thenReturn(Optional.of(testTournament));
+        stubDocumentsFound();
+        when(categoryRepository.findByNameInAndDeletedAtIsNull(anyCollection())).thenReturn(List.of(testCategory));
+        when(modalityRepository.findByNameInAndDeletedAtIsNull(anyCollection())).thenReturn(List.of(testModality));
+        when(branchRepository.findByLowerNameIn(anyCollection())).thenReturn(List.of(testBranch));
+        when(teamRepository.findByNameTeamIn(anyCollection())).thenReturn(List.of(testTeam));
+
+        var result = service.importCsv(file, 1, true);
+
+        assertEquals(1500, result.created());
+        verify(personRepository, times(2)).findIdsByDocumentIn(anyCollection());
+        verify(resultRepository, times(2)).findResultKeysByTournamentAndPersons(eq(1), anyCollection());
+        verify(categoryRepository, times(1)).findByNameInAndDeletedAtIsNull(anyCollection());
+        verify(modalityRepository, times(1)).findByNameInAndDeletedAtIsNull(anyCollection());
+        verify(branchRepository, times(1)).findByLowerNameIn(Set.of("masculino"));
+        verify(teamRepository, times(1)).findByNameTeamIn(anyCollection());
+        verify(personRepository, never()).findByDocument(anyString());
+    }
+
+    @Test
+    void importCsvBulk_StagesValidRowsAndReportsExistingAsSkipped() throws Exception {
+        String csv = "documento,nombreTorneo,categoria,modalidad,rama,equipo,numeroRonda,numeroCarril,numeroLinea,puntaje\n" +
+                "123456,Torneo Nacional 2024,Juvenil,Dobles,Masculino,Eagles,1,5,1,245\n" +
+                "789012,Torneo Nacional 2024,Juvenil,Dobles,Femenino,Hawks,1,6,1,198\n" +
+                "789012,Torneo Nacional 2024,Juvenil,Dobles,Femenino,Hawks,1,6,1,198\n" +
+                "345678,Torneo Nacional 2024,Juvenil,Dobles,Masculino,Eagles,1,7,1,301\n";
+        MockMultipartFile file = createCsvFile(csv);
+
+        when(tournamentRepository.findByName("Torneo Nacional 2024")).thenReturn(Optional.of(testTournament));
+        stubDocumentsFound();
+        when(categoryRepository.findByNameInAndDeletedAtIsNull(anyCollection())).thenReturn(List.of(testCategory));
+        when(modalityRepository.findByNameInAndDeletedAtIsNull(anyCollection())).thenReturn(List.of(testModality));
+        when(branchRepository.findByLowerNameIn(anyCollection())).thenReturn(List.of(testBranch, femaleBranch));
+        when(teamRepository.findByNameTeamIn(anyCollection())).thenReturn(List.of(testTeam, secondTeam));
+        // De las 2 filas enviadas al staging, la segunda ya existía en la BD
+        List<ResultCopyRepository.StagedResult> staged = new ArrayList<>();
+        when(resultCopyRepository.copyIntoResults(anyList())).thenAnswer(inv -> {
+            staged.addAll(inv.getArgument(0));
+            return new ResultCopyRepository.CopyResult(1, List.of(staged.get(1)));
+        });
+
+        var result = service.importCsvBulk(file, 7, true);
+
+        assertEquals(1, result.created());
+        assertEquals(2, result.skipped()); // duplicado en el archivo + existente en BD
+        assertTrue(result.errors().stream().anyMatch(e -> e.contains("Línea 4") && e.contains("duplicado")));
+        assertTrue(result.errors().stream().anyMatch(e -> e.contains("Línea 5") && e.contains("puntaje")));
+        // Cada fila que ya existía se informa una sola vez, con su línea
+        assertEquals(1, result.errors().stream().filter(e -> e.contains("Línea 3")).count());
+        assertTrue(result.errors().stream().anyMatch(e -> e.contains("Línea 3") && e.contains("ya existe")));
+        assertEquals(1, result.errors().stream().filter(e -> e.contains("ya exist")).count());
+
+        verify(resultCopyRepository, times(1)).copyIntoResults(anyList());
+        assertEquals(2, staged.size());
+        assertEquals(new ResultCopyRepository.StagedResult(1, 1, 1, 1, 1, 1, 1, 5, 1, 245, 7, 7), staged.get(0));
+        assertEquals(2, staged.get(1).branchId());
+
+        verify(resultRepository, never()).findResultKeysByTournamentAndPersons(anyInt(), anyCollection());
+        verify(resultRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void importCsvBulk_WithNoValidRows_DoesNotTouchStaging() throws Exception {
+        String csv = "documento,nombreTorneo,categoria,modalidad,rama,equipo,numeroRonda,numeroCarril,numeroLinea,puntaje\n" +
+                "123456,Torneo Nacional 2024,Juvenil,Dobles,Masculino,Eagles,1,5,1,400\n";
+        MockMultipartFile file = createCsvFile(csv);
+
+        when(tournamentRepository.findByName("Torneo Nacional 2024")).thenReturn(Optional.of(testTournament));
+        stubDocumentsFound();
+
+        var result = service.importCsvBulk(file, 1, true);
+
+        assertEquals(0, result.created());
+        verifyNoInteractions(resultCopyRepository);
+    }
+
+    /**
+     * Deja listo el escenario de importación por bloques: modalidad individual,
+     * transacciones simuladas y el checkpoint guardado en {@code savedCheckpoints}.
+     */
+    private List<ImportCheckpoint> stubChunkedImport(ImportCheckpoint existing) {
+        Modality individualModality = new Modality();
+        individualModality.setModalityId(2);
+        individualModality.setName("Sencillo Masculino");
+
+        when(tournamentRepository.findByName("Torneo Nacional 2024")).thenReturn(Optional.of(testTournament));
+        stubDocumentsFound();
+        when(categoryRepository.findByNameInAndDeletedAtIsNull(anyCollection())).thenReturn(List.of(testCategory));
+        when(modalityRepository.findByNameInAndDeletedAtIsNull(anyCollection())).thenReturn(List.of(individualModality));
+        when(branchRepository.findByLowerNameIn(anyCollection())).thenReturn(List.of(testBranch));
+        when(importCheckpointRepository.findByFileHashAndTournamentId(anyString(), eq(1)))
+                .thenReturn(Optional.ofNullable(existing));
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        List<ImportCheckpoint> saved = new ArrayList<>();
+        lenient().when(importCheckpointRepository.save(any(ImportCheckpoint.class))).thenAnswer(inv -> {
+            ImportCheckpoint checkpoint = inv.getArgument(0);
+            saved.add(ImportCheckpoint.builder()
+                    .tournamentId(checkpoint.getTournamentId())
+                    .lastCommittedLine(checkpoint.getLastCommittedLine())
+                    .createdCount(checkpoint.getCreatedCount())
+                    .completed(checkpoint.isCompleted())
+                    .build());
+            return checkpoint;
+        });
+        return saved;
+    }
+
+    private MockMultipartFile fiveIndividualResults() {
+        StringBuilder csv = new StringBuilder(
+                "documento,nombreTorneo,categoria,modalidad,rama,equipo,numeroRonda,numeroCarril,numeroLinea,puntaje\n");
+        for (int i = 1; i <= 5; i++) {
+            csv.append("10").append(i).append(",Torneo Nacional 2024,Juvenil,Sencillo Masculino,Masculino,,1,5,1,20")
+                    .append(i).append("\n");
+        }
+        return createCsvFile(csv.toString());
+    }
+
+    @Test
+    void importCsvChunked_CommitsEachChunkWithCheckpoint() {
+        List<ImportCheckpoint> saved = stubChunkedImport(null);
+
+        var result = service.importCsvChunked(fiveIndividualResults(), 1, true, false, 2, ImportProgressListener.NONE);
+
+        assertEquals(5, result.created());
+        assertTrue(result.errors().isEmpty());
+        // Bloques de 2 filas (líneas 2-3, 4-5); el último (línea 6) marca la importación completa
+        verify(transactionManager, times(3)).commit(any());
+        verify(resultRepository, times(3)).saveAll(anyList());
+        assertEquals(List.of(3, 5, 6), saved.stream().map(ImportCheckpoint::getLastCommittedLine).toList());
+        assertEquals(List.of(false, false, true), saved.stream().map(ImportCheckpoint::isCompleted).toList());
+        assertEquals(5, saved.get(2).getCreatedCount());
+        assertEquals(1, saved.get(2).getTournamentId());
+        verify(entityManager, times(3)).clear();
+    }
+
+    @Test
+    void importCsvChunked_ResumesAfterLastCommittedLine() {
+        ImportCheckpoint existing = ImportCheckpoint.builder()
+                .importCheckpointId(3)
+                .fileHash("hash")
+                .lastCommittedLine(4)
+                .createdCount(3)
+                .build();
+        List<ImportCheckpoint> saved = stubChunkedImport(existing);
+
+        var result = service.importCsvChunked(fiveIndividualResults(), 1, true, false, 10, ImportProgressListener.NONE);
+
+        // Solo las líneas 5 y 6 se procesan en este intento
+        assertEquals(2, result.created());
+        assertTrue(result.errors().stream().anyMatch(e -> e.contains("después de la línea 4")));
+        assertEquals(6, saved.get(saved.size() - 1).getLastCommittedLine());
+        assertEquals(5, saved.get(saved.size() - 1).getCreatedCount());
+        assertTrue(existing.isCompleted());
+    }
+
+    @Test
+    void importCsvChunked_WhenAlreadyCompleted_DoesNotProcessFile() {
+        stubChunkedImport(ImportCheckpoint.builder()
+                .fileHash("hash")
+                .tournamentId(1)
+                .lastCommittedLine(6)
+                .createdCount(5)
+                .completed(true)
+                .build());
+
+        var result = service.importCsvChunked(fiveIndividualResults(), 1, true, false, 2, ImportProgressListener.NONE);
+
+        assertEquals(0, result.created());
+        assertTrue(result.errors().get(0).contains("ya fue importado por completo en el torneo"));
+        verify(resultRepository, never()).saveAll(anyList());
+        verify(importCheckpointRepository, never()).save(any(ImportCheckpoint.class));
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    void importCsvChunked_CompletedInAnotherTournament_ImportsAgain() {
+        // El checkpoint completo es de otro torneo: para este torneo no hay avance guardado
+        List<ImportCheckpoint> saved = stubChunkedImport(null);
+        lenient().when(importCheckpointRepository.findByFileHashAndTournamentId(anyString(), eq(2)))
+                .thenReturn(Optional.of(ImportCheckpoint.builder().tournamentId(2).completed(true).build()));
+
+        var result = service.importCsvChunked(fiveIndividualResults(), 1, true, false, 10, ImportProgressListener.NONE);
+
+        assertEquals(5, result.created());
+        assertTrue(result.errors().isEmpty());
+        verify(importCheckpointRepository).findByFileHashAndTournamentId(anyString(), eq(1));
+        assertEquals(1, saved.get(saved.size() - 1).getTournamentId());
+    }
+
+    @Test
+    void importCsvChunked_WhenChunkFails_KeepsPreviousChunksAndReportsResumeLine() {
+        List<ImportCheckpoint> saved = stubChunkedImport(null);
+        when(resultRepository.saveAll(anyList()))
+                .thenAnswer(inv -> inv.getArgument(0))
+                .thenThrow(new IllegalStateException("conexión perdida"));
+
+        var result = service.importCsvChunked(fiveIndividualResults(), 1, true, false, 2, ImportProgressListener.NONE);
+
+        // El primer bloque quedó confirmado; el segundo se revirtió y no cuenta
+        assertEquals(2, result.created());
+        verify(transactionManager, times(1)).commit(any());
+        verify(transactionManager, times(1)).rollback(any());
+        assertEquals(1, saved.size());
+        assertEquals(3, saved.get(0).getLastCommittedLine());
+        assertTrue(result.errors().stream().anyMatch(e ->
+                e.contains("líneas 4 a 5") && e.contains("conexión perdida") && e.contains("después de la línea 3")));
+    }
+
+    @Test
+    void importJob_WhenChunkFailsAfterProgress_KeepsEveryErrorAndResetsRows() throws Exception {
+        stubChunkedImport(null);
+        // Un solo bloque: el avance de la fila 500 se guarda mientras el bloque sigue abierto,
+        // y el bloque falla al confirmarse
+        when(importCheckpointRepository.save(any(ImportCheckpoint.class)))
+                .thenThrow(new IllegalStateException("conexión perdida"));
+        StringBuilder csv = new StringBuilder(
+                "documento,nombreTorneo,categoria,modalidad,rama,equipo,numeroRonda,numeroCarril,numeroLinea,puntaje\n");
+        for (int i = 1; i <= 600; i++) {
+            int score = i <= 3 ? 400 : 150; // las 3 primeras filas tienen error
+            csv.append("10").append(i % 5 + 1).append(",Torneo Nacional 2024,Juvenil,Sencillo Masculino,Masculino,,1,5,")
+                    .append(i).append(",").append(score).append("\n");
+        }
+
+        ImportJobRepository importJobRepository = mock(ImportJobRepository.class);
+        ImportJobErrorRepository importJobErrorRepository = mock(ImportJobErrorRepository.class);
+        ImportJob job = ImportJob.builder().importJobId(5).jobType(ImportJobType.RESULTS).build();
+        when(importJobRepository.findById(5)).thenReturn(Optional.of(job));
+        List<ImportJobError> savedErrors = new ArrayList<>();
+        when(importJobErrorRepository.saveAll(anyList())).thenAnswer(inv -> {
+            savedErrors.addAll(inv.getArgument(0));
+            return inv.getArgument(0);
+        });
+        ImportJobService jobService = new ImportJobService(importJobRepository, importJobErrorRepository,
+                mock(ImportJobExecutor.class), transactionManager, service, null, null, null);
+
+        jobService.run(5, ImportJobType.RESULTS, StoredMultipartFile.copyOf(createCsvFile(csv.toString())),
+                1, true, false, 1000);
+
+        // Los errores de fila ya guardados por el avance siguen en su índice y el fallo se agrega después
+        List<String> messages = savedErrors.stream().map(ImportJobError::getMessage).toList();
+        assertEquals(4, messages.size());
+        assertEquals(List.of(0, 1, 2, 3), savedErrors.stream().map(ImportJobError::getErrorIndex).toList());
+        assertTrue(messages.get(0).contains("Línea 2") && messages.get(0).contains("puntaje"));
+        assertTrue(messages.get(3).contains("líneas 2 a 601") && messages.get(3).contains("se revirtió"));
+        assertEquals(4, job.getErrorCount());
+        assertEquals(0, job.getRowsProcessed());
+        assertEquals(0, job.getCreatedCount());
+        assertEquals(ImportJobStatus.COMPLETED, job.getStatus());
+    }
 }
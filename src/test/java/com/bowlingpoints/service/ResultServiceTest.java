@@ -2,19 +2,30 @@ package com.bowlingpoints.service;
 
 import com.bowlingpoints.dto.ResultDTO;
 import com.bowlingpoints.dto.PlayerResultTableDTO;
+import com.bowlingpoints.dto.ResultPageDTO;
+import com.bowlingpoints.dto.TournamentResultsResponseDTO;
 import com.bowlingpoints.entity.*;
+import com.bowlingpoints.event.ResultsChangedEvent;
+import com.bowlingpoints.exception.ConflictException;
 import com.bowlingpoints.repository.*;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.lang.reflect.InvocationTargetException;
+import java.sql.SQLException;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,6 +45,15 @@ class ResultServiceTest {
     private ModalityRepository modalityRepository;
     @Mock
     private BranchRepository branchRepository;
+    @Mock
+    private PlayerRankingStatsService playerRankingStatsService;
+
+    @Mock
+    private TournamentStandingsService tournamentStandingsService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private ImportCheckpointRepository importCheckpointRepository;
 
     @InjectMocks
     private ResultService resultService;
@@ -97,7 +117,7 @@ class ResultServiceTest {
 
     @Test
     void getById_ShouldReturnDTO_WhenExists() {
-        when(resultRepository.findById(1)).thenReturn(Optional.of(sampleResult));
+        when(resultRepository.findWithDetailById(1)).thenReturn(Optional.of(sampleResult));
 
         ResultDTO dto = resultService.getById(1);
 
@@ -108,7 +128,7 @@ class ResultServiceTest {
 
     @Test
     void getById_ShouldReturnNull_WhenNotFound() {
-        when(resultRepository.findById(999)).thenReturn(Optional.empty());
+        when(resultRepository.findWithDetailById(999)).thenReturn(Optional.empty());
 
         ResultDTO dto = resultService.getById(999);
 
@@ -117,7 +137,7 @@ class ResultServiceTest {
 
     @Test
     void delete_ShouldReturnTrue_WhenExists() {
-        when(resultRepository.existsById(1)).thenReturn(true);
+        when(resultRepository.findById(1)).thenReturn(Optional.of(sampleResult));
 
         boolean deleted = resultService.delete(1);
 
@@ -125,9 +145,28 @@ class ResultServiceTest {
         verify(resultRepository).deleteById(1);
     }
 
+    @Test
+    void delete_ShouldRefreshRankingAndPublishChange() {
+        when(resultRepository.findById(1)).thenReturn(Optional.of(sampleResult));
+
+        resultService.delete(1);
+
+        verify(playerRankingStatsService).refreshPersons(Set.of(1));
+        verify(eventPublisher).publishEvent(new ResultsChangedEvent(Set.of(1), Set.of(1)));
+    }
+
+    @Test
+    void delete_ShouldClearImportCheckpointOfTournament() {
+        when(resultRepository.findById(1)).thenReturn(Optional.of(sampleResult));
+
+        resultService.delete(1);
+
+        verify(importCheckpointRepository).deleteByTournamentId(1);
+    }
+
     @Test
     void delete_ShouldReturnFalse_WhenNotExists() {
-        when(resultRepository.existsById(1)).thenReturn(false);
+        when(resultRepository.findById(1)).thenReturn(Optional.empty());
 
         boolean deleted = resultService.delete(1);
 
@@ -135,24 +174,73 @@ class ResultServiceTest {
         verify(resultRepository, never()).deleteById(any());
     }
 
+    // -------------------------------------------------
+    // LISTADO PAGINADO / STREAMING
+    // -------------------------------------------------
+
+    @Test
+    void getPage_ShouldReturnNextCursor_WhenMoreRowsExist() {
+        List<ResultDTO> rows = List.of(
+                ResultDTO.builder().resultId(11).build(),
+                ResultDTO.builder().resultId(12).build(),
+                ResultDTO.builder().resultId(13).build()
+        );
+        when(resultRepository.findResultDTOsAfter(eq(10), any(Pageable.class))).thenReturn(rows);
+
+        ResultPageDTO page = resultService.getPage(10, 2);
+
+        assertEquals(2, page.getSize());
+        assertTrue(page.isHasMore());
+        assertEquals(12, page.getNextCursor());
+        verify(resultRepository).findResultDTOsAfter(10, PageRequest.of(0, 3));
+    }
+
+    @Test
+    void getPage_ShouldCapPageSizeAndEndWithoutCursor() {
+        when(resultRepository.findResultDTOsAfter(isNull(), any(Pageable.class)))
+                .thenReturn(List.of(ResultDTO.builder().resultId(1).build()));
+
+        ResultPageDTO page = resultService.getPage(null, 100_000);
+
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextCursor());
+        verify(resultRepository).findResultDTOsAfter(null, PageRequest.of(0, ResultService.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    void streamAll_ShouldForwardEveryRowToConsumer() {
+        when(resultRepository.streamAllResultDTOs()).thenReturn(java.util.stream.Stream.of(
+                ResultDTO.builder().resultId(1).build(),
+                ResultDTO.builder().resultId(2).build()
+        ));
+
+        List<Integer> seen = new ArrayList<>();
+        resultService.streamAll(dto -> seen.add(dto.getResultId()));
+
+        assertEquals(List.of(1, 2), seen);
+    }
+
     // -------------------------------------------------
     // FILTRO AVANZADO
     // -------------------------------------------------
 
     @Test
-    void getResultsByTournamentFiltered_ShouldFilterCorrectly() {
-        Tournament t2 = new Tournament();
-        t2.setTournamentId(2);
-        Result r2 = new Result();
-        r2.setTournament(t2);
-        r2.setScore(150);
+    void getResultsByTournamentFiltered_ShouldDelegateToProjectionQuery() {
+        ResultDTO projected = ResultDTO.builder()
+                .resultId(1)
+                .tournamentId(1)
+                .branchId(1)
+                .roundNumber(2)
+                .score(210)
+                .build();
 
-        when(resultRepository.findAll()).thenReturn(List.of(sampleResult, r2));
+        when(resultRepository.findResultDTOsByTournamentFiltered(1, 1, 2)).thenReturn(List.of(projected));
 
-        List<ResultDTO> result = resultService.getResultsByTournamentFiltered(1, null, null);
+        List<ResultDTO> result = resultService.getResultsByTournamentFiltered(1, 1, 2);
 
         assertEquals(1, result.size());
-        assertEquals(sampleResult.getScore(), result.get(0).getScore());
+        assertEquals(210, result.get(0).getScore());
+        verify(resultRepository, never()).findAll();
     }
 
     // -------------------------------------------------
@@ -178,12 +266,63 @@ class ResultServiceTest {
         when(categoryRepository.findById(1)).thenReturn(Optional.of(category));
         when(modalityRepository.findById(1)).thenReturn(Optional.of(modality));
         when(branchRepository.findByBranchIdAndStatusTrue(1)).thenReturn(Optional.of(branch));
-        when(resultRepository.save(any(Result.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(resultRepository.saveAndFlush(any(Result.class))).thenAnswer(inv -> inv.getArgument(0));
 
         ResultDTO saved = resultService.create(dto);
 
         assertNotNull(saved);
-        verify(resultRepository, times(1)).save(any(Result.class));
+        verify(resultRepository, times(1)).saveAndFlush(any(Result.class));
+        verify(playerRankingStatsService).refreshPersons(Set.of(1));
+        verify(eventPublisher).publishEvent(any(ResultsChangedEvent.class));
+    }
+
+    private DataIntegrityViolationException violation(String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("duplicate key", new SQLException("23505"), constraintName));
+    }
+
+    @Test
+    void create_WhenNaturalKeyAlreadyExists_ThrowsConflictWithoutPublishing() {
+        ResultDTO dto = ResultDTO.builder()
+                .personId(1)
+                .tournamentId(1)
+                .categoryId(1)
+                .modalityId(1)
+                .roundNumber(1)
+                .lineNumber(3)
+                .score(190)
+                .build();
+
+        when(personRepository.findById(1)).thenReturn(Optional.of(person));
+        when(tournamentRepository.findById(1)).thenReturn(Optional.of(tournament));
+        when(categoryRepository.findById(1)).thenReturn(Optional.of(category));
+        when(modalityRepository.findById(1)).thenReturn(Optional.of(modality));
+        when(resultRepository.saveAndFlush(any(Result.class))).thenThrow(violation(ResultService.NATURAL_KEY_INDEX));
+
+        ConflictException ex = assertThrows(ConflictException.class, () -> resultService.create(dto));
+
+        assertEquals("ERR-409", ex.getCode());
+        assertTrue(ex.getMessage().contains("ronda 1 y línea 3"));
+        verifyNoInteractions(playerRankingStatsService, eventPublisher);
+    }
+
+    @Test
+    void create_WhenOtherConstraintFails_RethrowsOriginalError() {
+        ResultDTO dto = ResultDTO.builder()
+                .personId(1)
+                .tournamentId(1)
+                .categoryId(1)
+                .modalityId(1)
+                .score(190)
+                .build();
+
+        when(personRepository.findById(1)).thenReturn(Optional.of(person));
+        when(tournamentRepository.findById(1)).thenReturn(Optional.of(tournament));
+        when(categoryRepository.findById(1)).thenReturn(Optional.of(category));
+        when(modalityRepository.findById(1)).thenReturn(Optional.of(modality));
+        when(resultRepository.saveAndFlush(any(Result.class))).thenThrow(violation("fk_result_person"));
+
+        assertThrows(DataIntegrityViolationException.class, () -> resultService.create(dto));
     }
 
     @Test
@@ -210,7 +349,37 @@ class ResultServiceTest {
         boolean updated = resultService.update(1, dto);
 
         assertTrue(updated);
-        verify(resultRepository).save(any(Result.class));
+        verify(resultRepository).saveAndFlush(any(Result.class));
+    }
+
+    @Test
+    void update_WhenPersonChanges_RefreshesPreviousAndNewPerson() {
+        Person other = new Person();
+        other.setPersonId(2);
+        ResultDTO dto = ResultDTO.builder()
+                .personId(2)
+                .tournamentId(1)
+                .categoryId(1)
+                .modalityId(1)
+                .score(220)
+                .build();
+
+        when(resultRepository.findById(1)).thenReturn(Optional.of(sampleResult));
+        when(personRepository.findById(2)).thenReturn(Optional.of(other));
+        when(tournamentRepository.findById(1)).thenReturn(Optional.of(tournament));
+        when(categoryRepository.findById(1)).thenReturn(Optional.of(category));
+        when(modalityRepository.findById(1)).thenReturn(Optional.of(modality));
+
+        resultService.update(1, dto);
+
+        verify(playerRankingStatsService).refreshPersons(Set.of(1, 2));
+    }
+
+    @Test
+    void getPlayerRankingPage_ClampsSizeAndRequestsPage() {
+        resultService.getPlayerRankingPage(2, 10_000);
+
+        verify(playerRankingStatsService).getRanking(PageRequest.of(2, ResultService.MAX_PAGE_SIZE));
     }
 
     @Test
@@ -229,11 +398,11 @@ class ResultServiceTest {
 
     @Test
     void getPlayerResultsForTable_ShouldAggregateScoresAndCalculateAverages() {
-        // row: personId, playerName, clubName, round, score, teamId, teamName
+        // row: personId, playerName, clubName, round, score, teamId, teamName, lineNumber, resultId
         List<Object[]> mockRows = List.of(
-                new Object[]{1, "Alice", "Club A", 1, 200, null, null},
-                new Object[]{1, "Alice", "Club A", 2, 180, null, null},
-                new Object[]{2, "TeamPlayer", "Club B", 1, 210, 5, "Team Bravo"}
+                new Object[]{1, "Alice", "Club A", 1, 200, null, null, 1, 10},
+                new Object[]{1, "Alice", "Club A", 2, 180, null, null, 1, 11},
+                new Object[]{2, "TeamPlayer", "Club B", 1, 210, 5, "Team Bravo", 1, 12}
         );
 
         when(resultRepository.findRawPlayerResultsForTable(1, 1)).thenReturn(mockRows);
@@ -259,8 +428,8 @@ class ResultServiceTest {
     @Test
     void getPlayerResultsForTable_ShouldFilterByRoundNumber() {
         List<Object[]> mockRows = List.of(
-                new Object[]{1, "Alice", "Club A", 1, 200, null, null},
-                new Object[]{1, "Alice", "Club A", 2, 180, null, null}
+                new Object[]{1, "Alice", "Club A", 1, 200, null, null, 1, 10},
+                new Object[]{1, "Alice", "Club A", 2, 180, null, null, 1, 11}
         );
 
         when(resultRepository.findRawPlayerResultsForTable(1, 1)).thenReturn(mockRows);
@@ -294,19 +463,13 @@ class ResultServiceTest {
 
 
     @Test
-    void getResultsByTournamentFiltered_ShouldApplyAllFilters() {
-        Result r1 = sampleResult;
-        Result r2 = new Result();
-        r2.setTournament(tournament);
-        Category c2 = new Category();
-        c2.setCategoryId(2);
-        r2.setCategory(c2);
+    void getResultsByTournamentFiltered_ShouldPassNullFiltersToQuery() {
+        when(resultRepository.findResultDTOsByTournamentFiltered(1, null, null)).thenReturn(Collections.emptyList());
 
-        when(resultRepository.findAll()).thenReturn(List.of(r1, r2));
-
-        List<ResultDTO> result = resultService.getResultsByTournamentFiltered(1, 1, null);
+        List<ResultDTO> result = resultService.getResultsByTournamentFiltered(1, null, null);
 
-        assertEquals(1, result.size());
+        assertTrue(result.isEmpty());
+        verify(resultRepository).findResultDTOsByTournamentFiltered(1, null, null);
     }
 
     @Test
@@ -318,7 +481,7 @@ class ResultServiceTest {
 
     @Test
     void delete_ShouldHandleException() {
-        when(resultRepository.existsById(1)).thenReturn(true);
+        when(resultRepository.findById(1)).thenReturn(Optional.of(sampleResult));
         doThrow(new RuntimeException("DB error")).when(resultRepository).deleteById(1);
 
         assertThrows(RuntimeException.class, () -> resultService.delete(1));
@@ -341,7 +504,7 @@ class ResultServiceTest {
         tm.setModality(Modality.builder().modalityId(1).name("Sencillos Masculino").description("Desc").status(true).build());
         tournament.setModalities(List.of(tm));
 
-        when(tournamentRepository.findById(1)).thenReturn(Optional.of(tournament));
+        when(tournamentRepository.findWithModalitiesById(1)).thenReturn(Optional.of(tournament));
         when(resultRepository.findDistinctRoundsByTournament(1)).thenReturn(List.of(1, 2));
 
         var result = resultService.getResultsByModality(1, 1, 1);
@@ -354,34 +517,25 @@ class ResultServiceTest {
     }
 
     @Test
-    void getTournamentResultsTable_ShouldReturnCompleteSummary() {
-        List<Object[]> playerResults = List.<Object[]>of(
-                new Object[]{1, "Alice", "Club A", 1, 200, null, null}
-        );
+    void getResultsByModality_ShouldUseInMemoryStandingsWhenAvailable() {
+        TournamentResultsResponseDTO live = TournamentResultsResponseDTO.builder().build();
+        when(tournamentStandingsService.getResultsByModality(1, 2, 3)).thenReturn(Optional.of(live));
 
-        List<Object[]> avgByLine = List.<Object[]>of(
-                new Object[]{"Alice", 200.0}
-        );
+        assertSame(live, resultService.getResultsByModality(1, 2, 3));
+        verifyNoInteractions(resultRepository, tournamentRepository);
+    }
 
-        List<Object[]> highestLine = List.<Object[]>of(
-                new Object[]{210, "Alice", 3}
+    @Test
+    void getTournamentResultsTable_ShouldReturnCompleteSummary() {
+        List<Object[]> playerResults = List.<Object[]>of(
+                new Object[]{1, "Alice", "Club A", 1, 200, null, null, 1, 10},
+                new Object[]{1, "Alice", "Club A", 1, 180, null, null, 2, 11},
+                new Object[]{2, "Bob", "Club B", 2, 250, null, null, 1, 12}
         );
 
         when(resultRepository.findRawPlayerResultsForTable(1, 1))
                 .thenReturn(playerResults);
 
-        when(resultRepository.findDistinctRoundsByTournamentAndModality(1, 1))
-                .thenReturn(List.of(1, 2));
-
-        when(resultRepository.findAvgByLineRaw(1, 1, 1))
-                .thenReturn(avgByLine);
-
-        when(resultRepository.findAvgByRound(1, 1, 1))
-                .thenReturn(190.0);
-
-        when(resultRepository.findHighestLine(1, 1, 1))
-                .thenReturn(highestLine);
-
         Tournament t = new Tournament();
         t.setTournamentId(1);
         t.setName("Torneo Test");
@@ -394,13 +548,45 @@ class ResultServiceTest {
                 .build());
         t.setModalities(List.of(tm));
 
-        when(tournamentRepository.findById(1)).thenReturn(Optional.of(t));
+        when(tournamentRepository.findWithModalitiesById(1)).thenReturn(Optional.of(t));
 
         var dto = resultService.getTournamentResultsTable(1, 1, 1);
 
         assertEquals("Torneo Test", dto.getTournament().getTournamentName());
+        assertEquals(1, dto.getModalities().size());
+        assertEquals(List.of(1, 2), dto.getRounds());
         assertEquals(190.0, dto.getAvgByRound());
+        assertEquals(Map.of("L1", 200.0, "L2", 180.0), dto.getAvgByLine());
+        assertEquals("Alice", dto.getHighestLine().getPlayerName());
+        assertEquals(200, dto.getHighestLine().getScore());
+        assertEquals(1, dto.getHighestLine().getLineNumber());
+        verify(tournamentRepository, never()).findById(anyInt());
+    }
+
+    @Test
+    void getTournamentResultsTable_ShouldIgnoreRowsRepeatedByClubJoin() {
+        // La misma línea llega dos veces porque la persona tiene dos clubes activos
+        List<Object[]> playerResults = List.<Object[]>of(
+                new Object[]{1, "Alice", "Club A", 1, 200, null, null, 1, 10},
+                new Object[]{1, "Alice", "Club B", 1, 200, null, null, 1, 10},
+                new Object[]{1, "Alice", "Club A", 1, 160, null, null, 2, 11},
+                new Object[]{0, null, null, 1, 300, 7, "Team Bravo", 1, 13}
+        );
+
+        when(resultRepository.findRawPlayerResultsForTable(1, 1)).thenReturn(playerResults);
+        when(tournamentRepository.findWithModalitiesById(1)).thenReturn(Optional.empty());
+
+        var dto = resultService.getTournamentResultsTable(1, 1, null);
+
+        PlayerResultTableDTO alice = dto.getResults().stream()
+                .filter(r -> "Alice".equals(r.getPlayerName()))
+                .findFirst().orElseThrow();
+        assertEquals(List.of(200, 160), alice.getScores());
+        assertEquals(220.0, dto.getAvgByRound(), 0.01);
+        assertEquals(250.0, dto.getAvgByLine().get("L1"), 0.01);
+        // La mayor línea solo considera resultados con jugador
         assertEquals("Alice", dto.getHighestLine().getPlayerName());
+        assertEquals(200, dto.getHighestLine().getScore());
     }
 
     @Test
@@ -505,7 +691,7 @@ class ResultServiceTest {
 
     @Test
     void getResultsByModality_ShouldHandleEmptyRepositories() {
-        when(tournamentRepository.findById(anyInt())).thenReturn(Optional.empty());
+        when(tournamentRepository.findWithModalitiesById(anyInt())).thenReturn(Optional.empty());
         when(resultRepository.findDistinctRoundsByTournament(anyInt())).thenReturn(Collections.emptyList());
         when(resultRepository.findPlayerTotalsByModalityAndBranch(anyInt(), anyInt(), anyInt()))
                 .thenReturn(Collections.emptyList());
@@ -519,16 +705,16 @@ class ResultServiceTest {
 
     @Test
     void getTournamentResultsTable_ShouldHandleEmptyData() {
-        when(tournamentRepository.findById(anyInt())).thenReturn(Optional.empty());
+        when(tournamentRepository.findWithModalitiesById(anyInt())).thenReturn(Optional.empty());
         when(resultRepository.findRawPlayerResultsForTable(anyInt(), anyInt())).thenReturn(Collections.emptyList());
-        when(resultRepository.findDistinctRoundsByTournamentAndModality(anyInt(), anyInt()))
-                .thenReturn(Collections.emptyList());
-        when(resultRepository.findAvgByLineRaw(anyInt(), anyInt(), anyInt())).thenReturn(Collections.emptyList());
-        when(resultRepository.findHighestLine(anyInt(), anyInt(), anyInt())).thenReturn(Collections.emptyList());
 
         var result = resultService.getTournamentResultsTable(1, 1, 1);
         assertNotNull(result);
         assertNull(result.getTournament());
+        assertTrue(result.getRounds().isEmpty());
+        assertTrue(result.getAvgByLine().isEmpty());
+        assertNull(result.getAvgByRound());
+        assertNull(result.getHighestLine());
     }
 
     @Test
@@ -582,7 +768,7 @@ class ResultServiceTest {
 
     @Test
     void getResultsByModality_ShouldHandleEmptyDataGracefully() {
-        when(tournamentRepository.findById(anyInt())).thenReturn(Optional.empty());
+        when(tournamentRepository.findWithModalitiesById(anyInt())).thenReturn(Optional.empty());
         when(resultRepository.findDistinctRoundsByTournament(anyInt())).thenReturn(Collections.emptyList());
         when(resultRepository.findPlayerTotalsByModalityAndBranch(anyInt(), anyInt(), anyInt()))
                 .thenReturn(Collections.emptyList());
@@ -1,23 +1,28 @@
 package com.bowlingpoints.service;
 
+import com.bowlingpoints.dto.PlayerProfileProjection;
 import com.bowlingpoints.dto.UserDashboardStatsDTO;
-import com.bowlingpoints.entity.Modality;
-import com.bowlingpoints.entity.Result;
-import com.bowlingpoints.entity.Tournament;
+import com.bowlingpoints.dto.UserStatisticsDTO;
+import com.bowlingpoints.event.PlayerProfileChangedEvent;
+import com.bowlingpoints.event.ResultsChangedEvent;
+import com.bowlingpoints.repository.PersonRepository;
 import com.bowlingpoints.repository.ResultRepository;
+import com.bowlingpoints.util.TtlCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.time.LocalDate;
-import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class StatsServiceTest {
@@ -25,38 +30,35 @@ class StatsServiceTest {
     @Mock
     private ResultRepository resultRepository;
 
-    @InjectMocks
-    private StatsService statsService;
+    @Mock
+    private PersonRepository personRepository;
 
-    private Tournament tournament1;
-    private Tournament tournament2;
-    private Modality modalityIndividual;
-    private Modality modalityTeam;
+    private final TtlCache<Integer, UserDashboardStatsDTO> dashboardStatsCache =
+            new TtlCache<>("player-dashboard-stats", Duration.ofMinutes(10), 100);
+    private final TtlCache<Integer, UserStatisticsDTO> publicStatsCache =
+            new TtlCache<>("player-public-stats", Duration.ofMinutes(10), 100);
+
+    private StatsService statsService;
 
     @BeforeEach
     void setUp() {
-        tournament1 = new Tournament();
-        tournament1.setTournamentId(1);
-        tournament1.setName("Torneo 1");
-        tournament1.setImageUrl("img1.png");
-        tournament1.setStartDate(LocalDate.of(2024, 10, 10));
-
-        tournament2 = new Tournament();
-        tournament2.setTournamentId(2);
-        tournament2.setName("Torneo 2");
-        tournament2.setImageUrl("img2.png");
-        tournament2.setStartDate(LocalDate.of(2024, 12, 5));
-
-        modalityIndividual = new Modality();
-        modalityIndividual.setName("Individual");
-
-        modalityTeam = new Modality();
-        modalityTeam.setName("Parejas");
+        statsService = new StatsService(resultRepository, personRepository, dashboardStatsCache, publicStatsCache);
+    }
+
+    // fila del resumen: promedio, máximo, líneas, torneos, conteos por rango (6)
+    private List<Object[]> summary(Double avg, Integer max, long lines, long tournaments, long... ranges) {
+        Object[] row = new Object[4 + ranges.length];
+        row[0] = avg;
+        row[1] = max;
+        row[2] = lines;
+        row[3] = tournaments;
+        for (int i = 0; i < ranges.length; i++) row[4 + i] = ranges[i];
+        return List.<Object[]>of(row);
     }
 
     @Test
     void getUserDashboardStats_WhenNoResults_ShouldReturnZerosAndEmptyLists() {
-        when(resultRepository.findByPersonId(1)).thenReturn(Collections.emptyList());
+        when(resultRepository.findScoreSummaryByPerson(1)).thenReturn(summary(null, null, 0, 0, 0, 0, 0, 0, 0, 0));
 
         UserDashboardStatsDTO stats = statsService.getUserDashboardStats(1);
 
@@ -68,26 +70,19 @@ class StatsServiceTest {
         assertTrue(stats.getAvgPerTournament().isEmpty());
         assertTrue(stats.getAvgPerModality().isEmpty());
         assertTrue(stats.getScoreDistribution().isEmpty());
+        verify(resultRepository, never()).findAvgByTournamentForPerson(anyInt());
+        verify(resultRepository, never()).findAvgByModalityForPerson(anyInt());
     }
 
     @Test
     void getUserDashboardStats_WhenResultsExist_ShouldReturnCalculatedStats() {
-        Result r1 = new Result();
-        r1.setScore(200);
-        r1.setTournament(tournament1);
-        r1.setModality(modalityIndividual);
-
-        Result r2 = new Result();
-        r2.setScore(180);
-        r2.setTournament(tournament1);
-        r2.setModality(modalityIndividual);
-
-        Result r3 = new Result();
-        r3.setScore(220);
-        r3.setTournament(tournament2);
-        r3.setModality(modalityTeam);
-
-        when(resultRepository.findByPersonId(1)).thenReturn(List.of(r1, r2, r3));
+        when(resultRepository.findScoreSummaryByPerson(1)).thenReturn(summary(200.0, 220, 3, 2, 0, 0, 1, 2, 0, 0));
+        when(resultRepository.findAvgByTournamentForPerson(1)).thenReturn(List.of(
+                new Object[]{2, "Torneo 2", "img2.png", LocalDate.of(2024, 12, 5), 220.0},
+                new Object[]{1, "Torneo 1", "img1.png", LocalDate.of(2024, 10, 10), 190.0}));
+        when(resultRepository.findAvgByModalityForPerson(1)).thenReturn(List.of(
+                new Object[]{"Individual", 190.0},
+                new Object[]{"Parejas", 220.0}));
 
         UserDashboardStatsDTO stats = statsService.getUserDashboardStats(1);
 
@@ -101,28 +96,20 @@ class StatsServiceTest {
         assertEquals(6, stats.getScoreDistribution().size()); // Rango completo 0–129 ... 251–300
 
         // Validar orden y valores del mejor torneo
+        assertEquals(LocalDate.of(2024, 12, 5), stats.getAvgPerTournament().get(0).getStartDate());
         assertNotNull(stats.getBestTournamentAvg());
         assertEquals("Torneo 2", stats.getBestTournamentAvg().getTournamentName());
+        assertEquals("Parejas", stats.getAvgPerModality().get(1).getModalityName());
+        assertEquals(220.0, stats.getAvgPerModality().get(1).getAverage(), 0.01);
     }
 
     @Test
     void getUserDashboardStats_WhenAllResultsLowScores_ShouldReturnCorrectDistribution() {
-        Result r1 = new Result();
-        r1.setScore(100);
-        r1.setTournament(tournament1);
-        r1.setModality(modalityIndividual);
-
-        Result r2 = new Result();
-        r2.setScore(140);
-        r2.setTournament(tournament1);
-        r2.setModality(modalityIndividual);
-
-        Result r3 = new Result();
-        r3.setScore(160);
-        r3.setTournament(tournament1);
-        r3.setModality(modalityIndividual);
-
-        when(resultRepository.findByPersonId(5)).thenReturn(List.of(r1, r2, r3));
+        when(resultRepository.findScoreSummaryByPerson(5)).thenReturn(summary(133.33, 160, 3, 1, 1, 2, 0, 0, 0, 0));
+        when(resultRepository.findAvgByTournamentForPerson(5)).thenReturn(List.<Object[]>of(
+                new Object[]{1, "Torneo 1", "img1.png", LocalDate.of(2024, 10, 10), 133.33}));
+        when(resultRepository.findAvgByModalityForPerson(5)).thenReturn(List.<Object[]>of(
+                new Object[]{"Individual", 133.33}));
 
         UserDashboardStatsDTO stats = statsService.getUserDashboardStats(5);
 
@@ -137,5 +124,88 @@ class StatsServiceTest {
                 .filter(r -> r.getLabel().equals("0–129"))
                 .findFirst().get().getCount();
         assertEquals(1L, lowCount);
+        assertEquals(List.of(1L, 2L, 0L, 0L, 0L, 0L),
+                ranges.stream().map(UserDashboardStatsDTO.ScoreRangeDTO::getCount).toList());
+    }
+
+    @Test
+    void getUserDashboardStats_SecondCall_IsServedFromCache() {
+        when(resultRepository.findScoreSummaryByPerson(1)).thenReturn(summary(null, null, 0, 0, 0, 0, 0, 0, 0, 0));
+
+        UserDashboardStatsDTO first = statsService.getUserDashboardStats(1);
+        UserDashboardStatsDTO second = statsService.getUserDashboardStats(1);
+
+        assertSame(first, second);
+        verify(resultRepository, times(1)).findScoreSummaryByPerson(1);
+        assertEquals(1, dashboardStatsCache.stats().hits());
+    }
+
+    @Test
+    void onResultsChanged_EvictsOnlyAffectedPersons() {
+        when(resultRepository.findScoreSummaryByPerson(anyInt())).thenReturn(summary(null, null, 0, 0, 0, 0, 0, 0, 0, 0));
+        statsService.getUserDashboardStats(1);
+        statsService.getUserDashboardStats(2);
+
+        statsService.onResultsChanged(new ResultsChangedEvent(Set.of(10), Set.of(1)));
+        statsService.getUserDashboardStats(1);
+        statsService.getUserDashboardStats(2);
+
+        verify(resultRepository, times(2)).findScoreSummaryByPerson(1);
+        verify(resultRepository, times(1)).findScoreSummaryByPerson(2);
+    }
+
+    private PlayerProfileProjection profile(String fullName, String fullSurname, String clubName) {
+        return new PlayerProfileProjection() {
+            public String getFullName() { return fullName; }
+            public String getFullSurname() { return fullSurname; }
+            public LocalDate getBirthDate() { return LocalDate.of(2000, 1, 1); }
+            public String getPhotoUrl() { return "foto.jpg"; }
+            public String getClubName() { return clubName; }
+        };
+    }
+
+    @Test
+    void getUserPublicStats_IsCachedAndEvictedWithPersonResults() {
+        when(personRepository.findPlayerProfile(1)).thenReturn(Optional.of(profile("Ana", "Gómez", "Strike Club")));
+        when(resultRepository.findScoreSummaryByPerson(1)).thenReturn(
+                summary(200.0, 220, 3, 2, 0, 0, 1, 2, 0, 0),
+                summary(210.0, 240, 4, 2, 0, 0, 1, 2, 1, 0));
+
+        UserStatisticsDTO first = statsService.getUserPublicStats(1);
+        assertSame(first, statsService.getUserPublicStats(1));
+        assertEquals("Ana Gómez", first.getFullName());
+        assertEquals("Strike Club", first.getClub());
+        assertEquals("foto.jpg", first.getPhotoUrl());
+        assertEquals(200.0, first.getAvgScore(), 0.01);
+
+        statsService.onResultsChanged(new ResultsChangedEvent(Set.of(10), Set.of(1)));
+        UserStatisticsDTO updated = statsService.getUserPublicStats(1);
+
+        assertEquals(240, updated.getBestGame());
+        verify(personRepository, times(2)).findPlayerProfile(1);
+        verify(personRepository, never()).findById(anyInt());
+    }
+
+    @Test
+    void onPlayerProfileChanged_EvictsOnlyPublicStatsOfThosePersons() {
+        when(personRepository.findPlayerProfile(1)).thenReturn(
+                Optional.of(profile("Ana", "Gómez", "Strike Club")),
+                Optional.of(profile("Ana", "Gómez", null)));
+        when(resultRepository.findScoreSummaryByPerson(1)).thenReturn(summary(null, null, 0, 0, 0, 0, 0, 0, 0, 0));
+
+        statsService.getUserPublicStats(1);
+        statsService.onPlayerProfileChanged(new PlayerProfileChangedEvent(Set.of(1)));
+        UserStatisticsDTO updated = statsService.getUserPublicStats(1);
+
+        assertNull(updated.getClub());
+        // Las estadísticas del dashboard no dependen del perfil y siguen en caché
+        verify(resultRepository, times(1)).findScoreSummaryByPerson(1);
+    }
+
+    @Test
+    void getUserPublicStats_WhenPersonNotFound_Throws() {
+        when(personRepository.findPlayerProfile(99)).thenReturn(Optional.empty());
+
+        assertThrows(RuntimeException.class, () -> statsService.getUserPublicStats(99));
     }
 }
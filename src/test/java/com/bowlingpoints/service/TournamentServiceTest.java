@@ -2,6 +2,7 @@ package com.bowlingpoints.service;
 
 import com.bowlingpoints.dto.*;
 import com.bowlingpoints.entity.*;
+import com.bowlingpoints.event.TournamentChangedEvent;
 import com.bowlingpoints.exception.BadRequestException;
 import com.bowlingpoints.exception.BusinessException;
 import com.bowlingpoints.exception.NotFoundException;
@@ -11,6 +12,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataAccessResourceFailureException;
 
 import java.time.LocalDate;
@@ -46,6 +48,10 @@ class TournamentServiceTest {
     private ResultRepository resultRepository;
     @Mock
     private TournamentRegistrationRepository tournamentRegistrationRepository;
+    @Mock
+    private ImportCheckpointRepository importCheckpointRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     private Tournament tournament;
 
@@ -73,7 +79,7 @@ class TournamentServiceTest {
     void getAll_ShouldReturnTournamentList() {
         when(tournamentRepository.findAllByDeletedAtIsNullOrderByStartDateDesc())
                 .thenReturn(List.of(tournament));
-        when(tournamentRegistrationRepository.findByTournament_TournamentId(1))
+        when(tournamentRegistrationRepository.findDTOsByTournamentIds(List.of(1)))
                 .thenReturn(Collections.emptyList());
 
         List<TournamentDTO> result = tournamentService.getAll();
@@ -96,7 +102,7 @@ class TournamentServiceTest {
     @Test
     void getById_ShouldReturnTournament() {
         when(tournamentRepository.findById(1)).thenReturn(Optional.of(tournament));
-        when(tournamentRegistrationRepository.findByTournament_TournamentId(1))
+        when(tournamentRegistrationRepository.findDTOsByTournamentIds(List.of(1)))
                 .thenReturn(Collections.emptyList());
 
         TournamentDTO result = tournamentService.getById(1);
@@ -140,7 +146,7 @@ class TournamentServiceTest {
         when(categoryRepository.findById(1)).thenReturn(Optional.of(category));
         when(modalityRepository.findById(2)).thenReturn(Optional.of(modality));
         when(branchRepository.findById(3)).thenReturn(Optional.of(branch));
-        when(tournamentRegistrationRepository.findByTournament_TournamentId(anyInt()))
+        when(tournamentRegistrationRepository.findDTOsByTournamentIds(anyCollection()))
                 .thenReturn(Collections.emptyList());
 
         TournamentDTO result = tournamentService.create(dto);
@@ -245,6 +251,8 @@ class TournamentServiceTest {
 
         assertTrue(result);
         verify(tournamentRepository).save(any(Tournament.class));
+        verify(importCheckpointRepository).deleteByTournamentId(1);
+        verify(eventPublisher).publishEvent(new TournamentChangedEvent(1));
     }
 
     @Test
@@ -269,7 +277,7 @@ class TournamentServiceTest {
                 .branches(List.of(TournamentBranch.builder().branch(branch).build()))
                 .build();
 
-        when(tournamentRegistrationRepository.findByTournament_TournamentId(100))
+        when(tournamentRegistrationRepository.findDTOsByTournamentIds(List.of(100)))
                 .thenReturn(Collections.emptyList());
 
         var method = TournamentService.class.getDeclaredMethod("toDTO", Tournament.class);
@@ -289,7 +297,7 @@ class TournamentServiceTest {
                 .name("Torneo sin listas")
                 .build();
 
-        when(tournamentRegistrationRepository.findByTournament_TournamentId(200))
+        when(tournamentRegistrationRepository.findDTOsByTournamentIds(List.of(200)))
                 .thenReturn(Collections.emptyList());
 
         var method = TournamentService.class.getDeclaredMethod("toDTO", Tournament.class);
@@ -334,7 +342,7 @@ class TournamentServiceTest {
         when(tournamentRepository.findById(1)).thenReturn(Optional.of(tournament));
         when(resultRepository.countPlayersByBranch(1))
                 .thenReturn(List.of(countDTO));
-        when(tournamentRegistrationRepository.findByTournament_TournamentId(1))
+        when(tournamentRegistrationRepository.findDTOsByTournamentIds(List.of(1)))
                 .thenReturn(Collections.emptyList());
 
         TournamentDTO result = tournamentService.getById(1);
@@ -396,7 +404,7 @@ class TournamentServiceTest {
     void getTournamentsByAmbit_ShouldReturnList() {
         when(tournamentRepository.findByAmbit_AmbitIdAndDeletedAtIsNull(1))
                 .thenReturn(List.of(tournament));
-        when(tournamentRegistrationRepository.findByTournament_TournamentId(1))
+        when(tournamentRegistrationRepository.findDTOsByTournamentIds(List.of(1)))
                 .thenReturn(Collections.emptyList());
 
         List<TournamentDTO> result = tournamentService.getTournamentsByAmbit(1, "Nacional");
@@ -453,27 +461,13 @@ class TournamentServiceTest {
 
     @Test
     void toDTO_ShouldMapTournamentRegistrationsProperly() throws Exception {
-        Person person = Person.builder()
+        TournamentRegistrationDTO reg = TournamentRegistrationDTO.builder()
+                .registrationId(100)
+                .tournamentId(1)
                 .personId(10)
-                .fullName("Juan")
-                .fullSurname("Pérez")
-                .build();
-        Team team = Team.builder()
+                .personFullName("Juan Pérez")
                 .teamId(20)
-                .nameTeam("TeamX")
-                .build();
-        Category category = Category.builder().categoryId(1).name("Senior").build();
-        Modality modality = Modality.builder().modalityId(2).name("Individual").build();
-        Branch branch = Branch.builder().branchId(3).name("Masculina").build();
-
-        TournamentRegistration reg = TournamentRegistration.builder()
-                .registrationId(100)
-                .tournament(tournament)
-                .person(person)
-                .team(team)
-                .category(category)
-                .modality(modality)
-                .branch(branch)
+                .teamName("TeamX")
                 .status(true)
                 .build();
 
@@ -482,7 +476,7 @@ class TournamentServiceTest {
                 .name("Torneo Test")
                 .build();
 
-        when(tournamentRegistrationRepository.findByTournament_TournamentId(1))
+        when(tournamentRegistrationRepository.findDTOsByTournamentIds(List.of(1)))
                 .thenReturn(List.of(reg));
 
         var method = TournamentService.class.getDeclaredMethod("toDTO", Tournament.class);
@@ -494,6 +488,47 @@ class TournamentServiceTest {
         assertEquals("Juan Pérez", dto.getTournamentRegistrations().get(0).getPersonFullName());
     }
 
+    @Test
+    void getAll_ShouldLoadCategoriesBranchesAndRegistrationsOnceForAllTournaments() {
+        Category category = Category.builder().categoryId(1).name("Senior").build();
+        Branch branch = Branch.builder().branchId(3).name("Masculina").build();
+
+        Tournament other = Tournament.builder().tournamentId(2).name("Otro").build();
+        Tournament withCategories = Tournament.builder()
+                .tournamentId(1)
+                .categories(List.of(TournamentCategory.builder().category(category).build()))
+                .build();
+        Tournament withBranches = Tournament.builder()
+                .tournamentId(1)
+                .branches(List.of(TournamentBranch.builder().branch(branch).build()))
+                .build();
+        TournamentRegistrationDTO reg = TournamentRegistrationDTO.builder()
+                .registrationId(7)
+                .tournamentId(2)
+                .personFullName("Ana Gómez")
+                .build();
+
+        when(tournamentRepository.findAllByDeletedAtIsNullOrderByStartDateDesc())
+                .thenReturn(List.of(tournament, other));
+        when(tournamentRepository.findWithCategoriesByTournamentIdIn(List.of(1, 2)))
+                .thenReturn(List.of(withCategories));
+        when(tournamentRepository.findWithBranchesByTournamentIdIn(List.of(1, 2)))
+                .thenReturn(List.of(withBranches));
+        when(tournamentRegistrationRepository.findDTOsByTournamentIds(List.of(1, 2)))
+                .thenReturn(List.of(reg));
+
+        List<TournamentDTO> result = tournamentService.getAll();
+
+        assertEquals(List.of("Senior"), result.get(0).getCategories().stream().map(CategoryDTO::getName).toList());
+        assertEquals(List.of("Masculina"), result.get(0).getBranches().stream().map(BranchDTO::getName).toList());
+        assertTrue(result.get(0).getTournamentRegistrations().isEmpty());
+        assertTrue(result.get(1).getCategories().isEmpty());
+        assertEquals(List.of(7), result.get(1).getTournamentRegistrations().stream()
+                .map(TournamentRegistrationDTO::getRegistrationId).toList());
+        verify(tournamentRegistrationRepository, times(1)).findDTOsByTournamentIds(anyCollection());
+        verify(tournamentRepository, never()).findById(anyInt());
+    }
+
     @Test
     void update_ShouldSaveAllCategoriesModalitiesAndBranches() {
         TournamentDTO dto = TournamentDTO.builder()
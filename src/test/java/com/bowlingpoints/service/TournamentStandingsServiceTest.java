@@ -0,0 +1,199 @@
+package com.bowlingpoints.service;
+
+import com.bowlingpoints.dto.PlayerByModalityDTO;
+import com.bowlingpoints.dto.TournamentResultsResponseDTO;
+import com.bowlingpoints.entity.Modality;
+import com.bowlingpoints.entity.Tournament;
+import com.bowlingpoints.entity.TournamentModality;
+import com.bowlingpoints.event.ResultsChangedEvent;
+import com.bowlingpoints.event.TournamentChangedEvent;
+import com.bowlingpoints.repository.ResultRepository;
+import com.bowlingpoints.repository.TournamentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TournamentStandingsServiceTest {
+
+    @Mock
+    private ResultRepository resultRepository;
+
+    @Mock
+    private TournamentRepository tournamentRepository;
+
+    @InjectMocks
+    private TournamentStandingsService service;
+
+    private Tournament tournament;
+
+    @BeforeEach
+    void setUp() {
+        tournament = new Tournament();
+        tournament.setTournamentId(1);
+        tournament.setName("Nacional");
+        tournament.setStage("En curso");
+        TournamentModality tm = new TournamentModality();
+        tm.setModality(Modality.builder().modalityId(1).name("Sencillos").status(true).build());
+        tournament.setModalities(List.of(tm));
+
+        lenient().when(tournamentRepository.findActiveInProgress()).thenReturn(List.of(tournament));
+        lenient().when(tournamentRepository.findWithModalitiesById(1)).thenReturn(Optional.of(tournament));
+    }
+
+    // fila: personId, nombre, club, modalidad, rama, ronda, número de línea, puntaje
+    private Object[] line(int personId, String name, String modality, Integer branch, int round, int lineNumber, int score) {
+        return new Object[]{personId, name, name.equals("Ana") ? "Club A" : null, modality, branch, round, lineNumber, score};
+    }
+
+    private List<Object[]> initialRows() {
+        return new ArrayList<>(List.of(
+                line(10, "Ana", "Sencillos", 1, 1, 1, 200),
+                line(10, "Ana", "Dobles", 1, 2, 1, 180),
+                line(11, "Luis", "Sencillos", 2, 1, 1, 220),
+                line(11, "Luis", "Sencillos", 2, 1, 2, 150)));
+    }
+
+    private List<PlayerByModalityDTO> results(Integer round, Integer branch) {
+        return service.getResultsByModality(1, round, branch).orElseThrow().getResultsByModality();
+    }
+
+    @Test
+    void getResultsByModality_NotInProgress_ReturnsEmptyWithoutQueries() {
+        when(tournamentRepository.findActiveInProgress()).thenReturn(List.of());
+        service.loadInProgressTournaments();
+
+        assertTrue(service.getResultsByModality(1, null, null).isEmpty());
+        verifyNoInteractions(resultRepository);
+    }
+
+    @Test
+    void loadInProgressTournaments_BuildsRankingByAverage() {
+        when(resultRepository.findStandingRowsByTournament(1)).thenReturn(initialRows());
+
+        service.loadInProgressTournaments();
+        TournamentResultsResponseDTO dto = service.getResultsByModality(1, null, null).orElseThrow();
+
+        assertEquals("Nacional", dto.getTournament().getTournamentName());
+        assertEquals(1, dto.getModalities().size());
+        assertEquals(List.of(1, 2), dto.getRounds());
+
+        List<PlayerByModalityDTO> all = dto.getResultsByModality();
+        assertEquals(List.of(10, 11), all.stream().map(PlayerByModalityDTO::getPersonId).toList());
+        assertEquals(1, all.get(0).getPosition());
+        assertEquals(380, all.get(0).getTotal());
+        assertEquals(190.0, all.get(0).getPromedio(), 0.001);
+        assertEquals(Map.of("Sencillos", 200, "Dobles", 180), all.get(0).getModalityScores());
+        assertEquals("Club A", all.get(0).getClubName());
+        assertEquals(TournamentStandingsService.NO_CLUB, all.get(1).getClubName());
+        assertEquals(185.0, all.get(1).getPromedio(), 0.001);
+    }
+
+    @Test
+    void getResultsByModality_FiltersByRoundAndBranch() {
+        when(resultRepository.findStandingRowsByTournament(1)).thenReturn(initialRows());
+        service.loadInProgressTournaments();
+
+        // Ronda 1: Ana 200 con una línea, Luis 185 con dos
+        assertEquals(List.of(10, 11), results(1, null).stream().map(PlayerByModalityDTO::getPersonId).toList());
+        assertEquals(200, results(1, null).get(0).getTotal());
+        assertEquals(List.of(11), results(1, 2).stream().map(PlayerByModalityDTO::getPersonId).toList());
+        assertEquals(List.of(10), results(2, null).stream().map(PlayerByModalityDTO::getPersonId).toList());
+        assertTrue(results(3, null).isEmpty());
+    }
+
+    @Test
+    void getResultsByModality_LoadsOnMissAndServesLaterReadsFromMemory() {
+        when(resultRepository.findStandingRowsByTournament(1)).thenReturn(initialRows());
+        service.onTournamentChanged(new TournamentChangedEvent(1));
+
+        results(null, null);
+        results(1, null);
+        results(null, 2);
+
+        verify(resultRepository, times(1)).findStandingRowsByTournament(1);
+        verify(tournamentRepository, times(1)).findWithModalitiesById(1);
+    }
+
+    @Test
+    void onResultsChanged_ReloadsOnlyAffectedPersonsAndReorders() {
+        when(resultRepository.findStandingRowsByTournament(1)).thenReturn(initialRows());
+        service.loadInProgressTournaments();
+
+        // Luis corrige su segunda línea: 150 -> 250
+        when(resultRepository.findStandingRowsByTournamentAndPersons(eq(1), anyCollection())).thenReturn(List.of(
+                line(11, "Luis", "Sencillos", 2, 1, 1, 220),
+                line(11, "Luis", "Sencillos", 2, 1, 2, 250)));
+        service.onResultsChanged(new ResultsChangedEvent(Set.of(1), Set.of(11)));
+
+        List<PlayerByModalityDTO> all = results(null, null);
+        assertEquals(List.of(11, 10), all.stream().map(PlayerByModalityDTO::getPersonId).toList());
+        assertEquals(470, all.get(0).getTotal());
+        assertEquals(1, all.get(0).getPosition());
+        verify(resultRepository).findStandingRowsByTournamentAndPersons(1, List.of(11));
+        verify(resultRepository, times(1)).findStandingRowsByTournament(1);
+    }
+
+    @Test
+    void onResultsChanged_PersonWithoutLinesLeavesRanking() {
+        when(resultRepository.findStandingRowsByTournament(1)).thenReturn(initialRows());
+        service.loadInProgressTournaments();
+
+        when(resultRepository.findStandingRowsByTournamentAndPersons(eq(1), anyCollection())).thenReturn(List.of());
+        service.onResultsChanged(new ResultsChangedEvent(Set.of(1), Set.of(10)));
+
+        assertEquals(List.of(11), results(null, null).stream().map(PlayerByModalityDTO::getPersonId).toList());
+        // La ronda 2 solo tenía líneas de Ana
+        assertEquals(List.of(1), service.getResultsByModality(1, null, null).orElseThrow().getRounds());
+    }
+
+    @Test
+    void onResultsChanged_WithoutPersons_DiscardsStandingsForReload() {
+        when(resultRepository.findStandingRowsByTournament(1)).thenReturn(initialRows());
+        service.loadInProgressTournaments();
+
+        service.onResultsChanged(new ResultsChangedEvent(Set.of(1), Set.of()));
+        results(null, null);
+
+        verify(resultRepository, times(2)).findStandingRowsByTournament(1);
+    }
+
+    @Test
+    void load_StartedBeforeAChange_IsNotKept() {
+        when(resultRepository.findStandingRowsByTournament(1)).thenAnswer(inv -> {
+            // Llega un cambio mientras se lee el torneo
+            service.onResultsChanged(new ResultsChangedEvent(Set.of(1), Set.of(10)));
+            return initialRows();
+        });
+        service.onTournamentChanged(new TournamentChangedEvent(1));
+
+        results(null, null);
+        results(null, null);
+
+        verify(resultRepository, times(2)).findStandingRowsByTournament(1);
+    }
+
+    @Test
+    void onTournamentChanged_DropsStandingsOfTournamentsNoLongerInProgress() {
+        when(resultRepository.findStandingRowsByTournament(1)).thenReturn(initialRows());
+        service.loadInProgressTournaments();
+
+        when(tournamentRepository.findActiveInProgress()).thenReturn(List.of());
+        service.onTournamentChanged(new TournamentChangedEvent(1));
+
+        assertTrue(service.getResultsByModality(1, null, null).isEmpty());
+    }
+}
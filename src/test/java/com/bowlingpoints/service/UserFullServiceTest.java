@@ -2,11 +2,15 @@ package com.bowlingpoints.service;
 
 import com.bowlingpoints.dto.*;
 import com.bowlingpoints.entity.*;
+import com.bowlingpoints.event.PlayerProfileChangedEvent;
+import com.bowlingpoints.event.UserChangedEvent;
 import com.bowlingpoints.projection.UserFullProjection;
 import com.bowlingpoints.repository.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.LocalDate;
@@ -29,6 +33,7 @@ class UserFullServiceTest {
     @Mock private PersonCategoryRepository personCategoryRepository;
     @Mock private ClubPersonRepository clubPersonRepository;
     @Mock private PasswordEncoder passwordEncoder;
+    @Mock private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private UserFullService userFullService;
@@ -60,6 +65,7 @@ class UserFullServiceTest {
         when(projection.getStatus()).thenReturn(true);
         when(projection.getRoleId()).thenReturn(1);
         when(projection.getRoleName()).thenReturn("JUGADOR");
+        when(projection.getClubId()).thenReturn(7);
 
         person = Person.builder().personId(10).fullName("John").build();
         user = User.builder().userId(1).nickname("john123").status(true).person(person).build();
@@ -88,8 +94,8 @@ class UserFullServiceTest {
     @Test
     void getAllUsersWithDetails_ShouldMapUsersRolesAndCategories() {
         when(userFullRepository.findAllUserFull()).thenReturn(List.of(projection));
-        when(personCategoryRepository.findByPerson_PersonId(10)).thenReturn(List.of(personCategory));
-        when(clubPersonRepository.findFirstByPerson_PersonIdAndStatusTrue(10)).thenReturn(Optional.of(clubPerson));
+        when(personCategoryRepository.findActiveCategoryRowsByPersonIds(List.of(10)))
+                .thenReturn(List.<Object[]>of(new Object[]{10, 5, "Elite", "Pro", true}));
 
         List<UserFullDTO> result = userFullService.getAllUsersWithDetails();
 
@@ -101,6 +107,63 @@ class UserFullServiceTest {
         assertEquals(7, dto.getClubId());
     }
 
+    @Test
+    void getAllUsersWithDetails_ShouldLoadCategoriesInChunksInsteadOfPerUser() {
+        List<UserFullProjection> rows = new ArrayList<>();
+        for (int i = 1; i <= 1001; i++) {
+            UserFullProjection row = mock(UserFullProjection.class);
+            when(row.getUserId()).thenReturn(i);
+            when(row.getPersonId()).thenReturn(1000 + i);
+            rows.add(row);
+        }
+        when(userFullRepository.findAllUserFull()).thenReturn(rows);
+        when(personCategoryRepository.findActiveCategoryRowsByPersonIds(anyCollection())).thenAnswer(inv -> {
+            Collection<Integer> ids = inv.getArgument(0);
+            return ids.contains(1001)
+                    ? List.<Object[]>of(new Object[]{1001, 5, "Elite", "Pro", true})
+                    : List.of();
+        });
+
+        List<UserFullDTO> result = userFullService.getAllUsersWithDetails();
+
+        assertEquals(1001, result.size());
+        assertEquals("Elite", result.get(0).getCategories().get(0).getName());
+        assertTrue(result.get(1).getCategories().isEmpty());
+        verify(personCategoryRepository, times(2)).findActiveCategoryRowsByPersonIds(anyCollection());
+        verify(personCategoryRepository, never()).findByPerson_PersonId(anyInt());
+        verifyNoInteractions(clubPersonRepository);
+    }
+
+    @Test
+    void getUsersPage_ShouldReturnCursorAndLoadOnlyPageUsers() {
+        when(userFullRepository.findUserIdsAfter(eq(0), eq("doe"), eq("%doe%"), eq("JUGADOR"), any()))
+                .thenReturn(List.of(1, 2, 3));
+        when(userFullRepository.findUserFullByIds(List.of(1, 2))).thenReturn(List.of(projection));
+
+        UserPageDTO page = userFullService.getUsersPage(null, 2, "  Doe ", "jugador");
+
+        assertTrue(page.isHasMore());
+        assertEquals(2, page.getNextCursor());
+        assertEquals(1, page.getSize());
+        assertEquals("john123", page.getItems().get(0).getNickname());
+        verify(userFullRepository, never()).findAllUserFull();
+    }
+
+    @Test
+    void getUsersPage_ShouldApplyDefaultsAndStopAtLastPage() {
+        when(userFullRepository.findUserIdsAfter(eq(5), eq(""), eq("%%"), eq(""), any()))
+                .thenReturn(List.of());
+
+        UserPageDTO page = userFullService.getUsersPage(5, null, null, null);
+
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextCursor());
+        assertTrue(page.getItems().isEmpty());
+        verify(userFullRepository).findUserIdsAfter(eq(5), eq(""), eq("%%"), eq(""),
+                eq(PageRequest.of(0, UserFullService.DEFAULT_PAGE_SIZE + 1)));
+        verify(userFullRepository, never()).findUserFullByIds(anyCollection());
+    }
+
     @Test
     void getAllUsersWithDetails_ShouldHandleEmptyLists() {
         when(userFullRepository.findAllUserFull()).thenReturn(List.of());
@@ -139,24 +202,51 @@ class UserFullServiceTest {
     // ----------------------------------------------------------------------
     @Test
     void getUserById_ShouldReturnMatchingUser() {
-        UserFullService spyService = Mockito.spy(userFullService);
-        doReturn(List.of(dto)).when(spyService).getAllUsersWithDetails();
+        when(userFullRepository.findUserFullById(1)).thenReturn(List.of(projection));
+        when(personCategoryRepository.findActiveCategoryRowsByPersonIds(List.of(10)))
+                .thenReturn(List.<Object[]>of(new Object[]{10, 5, "Elite", "Pro", true}));
 
-        UserFullDTO result = spyService.getUserById(1);
+        UserFullDTO result = userFullService.getUserById(1);
 
         assertNotNull(result);
         assertEquals("john123", result.getNickname());
+        assertEquals("Elite", result.getCategories().get(0).getName());
+        assertEquals(7, result.getClubId());
+        verify(userFullRepository, never()).findAllUserFull();
+        verify(personCategoryRepository, never()).findByPerson_PersonId(anyInt());
+    }
+
+    @Test
+    void getUserById_ShouldMergeRoleRowsIntoOneUser() {
+        UserFullProjection adminRow = mock(UserFullProjection.class);
+        when(adminRow.getUserId()).thenReturn(1);
+        when(adminRow.getRoleId()).thenReturn(2);
+        when(adminRow.getRoleName()).thenReturn("ADMIN");
+        when(userFullRepository.findUserFullById(1)).thenReturn(List.of(projection, adminRow));
+
+        UserFullDTO result = userFullService.getUserById(1);
+
+        assertEquals(List.of("JUGADOR", "ADMIN"), result.getRoles().stream().map(RoleDTO::getName).toList());
+        verify(personCategoryRepository, times(1)).findActiveCategoryRowsByPersonIds(List.of(10));
+    }
+
+    @Test
+    void getUserById_ShouldReturnNull_WhenNotFound() {
+        when(userFullRepository.findUserFullById(99)).thenReturn(List.of());
+
+        assertNull(userFullService.getUserById(99));
+        verifyNoInteractions(personCategoryRepository);
     }
 
     @Test
     void getByUsername_ShouldReturnMatchingUser() {
-        UserFullService spyService = Mockito.spy(userFullService);
-        doReturn(List.of(dto)).when(spyService).getAllUsersWithDetails();
+        when(userFullRepository.findUserFullByNickname("john123")).thenReturn(List.of(projection));
 
-        UserFullDTO result = spyService.getByUsername("john123");
+        UserFullDTO result = userFullService.getByUsername("john123");
 
         assertNotNull(result);
         assertEquals("john123", result.getNickname());
+        verify(userFullRepository, never()).findAllUserFull();
     }
 
     // ----------------------------------------------------------------------
@@ -213,6 +303,19 @@ class UserFullServiceTest {
         verify(userRepository, atLeastOnce()).save(any(User.class));
         verify(userRoleRepository, atLeastOnce()).deleteByUser_UserId(anyInt());
         verify(personCategoryRepository, atLeastOnce()).deleteAllByPerson_PersonId(anyInt());
+        verify(eventPublisher).publishEvent(new UserChangedEvent(Set.of("john123")));
+        verify(eventPublisher).publishEvent(new PlayerProfileChangedEvent(Set.of(10)));
+    }
+
+    @Test
+    void updateUser_WhenNicknameChanges_ShouldPublishOldAndNewNickname() {
+        dto.setNickname("johnny");
+        when(userRepository.findById(1)).thenReturn(Optional.of(user));
+        when(userRepository.findAll()).thenReturn(List.of(user));
+
+        userFullService.updateUser(1, dto);
+
+        verify(eventPublisher).publishEvent(new UserChangedEvent(Set.of("john123", "johnny")));
     }
 
     @Test
@@ -249,6 +352,8 @@ class UserFullServiceTest {
         verify(personRepository, atLeastOnce()).save(any(Person.class));
         verify(userRoleRepository, atLeastOnce()).save(any(UserRole.class));
         verify(personCategoryRepository, atLeastOnce()).save(any(PersonCategory.class));
+        verify(eventPublisher).publishEvent(new UserChangedEvent(Set.of("john123")));
+        verify(eventPublisher).publishEvent(new PlayerProfileChangedEvent(Set.of(10)));
     }
 
     @Test
@@ -300,37 +405,24 @@ class UserFullServiceTest {
     }
     @Test
     void getAllActiveUsers_ShouldReturnOnlyActiveOnes() {
-        UserFullDTO active = UserFullDTO.builder().userId(1).status(true).build();
-        UserFullDTO inactive = UserFullDTO.builder().userId(2).status(false).build();
-
-        UserFullService spyService = Mockito.spy(userFullService);
-        doReturn(List.of(active, inactive)).when(spyService).getAllUsersWithDetails();
+        when(userFullRepository.findAllActiveUserFull()).thenReturn(List.of(projection));
 
-        List<UserFullDTO> result = spyService.getAllActiveUsers();
+        List<UserFullDTO> result = userFullService.getAllActiveUsers();
 
         assertEquals(1, result.size());
         assertTrue(result.get(0).getStatus());
+        verify(userFullRepository, never()).findAllUserFull();
     }
 
     @Test
     void getAllActivePlayers_ShouldReturnOnlyPlayers() {
-        UserFullDTO player = UserFullDTO.builder()
-                .userId(1)
-                .roles(List.of(new RoleDTO(1, "JUGADOR")))
-                .build();
+        when(userFullRepository.findAllActiveUserFullByRole("JUGADOR")).thenReturn(List.of(projection));
 
-        UserFullDTO admin = UserFullDTO.builder()
-                .userId(2)
-                .roles(List.of(new RoleDTO(2, "ADMIN")))
-                .build();
-
-        UserFullService spyService = Mockito.spy(userFullService);
-        doReturn(List.of(player, admin)).when(spyService).getAllUsersWithDetails();
-
-        List<UserFullDTO> result = spyService.getAllActivePlayers();
+        List<UserFullDTO> result = userFullService.getAllActivePlayers();
 
         assertEquals(1, result.size());
         assertEquals("JUGADOR", result.get(0).getRoles().get(0).getName());
+        verify(userFullRepository, never()).findAllUserFull();
     }
 
     @Test
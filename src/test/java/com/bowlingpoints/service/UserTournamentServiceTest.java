@@ -1,7 +1,6 @@
 package com.bowlingpoints.service;
 
 import com.bowlingpoints.dto.*;
-import com.bowlingpoints.entity.Result;
 import com.bowlingpoints.repository.ResultRepository;
 import com.bowlingpoints.repository.TournamentRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -30,7 +29,7 @@ class UserTournamentServiceTest {
     private UserTournamentService userTournamentService;
 
     private Object[] rowData;
-    private Result result;
+    private UserTournamentResultDTO resultRow;
 
     @BeforeEach
     void setUp() {
@@ -41,13 +40,7 @@ class UserTournamentServiceTest {
                 "Cali", "Individual", "Elite", 6, "imagen.jpg"
         };
 
-        result = Result.builder()
-                .resultId(100)
-                .score(220)
-                .laneNumber(5)
-                .lineNumber(2)
-                .createdAt(LocalDateTime.of(2025, 3, 10, 18, 0))
-                .build();
+        resultRow = new UserTournamentResultDTO(100, 220, 5, 2, LocalDateTime.of(2025, 3, 10, 18, 0));
     }
 
     @Test
@@ -79,7 +72,7 @@ class UserTournamentServiceTest {
     @Test
     void getResultsForUserAndTournament_ShouldReturnMappedResults() {
         when(resultRepository.findResultsByPersonAndTournament(1, 10))
-                .thenReturn(List.of(result));
+                .thenReturn(List.of(resultRow));
 
         List<UserTournamentResultDTO> results =
                 userTournamentService.getResultsForUserAndTournament(1, 10);
@@ -89,7 +82,7 @@ class UserTournamentServiceTest {
         assertEquals(220, dto.getScore());
         assertEquals(5, dto.getLaneNumber());
         assertEquals(2, dto.getLineNumber());
-        assertEquals(result.getCreatedAt(), dto.getPlayedAt());
+        assertEquals(resultRow.getPlayedAt(), dto.getPlayedAt());
         verify(resultRepository).findResultsByPersonAndTournament(1, 10);
     }
 
@@ -1,15 +1,27 @@
 package com.bowlingpoints.service.ai;
 
-import com.bowlingpoints.dto.ResultDTO;
-import com.bowlingpoints.service.ResultService;
+import com.bowlingpoints.dto.PlayerAiStats;
+import com.bowlingpoints.event.ResultsChangedEvent;
+import com.bowlingpoints.repository.ResultRepository;
+import com.bowlingpoints.util.TtlCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 
-import java.util.Collections;
+import java.time.Duration;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -19,7 +31,7 @@ import static org.mockito.Mockito.*;
 class AiAnalysisServiceTest {
 
     @Mock
-    private ResultService resultService;
+    private ResultRepository resultRepository;
 
     @Mock
     private PromptBuilder promptBuilder;
@@ -30,192 +42,207 @@ class AiAnalysisServiceTest {
     @Mock
     private AiClient aiClient;
 
+    private TtlCache<AiAnalysisService.AnalysisKey, String> cache;
     private AiAnalysisService aiAnalysisService;
 
     @BeforeEach
     void setUp() {
-        aiAnalysisService = new AiAnalysisService(resultService, promptBuilder, aiClientFactory);
+        cache = new TtlCache<>("ai-analysis", Duration.ofHours(1), 10);
+        aiAnalysisService = new AiAnalysisService(resultRepository, promptBuilder, aiClientFactory, cache);
     }
 
-    @Test
-    void analyzeGlobal_WhenNoResults_ShouldReturnNoDataMessage() {
-        when(resultService.getAll()).thenReturn(Collections.emptyList());
-
-        String result = aiAnalysisService.analyzeGlobal(null, null, null);
-
-        assertEquals("No hay suficientes datos para realizar un análisis con esos filtros.", result);
-        verify(aiClientFactory, never()).getClient();
+    private void stubAnalysis(String answer) {
+        when(resultRepository.findAiStats(any(), any(), any(), any()))
+                .thenReturn(List.of(new PlayerAiStats("Juan Perez", "Individual", 180.0, 4, 200, 160)));
+        when(promptBuilder.buildGlobal(anyList(), any(), any(), any())).thenReturn("prompt");
+        when(aiClientFactory.getClient()).thenReturn(aiClient);
+        when(aiClient.ask(anyString())).thenReturn(answer);
     }
 
     @Test
-    void analyzeGlobal_WhenNullResults_ShouldReturnNoDataMessage() {
-        when(resultService.getAll()).thenReturn(null);
+    void analyzeGlobal_WhenNoStats_ShouldReturnNoDataMessage() {
+        when(resultRepository.findAiStats(any(), any(), any(), any())).thenReturn(List.of());
 
         String result = aiAnalysisService.analyzeGlobal(null, null, null);
 
         assertEquals("No hay suficientes datos para realizar un análisis con esos filtros.", result);
+        verify(aiClientFactory, never()).getClient();
     }
 
     @Test
-    void analyzeGlobal_WhenValidResults_ShouldCallAiClient() {
-        ResultDTO resultDTO = ResultDTO.builder()
-                .personName("Juan Perez")
-                .modalityName("Individual")
-                .score(180)
-                .branchId(1)
-                .categoryId(1)
-                .modalityId(1)
-                .build();
-
-        when(resultService.getAll()).thenReturn(List.of(resultDTO));
-        when(promptBuilder.buildGlobal(anyList(), any(), any(), any())).thenReturn("Test prompt");
+    void analyzeGlobal_WhenValidStats_ShouldSendThemToAiClient() {
+        List<PlayerAiStats> stats = List.of(
+                new PlayerAiStats("Maria Lopez", "Dobles", 190.0, 5, 210, 170),
+                new PlayerAiStats("Juan Perez", "Individual", 180.5, 10, 220, 150));
+        when(resultRepository.findAiStats(any(), any(), any(), any())).thenReturn(stats);
+        when(promptBuilder.buildGlobal(stats, null, null, null)).thenReturn("Test prompt");
         when(aiClientFactory.getClient()).thenReturn(aiClient);
         when(aiClient.ask(anyString())).thenReturn("AI Analysis Result");
 
         String result = aiAnalysisService.analyzeGlobal(null, null, null);
 
         assertEquals("AI Analysis Result", result);
-        verify(aiClientFactory).getClient();
         verify(aiClient).ask("Test prompt");
     }
 
     @Test
-    void analyzeGlobal_WithBranchFilter_ShouldFilterResults() {
-        ResultDTO result1 = ResultDTO.builder()
-                .personName("Juan")
-                .modalityName("Individual")
-                .score(180)
-                .branchId(1)
-                .build();
-
-        ResultDTO result2 = ResultDTO.builder()
-                .personName("Maria")
-                .modalityName("Individual")
-                .score(190)
-                .branchId(2)
-                .build();
-
-        when(resultService.getAll()).thenReturn(List.of(result1, result2));
-        when(promptBuilder.buildGlobal(anyList(), eq(1), any(), any())).thenReturn("Filtered prompt");
-        when(aiClientFactory.getClient()).thenReturn(aiClient);
-        when(aiClient.ask(anyString())).thenReturn("Filtered Analysis");
+    void analyzeGlobal_PassesFiltersToQueryAndPrompt() {
+        stubAnalysis("Filtered Analysis");
 
-        String result = aiAnalysisService.analyzeGlobal(1, null, null);
+        String result = aiAnalysisService.analyzeGlobal(1, 2, 3);
 
         assertEquals("Filtered Analysis", result);
-        verify(promptBuilder).buildGlobal(anyList(), eq(1), isNull(), isNull());
+        verify(resultRepository).findAiStats(eq(1), eq(2), eq(3), any(Pageable.class));
+        verify(promptBuilder).buildGlobal(anyList(), eq(1), eq(2), eq(3));
     }
 
     @Test
-    void analyzeGlobal_WithCategoryFilter_ShouldFilterResults() {
-        ResultDTO result1 = ResultDTO.builder()
-                .personName("Carlos")
-                .modalityName("Dobles")
-                .score(175)
-                .categoryId(1)
-                .build();
-
-        when(resultService.getAll()).thenReturn(List.of(result1));
-        when(promptBuilder.buildGlobal(anyList(), any(), eq(1), any())).thenReturn("Category prompt");
-        when(aiClientFactory.getClient()).thenReturn(aiClient);
-        when(aiClient.ask(anyString())).thenReturn("Category Analysis");
+    void analyzeGlobal_LimitsPlayersSentToPrompt() {
+        ReflectionTestUtils.setField(aiAnalysisService, "maxPlayers", 25);
+        stubAnalysis("Analysis");
 
-        String result = aiAnalysisService.analyzeGlobal(null, 1, null);
+        aiAnalysisService.analyzeGlobal(null, null, null);
 
-        assertEquals("Category Analysis", result);
+        verify(resultRepository).findAiStats(null, null, null, PageRequest.of(0, 25));
     }
 
     @Test
-    void analyzeGlobal_WithModalityFilter_ShouldFilterResults() {
-        ResultDTO result1 = ResultDTO.builder()
-                .personName("Ana")
-                .modalityName("Trios")
-                .score(185)
-                .modalityId(1)
-                .build();
-
-        when(resultService.getAll()).thenReturn(List.of(result1));
-        when(promptBuilder.buildGlobal(anyList(), any(), any(), eq(1))).thenReturn("Modality prompt");
-        when(aiClientFactory.getClient()).thenReturn(aiClient);
-        when(aiClient.ask(anyString())).thenReturn("Modality Analysis");
+    void analyzeGlobal_SameFilters_ServedFromCache() {
+        stubAnalysis("Cached Analysis");
 
-        String result = aiAnalysisService.analyzeGlobal(null, null, 1);
+        assertEquals("Cached Analysis", aiAnalysisService.analyzeGlobal(1, null, null));
+        assertEquals("Cached Analysis", aiAnalysisService.analyzeGlobal(1, null, null));
 
-        assertEquals("Modality Analysis", result);
+        verify(resultRepository, times(1)).findAiStats(any(), any(), any(), any());
+        verify(aiClient, times(1)).ask(anyString());
+        assertEquals(1, cache.stats().hits());
     }
 
     @Test
-    void analyzeGlobal_WhenResultsWithNullScore_ShouldFilterThem() {
-        ResultDTO result1 = ResultDTO.builder()
-                .personName("Test")
-                .modalityName("Individual")
-                .score(null)
-                .build();
+    void analyzeGlobal_DifferentFilters_AreCachedSeparately() {
+        stubAnalysis("Analysis");
 
-        when(resultService.getAll()).thenReturn(List.of(result1));
+        aiAnalysisService.analyzeGlobal(1, null, null);
+        aiAnalysisService.analyzeGlobal(null, null, null);
+        aiAnalysisService.analyzeGlobal(1, null, null);
 
-        String result = aiAnalysisService.analyzeGlobal(null, null, null);
+        verify(aiClient, times(2)).ask(anyString());
+    }
 
-        assertEquals("No hay suficientes datos para realizar un análisis con esos filtros.", result);
+    @Test
+    void onResultsChanged_NextRequestCallsAiAgain() {
+        stubAnalysis("Analysis");
+
+        aiAnalysisService.analyzeGlobal(1, null, null);
+        aiAnalysisService.onResultsChanged(new ResultsChangedEvent(Set.of(1), Set.of(10)));
+        aiAnalysisService.analyzeGlobal(1, null, null);
+
+        verify(resultRepository, times(2)).findAiStats(any(), any(), any(), any());
+        verify(aiClient, times(2)).ask(anyString());
     }
 
     @Test
-    void analyzeGlobal_WithMultipleResultsSamePlayer_ShouldGroupThem() {
-        ResultDTO result1 = ResultDTO.builder()
-                .personName("Juan")
-                .modalityName("Individual")
-                .score(180)
-                .build();
-
-        ResultDTO result2 = ResultDTO.builder()
-                .personName("Juan")
-                .modalityName("Individual")
-                .score(190)
-                .build();
-
-        when(resultService.getAll()).thenReturn(List.of(result1, result2));
-        when(promptBuilder.buildGlobal(anyList(), any(), any(), any())).thenReturn("Grouped prompt");
+    void analyzeGlobal_WhenAiFails_IsNotCached() {
+        stubAnalysis("Analysis");
+        when(aiClient.ask(anyString()))
+                .thenThrow(new IllegalStateException("timeout"))
+                .thenReturn("Recovered Analysis");
+
+        assertThrows(IllegalStateException.class, () -> aiAnalysisService.analyzeGlobal(1, null, null));
+        assertEquals("Recovered Analysis", aiAnalysisService.analyzeGlobal(1, null, null));
+    }
+
+    @Test
+    void analyzeGlobal_ConcurrentIdenticalRequests_ShareOneAiCall() throws Exception {
+        stubAnalysis("Shared Analysis");
+        CountDownLatch callStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(aiClient.ask(anyString())).thenAnswer(inv -> {
+            callStarted.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "Shared Analysis";
+        });
+
+        CompletableFuture<String> first = new CompletableFuture<>();
+        CompletableFuture<String> second = new CompletableFuture<>();
+        Thread firstThread = new Thread(() -> first.complete(aiAnalysisService.analyzeGlobal(1, null, null)));
+        Thread secondThread = new Thread(() -> second.complete(aiAnalysisService.analyzeGlobal(1, null, null)));
+
+        firstThread.start();
+        assertTrue(callStarted.await(5, TimeUnit.SECONDS));
+        secondThread.start();
+
+        // El segundo hilo queda esperando la llamada en curso
+        while (secondThread.getState() != Thread.State.WAITING) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertEquals("Shared Analysis", first.get(5, TimeUnit.SECONDS));
+        assertEquals("Shared Analysis", second.get(5, TimeUnit.SECONDS));
+        verify(aiClient, times(1)).ask(anyString());
+    }
+
+    private void stubAsyncAnalysis(Mono<String> answer) {
+        when(resultRepository.findAiStats(any(), any(), any(), any()))
+                .thenReturn(List.of(new PlayerAiStats("Juan Perez", "Individual", 180.0, 4, 200, 160)));
+        when(promptBuilder.buildGlobal(anyList(), any(), any(), any())).thenReturn("prompt");
         when(aiClientFactory.getClient()).thenReturn(aiClient);
-        when(aiClient.ask(anyString())).thenReturn("Grouped Analysis");
+        when(aiClient.askAsync(anyString())).thenReturn(answer);
+    }
 
-        String result = aiAnalysisService.analyzeGlobal(null, null, null);
+    @Test
+    void analyzeGlobalAsync_UsesAskAsyncAndTheSameCache() {
+        stubAsyncAnalysis(Mono.just("Async Analysis"));
 
-        assertEquals("Grouped Analysis", result);
+        assertEquals("Async Analysis", aiAnalysisService.analyzeGlobalAsync(1, null, null).block());
+        assertEquals("Async Analysis", aiAnalysisService.analyzeGlobal(1, null, null));
+        assertEquals("Async Analysis", aiAnalysisService.analyzeGlobalAsync(1, null, null).block());
+
+        verify(aiClient, times(1)).askAsync(anyString());
+        verify(aiClient, never()).ask(anyString());
     }
 
     @Test
-    void analyzeGlobal_WithNullPersonName_ShouldHandleGracefully() {
-        ResultDTO result1 = ResultDTO.builder()
-                .personName(null)
-                .modalityName("Individual")
-                .score(180)
-                .build();
-
-        when(resultService.getAll()).thenReturn(List.of(result1));
-        when(promptBuilder.buildGlobal(anyList(), any(), any(), any())).thenReturn("Null name prompt");
-        when(aiClientFactory.getClient()).thenReturn(aiClient);
-        when(aiClient.ask(anyString())).thenReturn("Analysis with null name");
+    void analyzeGlobalAsync_ConcurrentIdenticalRequests_ShareOneAiCall() throws Exception {
+        Sinks.One<String> answer = Sinks.one();
+        AtomicInteger subscriptions = new AtomicInteger();
+        stubAsyncAnalysis(answer.asMono().doOnSubscribe(s -> subscriptions.incrementAndGet()));
+
+        CompletableFuture<String> first = aiAnalysisService.analyzeGlobalAsync(1, null, null).toFuture();
+        CompletableFuture<String> second = aiAnalysisService.analyzeGlobalAsync(1, null, null).toFuture();
+
+        // Ningún hilo queda bloqueado esperando al modelo: la respuesta llega por el Mono
+        verify(aiClient, timeout(5000)).askAsync(anyString());
+        answer.tryEmitValue("Shared Analysis");
+
+        assertEquals("Shared Analysis", first.get(5, TimeUnit.SECONDS));
+        assertEquals("Shared Analysis", second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, subscriptions.get());
+        verify(aiClient, times(1)).askAsync(anyString());
+    }
 
-        String result = aiAnalysisService.analyzeGlobal(null, null, null);
+    @Test
+    void analyzeGlobalAsync_WhenAiFails_IsNotCachedAndRetries() {
+        stubAsyncAnalysis(Mono.error(new IllegalStateException("IA no disponible")));
+
+        assertThrows(IllegalStateException.class, () -> aiAnalysisService.analyzeGlobalAsync(1, null, null).block());
 
-        assertEquals("Analysis with null name", result);
+        when(aiClient.askAsync(anyString())).thenReturn(Mono.just("Recovered Analysis"));
+        assertEquals("Recovered Analysis", aiAnalysisService.analyzeGlobalAsync(1, null, null).block());
     }
 
     @Test
-    void analyzeGlobal_WithBlankPersonName_ShouldHandleGracefully() {
-        ResultDTO result1 = ResultDTO.builder()
-                .personName("   ")
-                .modalityName("Individual")
-                .score(180)
-                .build();
-
-        when(resultService.getAll()).thenReturn(List.of(result1));
-        when(promptBuilder.buildGlobal(anyList(), any(), any(), any())).thenReturn("Blank name prompt");
-        when(aiClientFactory.getClient()).thenReturn(aiClient);
-        when(aiClient.ask(anyString())).thenReturn("Analysis with blank name");
+    void analyzeGlobalAsync_ResultsChangedDuringCall_DoesNotCacheStaleAnalysis() {
+        Sinks.One<String> answer = Sinks.one();
+        stubAsyncAnalysis(answer.asMono());
 
-        String result = aiAnalysisService.analyzeGlobal(null, null, null);
+        CompletableFuture<String> stale = aiAnalysisService.analyzeGlobalAsync(1, null, null).toFuture();
+        verify(aiClient, timeout(5000)).askAsync(anyString());
+        aiAnalysisService.onResultsChanged(new ResultsChangedEvent(Set.of(1), Set.of(1)));
+        answer.tryEmitValue("Stale Analysis");
 
-        assertEquals("Analysis with blank name", result);
+        assertEquals("Stale Analysis", stale.join());
+        assertEquals(0, cache.stats().size());
     }
 }
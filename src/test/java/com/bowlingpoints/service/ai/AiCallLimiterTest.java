@@ -0,0 +1,74 @@
+package com.bowlingpoints.service.ai;
+
+import com.bowlingpoints.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AiCallLimiterTest {
+
+    private Mono<String> failingTimes(AtomicInteger attempts, int failures, RuntimeException error) {
+        return Mono.defer(() -> attempts.incrementAndGet() <= failures
+                ? Mono.error(error)
+                : Mono.just("ok"));
+    }
+
+    @Test
+    void limit_RetriesTransientErrorsWithBackoff() {
+        AiCallLimiter limiter = new AiCallLimiter(1, 2, 1);
+        AtomicInteger attempts = new AtomicInteger();
+        RuntimeException unavailable = WebClientResponseException.create(
+                HttpStatus.SERVICE_UNAVAILABLE.value(), "Unavailable", null, null, null);
+
+        assertEquals("ok", limiter.limit(failingTimes(attempts, 2, unavailable)).block());
+        assertEquals(3, attempts.get());
+        assertEquals(1, limiter.availablePermits());
+    }
+
+    @Test
+    void limit_DoesNotRetryClientErrors() {
+        AiCallLimiter limiter = new AiCallLimiter(1, 2, 1);
+        AtomicInteger attempts = new AtomicInteger();
+        RuntimeException badRequest = WebClientResponseException.create(
+                HttpStatus.BAD_REQUEST.value(), "Bad Request", null, null, null);
+
+        assertThrows(WebClientResponseException.class,
+                () -> limiter.limit(failingTimes(attempts, 5, badRequest)).block());
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void limit_WhenRetriesExhausted_PropagatesOriginalErrorAndReleasesPermit() {
+        AiCallLimiter limiter = new AiCallLimiter(1, 1, 1);
+        AtomicInteger attempts = new AtomicInteger();
+        RuntimeException tooMany = WebClientResponseException.create(
+                HttpStatus.TOO_MANY_REQUESTS.value(), "Too Many Requests", null, null, null);
+
+        assertThrows(WebClientResponseException.class,
+                () -> limiter.limit(failingTimes(attempts, 5, tooMany)).block());
+        assertEquals(2, attempts.get());
+        assertEquals(1, limiter.availablePermits());
+    }
+
+    @Test
+    void limit_WhenNoPermitLeft_FailsFastWithServiceUnavailable() {
+        AiCallLimiter limiter = new AiCallLimiter(1, 0, 0);
+        Sinks.One<String> slowCall = Sinks.one();
+        limiter.limit(slowCall.asMono()).subscribe();
+
+        BusinessException error = assertThrows(BusinessException.class,
+                () -> limiter.limit(Mono.just("ok")).block());
+        assertEquals("ERR-503", error.getCode());
+        assertEquals(AiCallLimiter.BUSY_MESSAGE, error.getMessage());
+
+        slowCall.tryEmitValue("done");
+        assertEquals(1, limiter.availablePermits());
+        assertEquals("ok", limiter.limit(Mono.just("ok")).block());
+    }
+}
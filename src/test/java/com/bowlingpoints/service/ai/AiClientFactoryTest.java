@@ -18,11 +18,14 @@ class AiClientFactoryTest {
     @Mock
     private AiClient lmStudioClient;
 
+    @Mock
+    private AiClient stubAiClient;
+
     private AiClientFactory factory;
 
     @BeforeEach
     void setUp() {
-        factory = new AiClientFactory(genericAiClient, lmStudioClient);
+        factory = new AiClientFactory(genericAiClient, lmStudioClient, stubAiClient);
     }
 
     @Test
@@ -43,6 +46,15 @@ class AiClientFactoryTest {
         assertSame(lmStudioClient, result);
     }
 
+    @Test
+    void getClient_WhenModeIsStub_ShouldReturnStubClient() {
+        ReflectionTestUtils.setField(factory, "mode", "stub");
+
+        AiClient result = factory.getClient();
+
+        assertSame(stubAiClient, result);
+    }
+
     @Test
     void getClient_WhenModeIsUnsupported_ShouldThrowException() {
         ReflectionTestUtils.setField(factory, "mode", "invalid");
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.client.reactive.ClientHttpConnector;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
@@ -23,6 +24,9 @@ class GenericAiClientTest {
     @Mock
     private WebClient.Builder webClientBuilder;
 
+    @Mock
+    private ClientHttpConnector connector;
+
     @Mock
     private WebClient webClient;
 
@@ -39,7 +43,7 @@ class GenericAiClientTest {
 
     @BeforeEach
     void setUp() {
-        genericAiClient = new GenericAiClient(webClientBuilder);
+        genericAiClient = new GenericAiClient(webClientBuilder, connector, new AiCallLimiter(4, 0, 0));
         ReflectionTestUtils.setField(genericAiClient, "baseUrl", "https://api.test.com");
         ReflectionTestUtils.setField(genericAiClient, "apiKeyHeader", "Authorization");
         ReflectionTestUtils.setField(genericAiClient, "apiKey", "test-api-key");
@@ -49,6 +53,8 @@ class GenericAiClientTest {
 
     @SuppressWarnings("unchecked")
     private void setupWebClientMocks(Map<String, Object> response) {
+        when(webClientBuilder.clone()).thenReturn(webClientBuilder);
+        when(webClientBuilder.clientConnector(connector)).thenReturn(webClientBuilder);
         when(webClientBuilder.baseUrl(anyString())).thenReturn(webClientBuilder);
         when(webClientBuilder.defaultHeader(anyString(), anyString())).thenReturn(webClientBuilder);
         when(webClientBuilder.build()).thenReturn(webClient);
@@ -110,4 +116,16 @@ class GenericAiClientTest {
 
         assertEquals("Respuesta de IA con formato inesperado.", result);
     }
+
+    @Test
+    void askAsync_ReusesTheSameWebClient() {
+        Map<String, Object> response = Map.of("content", List.of(Map.of("text", "AI response text")));
+        setupWebClientMocks(response);
+
+        assertEquals("AI response text", genericAiClient.askAsync("Uno").block());
+        assertEquals("AI response text", genericAiClient.askAsync("Dos").block());
+
+        verify(webClientBuilder, times(1)).build();
+        verify(webClient, times(2)).post();
+    }
 }
@@ -5,7 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.List;
@@ -25,8 +25,7 @@ class LmStudioClientTest {
 
     @BeforeEach
     void setUp() {
-        lmStudioClient = new LmStudioClient();
-        ReflectionTestUtils.setField(lmStudioClient, "restTemplate", restTemplate);
+        lmStudioClient = new LmStudioClient(restTemplate, new AiCallLimiter(4, 1, 0));
     }
 
     @Test
@@ -64,4 +63,27 @@ class LmStudioClientTest {
 
         assertEquals("No se pudo obtener respuesta de la IA.", result);
     }
+
+    @Test
+    void ask_WhenConnectionFailsOnce_ShouldRetry() {
+        Map<String, Object> message = Map.of("content", "Second attempt");
+        Map<String, Object> response = Map.of("choices", List.of(Map.of("message", message)));
+
+        when(restTemplate.postForObject(anyString(), any(), eq(Map.class)))
+                .thenThrow(new ResourceAccessException("Read timed out"))
+                .thenReturn(response);
+
+        assertEquals("Second attempt", lmStudioClient.ask("Test prompt"));
+        verify(restTemplate, times(2)).postForObject(anyString(), any(), eq(Map.class));
+    }
+
+    @Test
+    void askAsync_WhenValidResponse_ShouldEmitContent() {
+        Map<String, Object> message = Map.of("content", "Async response");
+        Map<String, Object> response = Map.of("choices", List.of(Map.of("message", message)));
+
+        when(restTemplate.postForObject(anyString(), any(), eq(Map.class))).thenReturn(response);
+
+        assertEquals("Async response", lmStudioClient.askAsync("Test prompt").block());
+    }
 }
@@ -0,0 +1,25 @@
+package com.bowlingpoints.service.ai;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StubAiClientTest {
+
+    private final StubAiClient client = new StubAiClient();
+
+    @Test
+    void ask_ShouldReturnDeterministicAnswerWithoutNetwork() {
+        String first = client.ask("Datos de jugadores");
+        String second = client.ask("Datos de jugadores");
+
+        assertEquals(first, second);
+        assertTrue(first.startsWith(StubAiClient.RESPONSE_PREFIX));
+        assertTrue(first.contains("18 caracteres"));
+    }
+
+    @Test
+    void ask_WithNullPrompt_ShouldNotFail() {
+        assertTrue(client.ask(null).contains("0 caracteres"));
+    }
+}
@@ -0,0 +1,123 @@
+package com.bowlingpoints.util;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileReaderUtilsTest {
+
+    private MockMultipartFile csv(String content) {
+        return new MockMultipartFile("file", "data.csv", "text/csv", content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private MockMultipartFile excel(Workbook workbook, String filename) throws IOException {
+        Sheet sheet = workbook.createSheet("Hoja1");
+
+        Row header = sheet.createRow(0);
+        header.createCell(0).setCellValue("documento");
+        header.createCell(1).setCellValue("nombre");
+        header.createCell(2).setCellValue("fecha");
+
+        // Fila 2 sin crear (hueco), fila 3 creada pero sin celdas
+        sheet.createRow(2);
+
+        CellStyle dateStyle = workbook.createCellStyle();
+        dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("dd/mm/yyyy"));
+
+        Row data = sheet.createRow(3);
+        data.createCell(0).setCellValue(123456789);
+        data.createCell(1).setCellValue("  Ana Pérez  ");
+        var dateCell = data.createCell(2);
+        dateCell.setCellValue(LocalDate.of(1990, 5, 1));
+        dateCell.setCellStyle(dateStyle);
+
+        Row sparse = sheet.createRow(4);
+        sparse.createCell(0).setCellValue(2.5);
+        sparse.createCell(2).setCellValue("x");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        workbook.write(out);
+        workbook.close();
+        return new MockMultipartFile("file", filename, "application/octet-stream", out.toByteArray());
+    }
+
+    @Test
+    void forEachRow_Csv_HandlesQuotedFieldsAndBlankLines() throws IOException {
+        MockMultipartFile file = csv("doc,nombre\n\n123,\"Pérez, Ana\"\n456,\"Dice \"\"hola\"\"\"\n,,\n");
+
+        List<Integer> lines = new ArrayList<>();
+        List<String[]> rows = new ArrayList<>();
+        FileReaderUtils.forEachRow(file, ",", (lineNumber, cells) -> {
+            lines.add(lineNumber);
+            rows.add(cells);
+        });
+
+        assertEquals(List.of(1, 2, 3, 4, 5), lines);
+        assertArrayEquals(new String[]{"doc", "nombre"}, rows.get(0));
+        assertEquals(0, rows.get(1).length);
+        assertArrayEquals(new String[]{"123", "Pérez, Ana"}, rows.get(2));
+        assertArrayEquals(new String[]{"456", "Dice \"hola\""}, rows.get(3));
+        assertArrayEquals(new String[]{"", "", ""}, rows.get(4));
+    }
+
+    @Test
+    void forEachRow_Csv_UsesGivenSeparator() throws IOException {
+        List<String[]> rows = FileReaderUtils.readAllRows(csv("a;b;c\n1;2;\n"), ";");
+
+        assertArrayEquals(new String[]{"a", "b", "c"}, rows.get(0));
+        assertArrayEquals(new String[]{"1", "2", ""}, rows.get(1));
+    }
+
+    @Test
+    void forEachRow_Xlsx_StreamsRowsWithSameFormatting() throws IOException {
+        List<String[]> rows = FileReaderUtils.readAllRows(excel(new XSSFWorkbook(), "data.xlsx"), ",");
+
+        assertEquals(5, rows.size());
+        assertArrayEquals(new String[]{"documento", "nombre", "fecha"}, rows.get(0));
+        assertEquals(0, rows.get(1).length); // hueco en la hoja
+        assertEquals(0, rows.get(2).length); // fila sin celdas
+        assertArrayEquals(new String[]{"123456789", "Ana Pérez", "1/5/1990"}, rows.get(3));
+        assertArrayEquals(new String[]{"2.5", "", "x"}, rows.get(4));
+    }
+
+    @Test
+    void forEachRow_Xls_KeepsWorkbookReader() throws IOException {
+        List<String[]> rows = FileReaderUtils.readAllRows(excel(new HSSFWorkbook(), "data.xls"), ",");
+
+        assertArrayEquals(new String[]{"documento", "nombre", "fecha"}, rows.get(0));
+        assertEquals(0, rows.get(1).length);
+        assertArrayEquals(new String[]{"123456789", "Ana Pérez", "1/5/1990"}, rows.get(2));
+    }
+
+    @Test
+    void forEachRow_InvalidXlsx_ThrowsIOException() {
+        MockMultipartFile file = new MockMultipartFile("file", "data.xlsx", "application/octet-stream",
+                "no es un zip".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(IOException.class, () -> FileReaderUtils.forEachRow(file, ",", (lineNumber, cells) -> { }));
+    }
+
+    @Test
+    void sha256_DependsOnlyOnContent() throws IOException {
+        String hash = FileReaderUtils.sha256(csv("abc"));
+
+        assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad", hash);
+        assertEquals(hash, FileReaderUtils.sha256(new MockMultipartFile("file", "otro.csv", "text/csv",
+                "abc".getBytes(StandardCharsets.UTF_8))));
+        assertNotEquals(hash, FileReaderUtils.sha256(csv("abd")));
+    }
+}
@@ -0,0 +1,192 @@
+package com.bowlingpoints.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TtlCacheTest {
+
+    private final AtomicLong now = new AtomicLong(1_000);
+    private final TtlCache<String, String> cache = new TtlCache<>("test", Duration.ofSeconds(10), 2, now::get);
+
+    @Test
+    void get_ReturnsCachedValueUntilTtlExpires() {
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("v1", cache.get("k", () -> "v" + loads.incrementAndGet()));
+        now.addAndGet(9_999);
+        assertEquals("v1", cache.get("k", () -> "v" + loads.incrementAndGet()));
+        now.addAndGet(1);
+        assertEquals("v2", cache.get("k", () -> "v" + loads.incrementAndGet()));
+
+        TtlCache.Stats stats = cache.stats();
+        assertEquals(1, stats.hits());
+        assertEquals(2, stats.misses());
+        assertEquals(1.0 / 3, stats.hitRate(), 1e-9);
+    }
+
+    @Test
+    void put_IsReturnedByGetIfPresentUntilTtlExpires() {
+        assertNull(cache.getIfPresent("k"));
+
+        cache.put("k", "v");
+        assertEquals("v", cache.getIfPresent("k"));
+        assertEquals("v", cache.get("k", () -> "otro"));
+        now.addAndGet(10_000);
+        assertNull(cache.getIfPresent("k"));
+
+        assertEquals(2, cache.stats().hits());
+        assertEquals(2, cache.stats().misses());
+    }
+
+    @Test
+    void invalidate_RemovesOnlyThatKey() {
+        cache.get("a", () -> "a1");
+        cache.get("b", () -> "b1");
+
+        cache.invalidate("a");
+
+        assertEquals("a2", cache.get("a", () -> "a2"));
+        assertEquals("b1", cache.get("b", () -> "b2"));
+        assertEquals(1, cache.stats().invalidations());
+    }
+
+    @Test
+    void get_LoadStartedBeforeInvalidation_IsNotStored() {
+        String value = cache.get("k", () -> {
+            cache.invalidateAll();
+            return "anterior";
+        });
+
+        assertEquals("anterior", value);
+        assertEquals("nuevo", cache.get("k", () -> "nuevo"));
+    }
+
+    @Test
+    void get_InvalidatingAnotherKey_StillStoresTheLoad() {
+        cache.get("a", () -> {
+            cache.invalidate("b");
+            return "a1";
+        });
+
+        assertEquals("a1", cache.get("a", () -> "a2"));
+    }
+
+    @Test
+    void invalidate_DuringLoad_NewCallersDoNotJoinTheStaleLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> stale = pool.submit(() -> cache.get("k", () -> {
+                loading.countDown();
+                await(release);
+                return "anterior";
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+            cache.invalidate("k");
+
+            // Llega después de la invalidación: carga de nuevo sin esperar la carga anterior
+            assertEquals("nuevo", cache.get("k", () -> "nuevo"));
+            release.countDown();
+            assertEquals("anterior", stale.get(5, TimeUnit.SECONDS));
+
+            // La carga anterior terminó después, pero no reemplaza al valor nuevo
+            assertEquals("nuevo", cache.get("k", () -> "otro"));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void get_LoaderFailure_IsPropagatedAndNotCached() {
+        assertThrows(IllegalStateException.class, () -> cache.get("k", () -> {
+            throw new IllegalStateException("falla");
+        }));
+
+        assertEquals("ok", cache.get("k", () -> "ok"));
+    }
+
+    @Test
+    void get_ValueRejectedByCacheIf_IsReturnedButNotStored() {
+        assertEquals("", cache.get("k", () -> "", v -> !v.isEmpty()));
+        assertEquals("v", cache.get("k", () -> "v", v -> !v.isEmpty()));
+        assertEquals("v", cache.get("k", () -> "otro", v -> !v.isEmpty()));
+
+        assertEquals(1, cache.stats().size());
+        assertEquals(1, cache.stats().hits());
+    }
+
+    @Test
+    void get_KeepsAtMostMaxEntries() {
+        cache.get("a", () -> "a");
+        cache.get("b", () -> "b");
+        cache.get("c", () -> "c");
+
+        assertEquals(2, cache.stats().size());
+        assertEquals(1, cache.stats().evictions());
+    }
+
+    @Test
+    void get_WhenFull_EvictsExpiredEntriesFirst() {
+        cache.get("a", () -> "a");
+        now.addAndGet(5_000);
+        cache.get("b", () -> "b");
+        now.addAndGet(5_000); // "a" vence
+        cache.get("c", () -> "c");
+
+        assertEquals("b", cache.get("b", () -> "otro"));
+        assertEquals("c", cache.get("c", () -> "otro"));
+        assertEquals(1, cache.stats().evictions());
+        assertEquals(0, cache.stats().invalidations());
+    }
+
+    @Test
+    void get_ConcurrentMissesShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> first = pool.submit(() -> cache.get("k", () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                await(release);
+                return "v";
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            Future<String> second = pool.submit(() -> cache.get("k", () -> "v" + loads.incrementAndGet()));
+
+            // La segunda petición queda esperando la carga en curso
+            Thread.sleep(50);
+            assertFalse(second.isDone());
+            release.countDown();
+
+            assertEquals("v", first.get(5, TimeUnit.SECONDS));
+            assertEquals("v", second.get(5, TimeUnit.SECONDS));
+            assertEquals(1, loads.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}